@@ -0,0 +1,60 @@
+package com.praktikum.whitebox.benchmark;
+import com.praktikum.whitebox.service.KalkulatorDiskon;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BenchmarkDiskon {
+    private static final String[] TIPE_PELANGGAN = {"PREMIUM", "reguler", "Baru", "LAINNYA"};
+    private static final int UKURAN_KERANJANG = 1024;
+
+    private final KalkulatorDiskon kalkulator = new KalkulatorDiskon();
+    private final long[] hargaSen = new long[UKURAN_KERANJANG];
+    private final int[] kuantitas = new int[UKURAN_KERANJANG];
+    private final long[] diskonSen = new long[UKURAN_KERANJANG];
+    private final long[] nettoSen = new long[UKURAN_KERANJANG];
+    private int baris;
+
+    @Setup
+    public void siapkan() {
+        Random acak = new Random(1);
+        for (int i = 0; i < UKURAN_KERANJANG; i++) {
+            hargaSen[i] = 100 + acak.nextInt(10_000_000);
+            kuantitas[i] = 1 + acak.nextInt(150);
+        }
+    }
+
+    @Benchmark
+    public double hitungDiskon() {
+        int i = baris++ & (UKURAN_KERANJANG - 1);
+        return kalkulator.hitungDiskon(hargaSen[i] / 100.0, kuantitas[i], TIPE_PELANGGAN[i & 3]);
+    }
+
+    @Benchmark
+    public double hitungHargaSetelahDiskon() {
+        int i = baris++ & (UKURAN_KERANJANG - 1);
+        return kalkulator.hitungHargaSetelahDiskon(hargaSen[i] / 100.0, kuantitas[i], TIPE_PELANGGAN[i & 3]);
+    }
+
+    // Satu operasi = satu keranjang berisi UKURAN_KERANJANG baris
+    @Benchmark
+    public long[] hitungHargaBatchSen() {
+        kalkulator.hitungHargaBatchSen(hargaSen, kuantitas, TIPE_PELANGGAN[baris++ & 3], diskonSen, nettoSen);
+        return nettoSen;
+    }
+}
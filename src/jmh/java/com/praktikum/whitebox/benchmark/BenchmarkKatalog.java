@@ -0,0 +1,74 @@
+package com.praktikum.whitebox.benchmark;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.TotalInventaris;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Operasi yang biayanya bergantung pada ukuran katalog. hitungTotalNilaiInventaris
+// membaca total berjalan; pindaiTotalNilai adalah pembanding lintasan penuh.
+// tambahProduk memakai katalog sendiri yang dibangun ulang setiap iterasi, sehingga
+// produk yang disisipkan tidak menumpuk sepanjang trial.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkKatalog {
+    @Param({"1000", "100000", "1000000"})
+    public int ukuranKatalog;
+
+    private RepositoryProdukMemori repository;
+    private ServiceInventaris service;
+
+    @Setup(Level.Trial)
+    public void siapkan() {
+        repository = KonfigurasiBenchmark.isiRepository(ukuranKatalog, 50);
+        service = new ServiceInventaris(repository);
+    }
+
+    @State(Scope.Benchmark)
+    public static class KatalogTambah {
+        @Param({"1000", "100000", "1000000"})
+        public int ukuranKatalog;
+
+        private ServiceInventaris service;
+        private int kodeBerikutnya;
+
+        @Setup(Level.Iteration)
+        public void bangunUlang() {
+            service = new ServiceInventaris(KonfigurasiBenchmark.isiRepository(ukuranKatalog, 50));
+            kodeBerikutnya = ukuranKatalog;
+        }
+    }
+
+    @Benchmark
+    public boolean tambahProduk(KatalogTambah katalog) {
+        int i = katalog.kodeBerikutnya++;
+        return katalog.service.tambahProduk(new Produk(KonfigurasiBenchmark.kode(i), "Produk Baru " + i,
+                KonfigurasiBenchmark.KATEGORI[i % KonfigurasiBenchmark.KATEGORI.length], 2500, 10, 5));
+    }
+
+    @Benchmark
+    public double hitungTotalNilaiInventaris() {
+        return service.hitungTotalNilaiInventaris();
+    }
+
+    @Benchmark
+    public long pindaiTotalNilai() {
+        return TotalInventaris.hitung(repository.streamSemua()).getTotalNilaiSen();
+    }
+}
@@ -0,0 +1,75 @@
+package com.praktikum.whitebox.benchmark;
+import com.praktikum.whitebox.service.MetrikInventaris;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// keluarStok dan masukStok berpasangan sehingga stok tetap stabil sepanjang iterasi.
+// "satu" = semua thread berebut satu kode, "tersebar" = kode acak dari seluruh katalog.
+// metrik "hidup" mengukur overhead MetrikInventaris dibanding "mati".
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkStok {
+    private static final int JUMLAH_PRODUK = 10_000;
+
+    @Param({"satu", "tersebar"})
+    public String kontensi;
+
+    @Param({"mati", "hidup"})
+    public String metrik;
+
+    private ServiceInventaris service;
+    private String[] kode;
+
+    @Setup(Level.Trial)
+    public void siapkan() {
+        kode = KonfigurasiBenchmark.daftarKode(JUMLAH_PRODUK);
+        service = new ServiceInventaris(KonfigurasiBenchmark.isiRepository(JUMLAH_PRODUK, 1_000_000), null,
+                "hidup".equals(metrik) ? new MetrikInventaris() : null);
+    }
+
+    private String pilihKode() {
+        int i = "satu".equals(kontensi) ? 0 : ThreadLocalRandom.current().nextInt(JUMLAH_PRODUK);
+        return kode[i];
+    }
+
+    private boolean keluarLaluMasuk() {
+        String kode = pilihKode();
+        return service.keluarStok(kode, 1) & service.masukStok(kode, 1);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean keluarMasukStok1Thread() {
+        return keluarLaluMasuk();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean keluarMasukStok4Thread() {
+        return keluarLaluMasuk();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean keluarMasukStokSemuaCore() {
+        return keluarLaluMasuk();
+    }
+}
@@ -0,0 +1,39 @@
+package com.praktikum.whitebox.benchmark;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.util.ValidationUtils;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BenchmarkValidasi {
+    private final Produk produkValid = new Produk("  P12345 ", "Laptop Gaming", "Elektronik", 15000000, 10, 5);
+    private final Produk produkTidakValid = new Produk("P-123", "Laptop Gaming", "Elektronik", 15000000, 10, 5);
+
+    @Benchmark
+    public boolean isValidProduk() {
+        return ValidationUtils.isValidProduk(produkValid);
+    }
+
+    @Benchmark
+    public boolean isValidProdukDitolak() {
+        return ValidationUtils.isValidProduk(produkTidakValid);
+    }
+
+    @Benchmark
+    public boolean isValidKodeProduk() {
+        return ValidationUtils.isValidKodeProduk(produkValid.getKode());
+    }
+}
@@ -0,0 +1,30 @@
+package com.praktikum.whitebox.benchmark;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Titik masuk benchmarks.jar: opsi baris perintah JMH tetap berlaku, ditambah default
+// profiler GC (laju alokasi) dan hasil JSON agar dua run bisa dibandingkan mesin
+public final class JalankanBenchmark {
+    private static final String BERKAS_HASIL = "target/jmh-hasil.json";
+
+    private JalankanBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions opsiBaris = new CommandLineOptions(args);
+        ChainedOptionsBuilder opsi = new OptionsBuilder().parent(opsiBaris);
+        if (opsiBaris.getProfilers().isEmpty()) {
+            opsi.addProfiler(GCProfiler.class);
+        }
+        if (!opsiBaris.getResultFormat().hasValue()) {
+            opsi.resultFormat(ResultFormatType.JSON);
+        }
+        if (!opsiBaris.getResult().hasValue()) {
+            opsi.result(BERKAS_HASIL);
+        }
+        new Runner(opsi.build()).run();
+    }
+}
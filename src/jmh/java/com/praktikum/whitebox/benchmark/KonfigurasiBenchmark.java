@@ -0,0 +1,33 @@
+package com.praktikum.whitebox.benchmark;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+
+// Data bersama untuk semua benchmark
+final class KonfigurasiBenchmark {
+    static final String[] KATEGORI = {"Elektronik", "Makanan", "Minuman", "Pakaian", "Alat Tulis"};
+
+    private KonfigurasiBenchmark() {}
+
+    static String kode(int i) {
+        return "P" + i;
+    }
+
+    // Kode disiapkan di setup supaya -prof gc tidak menghitung sampah penggabungan
+    // string sebagai alokasi operasi yang diukur
+    static String[] daftarKode(int jumlah) {
+        String[] hasil = new String[jumlah];
+        for (int i = 0; i < jumlah; i++) {
+            hasil[i] = kode(i);
+        }
+        return hasil;
+    }
+
+    static RepositoryProdukMemori isiRepository(int jumlahProduk, int stok) {
+        RepositoryProdukMemori repository = new RepositoryProdukMemori();
+        for (int i = 0; i < jumlahProduk; i++) {
+            repository.simpan(new Produk(kode(i), "Produk " + i, KATEGORI[i % KATEGORI.length],
+                    1000 + i % 997, stok, 10));
+        }
+        return repository;
+    }
+}
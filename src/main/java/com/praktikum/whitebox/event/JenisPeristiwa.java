@@ -0,0 +1,11 @@
+package com.praktikum.whitebox.event;
+
+public enum JenisPeristiwa {
+    PRODUK_DITAMBAH,
+    PRODUK_DIHAPUS,
+    // jumlah berisi stok baru
+    STOK_DIUBAH,
+    // jumlah berisi unit yang keluar/masuk
+    STOK_KELUAR,
+    STOK_MASUK
+}
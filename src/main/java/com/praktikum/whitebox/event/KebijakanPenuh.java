@@ -0,0 +1,9 @@
+package com.praktikum.whitebox.event;
+
+// Perilaku produser saat ring penuh oleh pelanggan yang paling lambat
+public enum KebijakanPenuh {
+    // Produser menunggu sampai ada ruang; tidak ada peristiwa yang hilang
+    TUNGGU,
+    // Peristiwa langsung dibuang dan dihitung, produser tidak pernah terblokir
+    BUANG
+}
@@ -0,0 +1,8 @@
+package com.praktikum.whitebox.event;
+
+@FunctionalInterface
+public interface PelangganPeristiwa {
+    // akhirBatch bernilai true pada peristiwa terakhir yang sudah tersedia, sehingga
+    // pelanggan bisa menunda kerja mahal (flush, reindex) sampai akhir batch
+    void terima(PeristiwaStok peristiwa, long sekuens, boolean akhirBatch);
+}
@@ -0,0 +1,28 @@
+package com.praktikum.whitebox.event;
+
+// Slot ring buffer yang dipakai ulang untuk setiap peristiwa. Pelanggan hanya boleh
+// membacanya di dalam terima; salin isinya jika perlu disimpan lebih lama.
+public final class PeristiwaStok {
+    private JenisPeristiwa jenis;
+    private String kode;
+    private int jumlah;
+
+    void isi(JenisPeristiwa jenis, String kode, int jumlah) {
+        this.jenis = jenis;
+        this.kode = kode;
+        this.jumlah = jumlah;
+    }
+
+    public JenisPeristiwa getJenis() { return jenis; }
+    public String getKode() { return kode; }
+    public int getJumlah() { return jumlah; }
+
+    @Override
+    public String toString() {
+        return "PeristiwaStok{" +
+                "jenis=" + jenis +
+                ", kode='" + kode + '\'' +
+                ", jumlah=" + jumlah +
+                '}';
+    }
+}
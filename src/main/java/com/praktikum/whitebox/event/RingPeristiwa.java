@@ -0,0 +1,222 @@
+package com.praktikum.whitebox.event;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+// Ring buffer peristiwa stok dengan slot yang dialokasikan sekali di awal (pola
+// disruptor). Banyak produser mengklaim sekuens lewat satu AtomicLong, mengisi slot,
+// lalu menandainya tersedia. Setiap pelanggan berjalan di thread sendiri dengan
+// sekuensnya sendiri dan memproses peristiwa dalam batch. Jika ring penuh oleh pelanggan
+// yang paling lambat, produser menunggu (TUNGGU, tidak ada peristiwa yang hilang) atau
+// peristiwanya dibuang dan dihitung (BUANG, produser tidak pernah terblokir).
+// Urutan sekuens mengikuti urutan klaim; pemanggil yang butuh urutan per kode sama dengan
+// urutan tulis harus menerbitkan selagi memegang kunci tulisnya (lihat ServiceInventaris).
+public class RingPeristiwa {
+    private final PeristiwaStok[] slot;
+    private final int mask;
+    private final int geser;
+    // Putaran (sekuens >>> geser) terakhir yang diterbitkan di setiap slot
+    private final AtomicIntegerArray tersedia;
+    private final AtomicLong klaim = new AtomicLong(-1);
+    private final StrategiTunggu strategiTunggu;
+    private final KebijakanPenuh kebijakanPenuh;
+    private final LongAdder dibuang = new LongAdder();
+    // Copy-on-write: hanya disalin saat berlangganan/berhenti, jalur terbit cukup membaca
+    private volatile Langganan[] daftarLangganan = new Langganan[0];
+    private volatile long sekuensGerbangCache = -1;
+
+    public RingPeristiwa(int kapasitas, StrategiTunggu strategiTunggu) {
+        this(kapasitas, strategiTunggu, KebijakanPenuh.TUNGGU);
+    }
+
+    public RingPeristiwa(int kapasitas, StrategiTunggu strategiTunggu, KebijakanPenuh kebijakanPenuh) {
+        if (kapasitas <= 0 || Integer.bitCount(kapasitas) != 1 || strategiTunggu == null || kebijakanPenuh == null) {
+            throw new IllegalArgumentException("Kapasitas harus pangkat dua, strategi dan kebijakan wajib diisi");
+        }
+        this.slot = new PeristiwaStok[kapasitas];
+        for (int i = 0; i < kapasitas; i++) {
+            slot[i] = new PeristiwaStok();
+        }
+        this.mask = kapasitas - 1;
+        this.geser = Integer.numberOfTrailingZeros(kapasitas);
+        this.tersedia = new AtomicIntegerArray(kapasitas);
+        for (int i = 0; i < kapasitas; i++) {
+            tersedia.set(i, -1);
+        }
+        this.strategiTunggu = strategiTunggu;
+        this.kebijakanPenuh = kebijakanPenuh;
+    }
+
+    // Jalur tulis tanpa alokasi: slot yang sudah ada diisi ulang. Mengembalikan -1 jika
+    // peristiwa dibuang karena ring penuh dengan kebijakan BUANG.
+    public long terbitkan(JenisPeristiwa jenis, String kode, int jumlah) {
+        long sekuens;
+        if (kebijakanPenuh == KebijakanPenuh.TUNGGU) {
+            sekuens = klaim.incrementAndGet();
+            tungguRuang(sekuens);
+        } else {
+            sekuens = klaimJikaAdaRuang();
+            if (sekuens < 0) {
+                dibuang.increment();
+                return -1;
+            }
+        }
+        int i = (int) sekuens & mask;
+        slot[i].isi(jenis, kode, jumlah);
+        tersedia.setRelease(i, (int) (sekuens >>> geser));
+        strategiTunggu.bangunkan();
+        return sekuens;
+    }
+
+    // Pelanggan baru hanya menerima peristiwa yang terbit setelah ia terdaftar
+    public synchronized Langganan berlangganan(String nama, PelangganPeristiwa pelanggan) {
+        if (pelanggan == null) {
+            throw new IllegalArgumentException("Pelanggan wajib diisi");
+        }
+        Langganan langganan = new Langganan(nama, pelanggan, klaim.get());
+        Langganan[] baru = Arrays.copyOf(daftarLangganan, daftarLangganan.length + 1);
+        baru[baru.length - 1] = langganan;
+        daftarLangganan = baru;
+        langganan.thread = Thread.ofPlatform().daemon().name("pelanggan-" + nama).start(langganan::jalankan);
+        return langganan;
+    }
+
+    public long getKursor() {
+        return klaim.get();
+    }
+
+    public int getKapasitas() {
+        return slot.length;
+    }
+
+    public KebijakanPenuh getKebijakanPenuh() {
+        return kebijakanPenuh;
+    }
+
+    // Jumlah peristiwa yang dibuang karena ring penuh
+    public long getJumlahDibuang() {
+        return dibuang.sum();
+    }
+
+    private synchronized void hapusLangganan(Langganan langganan) {
+        Langganan[] lama = daftarLangganan;
+        Langganan[] baru = new Langganan[lama.length];
+        int n = 0;
+        for (Langganan l : lama) {
+            if (l != langganan) {
+                baru[n++] = l;
+            }
+        }
+        daftarLangganan = Arrays.copyOf(baru, n);
+    }
+
+    // Slot sekuens baru boleh ditimpa setelah semua pelanggan melewati sekuens - kapasitas
+    private void tungguRuang(long sekuens) {
+        long batas = sekuens - slot.length;
+        if (batas <= sekuensGerbangCache) {
+            return;
+        }
+        int putaran = 0;
+        long minimum;
+        while ((minimum = sekuensPalingLambat(sekuens)) < batas) {
+            if (++putaran < 100) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(1000);
+            }
+        }
+        // Nilai basi dari produser lain hanya membuat pengecekan diulang
+        sekuensGerbangCache = minimum;
+    }
+
+    // Klaim hanya berhasil jika slotnya sudah dilewati semua pelanggan; sekuens tidak
+    // pernah diklaim tanpa ditulis, jadi pelanggan tidak tertahan oleh klaim yang batal
+    private long klaimJikaAdaRuang() {
+        while (true) {
+            long sekarang = klaim.get();
+            long sekuens = sekarang + 1;
+            long batas = sekuens - slot.length;
+            if (batas > sekuensGerbangCache) {
+                long minimum = sekuensPalingLambat(sekuens);
+                if (minimum < batas) {
+                    return -1;
+                }
+                sekuensGerbangCache = minimum;
+            }
+            if (klaim.compareAndSet(sekarang, sekuens)) {
+                return sekuens;
+            }
+        }
+    }
+
+    private long sekuensPalingLambat(long bawaan) {
+        long minimum = bawaan;
+        for (Langganan l : daftarLangganan) {
+            minimum = Math.min(minimum, l.sekuens.get());
+        }
+        return minimum;
+    }
+
+    private boolean isTersedia(long sekuens) {
+        return tersedia.getAcquire((int) sekuens & mask) == (int) (sekuens >>> geser);
+    }
+
+    public final class Langganan {
+        private final String nama;
+        private final PelangganPeristiwa pelanggan;
+        // Sekuens terakhir yang sudah selesai diproses
+        private final AtomicLong sekuens;
+        private final LongAdder gagal = new LongAdder();
+        private volatile boolean berhenti;
+        private Thread thread;
+
+        private Langganan(String nama, PelangganPeristiwa pelanggan, long sekuensAwal) {
+            this.nama = nama;
+            this.pelanggan = pelanggan;
+            this.sekuens = new AtomicLong(sekuensAwal);
+        }
+
+        private void jalankan() {
+            long berikut = sekuens.get() + 1;
+            BooleanSupplier cekBerhenti = () -> berhenti;
+            while (!berhenti) {
+                long diklaim = strategiTunggu.tunggu(berikut, klaim, cekBerhenti);
+                // Sekuens yang sudah diklaim belum tentu selesai ditulis produsernya
+                long akhir = berikut - 1;
+                while (akhir < diklaim && isTersedia(akhir + 1)) {
+                    akhir++;
+                }
+                if (akhir < berikut) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                for (long s = berikut; s <= akhir; s++) {
+                    try {
+                        pelanggan.terima(slot[(int) s & mask], s, s == akhir);
+                    } catch (Throwable e) {
+                        // Termasuk Error: thread pelanggan yang mati akan menahan produser selamanya
+                        gagal.increment();
+                    }
+                }
+                sekuens.set(akhir);
+                berikut = akhir + 1;
+            }
+        }
+
+        // Menghentikan thread pelanggan dan melepas gerbangnya dari produser
+        public void berhenti() throws InterruptedException {
+            berhenti = true;
+            strategiTunggu.bangunkan();
+            thread.join();
+            hapusLangganan(this);
+        }
+
+        public String getNama() { return nama; }
+        public long getSekuens() { return sekuens.get(); }
+        // Jumlah peristiwa yang membuat pelanggan melempar exception
+        public long getJumlahGagal() { return gagal.sum(); }
+    }
+}
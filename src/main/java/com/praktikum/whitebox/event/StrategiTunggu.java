@@ -0,0 +1,90 @@
+package com.praktikum.whitebox.event;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+// Cara pelanggan menunggu peristiwa berikutnya: sibuk (latensi terendah, satu core
+// penuh), yield (mengalah ke thread lain), atau blokir (hemat CPU, perlu dibangunkan).
+public interface StrategiTunggu {
+    // Menunggu sampai kursor >= sekuens atau berhenti bernilai true; mengembalikan kursor terakhir
+    long tunggu(long sekuens, AtomicLong kursor, BooleanSupplier berhenti);
+
+    // Dipanggil produser setelah menerbitkan dan saat langganan dihentikan
+    default void bangunkan() {
+    }
+
+    static StrategiTunggu sibuk() {
+        return (sekuens, kursor, berhenti) -> {
+            long tersedia;
+            while ((tersedia = kursor.get()) < sekuens && !berhenti.getAsBoolean()) {
+                Thread.onSpinWait();
+            }
+            return tersedia;
+        };
+    }
+
+    static StrategiTunggu yield() {
+        return (sekuens, kursor, berhenti) -> {
+            long tersedia;
+            int putaran = 100;
+            while ((tersedia = kursor.get()) < sekuens && !berhenti.getAsBoolean()) {
+                if (putaran > 0) {
+                    putaran--;
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+            return tersedia;
+        };
+    }
+
+    static StrategiTunggu blokir() {
+        return new Blokir();
+    }
+
+    final class Blokir implements StrategiTunggu {
+        private final ReentrantLock kunci = new ReentrantLock();
+        private final Condition adaPeristiwa = kunci.newCondition();
+        // Produser hanya mengambil kunci jika ada pelanggan yang sedang tidur
+        private final AtomicInteger menunggu = new AtomicInteger();
+
+        private Blokir() {
+        }
+
+        @Override
+        public long tunggu(long sekuens, AtomicLong kursor, BooleanSupplier berhenti) {
+            long tersedia = kursor.get();
+            if (tersedia >= sekuens) {
+                return tersedia;
+            }
+            kunci.lock();
+            menunggu.incrementAndGet();
+            try {
+                while ((tersedia = kursor.get()) < sekuens && !berhenti.getAsBoolean()) {
+                    adaPeristiwa.await();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                menunggu.decrementAndGet();
+                kunci.unlock();
+            }
+            return tersedia;
+        }
+
+        @Override
+        public void bangunkan() {
+            if (menunggu.get() > 0) {
+                kunci.lock();
+                try {
+                    adaPeristiwa.signalAll();
+                } finally {
+                    kunci.unlock();
+                }
+            }
+        }
+    }
+}
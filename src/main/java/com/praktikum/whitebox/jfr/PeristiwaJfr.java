@@ -0,0 +1,78 @@
+package com.praktikum.whitebox.jfr;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+// Field bersama peristiwa JDK Flight Recorder whitebox. Pola pemakaian:
+//   X peristiwa = X.mulai(...);  ...operasi...;
+//   if (peristiwa != null && peristiwa.akhiri()) { isi field mahal; peristiwa.catat(hasil); }
+// mulai() mengembalikan null jika jenis peristiwa itu tidak sedang direkam, jadi jalur
+// panas tanpa rekaman tidak mengalokasi dan tidak bergantung pada escape analysis JIT
+// (objek peristiwa yang diteruskan ke helper besar tidak selalu dieliminasi). Field yang
+// perlu dicari dulu (misalnya kategori) diisi hanya jika akhiri() bernilai true, yaitu
+// durasi peristiwa melewati threshold.
+// Setiap subclass memeriksa isEnabled() lewat satu instance statis PENGECEK: hasilnya
+// hanya bergantung pada jenis peristiwa, bukan isi objek.
+public abstract class PeristiwaJfr extends Event {
+    public static final String HASIL_BERHASIL = "BERHASIL";
+    public static final String HASIL_GAGAL = "GAGAL";
+    public static final String HASIL_TIDAK_DITEMUKAN = "TIDAK_DITEMUKAN";
+
+    @Label("Operasi")
+    String operasi;
+
+    @Label("Kode")
+    String kode;
+
+    @Label("Kategori")
+    String kategori;
+
+    @Label("Jumlah")
+    @Description("Kuantitas, delta stok, atau jumlah baris sesuai operasi")
+    long jumlah;
+
+    @Label("Hasil")
+    @Description("BERHASIL, GAGAL, atau alasan penolakan")
+    String hasil;
+
+    // Mengakhiri pengukuran; true jika peristiwa akan dicatat
+    public boolean akhiri() {
+        end();
+        return shouldCommit();
+    }
+
+    public void catat(String hasilOperasi) {
+        this.hasil = hasilOperasi;
+        commit();
+    }
+
+    public void selesai(boolean berhasil) {
+        if (akhiri()) {
+            catat(berhasil ? HASIL_BERHASIL : HASIL_GAGAL);
+        }
+    }
+
+    public String getKode() {
+        return kode;
+    }
+
+    public String getKategori() {
+        return kategori;
+    }
+
+    public void setOperasi(String operasi) {
+        this.operasi = operasi;
+    }
+
+    public void setKode(String kode) {
+        this.kode = kode;
+    }
+
+    public void setKategori(String kategori) {
+        this.kategori = kategori;
+    }
+
+    public void setJumlah(long jumlah) {
+        this.jumlah = jumlah;
+    }
+}
@@ -0,0 +1,34 @@
+package com.praktikum.whitebox.jfr;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+// Satu batch harga KalkulatorDiskon; jumlah berisi banyak baris. Batch tidak terikat
+// ke satu produk, jadi kode dan kategori kosong dan tipe pelanggan dicatat terpisah.
+@Name(PeristiwaJfrDiskon.NAMA)
+@Label("Batch Diskon")
+@Category({"Whitebox", "Harga"})
+@Description("Perhitungan harga batch KalkulatorDiskon beserta hasil dan durasinya")
+@StackTrace(false)
+@Threshold("20 us")
+public class PeristiwaJfrDiskon extends PeristiwaJfr {
+    public static final String NAMA = "com.praktikum.whitebox.DiskonBatch";
+    private static final PeristiwaJfrDiskon PENGECEK = new PeristiwaJfrDiskon();
+
+    @Label("Tipe Pelanggan")
+    String tipePelanggan;
+
+    public static PeristiwaJfrDiskon mulai(String operasi, String tipePelanggan) {
+        if (!PENGECEK.isEnabled()) {
+            return null;
+        }
+        PeristiwaJfrDiskon peristiwa = new PeristiwaJfrDiskon();
+        peristiwa.operasi = operasi;
+        peristiwa.tipePelanggan = tipePelanggan;
+        peristiwa.begin();
+        return peristiwa;
+    }
+}
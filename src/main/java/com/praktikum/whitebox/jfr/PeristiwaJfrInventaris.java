@@ -0,0 +1,31 @@
+package com.praktikum.whitebox.jfr;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+// Satu operasi tulis ServiceInventaris; operasi berisi nama OperasiInventaris dan hasil
+// berisi BERHASIL atau nama AlasanPenolakan
+@Name(PeristiwaJfrInventaris.NAMA)
+@Label("Operasi Inventaris")
+@Category({"Whitebox", "Inventaris"})
+@Description("Operasi tulis ServiceInventaris beserta hasil dan durasinya")
+@StackTrace(false)
+@Threshold("20 us")
+public class PeristiwaJfrInventaris extends PeristiwaJfr {
+    public static final String NAMA = "com.praktikum.whitebox.Inventaris";
+    private static final PeristiwaJfrInventaris PENGECEK = new PeristiwaJfrInventaris();
+
+    public static PeristiwaJfrInventaris mulai(String kode, long jumlah) {
+        if (!PENGECEK.isEnabled()) {
+            return null;
+        }
+        PeristiwaJfrInventaris peristiwa = new PeristiwaJfrInventaris();
+        peristiwa.kode = kode;
+        peristiwa.jumlah = jumlah;
+        peristiwa.begin();
+        return peristiwa;
+    }
+}
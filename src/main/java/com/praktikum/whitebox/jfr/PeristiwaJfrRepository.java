@@ -0,0 +1,31 @@
+package com.praktikum.whitebox.jfr;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+// Satu panggilan RepositoryProduk; operasi berisi nama metode
+@Name(PeristiwaJfrRepository.NAMA)
+@Label("Panggilan Repository")
+@Category({"Whitebox", "Repository"})
+@Description("Panggilan RepositoryProduk beserta hasil dan durasinya")
+@StackTrace(false)
+@Threshold("20 us")
+public class PeristiwaJfrRepository extends PeristiwaJfr {
+    public static final String NAMA = "com.praktikum.whitebox.Repository";
+    private static final PeristiwaJfrRepository PENGECEK = new PeristiwaJfrRepository();
+
+    public static PeristiwaJfrRepository mulai(String metode, String kode, long jumlah) {
+        if (!PENGECEK.isEnabled()) {
+            return null;
+        }
+        PeristiwaJfrRepository peristiwa = new PeristiwaJfrRepository();
+        peristiwa.operasi = metode;
+        peristiwa.kode = kode;
+        peristiwa.jumlah = jumlah;
+        peristiwa.begin();
+        return peristiwa;
+    }
+}
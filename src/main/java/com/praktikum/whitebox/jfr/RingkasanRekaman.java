@@ -0,0 +1,73 @@
+package com.praktikum.whitebox.jfr;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+// Membaca file rekaman JFR (.jfr) dan meringkas peristiwa whitebox per jenis dan
+// operasi, misalnya "inventaris/KELUAR_STOK" atau "repository/adjustStok". Peristiwa
+// JDK lain di rekaman yang sama dilewati. Bisa dijalankan langsung:
+//   java -cp target/classes com.praktikum.whitebox.jfr.RingkasanRekaman rekaman.jfr
+public final class RingkasanRekaman {
+    private static final Map<String, String> JENIS = Map.of(
+            PeristiwaJfrInventaris.NAMA, "inventaris",
+            PeristiwaJfrRepository.NAMA, "repository",
+            PeristiwaJfrDiskon.NAMA, "diskon");
+
+    private final Map<String, StatistikOperasiJfr> statistik;
+
+    private RingkasanRekaman(Map<String, StatistikOperasiJfr> statistik) {
+        this.statistik = statistik;
+    }
+
+    public static RingkasanRekaman baca(Path rekaman) throws IOException {
+        Map<String, StatistikOperasiJfr> statistik = new TreeMap<>();
+        try (RecordingFile file = new RecordingFile(rekaman)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent peristiwa = file.readEvent();
+                String jenis = JENIS.get(peristiwa.getEventType().getName());
+                if (jenis == null) {
+                    continue;
+                }
+                statistik.computeIfAbsent(jenis + "/" + peristiwa.getString("operasi"), k -> new StatistikOperasiJfr())
+                        .tambah(peristiwa.getDuration().toNanos(), peristiwa.getLong("jumlah"),
+                                peristiwa.getString("hasil"));
+            }
+        }
+        return new RingkasanRekaman(statistik);
+    }
+
+    // Kunci "jenis/operasi", terurut
+    public Map<String, StatistikOperasiJfr> getStatistik() {
+        return Collections.unmodifiableMap(statistik);
+    }
+
+    public StatistikOperasiJfr getStatistik(String jenis, String operasi) {
+        return statistik.get(jenis + "/" + operasi);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder teks = new StringBuilder(String.format(Locale.ROOT, "%-36s %10s %10s %12s %12s %12s%n",
+                "operasi", "peristiwa", "berhasil", "p50 (us)", "p99 (us)", "maks (us)"));
+        for (Map.Entry<String, StatistikOperasiJfr> entri : statistik.entrySet()) {
+            StatistikOperasiJfr s = entri.getValue();
+            teks.append(String.format(Locale.ROOT, "%-36s %10d %10d %12.1f %12.1f %12.1f%n", entri.getKey(),
+                    s.getJumlahPeristiwa(), s.getJumlahBerhasil(), s.getDurasi().persentil(0.5) / 1e3,
+                    s.getDurasi().persentil(0.99) / 1e3, s.getDurasi().getMaks() / 1e3));
+        }
+        return teks.toString();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Pemakaian: RingkasanRekaman <file.jfr>");
+            return;
+        }
+        System.out.print(baca(Path.of(args[0])));
+    }
+}
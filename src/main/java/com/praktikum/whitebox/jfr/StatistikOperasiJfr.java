@@ -0,0 +1,48 @@
+package com.praktikum.whitebox.jfr;
+import com.praktikum.whitebox.util.HistogramLatensi;
+import com.praktikum.whitebox.util.SnapshotLatensi;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Ringkasan semua peristiwa JFR dengan jenis dan operasi yang sama
+public final class StatistikOperasiJfr {
+    private final HistogramLatensi durasi = new HistogramLatensi();
+    private final Map<String, Long> jumlahPerHasil = new TreeMap<>();
+    private long totalJumlah;
+
+    void tambah(long durasiNanos, long jumlah, String hasil) {
+        durasi.catat(durasiNanos);
+        totalJumlah += jumlah;
+        jumlahPerHasil.merge(hasil == null ? PeristiwaJfr.HASIL_GAGAL : hasil, 1L, Long::sum);
+    }
+
+    public long getJumlahPeristiwa() {
+        return durasi.getJumlah();
+    }
+
+    public long getJumlahBerhasil() {
+        return jumlahPerHasil.getOrDefault(PeristiwaJfr.HASIL_BERHASIL, 0L);
+    }
+
+    // Jumlah peristiwa per nilai field hasil, terurut menurut nama hasil
+    public Map<String, Long> getJumlahPerHasil() {
+        return Collections.unmodifiableMap(jumlahPerHasil);
+    }
+
+    // Total field jumlah (kuantitas, delta stok, atau baris) semua peristiwa
+    public long getTotalJumlah() {
+        return totalJumlah;
+    }
+
+    // Durasi dalam nanodetik; hanya peristiwa yang melewati threshold yang ikut terhitung
+    public SnapshotLatensi getDurasi() {
+        return durasi.snapshot();
+    }
+
+    @Override
+    public String toString() {
+        return "StatistikOperasiJfr{peristiwa=" + getJumlahPeristiwa() + ", hasil=" + jumlahPerHasil
+                + ", totalJumlah=" + totalJumlah + ", durasi=" + getDurasi() + "}";
+    }
+}
@@ -0,0 +1,23 @@
+package com.praktikum.whitebox.model;
+
+// Satu baris pesanan: jumlah unit produk yang dikeluarkan saat checkout
+public class BarisPesanan {
+    private final String kode;
+    private final int jumlah;
+
+    public BarisPesanan(String kode, int jumlah) {
+        this.kode = kode;
+        this.jumlah = jumlah;
+    }
+
+    public String getKode() { return kode; }
+    public int getJumlah() { return jumlah; }
+
+    @Override
+    public String toString() {
+        return "BarisPesanan{" +
+                "kode='" + kode + '\'' +
+                ", jumlah=" + jumlah +
+                '}';
+    }
+}
@@ -0,0 +1,21 @@
+package com.praktikum.whitebox.model;
+import java.util.List;
+
+// Hasil satu kali polling perubahan status stok. kursor dipakai sebagai argumen
+// polling berikutnya. Jika terpotong bernilai true, sebagian perubahan sudah dibuang
+// dari log sehingga poller harus membaca ulang daftar stok menipis/habis secara penuh.
+public class DaftarPerubahanStatusStok {
+    private final List<PerubahanStatusStok> perubahan;
+    private final long kursor;
+    private final boolean terpotong;
+
+    public DaftarPerubahanStatusStok(List<PerubahanStatusStok> perubahan, long kursor, boolean terpotong) {
+        this.perubahan = perubahan;
+        this.kursor = kursor;
+        this.terpotong = terpotong;
+    }
+
+    public List<PerubahanStatusStok> getPerubahan() { return perubahan; }
+    public long getKursor() { return kursor; }
+    public boolean isTerpotong() { return terpotong; }
+}
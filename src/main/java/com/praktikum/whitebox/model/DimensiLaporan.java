@@ -0,0 +1,9 @@
+package com.praktikum.whitebox.model;
+
+// Dimensi pengelompokan laporan inventaris
+public enum DimensiLaporan {
+    KATEGORI,
+    STATUS_STOK,
+    RENTANG_HARGA,
+    AKTIF
+}
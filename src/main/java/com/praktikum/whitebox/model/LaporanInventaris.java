@@ -0,0 +1,29 @@
+package com.praktikum.whitebox.model;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+// Hasil laporan: satu baris per kombinasi nilai dimensi. Kunci berisi nilai dimensi
+// sesuai urutan getDimensi() (String kategori, StatusStok, RentangHarga, Boolean aktif).
+public class LaporanInventaris {
+    private final List<DimensiLaporan> dimensi;
+    private final Map<List<Object>, UkuranLaporan> baris;
+
+    public LaporanInventaris(List<DimensiLaporan> dimensi, Map<List<Object>, UkuranLaporan> baris) {
+        this.dimensi = Collections.unmodifiableList(dimensi);
+        this.baris = Collections.unmodifiableMap(baris);
+    }
+
+    public List<DimensiLaporan> getDimensi() { return dimensi; }
+    public Map<List<Object>, UkuranLaporan> getBaris() { return baris; }
+
+    public UkuranLaporan cari(Object... nilaiDimensi) {
+        return baris.get(Arrays.asList(nilaiDimensi));
+    }
+
+    @Override
+    public String toString() {
+        return "LaporanInventaris{dimensi=" + dimensi + ", baris=" + baris + "}";
+    }
+}
@@ -0,0 +1,32 @@
+package com.praktikum.whitebox.model;
+
+// Satu perpindahan status stok. dari bernilai null jika produk baru ditambahkan,
+// ke bernilai null jika produk dihapus.
+public class PerubahanStatusStok {
+    private final long kursor;
+    private final String kode;
+    private final StatusStok dari;
+    private final StatusStok ke;
+
+    public PerubahanStatusStok(long kursor, String kode, StatusStok dari, StatusStok ke) {
+        this.kursor = kursor;
+        this.kode = kode;
+        this.dari = dari;
+        this.ke = ke;
+    }
+
+    public long getKursor() { return kursor; }
+    public String getKode() { return kode; }
+    public StatusStok getDari() { return dari; }
+    public StatusStok getKe() { return ke; }
+
+    @Override
+    public String toString() {
+        return "PerubahanStatusStok{" +
+                "kursor=" + kursor +
+                ", kode='" + kode + '\'' +
+                ", dari=" + dari +
+                ", ke=" + ke +
+                '}';
+    }
+}
@@ -5,21 +5,36 @@ public class Produk {
     private String kode;
     private String nama;
     private String kategori;
-    private double harga;
+    // Harga dalam sen (lihat Uang); API double dipertahankan untuk kompatibilitas
+    private long hargaSen;
     private int stok;
     private int stokMinimum;
     private boolean aktif;
+    // Dinaikkan repository setiap kali produk berubah
+    private long versi;
     public Produk() {}
     public Produk(String kode, String nama, String kategori, double
             harga, int stok, int stokMinimum) {
         this.kode = kode;
         this.nama = nama;
         this.kategori = kategori;
-        this.harga = harga;
+        this.hargaSen = Uang.senDariRupiah(harga);
         this.stok = stok;
         this.stokMinimum = stokMinimum;
         this.aktif = true;
     }
+    // Salinan produk, dipakai repository agar objek internal tidak ikut berubah.
+    // Lewat getter agar tampilan flyweight (lihat KatalogKompak) ikut tersalin.
+    public Produk(Produk lain) {
+        this.kode = lain.getKode();
+        this.nama = lain.getNama();
+        this.kategori = lain.getKategori();
+        this.hargaSen = lain.getHargaSen();
+        this.stok = lain.getStok();
+        this.stokMinimum = lain.getStokMinimum();
+        this.aktif = lain.isAktif();
+        this.versi = lain.getVersi();
+    }
 
     // Getters and Setters
     public String getKode() { return kode; }
@@ -31,8 +46,11 @@ public class Produk {
     public String getKategori() { return kategori; }
     public void setKategori(String kategori) { this.kategori = kategori;}
 
-    public double getHarga() { return harga; }
-    public void setHarga(double harga) { this.harga = harga; }
+    public double getHarga() { return Uang.keRupiah(getHargaSen()); }
+    public void setHarga(double harga) { setHargaSen(Uang.senDariRupiah(harga)); }
+
+    public long getHargaSen() { return hargaSen; }
+    public void setHargaSen(long hargaSen) { this.hargaSen = hargaSen; }
 
     public int getStok() { return stok; }
     public void setStok(int stok) { this.stok = stok; }
@@ -43,66 +61,75 @@ public class Produk {
     public boolean isAktif() { return aktif; }
     public void setAktif(boolean aktif) { this.aktif = aktif; }
 
+    public long getVersi() { return versi; }
+    public void setVersi(long versi) { this.versi = versi; }
+
     // Business Logic Methods
     public boolean isStokHabis() {
-        return stok == 0;
+        return getStok() == 0;
     }
 
     public boolean isStokMenipis() {
-        return stok > 0 && stok <= stokMinimum;
+        return getStok() > 0 && getStok() <= getStokMinimum();
     }
 
     public boolean isStokAman() {
-        return stok > stokMinimum;
+        return getStok() > getStokMinimum();
     }
 
     public void kurangiStok(int jumlah) {
         if (jumlah <= 0) {
             throw new IllegalArgumentException("Jumlah harus positif");
         }
-        if (jumlah > stok) {
+        if (jumlah > getStok()) {
             throw new IllegalArgumentException("Stok tidak mencukupi");
         }
-        this.stok -= jumlah;
+        setStok(getStok() - jumlah);
     }
 
     public void tambahStok(int jumlah) {
         if (jumlah <= 0) {
             throw new IllegalArgumentException("Jumlah harus positif");
         }
-        this.stok += jumlah;
+        setStok(getStok() + jumlah);
     }
 
     public double hitungTotalHarga(int jumlah) {
+        return Uang.keRupiah(hitungTotalHargaSen(jumlah));
+    }
+
+    public long hitungTotalHargaSen(int jumlah) {
         if (jumlah <= 0) {
             throw new IllegalArgumentException("Jumlah harus positif");
         }
-        return harga * jumlah;
+        return Uang.kali(getHargaSen(), jumlah);
     }
 
+    // Kesamaan murni berdasarkan kode, juga untuk subclass (mis. KatalogKompak.Tampilan),
+    // sehingga simetris antara Produk biasa dan tampilan katalog
     @Override
-    public boolean equals(Object o) {
+    public final boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        Produk produk = (Produk) o;
-        return Objects.equals(kode, produk.kode);
+        if (!(o instanceof Produk produk)) return false;
+        return Objects.equals(getKode(), produk.getKode());
     }
 
+    // Nilainya sama dengan Objects.hash(kode) tanpa alokasi array varargs
     @Override
-    public int hashCode() {
-        return Objects.hash(kode);
+    public final int hashCode() {
+        return 31 + Objects.hashCode(getKode());
     }
 
     @Override
     public String toString() {
         return "Produk{" +
-                "kode='" + kode + '\'' +
-                ", nama='" + nama + '\'' +
-                ", kategori='" + kategori + '\'' +
-                ", harga=" + harga +
-                ", stok=" + stok +
-                ", stokMinimum=" + stokMinimum +
-                ", aktif=" + aktif +
+                "kode='" + getKode() + '\'' +
+                ", nama='" + getNama() + '\'' +
+                ", kategori='" + getKategori() + '\'' +
+                ", harga=" + getHarga() +
+                ", stok=" + getStok() +
+                ", stokMinimum=" + getStokMinimum() +
+                ", aktif=" + isAktif() +
                 '}';
     }
 }
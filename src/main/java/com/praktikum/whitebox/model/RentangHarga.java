@@ -0,0 +1,52 @@
+package com.praktikum.whitebox.model;
+import java.util.Objects;
+
+// Rentang harga [batasBawahSen, batasAtasSen); batas bernilai null berarti tidak terbatas
+public class RentangHarga implements Comparable<RentangHarga> {
+    private final int indeks;
+    private final Long batasBawahSen;
+    private final Long batasAtasSen;
+
+    public RentangHarga(int indeks, Long batasBawahSen, Long batasAtasSen) {
+        this.indeks = indeks;
+        this.batasBawahSen = batasBawahSen;
+        this.batasAtasSen = batasAtasSen;
+    }
+
+    public int getIndeks() { return indeks; }
+    public Long getBatasBawahSen() { return batasBawahSen; }
+    public Long getBatasAtasSen() { return batasAtasSen; }
+
+    @Override
+    public int compareTo(RentangHarga lain) {
+        return Integer.compare(indeks, lain.indeks);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RentangHarga that = (RentangHarga) o;
+        return indeks == that.indeks && Objects.equals(batasBawahSen, that.batasBawahSen)
+                && Objects.equals(batasAtasSen, that.batasAtasSen);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(indeks, batasBawahSen, batasAtasSen);
+    }
+
+    @Override
+    public String toString() {
+        if (batasBawahSen == null && batasAtasSen == null) {
+            return "semua harga";
+        }
+        if (batasBawahSen == null) {
+            return "< " + Uang.dariSen(batasAtasSen);
+        }
+        if (batasAtasSen == null) {
+            return ">= " + Uang.dariSen(batasBawahSen);
+        }
+        return Uang.dariSen(batasBawahSen) + " - " + Uang.dariSen(batasAtasSen);
+    }
+}
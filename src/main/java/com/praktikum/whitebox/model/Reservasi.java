@@ -0,0 +1,32 @@
+package com.praktikum.whitebox.model;
+
+// Stok yang ditahan untuk checkout sampai dikonfirmasi, dilepas, atau kadaluarsa
+public class Reservasi {
+    private final long id;
+    private final String kode;
+    private final int jumlah;
+    private final long kadaluarsaPada;
+
+    public Reservasi(long id, String kode, int jumlah, long kadaluarsaPada) {
+        this.id = id;
+        this.kode = kode;
+        this.jumlah = jumlah;
+        this.kadaluarsaPada = kadaluarsaPada;
+    }
+
+    public long getId() { return id; }
+    public String getKode() { return kode; }
+    public int getJumlah() { return jumlah; }
+    // Waktu dalam milidetik menurut jam ServiceReservasi
+    public long getKadaluarsaPada() { return kadaluarsaPada; }
+
+    @Override
+    public String toString() {
+        return "Reservasi{" +
+                "id=" + id +
+                ", kode='" + kode + '\'' +
+                ", jumlah=" + jumlah +
+                ", kadaluarsaPada=" + kadaluarsaPada +
+                '}';
+    }
+}
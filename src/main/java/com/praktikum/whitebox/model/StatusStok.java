@@ -0,0 +1,15 @@
+package com.praktikum.whitebox.model;
+
+// Status stok produk, sama dengan isStokAman/isStokMenipis/isStokHabis di Produk
+public enum StatusStok {
+    AMAN,
+    MENIPIS,
+    HABIS;
+
+    public static StatusStok dari(Produk produk) {
+        if (produk.isStokHabis()) {
+            return HABIS;
+        }
+        return produk.isStokMenipis() ? MENIPIS : AMAN;
+    }
+}
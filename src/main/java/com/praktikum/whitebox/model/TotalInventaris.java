@@ -0,0 +1,57 @@
+package com.praktikum.whitebox.model;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+// Jumlah stok dan nilai (harga x stok) produk aktif, untuk seluruh katalog atau satu kategori.
+// Nilai disimpan dalam sen sehingga penjumlahan dalam urutan apa pun hasilnya sama persis.
+public class TotalInventaris {
+    public static final TotalInventaris KOSONG = new TotalInventaris(0, 0);
+
+    private final long totalStok;
+    private final long totalNilaiSen;
+
+    public TotalInventaris(long totalStok, long totalNilaiSen) {
+        this.totalStok = totalStok;
+        this.totalNilaiSen = totalNilaiSen;
+    }
+
+    // Menghitung ulang dari awal dengan memindai semua produk
+    public static TotalInventaris hitung(Stream<Produk> semuaProduk) {
+        long[] total = new long[2];
+        semuaProduk.filter(Produk::isAktif).forEach(p -> {
+            total[0] += p.getStok();
+            total[1] += p.getHargaSen() * p.getStok();
+        });
+        return new TotalInventaris(total[0], total[1]);
+    }
+
+    public TotalInventaris tambah(TotalInventaris lain) {
+        return new TotalInventaris(totalStok + lain.totalStok, totalNilaiSen + lain.totalNilaiSen);
+    }
+
+    public boolean cocokDengan(TotalInventaris lain) {
+        return equals(lain);
+    }
+
+    public long getTotalStok() { return totalStok; }
+    public long getTotalNilaiSen() { return totalNilaiSen; }
+    public double getTotalNilai() { return Uang.keRupiah(totalNilaiSen); }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TotalInventaris that = (TotalInventaris) o;
+        return totalStok == that.totalStok && totalNilaiSen == that.totalNilaiSen;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(totalStok, totalNilaiSen);
+    }
+
+    @Override
+    public String toString() {
+        return "TotalInventaris{totalStok=" + totalStok + ", totalNilai=" + Uang.dariSen(totalNilaiSen) + "}";
+    }
+}
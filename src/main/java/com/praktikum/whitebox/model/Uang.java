@@ -0,0 +1,141 @@
+package com.praktikum.whitebox.model;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Nilai uang fixed-point dalam sen (1/100 rupiah) di atas long primitif. Penjumlahan
+// dan perkalian eksak (overflow melempar ArithmeticException); pembulatan hanya terjadi
+// saat membagi atau mengonversi dari double, dengan RoundingMode yang eksplisit.
+// Jalur panas (agregat, diskon) memakai metode static atas long tanpa membuat objek.
+public final class Uang implements Comparable<Uang> {
+    public static final long SEN_PER_RUPIAH = 100;
+    public static final long BASIS_POIN_PENUH = 10_000;
+    public static final RoundingMode PEMBULATAN = RoundingMode.HALF_EVEN;
+    public static final Uang NOL = new Uang(0);
+
+    private final long sen;
+
+    private Uang(long sen) {
+        this.sen = sen;
+    }
+
+    public static Uang dariSen(long sen) {
+        return sen == 0 ? NOL : new Uang(sen);
+    }
+
+    public static Uang dariRupiah(double rupiah) {
+        return dariSen(senDariRupiah(rupiah));
+    }
+
+    // BigDecimal.valueOf memakai representasi desimal terpendek dari double, jadi
+    // 0.1 menjadi tepat 10 sen, bukan 10.000000000000000555 sen
+    public static long senDariRupiah(double rupiah) {
+        if (Double.isNaN(rupiah) || Double.isInfinite(rupiah)) {
+            throw new ArithmeticException("Nilai rupiah tidak terhingga");
+        }
+        return BigDecimal.valueOf(rupiah).movePointRight(2).setScale(0, PEMBULATAN).longValueExact();
+    }
+
+    public static double keRupiah(long sen) {
+        return sen / (double) SEN_PER_RUPIAH;
+    }
+
+    public static long kali(long sen, long faktor) {
+        return Math.multiplyExact(sen, faktor);
+    }
+
+    // Bagian basisPoin/10000 dari sen, misalnya diskon 1500 bp = 15%
+    public static long persen(long sen, long basisPoin, RoundingMode pembulatan) {
+        return bagi(kali(sen, basisPoin), BASIS_POIN_PENUH, pembulatan);
+    }
+
+    // Pembagian bilangan bulat dengan pembulatan eksplisit, tanpa BigDecimal
+    public static long bagi(long pembilang, long penyebut, RoundingMode pembulatan) {
+        if (penyebut == 0) {
+            throw new ArithmeticException("Pembagian dengan nol");
+        }
+        long hasil = pembilang / penyebut;
+        long sisa = pembilang % penyebut;
+        if (sisa == 0) {
+            return hasil;
+        }
+        int tanda = (pembilang < 0) == (penyebut < 0) ? 1 : -1;
+        boolean naik;
+        switch (pembulatan) {
+            case DOWN:
+                naik = false;
+                break;
+            case UP:
+                naik = true;
+                break;
+            case FLOOR:
+                naik = tanda < 0;
+                break;
+            case CEILING:
+                naik = tanda > 0;
+                break;
+            case UNNECESSARY:
+                throw new ArithmeticException("Pembagian tidak eksak");
+            default:
+                // HALF_*: bandingkan dua kali sisa dengan penyebut tanpa overflow
+                long sisaAbs = Math.abs(sisa);
+                long selisihKeAtas = Math.abs(penyebut) - sisaAbs;
+                if (sisaAbs != selisihKeAtas) {
+                    naik = sisaAbs > selisihKeAtas;
+                } else if (pembulatan == RoundingMode.HALF_UP) {
+                    naik = true;
+                } else if (pembulatan == RoundingMode.HALF_DOWN) {
+                    naik = false;
+                } else {
+                    naik = (hasil & 1) != 0;
+                }
+        }
+        return naik ? hasil + tanda : hasil;
+    }
+
+    public long getSen() {
+        return sen;
+    }
+
+    public double keRupiah() {
+        return keRupiah(sen);
+    }
+
+    public Uang tambah(Uang lain) {
+        return dariSen(Math.addExact(sen, lain.sen));
+    }
+
+    public Uang kurang(Uang lain) {
+        return dariSen(Math.subtractExact(sen, lain.sen));
+    }
+
+    public Uang kali(long faktor) {
+        return dariSen(kali(sen, faktor));
+    }
+
+    public Uang persen(long basisPoin) {
+        return dariSen(persen(sen, basisPoin, PEMBULATAN));
+    }
+
+    @Override
+    public int compareTo(Uang lain) {
+        return Long.compare(sen, lain.sen);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return sen == ((Uang) o).sen;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(sen);
+    }
+
+    @Override
+    public String toString() {
+        long abs = Math.abs(sen);
+        return (sen < 0 ? "-Rp" : "Rp") + (abs / SEN_PER_RUPIAH) + "," + String.format("%02d", abs % SEN_PER_RUPIAH);
+    }
+}
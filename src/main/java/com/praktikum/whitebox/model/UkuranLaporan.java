@@ -0,0 +1,46 @@
+package com.praktikum.whitebox.model;
+
+// Ukuran agregat satu grup laporan. Mutable selama agregasi paralel (setiap thread
+// memegang salinannya sendiri), lalu hanya dibaca setelah laporan selesai.
+public class UkuranLaporan {
+    private long jumlahProduk;
+    private long totalStok;
+    private long totalNilaiSen;
+    private long hargaMinSen = Long.MAX_VALUE;
+    private long hargaMaksSen = Long.MIN_VALUE;
+
+    public void tambah(Produk produk) {
+        long hargaSen = produk.getHargaSen();
+        jumlahProduk++;
+        totalStok += produk.getStok();
+        totalNilaiSen += hargaSen * produk.getStok();
+        hargaMinSen = Math.min(hargaMinSen, hargaSen);
+        hargaMaksSen = Math.max(hargaMaksSen, hargaSen);
+    }
+
+    public void gabung(UkuranLaporan lain) {
+        jumlahProduk += lain.jumlahProduk;
+        totalStok += lain.totalStok;
+        totalNilaiSen += lain.totalNilaiSen;
+        hargaMinSen = Math.min(hargaMinSen, lain.hargaMinSen);
+        hargaMaksSen = Math.max(hargaMaksSen, lain.hargaMaksSen);
+    }
+
+    public long getJumlahProduk() { return jumlahProduk; }
+    public long getTotalStok() { return totalStok; }
+    public long getTotalNilaiSen() { return totalNilaiSen; }
+    // Bernilai 0 untuk grup kosong
+    public long getHargaMinSen() { return jumlahProduk == 0 ? 0 : hargaMinSen; }
+    public long getHargaMaksSen() { return jumlahProduk == 0 ? 0 : hargaMaksSen; }
+
+    @Override
+    public String toString() {
+        return "UkuranLaporan{" +
+                "jumlahProduk=" + jumlahProduk +
+                ", totalStok=" + totalStok +
+                ", totalNilai=" + Uang.dariSen(totalNilaiSen) +
+                ", hargaMin=" + Uang.dariSen(getHargaMinSen()) +
+                ", hargaMaks=" + Uang.dariSen(getHargaMaksSen()) +
+                '}';
+    }
+}
@@ -0,0 +1,87 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Produk;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Encoding biner bersama untuk write-ahead log dan snapshot
+final class FormatRekaman {
+    static final int MAGIC_WAL = 0x57414C31;      // "WAL1"
+    static final int MAGIC_SNAPSHOT = 0x534E5031; // "SNP1"
+    // Harga disimpan sebagai long sen; produk snapshot di-stream dengan penanda per produk
+    static final int VERSI_FORMAT = 1;
+    static final byte PENANDA_PRODUK = 1;
+    static final byte PENANDA_AKHIR = 0;
+    static final int UKURAN_HEADER_FILE = 8;
+    // Setiap rekaman WAL: [int panjang payload][int crc32 payload][payload]
+    static final int UKURAN_HEADER_REKAMAN = 8;
+
+    static final byte JENIS_SIMPAN = 1;
+    static final byte JENIS_HAPUS = 2;
+    static final byte JENIS_STOK = 3;
+    // Beberapa sub-rekaman (jenis 1-3 tanpa LSN) yang diputar ulang sebagai satu kesatuan
+    static final byte JENIS_BATCH = 4;
+
+    private FormatRekaman() {}
+
+    static ByteBuffer pastikanKapasitas(ByteBuffer buffer, int tambahan) {
+        if (buffer.remaining() >= tambahan) {
+            return buffer;
+        }
+        int kapasitasBaru = Math.max(buffer.capacity() * 2, buffer.position() + tambahan);
+        ByteBuffer baru = ByteBuffer.allocate(kapasitasBaru);
+        buffer.flip();
+        baru.put(buffer);
+        return baru;
+    }
+
+    static int ukuranString(String teks) {
+        return teks == null ? 4 : 4 + teks.length() * 3;
+    }
+
+    static int ukuranProduk(Produk produk) {
+        return ukuranString(produk.getKode()) + ukuranString(produk.getNama())
+                + ukuranString(produk.getKategori()) + 8 + 4 + 4 + 1;
+    }
+
+    static void tulisString(ByteBuffer buffer, String teks) {
+        if (teks == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        byte[] bytes = teks.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    static String bacaString(ByteBuffer buffer) {
+        int panjang = buffer.getInt();
+        if (panjang < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[panjang];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void tulisProduk(ByteBuffer buffer, Produk produk) {
+        tulisString(buffer, produk.getKode());
+        tulisString(buffer, produk.getNama());
+        tulisString(buffer, produk.getKategori());
+        buffer.putLong(produk.getHargaSen());
+        buffer.putInt(produk.getStok());
+        buffer.putInt(produk.getStokMinimum());
+        buffer.put(produk.isAktif() ? (byte) 1 : (byte) 0);
+    }
+
+    static Produk bacaProduk(ByteBuffer buffer) {
+        Produk produk = new Produk();
+        produk.setKode(bacaString(buffer));
+        produk.setNama(bacaString(buffer));
+        produk.setKategori(bacaString(buffer));
+        produk.setHargaSen(buffer.getLong());
+        produk.setStok(buffer.getInt());
+        produk.setStokMinimum(buffer.getInt());
+        produk.setAktif(buffer.get() == 1);
+        return produk;
+    }
+}
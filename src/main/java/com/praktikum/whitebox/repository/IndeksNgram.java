@@ -0,0 +1,187 @@
+package com.praktikum.whitebox.repository;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Indeks terbalik n-gram (panjang 1 sampai 3) atas nama produk untuk pencarian
+// substring tanpa membedakan huruf besar kecil. Kueri sampai 3 karakter dijawab
+// langsung dari daftar posting; kueri lebih panjang memakai daftar posting trigram
+// terkecil sebagai kandidat lalu diverifikasi dengan contains.
+// Daftar posting kueri 0-2 karakter hampir selebar katalog, jadi untuk kueri sependek
+// itu hanya kandidat cocok pertama sebanyak batas (atau BATAS_KUERI_PENDEK jika tanpa
+// batas) yang diambil lalu diperingkat; urutan relevansi berlaku di antara kandidat itu.
+// Pemanggil harus menserialkan tambah/hapus untuk kode yang sama.
+public class IndeksNgram {
+    private static final int N = 3;
+    static final int PANJANG_KUERI_PENUH = 3;
+    static final int BATAS_KUERI_PENDEK = 50;
+
+    private final ConcurrentHashMap<String, Set<String>> posting = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> namaByKode = new ConcurrentHashMap<>();
+
+    // Menambah atau mengganti nama untuk kode (rename cukup memanggil tambah lagi)
+    public void tambah(String kode, String nama) {
+        String namaBaru = normalisasi(nama);
+        String namaLama = namaBaru == null ? namaByKode.remove(kode) : namaByKode.put(kode, namaBaru);
+        if (namaBaru != null && namaBaru.equals(namaLama)) {
+            return;
+        }
+        Set<String> gramLama = namaLama == null ? Collections.emptySet() : daftarGram(namaLama);
+        Set<String> gramBaru = namaBaru == null ? Collections.emptySet() : daftarGram(namaBaru);
+        for (String gram : gramLama) {
+            if (!gramBaru.contains(gram)) {
+                hapusPosting(gram, kode);
+            }
+        }
+        for (String gram : gramBaru) {
+            if (!gramLama.contains(gram)) {
+                posting.compute(gram, (g, kodeProduk) -> {
+                    Set<String> set = kodeProduk == null ? ConcurrentHashMap.newKeySet() : kodeProduk;
+                    set.add(kode);
+                    return set;
+                });
+            }
+        }
+    }
+
+    public void hapus(String kode) {
+        String namaLama = namaByKode.remove(kode);
+        if (namaLama != null) {
+            for (String gram : daftarGram(namaLama)) {
+                hapusPosting(gram, kode);
+            }
+        }
+    }
+
+    // Mengembalikan kode produk yang namanya mengandung kueri, terurut menurut
+    // relevansi; batas <= 0 berarti tanpa batas (kecuali kueri pendek, lihat atas)
+    public List<String> cari(String kueri, int batas) {
+        String q = normalisasi(kueri);
+        if (q == null) {
+            return Collections.emptyList();
+        }
+        Iterable<String> kandidat;
+        if (q.isEmpty()) {
+            kandidat = namaByKode.keySet();
+        } else if (q.length() <= N) {
+            Set<String> set = posting.get(q);
+            if (set == null) {
+                return Collections.emptyList();
+            }
+            kandidat = set;
+        } else {
+            kandidat = postingTerkecil(q);
+            if (kandidat == null) {
+                return Collections.emptyList();
+            }
+        }
+        int batasKandidat = q.length() >= PANJANG_KUERI_PENUH ? 0 : batas > 0 ? batas : BATAS_KUERI_PENDEK;
+        int jumlahCocok = 0;
+        Comparator<Kandidat> urutan = Comparator.comparingInt((Kandidat k) -> k.skor)
+                .thenComparingInt(k -> k.panjangNama)
+                .thenComparing(k -> k.kode);
+        // Untuk top-k dipakai max-heap berukuran batas sehingga kandidat terburuk dibuang
+        PriorityQueue<Kandidat> heap = batas > 0 ? new PriorityQueue<>(batas + 1, urutan.reversed()) : null;
+        List<Kandidat> semua = batas > 0 ? null : new ArrayList<>();
+        for (String kode : kandidat) {
+            String nama = namaByKode.get(kode);
+            int posisi = nama == null ? -1 : nama.indexOf(q);
+            if (posisi < 0) {
+                continue;
+            }
+            Kandidat k = new Kandidat(kode, skor(nama, posisi), nama.length());
+            if (heap == null) {
+                semua.add(k);
+            } else {
+                heap.offer(k);
+                if (heap.size() > batas) {
+                    heap.poll();
+                }
+            }
+            if (++jumlahCocok == batasKandidat) {
+                break;
+            }
+        }
+        if (heap != null) {
+            semua = new ArrayList<>(heap);
+        }
+        semua.sort(urutan);
+        List<String> hasil = new ArrayList<>(semua.size());
+        for (Kandidat k : semua) {
+            hasil.add(k.kode);
+        }
+        return hasil;
+    }
+
+    // 0 = awalan nama, 1 = awal kata, 2 = di tengah kata
+    static int skor(String nama, int posisi) {
+        if (posisi == 0) {
+            return 0;
+        }
+        return Character.isLetterOrDigit(nama.charAt(posisi - 1)) ? 2 : 1;
+    }
+
+    // Urutan relevansi yang sama dengan cari, untuk menggabungkan hasil dari beberapa indeks
+    static Comparator<String> urutanRelevansi(String kueri) {
+        String q = normalisasi(kueri);
+        return Comparator.comparingInt((String nama) -> {
+                    String n = normalisasi(nama);
+                    int posisi = n == null ? -1 : n.indexOf(q);
+                    return posisi < 0 ? Integer.MAX_VALUE : skor(n, posisi);
+                })
+                .thenComparingInt(nama -> nama == null ? Integer.MAX_VALUE : nama.length());
+    }
+
+    static String normalisasi(String teks) {
+        return teks == null ? null : teks.toLowerCase(Locale.ROOT);
+    }
+
+    private Set<String> postingTerkecil(String q) {
+        Set<String> terkecil = null;
+        for (int i = 0; i + N <= q.length(); i++) {
+            Set<String> set = posting.get(q.substring(i, i + N));
+            if (set == null) {
+                return null;
+            }
+            if (terkecil == null || set.size() < terkecil.size()) {
+                terkecil = set;
+            }
+        }
+        return terkecil;
+    }
+
+    private void hapusPosting(String gram, String kode) {
+        posting.computeIfPresent(gram, (g, kodeProduk) -> {
+            kodeProduk.remove(kode);
+            return kodeProduk.isEmpty() ? null : kodeProduk;
+        });
+    }
+
+    private static Set<String> daftarGram(String nama) {
+        Set<String> gram = new HashSet<>();
+        for (int i = 0; i < nama.length(); i++) {
+            for (int n = 1; n <= N && i + n <= nama.length(); n++) {
+                gram.add(nama.substring(i, i + n));
+            }
+        }
+        return gram;
+    }
+
+    private static final class Kandidat {
+        final String kode;
+        final int skor;
+        final int panjangNama;
+
+        Kandidat(String kode, int skor, int panjangNama) {
+            this.kode = kode;
+            this.skor = skor;
+            this.panjangNama = panjangNama;
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.util.TabelSimbol;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.Consumer;
+
+// Penyimpanan katalog dalam array paralel per atribut (struct-of-arrays) alih-alih satu
+// objek Produk per baris. Kategori di-intern ke id int, aktif disimpan sebagai bit, dan
+// pencarian per kode memakai tabel hash open addressing berisi int (baris + 1) sehingga
+// tidak ada objek per produk selain String kode dan nama. Baca ditampilkan lewat
+// Tampilan, Produk flyweight yang bisa dipindah antar baris tanpa alokasi.
+// Tidak thread-safe; pemanggil harus menserialkan akses.
+public class KatalogKompak {
+    // Perkiraan JVM 64-bit dengan compressed oops: Produk 56 byte (header 12, 3 referensi,
+    // dua long, dua int, boolean, dibulatkan ke kelipatan 8) ditambah node ConcurrentHashMap
+    // 32 byte dan slot tabelnya sekitar 4 byte. String tidak dihitung karena sama di kedua model.
+    public static final int PERKIRAAN_BYTE_PER_PRODUK_OBJEK = 56 + 32 + 4;
+    private static final int UKURAN_REFERENSI = 4;
+    private static final int KAPASITAS_AWAL = 16;
+
+    private final TabelSimbol simbolKategori = new TabelSimbol();
+    private String[] kode = new String[KAPASITAS_AWAL];
+    private String[] nama = new String[KAPASITAS_AWAL];
+    // TabelSimbol.TIDAK_ADA untuk kategori null
+    private int[] idKategori = new int[KAPASITAS_AWAL];
+    private long[] hargaSen = new long[KAPASITAS_AWAL];
+    private int[] stok = new int[KAPASITAS_AWAL];
+    private int[] stokMinimum = new int[KAPASITAS_AWAL];
+    private long[] versi = new long[KAPASITAS_AWAL];
+    private final BitSet aktif = new BitSet(KAPASITAS_AWAL);
+    // Ukuran pangkat dua, faktor muat paling banyak 1/2; 0 berarti slot kosong
+    private int[] indeks = new int[KAPASITAS_AWAL * 2];
+    private int ukuran;
+
+    // Menambah atau mengganti produk dengan kode yang sama; mengembalikan barisnya
+    public int simpan(Produk produk) {
+        if (produk == null || produk.getKode() == null) {
+            throw new IllegalArgumentException("Produk dan kode wajib diisi");
+        }
+        int slot = cariSlot(produk.getKode());
+        int baris;
+        if (indeks[slot] != 0) {
+            baris = indeks[slot] - 1;
+            versi[baris]++;
+        } else {
+            if (ukuran == kode.length) {
+                tumbuh();
+                slot = cariSlot(produk.getKode());
+            }
+            baris = ukuran++;
+            indeks[slot] = baris + 1;
+            kode[baris] = produk.getKode();
+            versi[baris] = 1;
+        }
+        nama[baris] = produk.getNama();
+        idKategori[baris] = produk.getKategori() == null
+                ? TabelSimbol.TIDAK_ADA : simbolKategori.intern(produk.getKategori());
+        hargaSen[baris] = produk.getHargaSen();
+        stok[baris] = produk.getStok();
+        stokMinimum[baris] = produk.getStokMinimum();
+        aktif.set(baris, produk.isAktif());
+        return baris;
+    }
+
+    // Baris produk dengan kode tersebut, atau -1
+    public int cariBaris(String kodeProduk) {
+        if (kodeProduk == null) {
+            return -1;
+        }
+        return indeks[cariSlot(kodeProduk)] - 1;
+    }
+
+    public boolean updateStok(String kodeProduk, int stokBaru) {
+        int baris = cariBaris(kodeProduk);
+        if (baris < 0) {
+            return false;
+        }
+        stok[baris] = stokBaru;
+        versi[baris]++;
+        return true;
+    }
+
+    // Baris terakhir dipindah ke baris yang dihapus, jadi nomor baris tidak stabil
+    // melewati penghapusan
+    public boolean hapus(String kodeProduk) {
+        int baris = cariBaris(kodeProduk);
+        if (baris < 0) {
+            return false;
+        }
+        hapusSlot(cariSlot(kodeProduk));
+        int terakhir = --ukuran;
+        if (baris != terakhir) {
+            indeks[cariSlot(kode[terakhir])] = baris + 1;
+            kode[baris] = kode[terakhir];
+            nama[baris] = nama[terakhir];
+            idKategori[baris] = idKategori[terakhir];
+            hargaSen[baris] = hargaSen[terakhir];
+            stok[baris] = stok[terakhir];
+            stokMinimum[baris] = stokMinimum[terakhir];
+            versi[baris] = versi[terakhir];
+            aktif.set(baris, aktif.get(terakhir));
+        }
+        kode[terakhir] = null;
+        nama[terakhir] = null;
+        aktif.clear(terakhir);
+        return true;
+    }
+
+    public Tampilan tampilan(int baris) {
+        Tampilan tampilan = new Tampilan();
+        tampilan.pindahKe(baris);
+        return tampilan;
+    }
+
+    // Satu Tampilan dipakai ulang untuk semua baris; salin dengan new Produk(p) jika
+    // produk perlu disimpan setelah callback kembali
+    public void untukSetiap(Consumer<Produk> aksi) {
+        Tampilan tampilan = new Tampilan();
+        for (int baris = 0; baris < ukuran; baris++) {
+            tampilan.pindahKe(baris);
+            aksi.accept(tampilan);
+        }
+    }
+
+    public int getUkuran() {
+        return ukuran;
+    }
+
+    // Byte yang benar-benar dialokasikan untuk array katalog (termasuk kapasitas cadangan
+    // dan tabel indeks) dibagi jumlah produk, di luar String kode dan nama
+    public double getBytePerProduk() {
+        if (ukuran == 0) {
+            return 0;
+        }
+        long total = (long) kode.length * UKURAN_REFERENSI * 2
+                + (long) idKategori.length * Integer.BYTES
+                + (long) hargaSen.length * Long.BYTES
+                + (long) stok.length * Integer.BYTES * 2
+                + (long) versi.length * Long.BYTES
+                + aktif.size() / Byte.SIZE
+                + (long) indeks.length * Integer.BYTES;
+        return total / (double) ukuran;
+    }
+
+    private void tumbuh() {
+        int kapasitas = kode.length * 2;
+        kode = Arrays.copyOf(kode, kapasitas);
+        nama = Arrays.copyOf(nama, kapasitas);
+        idKategori = Arrays.copyOf(idKategori, kapasitas);
+        hargaSen = Arrays.copyOf(hargaSen, kapasitas);
+        stok = Arrays.copyOf(stok, kapasitas);
+        stokMinimum = Arrays.copyOf(stokMinimum, kapasitas);
+        versi = Arrays.copyOf(versi, kapasitas);
+        indeks = new int[kapasitas * 2];
+        for (int baris = 0; baris < ukuran; baris++) {
+            indeks[cariSlot(kode[baris])] = baris + 1;
+        }
+    }
+
+    // Slot berisi kode tersebut, atau slot kosong tempat kode itu akan disisipkan
+    private int cariSlot(String kodeProduk) {
+        int mask = indeks.length - 1;
+        int slot = slotAwal(kodeProduk, mask);
+        while (indeks[slot] != 0 && !kode[indeks[slot] - 1].equals(kodeProduk)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Penghapusan linear probing tanpa tombstone: entri setelahnya digeser mundur jika
+    // slot awalnya tidak berada di antara slot kosong dan posisinya sekarang
+    private void hapusSlot(int kosong) {
+        int mask = indeks.length - 1;
+        int slot = kosong;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (indeks[slot] == 0) {
+                break;
+            }
+            int awal = slotAwal(kode[indeks[slot] - 1], mask);
+            boolean tetap = kosong <= slot ? kosong < awal && awal <= slot : kosong < awal || awal <= slot;
+            if (!tetap) {
+                indeks[kosong] = indeks[slot];
+                kosong = slot;
+            }
+        }
+        indeks[kosong] = 0;
+    }
+
+    private static int slotAwal(String kodeProduk, int mask) {
+        int h = kodeProduk.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    // Produk baca-saja yang membaca langsung dari array katalog pada baris saat ini.
+    // Perubahan dilakukan lewat KatalogKompak, bukan lewat setter. equals/hashCode
+    // mengikuti kode baris saat ini, jadi berubah setelah pindahKe: simpan salinan
+    // new Produk(tampilan), bukan tampilan itu sendiri, di HashSet/HashMap.
+    public final class Tampilan extends Produk {
+        private int baris;
+
+        private Tampilan() {}
+
+        public Tampilan pindahKe(int barisBaru) {
+            if (barisBaru < 0 || barisBaru >= ukuran) {
+                throw new IndexOutOfBoundsException("Baris tidak ada: " + barisBaru);
+            }
+            this.baris = barisBaru;
+            return this;
+        }
+
+        public int getBaris() {
+            return baris;
+        }
+
+        @Override
+        public String getKode() { return kode[baris]; }
+
+        @Override
+        public String getNama() { return nama[baris]; }
+
+        @Override
+        public String getKategori() {
+            int id = idKategori[baris];
+            return id == TabelSimbol.TIDAK_ADA ? null : simbolKategori.simbol(id);
+        }
+
+        @Override
+        public long getHargaSen() { return hargaSen[baris]; }
+
+        @Override
+        public int getStok() { return stok[baris]; }
+
+        @Override
+        public int getStokMinimum() { return stokMinimum[baris]; }
+
+        @Override
+        public boolean isAktif() { return aktif.get(baris); }
+
+        @Override
+        public long getVersi() { return versi[baris]; }
+
+        @Override
+        public void setKode(String kode) { tolakPerubahan(); }
+
+        @Override
+        public void setNama(String nama) { tolakPerubahan(); }
+
+        @Override
+        public void setKategori(String kategori) { tolakPerubahan(); }
+
+        @Override
+        public void setHargaSen(long hargaSen) { tolakPerubahan(); }
+
+        @Override
+        public void setStok(int stok) { tolakPerubahan(); }
+
+        @Override
+        public void setStokMinimum(int stokMinimum) { tolakPerubahan(); }
+
+        @Override
+        public void setAktif(boolean aktif) { tolakPerubahan(); }
+
+        @Override
+        public void setVersi(long versi) { tolakPerubahan(); }
+
+        private void tolakPerubahan() {
+            throw new UnsupportedOperationException("Tampilan katalog hanya baca");
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.praktikum.whitebox.repository;
+
+// Kapan write-ahead log dipaksa (fsync) ke disk
+public enum KebijakanFsync {
+    // Setiap commit menunggu fsync; commit yang bersamaan digabung dalam satu fsync
+    SETIAP_COMMIT,
+    // Rekaman ditulis tiap commit, fsync paling sering sekali per interval
+    BERKALA,
+    // Rekaman ditulis tiap commit, fsync diserahkan ke sistem operasi
+    TIDAK_PERNAH
+}
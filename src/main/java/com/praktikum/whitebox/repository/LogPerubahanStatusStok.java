@@ -0,0 +1,40 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.DaftarPerubahanStatusStok;
+import com.praktikum.whitebox.model.PerubahanStatusStok;
+import com.praktikum.whitebox.model.StatusStok;
+import java.util.ArrayList;
+import java.util.List;
+
+// Log melingkar berkapasitas tetap berisi perpindahan status stok. Perpindahan hanya
+// terjadi saat produk melewati ambang stok, jadi satu kunci sudah cukup murah.
+public class LogPerubahanStatusStok {
+    private final PerubahanStatusStok[] isi;
+    private long kursorTerakhir;
+
+    public LogPerubahanStatusStok(int kapasitas) {
+        if (kapasitas <= 0) {
+            throw new IllegalArgumentException("Kapasitas harus positif");
+        }
+        this.isi = new PerubahanStatusStok[kapasitas];
+    }
+
+    public synchronized void catat(String kode, StatusStok dari, StatusStok ke) {
+        long kursor = ++kursorTerakhir;
+        isi[(int) (kursor % isi.length)] = new PerubahanStatusStok(kursor, kode, dari, ke);
+    }
+
+    public synchronized long getKursorTerakhir() {
+        return kursorTerakhir;
+    }
+
+    // Semua perubahan dengan kursor lebih besar dari argumen; kursor awal adalah 0
+    public synchronized DaftarPerubahanStatusStok perubahanSejak(long kursor) {
+        long tertua = Math.max(1, kursorTerakhir - isi.length + 1);
+        long mulai = Math.max(kursor + 1, tertua);
+        List<PerubahanStatusStok> hasil = new ArrayList<>((int) Math.max(0, kursorTerakhir - mulai + 1));
+        for (long k = mulai; k <= kursorTerakhir; k++) {
+            hasil.add(isi[(int) (k % isi.length)]);
+        }
+        return new DaftarPerubahanStatusStok(hasil, kursorTerakhir, kursor + 1 < tertua);
+    }
+}
@@ -1,16 +1,57 @@
 package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.DaftarPerubahanStatusStok;
 import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.TotalInventaris;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface RepositoryProduk {
     boolean simpan(Produk produk);
     Optional<Produk> cariByKode(String kode);
     List<Produk> cariByNama(String nama);
+    // Hasil terurut menurut relevansi (awalan nama dulu); batas <= 0 berarti tanpa batas
+    List<Produk> cariByNama(String nama, int batas);
     List<Produk> cariByKategori(String kategori);
     List<Produk> cariProdukStokMenipis();
     List<Produk> cariProdukStokHabis();
+    // Produk yang masuk atau keluar dari daftar stok menipis/habis sejak kursor
+    DaftarPerubahanStatusStok cariPerubahanStatusStok(long kursor);
     boolean hapus(String kode);
+    // Menghapus produk hanya jika stoknya 0; pemeriksaan dan penghapusan terjadi di
+    // bawah kunci yang sama dengan penulisan stok, sehingga stok masuk tidak hilang.
+    boolean hapusJikaStokNol(String kode);
     boolean updateStok(String kode, int stokBaru);
+    // Menambah stok produk aktif sebesar delta (boleh negatif) secara atomik.
+    // Gagal jika produk tidak ada, tidak aktif, atau stok hasil < minimumStok.
+    boolean adjustStok(String kode, int delta, int minimumStok);
+    // adjustStok untuk beberapa kode sekaligus secara all-or-nothing: jika satu baris
+    // gagal, tidak ada stok yang berubah. Kode yang muncul berulang dijumlahkan deltanya.
+    boolean adjustStokSemua(String[] kode, int[] delta, int minimumStok);
+    // Operasi batch hanya memproses baris yang bit-nya menyala di baris, dan
+    // mengembalikan bitmap baris yang berhasil. tambahProdukBatch hanya menyisipkan
+    // kode yang belum ada; updateStokBatch hanya mengubah kode yang sudah ada.
+    BitSet tambahProdukBatch(List<Produk> daftarProduk, BitSet baris);
+    BitSet updateStokBatch(String[] kode, int[] stokBaru, BitSet baris);
     List<Produk> cariSemua();
-}
\ No newline at end of file
+    // Alternatif cariSemua untuk pembaca massal: produk dibaca satu per satu tanpa
+    // memuat seluruh katalog ke satu list. Stream harus ditutup setelah dipakai.
+    Stream<Produk> streamSemua();
+
+    // Total stok dan nilai produk aktif. Bawaan menghitung ulang lewat streamSemua;
+    // implementasi yang memelihara total secara inkremental meng-override keduanya.
+    default TotalInventaris hitungTotal() {
+        try (Stream<Produk> semuaProduk = streamSemua()) {
+            return TotalInventaris.hitung(semuaProduk);
+        }
+    }
+    default TotalInventaris hitungTotal(String kategori) {
+        if (kategori == null) {
+            return TotalInventaris.KOSONG;
+        }
+        try (Stream<Produk> semuaProduk = streamSemua()) {
+            return TotalInventaris.hitung(semuaProduk.filter(p -> kategori.equals(p.getKategori())));
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.DaftarPerubahanStatusStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.TotalInventaris;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+// Decorator RepositoryProduk yang meng-cache cariByKode, termasuk hasil kosong
+// (negative lookup), dengan jumlah entri terbatas dan eviksi W-TinyLFU: jendela LRU
+// kecil untuk entri baru, lalu area utama SLRU (probation/protected) yang hanya
+// menerima kandidat jika frekuensinya menurut sketsa lebih tinggi dari korban.
+// Setiap penulisan diteruskan ke repository asli lalu entri kodenya dibuang.
+public class RepositoryProdukCache implements RepositoryProduk {
+    private static final int JUMLAH_GENERASI = 256;
+    private static final int JENDELA = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final RepositoryProduk repositoryAsli;
+    private final int kapasitas;
+    private final int maksJendela;
+    private final int maksUtama;
+    private final int maksProtected;
+    private final ConcurrentHashMap<String, Entri> data = new ConcurrentHashMap<>();
+
+    // Daftar LRU dan sketsa hanya disentuh dengan kunciKebijakan dipegang
+    private final ReentrantLock kunciKebijakan = new ReentrantLock();
+    private final SketsaFrekuensi sketsa;
+    private final Entri[] kepala = {new Entri(null, null), new Entri(null, null), new Entri(null, null)};
+    private final int[] ukuranDaftar = new int[3];
+    // Dinaikkan setiap invalidasi; pemuatan yang melihat generasi berubah tidak disimpan
+    private final AtomicLongArray generasi = new AtomicLongArray(JUMLAH_GENERASI);
+
+    private final LongAdder hit = new LongAdder();
+    private final LongAdder miss = new LongAdder();
+    private final LongAdder eviksi = new LongAdder();
+
+    public RepositoryProdukCache(RepositoryProduk repositoryAsli, int kapasitas) {
+        if (repositoryAsli == null || kapasitas <= 0) {
+            throw new IllegalArgumentException("Repository asli dan kapasitas positif wajib diisi");
+        }
+        this.repositoryAsli = repositoryAsli;
+        this.kapasitas = kapasitas;
+        this.maksJendela = Math.max(1, kapasitas / 100);
+        this.maksUtama = kapasitas - maksJendela;
+        this.maksProtected = maksUtama * 4 / 5;
+        this.sketsa = new SketsaFrekuensi(kapasitas);
+        for (Entri k : kepala) {
+            k.sebelum = k;
+            k.sesudah = k;
+        }
+    }
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        if (kode == null) {
+            return Optional.empty();
+        }
+        Entri entri = data.get(kode);
+        if (entri != null) {
+            hit.increment();
+            // Pencatatan akses boleh hilang saat kunci sibuk agar pembaca tidak antre
+            if (kunciKebijakan.tryLock()) {
+                try {
+                    catatAkses(entri);
+                } finally {
+                    kunciKebijakan.unlock();
+                }
+            }
+            return entri.produk == null ? Optional.empty() : Optional.of(new Produk(entri.produk));
+        }
+        miss.increment();
+        int slot = slotGenerasi(kode);
+        long generasiAwal = generasi.get(slot);
+        Optional<Produk> hasil = repositoryAsli.cariByKode(kode);
+        Entri baru = new Entri(kode, hasil.map(Produk::new).orElse(null));
+        kunciKebijakan.lock();
+        try {
+            if (generasi.get(slot) == generasiAwal && data.putIfAbsent(kode, baru) == null) {
+                sketsa.tambah(kode.hashCode());
+                sisipkanDiKepala(baru, JENDELA);
+                seimbangkan();
+            }
+        } finally {
+            kunciKebijakan.unlock();
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean simpan(Produk produk) {
+        boolean hasil = repositoryAsli.simpan(produk);
+        if (produk != null) {
+            invalidasi(produk.getKode());
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        boolean hasil = repositoryAsli.hapus(kode);
+        invalidasi(kode);
+        return hasil;
+    }
+
+    @Override
+    public boolean hapusJikaStokNol(String kode) {
+        boolean hasil = repositoryAsli.hapusJikaStokNol(kode);
+        invalidasi(kode);
+        return hasil;
+    }
+
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        boolean hasil = repositoryAsli.updateStok(kode, stokBaru);
+        invalidasi(kode);
+        return hasil;
+    }
+
+    @Override
+    public boolean adjustStok(String kode, int delta, int minimumStok) {
+        boolean hasil = repositoryAsli.adjustStok(kode, delta, minimumStok);
+        if (hasil) {
+            invalidasi(kode);
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean adjustStokSemua(String[] kode, int[] delta, int minimumStok) {
+        boolean hasil = repositoryAsli.adjustStokSemua(kode, delta, minimumStok);
+        if (hasil) {
+            for (String k : kode) {
+                invalidasi(k);
+            }
+        }
+        return hasil;
+    }
+
+    @Override
+    public BitSet tambahProdukBatch(List<Produk> daftarProduk, BitSet baris) {
+        BitSet hasil = repositoryAsli.tambahProdukBatch(daftarProduk, baris);
+        for (int i = hasil.nextSetBit(0); i >= 0; i = hasil.nextSetBit(i + 1)) {
+            invalidasi(daftarProduk.get(i).getKode());
+        }
+        return hasil;
+    }
+
+    @Override
+    public BitSet updateStokBatch(String[] kode, int[] stokBaru, BitSet baris) {
+        BitSet hasil = repositoryAsli.updateStokBatch(kode, stokBaru, baris);
+        for (int i = hasil.nextSetBit(0); i >= 0; i = hasil.nextSetBit(i + 1)) {
+            invalidasi(kode[i]);
+        }
+        return hasil;
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        return repositoryAsli.cariByNama(nama);
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama, int batas) {
+        return repositoryAsli.cariByNama(nama, batas);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        return repositoryAsli.cariByKategori(kategori);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return repositoryAsli.cariProdukStokMenipis();
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return repositoryAsli.cariProdukStokHabis();
+    }
+
+    @Override
+    public DaftarPerubahanStatusStok cariPerubahanStatusStok(long kursor) {
+        return repositoryAsli.cariPerubahanStatusStok(kursor);
+    }
+
+    @Override
+    public TotalInventaris hitungTotal() {
+        return repositoryAsli.hitungTotal();
+    }
+
+    @Override
+    public TotalInventaris hitungTotal(String kategori) {
+        return repositoryAsli.hitungTotal(kategori);
+    }
+
+    @Override
+    public List<Produk> cariSemua() {
+        return repositoryAsli.cariSemua();
+    }
+
+    @Override
+    public Stream<Produk> streamSemua() {
+        return repositoryAsli.streamSemua();
+    }
+
+    public StatistikCache statistik() {
+        return new StatistikCache(hit.sum(), miss.sum(), eviksi.sum(), data.size());
+    }
+
+    public int getKapasitas() {
+        return kapasitas;
+    }
+
+    private void invalidasi(String kode) {
+        if (kode == null) {
+            return;
+        }
+        kunciKebijakan.lock();
+        try {
+            generasi.incrementAndGet(slotGenerasi(kode));
+            Entri entri = data.remove(kode);
+            if (entri != null) {
+                lepas(entri);
+            }
+        } finally {
+            kunciKebijakan.unlock();
+        }
+    }
+
+    // ===== Kebijakan W-TinyLFU (kunciKebijakan dipegang) =====
+
+    private void catatAkses(Entri entri) {
+        if (entri.wilayah < 0) {
+            return; // sudah dievict atau diinvalidasi
+        }
+        sketsa.tambah(entri.kode.hashCode());
+        if (entri.wilayah == PROBATION) {
+            lepas(entri);
+            sisipkanDiKepala(entri, PROTECTED);
+            if (ukuranDaftar[PROTECTED] > maksProtected) {
+                Entri turun = kepala[PROTECTED].sebelum;
+                lepas(turun);
+                sisipkanDiKepala(turun, PROBATION);
+            }
+        } else {
+            int wilayah = entri.wilayah;
+            lepas(entri);
+            sisipkanDiKepala(entri, wilayah);
+        }
+    }
+
+    private void seimbangkan() {
+        while (ukuranDaftar[JENDELA] > maksJendela) {
+            Entri kandidat = kepala[JENDELA].sebelum;
+            lepas(kandidat);
+            if (ukuranDaftar[PROBATION] + ukuranDaftar[PROTECTED] < maksUtama) {
+                sisipkanDiKepala(kandidat, PROBATION);
+                continue;
+            }
+            Entri korban = ukuranDaftar[PROBATION] > 0 ? kepala[PROBATION].sebelum : kepala[PROTECTED].sebelum;
+            if (korban == kepala[PROTECTED]
+                    || sketsa.frekuensi(kandidat.kode.hashCode()) <= sketsa.frekuensi(korban.kode.hashCode())) {
+                buang(kandidat);
+            } else {
+                lepas(korban);
+                buang(korban);
+                sisipkanDiKepala(kandidat, PROBATION);
+            }
+        }
+    }
+
+    private void buang(Entri entri) {
+        data.remove(entri.kode, entri);
+        eviksi.increment();
+    }
+
+    private void sisipkanDiKepala(Entri entri, int wilayah) {
+        Entri k = kepala[wilayah];
+        entri.sesudah = k.sesudah;
+        entri.sebelum = k;
+        k.sesudah.sebelum = entri;
+        k.sesudah = entri;
+        entri.wilayah = wilayah;
+        ukuranDaftar[wilayah]++;
+    }
+
+    private void lepas(Entri entri) {
+        if (entri.wilayah < 0) {
+            return;
+        }
+        entri.sebelum.sesudah = entri.sesudah;
+        entri.sesudah.sebelum = entri.sebelum;
+        ukuranDaftar[entri.wilayah]--;
+        entri.wilayah = -1;
+    }
+
+    private static int slotGenerasi(String kode) {
+        int h = kode.hashCode();
+        return (h ^ (h >>> 16)) & (JUMLAH_GENERASI - 1);
+    }
+
+    private static final class Entri {
+        final String kode;
+        // null berarti kode tidak ada di repository asli (negative entry)
+        final Produk produk;
+        Entri sebelum;
+        Entri sesudah;
+        int wilayah = -1;
+
+        Entri(String kode, Produk produk) {
+            this.kode = kode;
+            this.produk = produk;
+        }
+    }
+}
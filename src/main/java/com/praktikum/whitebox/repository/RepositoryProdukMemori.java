@@ -0,0 +1,486 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.DaftarPerubahanStatusStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.StatusStok;
+import com.praktikum.whitebox.model.TotalInventaris;
+import com.praktikum.whitebox.util.TabelSimbol;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+// Implementasi RepositoryProduk di memori yang aman untuk banyak thread.
+// Data utama disimpan per kode, ditambah indeks sekunder per kategori dan
+// per status stok sehingga pencarian sebanding dengan jumlah hasil.
+public class RepositoryProdukMemori implements RepositoryProduk {
+    private static final int JUMLAH_KUNCI = 64;
+    private static final int KAPASITAS_LOG_STATUS = 65536;
+
+    private final ConcurrentHashMap<String, Produk> produkByKode = new ConcurrentHashMap<>();
+    // Nama kategori di-intern ke id int; indeks dan total per kategori disimpan di array
+    // menurut id sehingga setiap produk berbagi satu instance String per kategori
+    private final TabelSimbol simbolKategori = new TabelSimbol();
+    private volatile DataKategori[] dataKategori = new DataKategori[0];
+    private final Set<String> indeksStokMenipis = ConcurrentHashMap.newKeySet();
+    private final Set<String> indeksStokHabis = ConcurrentHashMap.newKeySet();
+    private final IndeksNgram indeksNama = new IndeksNgram();
+    private final LogPerubahanStatusStok logStatusStok;
+    // Total produk aktif dipelihara setiap penulisan sehingga hitungTotal O(1); nilai dalam
+    // sen sehingga tambah-kurang berulang tidak pernah menumpuk galat pembulatan
+    private final AkumulatorTotal total = new AkumulatorTotal();
+    // Penulisan untuk kode yang sama diserialkan lewat kunci bergaris (striped lock),
+    // pembacaan tidak pernah mengunci
+    private final ReentrantLock[] kunci = new ReentrantLock[JUMLAH_KUNCI];
+
+    public RepositoryProdukMemori() {
+        this(new LogPerubahanStatusStok(KAPASITAS_LOG_STATUS));
+    }
+
+    // Log bisa dibagi beberapa repository agar poller cukup memegang satu kursor
+    public RepositoryProdukMemori(LogPerubahanStatusStok logStatusStok) {
+        this.logStatusStok = logStatusStok;
+        for (int i = 0; i < kunci.length; i++) {
+            kunci[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public boolean simpan(Produk produk) {
+        if (produk == null || produk.getKode() == null) {
+            return false;
+        }
+        // Objek yang sudah diterbitkan ke map tidak pernah diubah lagi (copy-on-write)
+        Produk salinan = new Produk(produk);
+        if (salinan.getKategori() != null) {
+            salinan.setKategori(simbolKategori.simbol(simbolKategori.intern(salinan.getKategori())));
+        }
+        ReentrantLock k = kunciUntuk(salinan.getKode());
+        k.lock();
+        try {
+            Produk lama = produkByKode.get(salinan.getKode());
+            salinan.setVersi(lama == null ? 1 : lama.getVersi() + 1);
+            produkByKode.put(salinan.getKode(), salinan);
+            if (lama != null) {
+                hapusDariIndeksKategori(lama);
+            }
+            tambahKeIndeksKategori(salinan);
+            pindahStatusStok(salinan.getKode(), lama, salinan);
+            perbaruiTotal(lama, salinan);
+            indeksNama.tambah(salinan.getKode(), salinan.getNama());
+            return true;
+        } finally {
+            k.unlock();
+        }
+    }
+
+    // Kunci garis setiap baris terpilih diambil sekali di awal (berurutan seperti
+    // adjustStokSemua), sehingga batch terlihat utuh oleh penulis lain
+    @Override
+    public BitSet tambahProdukBatch(List<Produk> daftarProduk, BitSet baris) {
+        BitSet berhasil = new BitSet(daftarProduk.size());
+        boolean[] perluKunci = new boolean[JUMLAH_KUNCI];
+        for (int i = baris.nextSetBit(0); i >= 0 && i < daftarProduk.size(); i = baris.nextSetBit(i + 1)) {
+            Produk produk = daftarProduk.get(i);
+            if (produk != null && produk.getKode() != null) {
+                perluKunci[indeksKunci(produk.getKode())] = true;
+            }
+        }
+        kunciSemua(perluKunci);
+        try {
+            for (int i = baris.nextSetBit(0); i >= 0 && i < daftarProduk.size(); i = baris.nextSetBit(i + 1)) {
+                Produk produk = daftarProduk.get(i);
+                if (produk != null && produk.getKode() != null
+                        && !produkByKode.containsKey(produk.getKode()) && simpan(produk)) {
+                    berhasil.set(i);
+                }
+            }
+        } finally {
+            lepasSemua(perluKunci);
+        }
+        return berhasil;
+    }
+
+    @Override
+    public BitSet updateStokBatch(String[] kode, int[] stokBaru, BitSet baris) {
+        BitSet berhasil = new BitSet(kode.length);
+        boolean[] perluKunci = new boolean[JUMLAH_KUNCI];
+        for (int i = baris.nextSetBit(0); i >= 0 && i < kode.length; i = baris.nextSetBit(i + 1)) {
+            if (kode[i] != null) {
+                perluKunci[indeksKunci(kode[i])] = true;
+            }
+        }
+        kunciSemua(perluKunci);
+        try {
+            for (int i = baris.nextSetBit(0); i >= 0 && i < kode.length; i = baris.nextSetBit(i + 1)) {
+                Produk lama = kode[i] == null ? null : produkByKode.get(kode[i]);
+                if (lama != null) {
+                    gantiStok(lama, stokBaru[i]);
+                    berhasil.set(i);
+                }
+            }
+        } finally {
+            lepasSemua(perluKunci);
+        }
+        return berhasil;
+    }
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        if (kode == null) {
+            return Optional.empty();
+        }
+        Produk produk = produkByKode.get(kode);
+        return produk == null ? Optional.empty() : Optional.of(new Produk(produk));
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        return cariByNama(nama, 0);
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama, int batas) {
+        List<String> kodeProduk = indeksNama.cari(nama, batas);
+        List<Produk> hasil = new ArrayList<>(kodeProduk.size());
+        for (String kode : kodeProduk) {
+            Produk produk = produkByKode.get(kode);
+            if (produk != null) {
+                hasil.add(new Produk(produk));
+            }
+        }
+        return hasil;
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        if (kategori == null) {
+            return Collections.emptyList();
+        }
+        DataKategori data = cariDataKategori(kategori);
+        return data == null ? Collections.emptyList()
+                : ambilProduk(data.kodeProduk, produk -> kategori.equals(produk.getKategori()));
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return ambilProduk(indeksStokMenipis, Produk::isStokMenipis);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return ambilProduk(indeksStokHabis, Produk::isStokHabis);
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        return hapus(kode, false);
+    }
+
+    @Override
+    public boolean hapusJikaStokNol(String kode) {
+        return hapus(kode, true);
+    }
+
+    private boolean hapus(String kode, boolean hanyaJikaStokNol) {
+        if (kode == null) {
+            return false;
+        }
+        ReentrantLock k = kunciUntuk(kode);
+        k.lock();
+        try {
+            Produk lama = produkByKode.get(kode);
+            if (lama == null || (hanyaJikaStokNol && lama.getStok() > 0)) {
+                return false;
+            }
+            produkByKode.remove(kode);
+            hapusDariIndeksKategori(lama);
+            pindahStatusStok(kode, lama, null);
+            perbaruiTotal(lama, null);
+            indeksNama.hapus(kode);
+            return true;
+        } finally {
+            k.unlock();
+        }
+    }
+
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        if (kode == null) {
+            return false;
+        }
+        ReentrantLock k = kunciUntuk(kode);
+        k.lock();
+        try {
+            Produk lama = produkByKode.get(kode);
+            if (lama == null) {
+                return false;
+            }
+            gantiStok(lama, stokBaru);
+            return true;
+        } finally {
+            k.unlock();
+        }
+    }
+
+    @Override
+    public boolean adjustStok(String kode, int delta, int minimumStok) {
+        if (kode == null) {
+            return false;
+        }
+        ReentrantLock k = kunciUntuk(kode);
+        k.lock();
+        try {
+            Produk lama = produkByKode.get(kode);
+            if (lama == null || !lama.isAktif()) {
+                return false;
+            }
+            long stokBaru = (long) lama.getStok() + delta;
+            if (stokBaru < minimumStok || stokBaru > Integer.MAX_VALUE) {
+                return false;
+            }
+            gantiStok(lama, (int) stokBaru);
+            return true;
+        } finally {
+            k.unlock();
+        }
+    }
+
+    // Kunci garis semua kode diambil berurutan menurut indeks kunci, sehingga dua
+    // pemanggilan yang beririsan tidak pernah saling menunggu (bebas deadlock). Semua
+    // baris divalidasi dulu baru diterapkan selagi kunci masih dipegang.
+    @Override
+    public boolean adjustStokSemua(String[] kode, int[] delta, int minimumStok) {
+        if (kode.length != delta.length) {
+            throw new IllegalArgumentException("Panjang kode dan delta harus sama");
+        }
+        Map<String, Long> deltaPerKode = new LinkedHashMap<>();
+        boolean[] perluKunci = new boolean[JUMLAH_KUNCI];
+        for (int i = 0; i < kode.length; i++) {
+            if (kode[i] == null) {
+                return false;
+            }
+            deltaPerKode.merge(kode[i], (long) delta[i], Long::sum);
+            perluKunci[indeksKunci(kode[i])] = true;
+        }
+        kunciSemua(perluKunci);
+        try {
+            List<Produk> daftarLama = new ArrayList<>(deltaPerKode.size());
+            for (Map.Entry<String, Long> entri : deltaPerKode.entrySet()) {
+                Produk lama = produkByKode.get(entri.getKey());
+                if (lama == null || !lama.isAktif()) {
+                    return false;
+                }
+                long stokBaru = lama.getStok() + entri.getValue();
+                if (stokBaru < minimumStok || stokBaru > Integer.MAX_VALUE) {
+                    return false;
+                }
+                daftarLama.add(lama);
+            }
+            for (Produk lama : daftarLama) {
+                gantiStok(lama, (int) (lama.getStok() + deltaPerKode.get(lama.getKode())));
+            }
+            return true;
+        } finally {
+            lepasSemua(perluKunci);
+        }
+    }
+
+    @Override
+    public DaftarPerubahanStatusStok cariPerubahanStatusStok(long kursor) {
+        return logStatusStok.perubahanSejak(kursor);
+    }
+
+    // Kedua akumulator dibaca terpisah, jadi di tengah penulisan paralel total bisa
+    // sesaat tidak sinkron antara stok dan nilai
+    @Override
+    public TotalInventaris hitungTotal() {
+        return total.baca();
+    }
+
+    @Override
+    public TotalInventaris hitungTotal(String kategori) {
+        DataKategori data = cariDataKategori(kategori);
+        return data == null ? TotalInventaris.KOSONG : data.total.baca();
+    }
+
+    @Override
+    public List<Produk> cariSemua() {
+        List<Produk> hasil = new ArrayList<>(produkByKode.size());
+        for (Produk produk : produkByKode.values()) {
+            hasil.add(new Produk(produk));
+        }
+        return hasil;
+    }
+
+    // Iterasi ConcurrentHashMap bersifat weakly consistent: tidak mengunci dan tidak
+    // pernah melempar ConcurrentModificationException
+    @Override
+    public Stream<Produk> streamSemua() {
+        return produkByKode.values().stream().map(Produk::new);
+    }
+
+    // Harus dipanggil dengan kunci kode sudah dipegang
+    private void gantiStok(Produk lama, int stokBaru) {
+        Produk baru = new Produk(lama);
+        baru.setStok(stokBaru);
+        baru.setVersi(lama.getVersi() + 1);
+        produkByKode.put(baru.getKode(), baru);
+        pindahStatusStok(baru.getKode(), lama, baru);
+        perbaruiTotal(lama, baru);
+    }
+
+    private ReentrantLock kunciUntuk(String kode) {
+        return kunci[indeksKunci(kode)];
+    }
+
+    private void kunciSemua(boolean[] perluKunci) {
+        for (int i = 0; i < JUMLAH_KUNCI; i++) {
+            if (perluKunci[i]) {
+                kunci[i].lock();
+            }
+        }
+    }
+
+    private void lepasSemua(boolean[] perluKunci) {
+        for (int i = JUMLAH_KUNCI - 1; i >= 0; i--) {
+            if (perluKunci[i]) {
+                kunci[i].unlock();
+            }
+        }
+    }
+
+    private static int indeksKunci(String kode) {
+        int h = kode.hashCode();
+        return (h ^ (h >>> 16)) & (JUMLAH_KUNCI - 1);
+    }
+
+    // Mengambil salinan produk untuk sekumpulan kode. Indeks bisa tertinggal sesaat dari
+    // penulis yang sedang berjalan, jadi kondisi dicek ulang pada versi produk terbaru.
+    private List<Produk> ambilProduk(Set<String> kodeProduk, Predicate<Produk> syarat) {
+        List<Produk> hasil = new ArrayList<>(kodeProduk.size());
+        for (String kode : kodeProduk) {
+            Produk produk = produkByKode.get(kode);
+            if (produk != null && syarat.test(produk)) {
+                hasil.add(new Produk(produk));
+            }
+        }
+        return hasil;
+    }
+
+    private void tambahKeIndeksKategori(Produk produk) {
+        if (produk.getKategori() != null) {
+            dataKategori(produk.getKategori()).kodeProduk.add(produk.getKode());
+        }
+    }
+
+    private void hapusDariIndeksKategori(Produk produk) {
+        if (produk.getKategori() != null) {
+            dataKategori(produk.getKategori()).kodeProduk.remove(produk.getKode());
+        }
+    }
+
+    private DataKategori cariDataKategori(String kategori) {
+        int id = simbolKategori.cari(kategori);
+        DataKategori[] semua = dataKategori;
+        return id < 0 || id >= semua.length ? null : semua[id];
+    }
+
+    // Array disalin setiap kategori baru (jarang) sehingga pembaca tanpa kunci selalu
+    // melihat elemen yang sudah terisi
+    private DataKategori dataKategori(String kategori) {
+        int id = simbolKategori.intern(kategori);
+        DataKategori[] semua = dataKategori;
+        if (id < semua.length && semua[id] != null) {
+            return semua[id];
+        }
+        synchronized (simbolKategori) {
+            semua = dataKategori;
+            if (id < semua.length && semua[id] != null) {
+                return semua[id];
+            }
+            DataKategori[] baru = Arrays.copyOf(semua, Math.max(semua.length, simbolKategori.getUkuran()));
+            baru[id] = new DataKategori();
+            dataKategori = baru;
+            return baru[id];
+        }
+    }
+
+    // Memindahkan kode antar bucket stok menipis/habis; hanya disentuh jika produk
+    // benar-benar melewati ambang (perubahan stok maupun stokMinimum). lama/baru null
+    // berarti produk belum ada/sudah dihapus.
+    private void pindahStatusStok(String kode, Produk lama, Produk baru) {
+        StatusStok dari = lama == null ? null : StatusStok.dari(lama);
+        StatusStok ke = baru == null ? null : StatusStok.dari(baru);
+        if (dari == ke) {
+            return;
+        }
+        Set<String> bucketLama = bucketStatus(dari);
+        Set<String> bucketBaru = bucketStatus(ke);
+        // Produk aman maupun yang tidak ada tidak disimpan di bucket mana pun dan
+        // perpindahan di antara keduanya tidak perlu dilaporkan
+        if (bucketLama == bucketBaru) {
+            return;
+        }
+        if (bucketLama != null) {
+            bucketLama.remove(kode);
+        }
+        if (bucketBaru != null) {
+            bucketBaru.add(kode);
+        }
+        logStatusStok.catat(kode, dari, ke);
+    }
+
+    // Mengurangi kontribusi versi lama dan menambah versi baru; produk tidak aktif
+    // tidak dihitung. Harus dipanggil dengan kunci kode sudah dipegang.
+    private void perbaruiTotal(Produk lama, Produk baru) {
+        if (lama != null && lama.isAktif()) {
+            ubahTotal(lama, -1);
+        }
+        if (baru != null && baru.isAktif()) {
+            ubahTotal(baru, 1);
+        }
+    }
+
+    private void ubahTotal(Produk produk, int tanda) {
+        total.ubah(produk, tanda);
+        if (produk.getKategori() != null) {
+            dataKategori(produk.getKategori()).total.ubah(produk, tanda);
+        }
+    }
+
+    private Set<String> bucketStatus(StatusStok status) {
+        if (status == StatusStok.HABIS) {
+            return indeksStokHabis;
+        }
+        return status == StatusStok.MENIPIS ? indeksStokMenipis : null;
+    }
+
+    private static final class DataKategori {
+        final Set<String> kodeProduk = ConcurrentHashMap.newKeySet();
+        final AkumulatorTotal total = new AkumulatorTotal();
+    }
+
+    private static final class AkumulatorTotal {
+        final LongAdder stok = new LongAdder();
+        final LongAdder nilaiSen = new LongAdder();
+
+        void ubah(Produk produk, int tanda) {
+            stok.add((long) tanda * produk.getStok());
+            nilaiSen.add(tanda * produk.getHargaSen() * produk.getStok());
+        }
+
+        TotalInventaris baca() {
+            return new TotalInventaris(stok.sum(), nilaiSen.sum());
+        }
+    }
+}
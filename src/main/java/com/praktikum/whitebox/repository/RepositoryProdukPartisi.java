@@ -0,0 +1,431 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.DaftarPerubahanStatusStok;
+import com.praktikum.whitebox.model.PerubahanStatusStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.TotalInventaris;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+// RepositoryProduk yang membagi katalog ke beberapa shard independen berdasarkan hash
+// kode. Operasi per kode hanya menyentuh satu shard; pencarian lintas produk disebar
+// paralel ke semua shard lalu hasilnya digabung (scatter-gather).
+// Umpan perubahan status stok setiap shard digabung ke log milik partisi dengan kursor
+// global, jadi urutan antar-kode dari shard berbeda mengikuti urutan penarikan, bukan
+// urutan waktu; urutan untuk satu kode tetap terjaga karena kode hanya ada di satu shard.
+// Penulisan per kode memegang kunci garis milik partisi agar adjustStokSemua lintas shard
+// bisa atomik, jadi shard hanya boleh ditulis lewat partisi ini.
+public class RepositoryProdukPartisi implements RepositoryProduk {
+    private static final int KUNCI_PER_SHARD = 64;
+    private static final int KAPASITAS_LOG_GABUNGAN = 65536;
+
+    private final RepositoryProduk[] shard;
+    private final Executor executor;
+    // Kunci garis shard s ada di indeks s * KUNCI_PER_SHARD sampai sebelum shard berikutnya,
+    // sehingga urutan indeks sama dengan urutan global (shard, garis)
+    private final ReentrantLock[] kunci;
+    // Kursor per shard yang sudah ditarik ke logGabungan; juga menjadi kunci penarikan
+    private final long[] kursorShard;
+    private final LogPerubahanStatusStok logGabungan = new LogPerubahanStatusStok(KAPASITAS_LOG_GABUNGAN);
+    // Kursor global terakhir sebelum ada perubahan shard yang terbuang; poller dengan
+    // kursor sampai batas ini melewatkan perubahan
+    private long batasTerpotong = -1;
+
+    public RepositoryProdukPartisi(int jumlahShard) {
+        this(buatShardMemori(jumlahShard), ForkJoinPool.commonPool());
+    }
+
+    public RepositoryProdukPartisi(List<RepositoryProduk> daftarShard, Executor executor) {
+        if (daftarShard == null || daftarShard.isEmpty() || daftarShard.stream().anyMatch(Objects::isNull) || executor == null) {
+            throw new IllegalArgumentException("Minimal satu shard dan executor wajib diisi");
+        }
+        this.shard = daftarShard.toArray(new RepositoryProduk[0]);
+        this.executor = executor;
+        this.kunci = new ReentrantLock[shard.length * KUNCI_PER_SHARD];
+        for (int i = 0; i < kunci.length; i++) {
+            kunci[i] = new ReentrantLock();
+        }
+        this.kursorShard = new long[shard.length];
+    }
+
+    private static List<RepositoryProduk> buatShardMemori(int jumlahShard) {
+        if (jumlahShard <= 0) {
+            throw new IllegalArgumentException("Jumlah shard harus positif");
+        }
+        List<RepositoryProduk> daftar = new ArrayList<>(jumlahShard);
+        for (int i = 0; i < jumlahShard; i++) {
+            daftar.add(new RepositoryProdukMemori());
+        }
+        return daftar;
+    }
+
+    public int getJumlahShard() {
+        return shard.length;
+    }
+
+    int indeksShard(String kode) {
+        int h = kode.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), shard.length);
+    }
+
+    private RepositoryProduk shardUntuk(String kode) {
+        return shard[indeksShard(kode)];
+    }
+
+    // Garis diambil dari bit atas hash agar tidak berkorelasi dengan pemilihan shard
+    private int indeksKunci(String kode) {
+        int garis = (kode.hashCode() * 0x9E3779B9) >>> (Integer.SIZE - 6);
+        return indeksShard(kode) * KUNCI_PER_SHARD + garis;
+    }
+
+    private ReentrantLock kunciUntuk(String kode) {
+        return kunci[indeksKunci(kode)];
+    }
+
+    // Kunci diambil berurutan naik menurut indeks; semua penulisan yang memegang lebih
+    // dari satu kunci memakai urutan yang sama sehingga bebas deadlock
+    private void kunciSemua(BitSet indeks) {
+        for (int i = indeks.nextSetBit(0); i >= 0; i = indeks.nextSetBit(i + 1)) {
+            kunci[i].lock();
+        }
+    }
+
+    private void lepasSemua(BitSet indeks) {
+        for (int i = indeks.nextSetBit(0); i >= 0; i = indeks.nextSetBit(i + 1)) {
+            kunci[i].unlock();
+        }
+    }
+
+    @Override
+    public boolean simpan(Produk produk) {
+        if (produk == null || produk.getKode() == null) {
+            return false;
+        }
+        ReentrantLock k = kunciUntuk(produk.getKode());
+        k.lock();
+        try {
+            return shardUntuk(produk.getKode()).simpan(produk);
+        } finally {
+            k.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        return kode == null ? Optional.empty() : shardUntuk(kode).cariByKode(kode);
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        if (kode == null) {
+            return false;
+        }
+        ReentrantLock k = kunciUntuk(kode);
+        k.lock();
+        try {
+            return shardUntuk(kode).hapus(kode);
+        } finally {
+            k.unlock();
+        }
+    }
+
+    @Override
+    public boolean hapusJikaStokNol(String kode) {
+        if (kode == null) {
+            return false;
+        }
+        ReentrantLock k = kunciUntuk(kode);
+        k.lock();
+        try {
+            return shardUntuk(kode).hapusJikaStokNol(kode);
+        } finally {
+            k.unlock();
+        }
+    }
+
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        if (kode == null) {
+            return false;
+        }
+        ReentrantLock k = kunciUntuk(kode);
+        k.lock();
+        try {
+            return shardUntuk(kode).updateStok(kode, stokBaru);
+        } finally {
+            k.unlock();
+        }
+    }
+
+    @Override
+    public boolean adjustStok(String kode, int delta, int minimumStok) {
+        if (kode == null) {
+            return false;
+        }
+        ReentrantLock k = kunciUntuk(kode);
+        k.lock();
+        try {
+            return shardUntuk(kode).adjustStok(kode, delta, minimumStok);
+        } finally {
+            k.unlock();
+        }
+    }
+
+    // Baris dalam satu shard cukup diserahkan ke shard itu. Lintas shard, semua kunci garis
+    // yang tersentuh diambil dalam satu urutan global (shard, garis), setiap baris divalidasi,
+    // baru semua baris diterapkan selagi kunci dipegang. Tidak ada penulis lain yang bisa
+    // menyela di antaranya sehingga tidak perlu kompensasi. Sama seperti di
+    // RepositoryProdukMemori, pembaca tanpa kunci bisa melihat baris berubah satu per satu.
+    @Override
+    public boolean adjustStokSemua(String[] kode, int[] delta, int minimumStok) {
+        if (kode.length != delta.length) {
+            throw new IllegalArgumentException("Panjang kode dan delta harus sama");
+        }
+        List<List<Integer>> barisPerShard = new ArrayList<>(shard.length);
+        for (int s = 0; s < shard.length; s++) {
+            barisPerShard.add(new ArrayList<>());
+        }
+        Map<String, Long> deltaPerKode = new LinkedHashMap<>();
+        BitSet kunciDipakai = new BitSet(kunci.length);
+        BitSet shardDipakai = new BitSet(shard.length);
+        for (int i = 0; i < kode.length; i++) {
+            if (kode[i] == null) {
+                return false;
+            }
+            int s = indeksShard(kode[i]);
+            barisPerShard.get(s).add(i);
+            deltaPerKode.merge(kode[i], (long) delta[i], Long::sum);
+            kunciDipakai.set(indeksKunci(kode[i]));
+            shardDipakai.set(s);
+        }
+        if (shardDipakai.cardinality() <= 1) {
+            return kode.length == 0 || shard[shardDipakai.nextSetBit(0)].adjustStokSemua(kode, delta, minimumStok);
+        }
+        kunciSemua(kunciDipakai);
+        try {
+            for (Map.Entry<String, Long> entri : deltaPerKode.entrySet()) {
+                Optional<Produk> lama = shardUntuk(entri.getKey()).cariByKode(entri.getKey());
+                if (!lama.isPresent() || !lama.get().isAktif()) {
+                    return false;
+                }
+                long stokBaru = lama.get().getStok() + entri.getValue();
+                if (stokBaru < minimumStok || stokBaru > Integer.MAX_VALUE) {
+                    return false;
+                }
+            }
+            for (int s = shardDipakai.nextSetBit(0); s >= 0; s = shardDipakai.nextSetBit(s + 1)) {
+                List<Integer> baris = barisPerShard.get(s);
+                if (!shard[s].adjustStokSemua(ambilKode(kode, baris), ambilDelta(delta, baris), minimumStok)) {
+                    throw new IllegalStateException("Shard " + s + " ditulis di luar RepositoryProdukPartisi");
+                }
+            }
+            return true;
+        } finally {
+            lepasSemua(kunciDipakai);
+        }
+    }
+
+    private static String[] ambilKode(String[] kode, List<Integer> baris) {
+        String[] hasil = new String[baris.size()];
+        for (int i = 0; i < hasil.length; i++) {
+            hasil[i] = kode[baris.get(i)];
+        }
+        return hasil;
+    }
+
+    private static int[] ambilDelta(int[] delta, List<Integer> baris) {
+        int[] hasil = new int[baris.size()];
+        for (int i = 0; i < hasil.length; i++) {
+            hasil[i] = delta[baris.get(i)];
+        }
+        return hasil;
+    }
+
+    // Baris dipecah per shard lewat bitmap sehingga list/array masukan tidak perlu disalin
+    @Override
+    public BitSet tambahProdukBatch(List<Produk> daftarProduk, BitSet baris) {
+        return sebarBatch(baris, daftarProduk.size(), i -> {
+            Produk produk = daftarProduk.get(i);
+            return produk == null ? null : produk.getKode();
+        }, (s, barisShard) -> s.tambahProdukBatch(daftarProduk, barisShard));
+    }
+
+    @Override
+    public BitSet updateStokBatch(String[] kode, int[] stokBaru, BitSet baris) {
+        return sebarBatch(baris, kode.length, i -> kode[i],
+                (s, barisShard) -> s.updateStokBatch(kode, stokBaru, barisShard));
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        return cariByNama(nama, 0);
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama, int batas) {
+        List<Produk> hasil = kumpulkan(s -> s.cariByNama(nama, batas));
+        if (shard.length > 1) {
+            // Setiap shard sudah terurut; gabungan diurutkan ulang dengan kriteria yang sama
+            Comparator<String> relevansi = IndeksNgram.urutanRelevansi(nama == null ? "" : nama);
+            hasil.sort(Comparator.comparing(Produk::getNama, relevansi)
+                    .thenComparing(Produk::getKode, Comparator.nullsLast(Comparator.naturalOrder())));
+        }
+        return batas > 0 && hasil.size() > batas ? new ArrayList<>(hasil.subList(0, batas)) : hasil;
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        return kumpulkan(s -> s.cariByKategori(kategori));
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return kumpulkan(RepositoryProduk::cariProdukStokMenipis);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return kumpulkan(RepositoryProduk::cariProdukStokHabis);
+    }
+
+    // Perubahan baru ditarik dari setiap shard saat polling. Shard yang berbagi satu log
+    // melihat perubahan shard lain juga, jadi hanya kode milik shard itu yang diambil.
+    @Override
+    public DaftarPerubahanStatusStok cariPerubahanStatusStok(long kursor) {
+        synchronized (kursorShard) {
+            long kursorSebelumTarik = logGabungan.getKursorTerakhir();
+            for (int s = 0; s < shard.length; s++) {
+                DaftarPerubahanStatusStok baru = shard[s].cariPerubahanStatusStok(kursorShard[s]);
+                if (baru.isTerpotong()) {
+                    batasTerpotong = kursorSebelumTarik;
+                }
+                for (PerubahanStatusStok perubahan : baru.getPerubahan()) {
+                    if (indeksShard(perubahan.getKode()) == s) {
+                        logGabungan.catat(perubahan.getKode(), perubahan.getDari(), perubahan.getKe());
+                    }
+                }
+                kursorShard[s] = baru.getKursor();
+            }
+            DaftarPerubahanStatusStok hasil = logGabungan.perubahanSejak(kursor);
+            if (kursor <= batasTerpotong && !hasil.isTerpotong()) {
+                return new DaftarPerubahanStatusStok(hasil.getPerubahan(), hasil.getKursor(), true);
+            }
+            return hasil;
+        }
+    }
+
+    // Total per shard sudah O(1), jadi cukup dijumlahkan tanpa executor
+    @Override
+    public TotalInventaris hitungTotal() {
+        TotalInventaris hasil = TotalInventaris.KOSONG;
+        for (RepositoryProduk s : shard) {
+            hasil = hasil.tambah(s.hitungTotal());
+        }
+        return hasil;
+    }
+
+    @Override
+    public TotalInventaris hitungTotal(String kategori) {
+        TotalInventaris hasil = TotalInventaris.KOSONG;
+        for (RepositoryProduk s : shard) {
+            hasil = hasil.tambah(s.hitungTotal(kategori));
+        }
+        return hasil;
+    }
+
+    @Override
+    public List<Produk> cariSemua() {
+        return kumpulkan(RepositoryProduk::cariSemua);
+    }
+
+    // flatMap menutup stream setiap shard begitu selesai dibaca
+    @Override
+    public Stream<Produk> streamSemua() {
+        return Stream.of(shard).flatMap(RepositoryProduk::streamSemua);
+    }
+
+    private List<Produk> kumpulkan(Function<RepositoryProduk, List<Produk>> kueri) {
+        if (shard.length == 1) {
+            return new ArrayList<>(kueri.apply(shard[0]));
+        }
+        List<CompletableFuture<List<Produk>>> tugas = new ArrayList<>(shard.length);
+        for (RepositoryProduk s : shard) {
+            tugas.add(CompletableFuture.supplyAsync(() -> kueri.apply(s), executor));
+        }
+        List<Produk> hasil = new ArrayList<>();
+        for (CompletableFuture<List<Produk>> t : tugas) {
+            hasil.addAll(tunggu(t));
+        }
+        return hasil;
+    }
+
+    private BitSet sebarBatch(BitSet baris, int jumlahBaris, IntFunction<String> kodeBaris,
+                              PenulisBatch penulis) {
+        BitSet[] barisPerShard = new BitSet[shard.length];
+        BitSet[] kunciPerShard = new BitSet[shard.length];
+        for (int i = baris.nextSetBit(0); i >= 0 && i < jumlahBaris; i = baris.nextSetBit(i + 1)) {
+            String kode = kodeBaris.apply(i);
+            if (kode == null) {
+                continue;
+            }
+            int s = indeksShard(kode);
+            if (barisPerShard[s] == null) {
+                barisPerShard[s] = new BitSet(jumlahBaris);
+                kunciPerShard[s] = new BitSet(kunci.length);
+            }
+            barisPerShard[s].set(i);
+            kunciPerShard[s].set(indeksKunci(kode));
+        }
+        // Setiap tugas hanya mengunci garis di shard-nya sendiri, tetap dalam urutan global
+        List<CompletableFuture<BitSet>> tugas = new ArrayList<>(shard.length);
+        for (int s = 0; s < shard.length; s++) {
+            if (barisPerShard[s] != null) {
+                RepositoryProduk target = shard[s];
+                BitSet barisShard = barisPerShard[s];
+                BitSet kunciShard = kunciPerShard[s];
+                tugas.add(CompletableFuture.supplyAsync(() -> {
+                    kunciSemua(kunciShard);
+                    try {
+                        return penulis.tulis(target, barisShard);
+                    } finally {
+                        lepasSemua(kunciShard);
+                    }
+                }, executor));
+            }
+        }
+        BitSet berhasil = new BitSet(jumlahBaris);
+        for (CompletableFuture<BitSet> t : tugas) {
+            berhasil.or(tunggu(t));
+        }
+        return berhasil;
+    }
+
+    private static <T> T tunggu(CompletableFuture<T> tugas) {
+        try {
+            return tugas.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @FunctionalInterface
+    private interface PenulisBatch {
+        BitSet tulis(RepositoryProduk shard, BitSet barisShard);
+    }
+}
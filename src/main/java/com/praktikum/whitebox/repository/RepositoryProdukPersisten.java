@@ -0,0 +1,816 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.DaftarPerubahanStatusStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.TotalInventaris;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// RepositoryProduk yang tahan restart. Setiap perubahan ditulis ke write-ahead log (WAL)
+// biner lewat FileChannel dengan group commit, lalu secara berkala dipadatkan menjadi
+// snapshot di thread latar belakang. Pemulihan memuat snapshot terbaru dan hanya memutar
+// ulang ekor log.
+// Kesalahan I/O dilempar sebagai UncheckedIOException karena perubahan di memori
+// sudah terjadi dan tidak bisa dilaporkan sebagai false biasa.
+public class RepositoryProdukPersisten implements RepositoryProduk, AutoCloseable {
+    private static final String AWALAN_WAL = "wal-";
+    private static final String AKHIRAN_WAL = ".log";
+    private static final String AWALAN_SNAPSHOT = "snapshot-";
+    private static final String AKHIRAN_SNAPSHOT = ".dat";
+    private static final String AKHIRAN_SEMENTARA = ".tmp";
+    private static final String AKHIRAN_KARANTINA = ".rusak";
+    private static final int UKURAN_BUFFER = 64 * 1024;
+
+    private final Path direktori;
+    private final KebijakanFsync kebijakanFsync;
+    private final long intervalFsyncNanos;
+    private final int intervalSnapshot;
+    private final RepositoryProdukMemori memori = new RepositoryProdukMemori();
+
+    // Dipegang selama perubahan diterapkan ke memori dan dicatat ke buffer,
+    // sehingga urutan LSN di log sama dengan urutan penerapan
+    private final Object kunciTulis = new Object();
+    private final CRC32 crcTulis = new CRC32();
+    private ByteBuffer bufferTertunda = ByteBuffer.allocate(UKURAN_BUFFER);
+    private long lsnTerakhir;
+    private volatile int rekamanSejakSnapshot;
+
+    // Dipegang oleh pemimpin group commit yang menulis ke channel
+    private final ReentrantLock kunciFlush = new ReentrantLock();
+    private ByteBuffer bufferCadangan = ByteBuffer.allocate(UKURAN_BUFFER);
+    private FileChannel channel;
+    private long waktuFsyncTerakhir;
+    private volatile long lsnTertulis;
+    private volatile long lsnTersinkron;
+
+    private final AtomicBoolean sedangSnapshot = new AtomicBoolean();
+    // Snapshot otomatis dan fsync berkala dijalankan di sini agar penulis tidak ikut menunggu
+    private final ScheduledExecutorService pelaksanaSnapshot =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("snapshot-wal").factory());
+    private volatile UncheckedIOException galatSnapshot;
+    private volatile UncheckedIOException galatFsync;
+    private volatile boolean ditutup;
+
+    public RepositoryProdukPersisten(Path direktori) {
+        this(direktori, KebijakanFsync.SETIAP_COMMIT, 0, 100_000);
+    }
+
+    public RepositoryProdukPersisten(Path direktori, KebijakanFsync kebijakanFsync,
+                                     long intervalFsyncMillis, int intervalSnapshot) {
+        if (direktori == null || kebijakanFsync == null || intervalFsyncMillis < 0 || intervalSnapshot <= 0) {
+            throw new IllegalArgumentException("Konfigurasi persistensi tidak valid");
+        }
+        this.direktori = direktori;
+        this.kebijakanFsync = kebijakanFsync;
+        this.intervalFsyncNanos = TimeUnit.MILLISECONDS.toNanos(intervalFsyncMillis);
+        this.intervalSnapshot = intervalSnapshot;
+        try {
+            Files.createDirectories(direktori);
+            long lsnSnapshot = muatSnapshotTerbaru();
+            lsnTerakhir = putarUlangLog(lsnSnapshot);
+            lsnTertulis = lsnTerakhir;
+            lsnTersinkron = lsnTerakhir;
+            channel = bukaSegmen(lsnTerakhir + 1);
+            waktuFsyncTerakhir = System.nanoTime();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal memulihkan repository dari " + direktori, e);
+        }
+        // Tanpa pemicu waktu, ekor log setelah lonjakan tulis lalu diam baru di-fsync
+        // pada commit berikutnya, sehingga jendela kehilangan saat crash tidak terbatas
+        if (kebijakanFsync == KebijakanFsync.BERKALA && intervalFsyncMillis > 0) {
+            pelaksanaSnapshot.scheduleWithFixedDelay(this::fsyncBerkala,
+                    intervalFsyncMillis, intervalFsyncMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public boolean simpan(Produk produk) {
+        pastikanTerbuka();
+        long lsn;
+        synchronized (kunciTulis) {
+            if (!memori.simpan(produk)) {
+                return false;
+            }
+            int awal = mulaiRekaman(FormatRekaman.JENIS_SIMPAN, FormatRekaman.ukuranProduk(produk));
+            FormatRekaman.tulisProduk(bufferTertunda, produk);
+            lsn = selesaiRekaman(awal);
+        }
+        commit(lsn);
+        return true;
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        return hapus(kode, false);
+    }
+
+    @Override
+    public boolean hapusJikaStokNol(String kode) {
+        return hapus(kode, true);
+    }
+
+    private boolean hapus(String kode, boolean hanyaJikaStokNol) {
+        pastikanTerbuka();
+        long lsn;
+        synchronized (kunciTulis) {
+            boolean terhapus = hanyaJikaStokNol ? memori.hapusJikaStokNol(kode) : memori.hapus(kode);
+            if (!terhapus) {
+                return false;
+            }
+            int awal = mulaiRekaman(FormatRekaman.JENIS_HAPUS, FormatRekaman.ukuranString(kode));
+            FormatRekaman.tulisString(bufferTertunda, kode);
+            lsn = selesaiRekaman(awal);
+        }
+        commit(lsn);
+        return true;
+    }
+
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        pastikanTerbuka();
+        long lsn;
+        synchronized (kunciTulis) {
+            if (!memori.updateStok(kode, stokBaru)) {
+                return false;
+            }
+            lsn = catatStok(kode, stokBaru);
+        }
+        commit(lsn);
+        return true;
+    }
+
+    @Override
+    public boolean adjustStok(String kode, int delta, int minimumStok) {
+        pastikanTerbuka();
+        long lsn;
+        synchronized (kunciTulis) {
+            if (!memori.adjustStok(kode, delta, minimumStok)) {
+                return false;
+            }
+            // Yang dicatat adalah stok hasil, sehingga pemutaran ulang bersifat idempoten
+            lsn = catatStok(kode, memori.cariByKode(kode).get().getStok());
+        }
+        commit(lsn);
+        return true;
+    }
+
+    // Stok hasil setiap kode dicatat dalam satu rekaman batch agar pemulihan juga all-or-nothing
+    @Override
+    public boolean adjustStokSemua(String[] kode, int[] delta, int minimumStok) {
+        pastikanTerbuka();
+        long lsn;
+        synchronized (kunciTulis) {
+            if (!memori.adjustStokSemua(kode, delta, minimumStok)) {
+                return false;
+            }
+            Set<String> kodeUnik = new LinkedHashSet<>(Arrays.asList(kode));
+            int ukuran = 4;
+            for (String k : kodeUnik) {
+                ukuran += 1 + FormatRekaman.ukuranString(k) + 4;
+            }
+            int awal = mulaiRekaman(FormatRekaman.JENIS_BATCH, ukuran);
+            bufferTertunda.putInt(kodeUnik.size());
+            for (String k : kodeUnik) {
+                bufferTertunda.put(FormatRekaman.JENIS_STOK);
+                FormatRekaman.tulisString(bufferTertunda, k);
+                bufferTertunda.putInt(memori.cariByKode(k).get().getStok());
+            }
+            lsn = selesaiRekaman(awal);
+        }
+        commit(lsn);
+        return true;
+    }
+
+    // Seluruh baris yang berhasil dicatat sebagai satu rekaman batch: setelah crash
+    // batch diputar ulang utuh atau tidak sama sekali
+    @Override
+    public BitSet tambahProdukBatch(List<Produk> daftarProduk, BitSet baris) {
+        pastikanTerbuka();
+        BitSet berhasil;
+        long lsn;
+        synchronized (kunciTulis) {
+            berhasil = memori.tambahProdukBatch(daftarProduk, baris);
+            if (berhasil.isEmpty()) {
+                return berhasil;
+            }
+            int ukuran = 4;
+            for (int i = berhasil.nextSetBit(0); i >= 0; i = berhasil.nextSetBit(i + 1)) {
+                ukuran += 1 + FormatRekaman.ukuranProduk(daftarProduk.get(i));
+            }
+            int awal = mulaiRekaman(FormatRekaman.JENIS_BATCH, ukuran);
+            bufferTertunda.putInt(berhasil.cardinality());
+            for (int i = berhasil.nextSetBit(0); i >= 0; i = berhasil.nextSetBit(i + 1)) {
+                bufferTertunda.put(FormatRekaman.JENIS_SIMPAN);
+                FormatRekaman.tulisProduk(bufferTertunda, daftarProduk.get(i));
+            }
+            lsn = selesaiRekaman(awal);
+        }
+        commit(lsn);
+        return berhasil;
+    }
+
+    @Override
+    public BitSet updateStokBatch(String[] kode, int[] stokBaru, BitSet baris) {
+        pastikanTerbuka();
+        BitSet berhasil;
+        long lsn;
+        synchronized (kunciTulis) {
+            berhasil = memori.updateStokBatch(kode, stokBaru, baris);
+            if (berhasil.isEmpty()) {
+                return berhasil;
+            }
+            int ukuran = 4;
+            for (int i = berhasil.nextSetBit(0); i >= 0; i = berhasil.nextSetBit(i + 1)) {
+                ukuran += 1 + FormatRekaman.ukuranString(kode[i]) + 4;
+            }
+            int awal = mulaiRekaman(FormatRekaman.JENIS_BATCH, ukuran);
+            bufferTertunda.putInt(berhasil.cardinality());
+            for (int i = berhasil.nextSetBit(0); i >= 0; i = berhasil.nextSetBit(i + 1)) {
+                bufferTertunda.put(FormatRekaman.JENIS_STOK);
+                FormatRekaman.tulisString(bufferTertunda, kode[i]);
+                bufferTertunda.putInt(stokBaru[i]);
+            }
+            lsn = selesaiRekaman(awal);
+        }
+        commit(lsn);
+        return berhasil;
+    }
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        return memori.cariByKode(kode);
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        return memori.cariByNama(nama);
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama, int batas) {
+        return memori.cariByNama(nama, batas);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        return memori.cariByKategori(kategori);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return memori.cariProdukStokMenipis();
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return memori.cariProdukStokHabis();
+    }
+
+    @Override
+    public DaftarPerubahanStatusStok cariPerubahanStatusStok(long kursor) {
+        return memori.cariPerubahanStatusStok(kursor);
+    }
+
+    @Override
+    public TotalInventaris hitungTotal() {
+        return memori.hitungTotal();
+    }
+
+    @Override
+    public TotalInventaris hitungTotal(String kategori) {
+        return memori.hitungTotal(kategori);
+    }
+
+    @Override
+    public List<Produk> cariSemua() {
+        return memori.cariSemua();
+    }
+
+    @Override
+    public Stream<Produk> streamSemua() {
+        return memori.streamSemua();
+    }
+
+    // Memadatkan log menjadi snapshot. Snapshot diambil tanpa menghentikan penulis
+    // (fuzzy): semua rekaman bersifat menimpa, jadi memutar ulang log sejak LSN awal
+    // snapshot di atas isi snapshot tetap menghasilkan keadaan akhir yang sama.
+    public void buatSnapshot() {
+        pastikanTerbuka();
+        if (!sedangSnapshot.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            jalankanSnapshot();
+        } finally {
+            sedangSnapshot.set(false);
+        }
+    }
+
+    // Kegagalan snapshot otomatis terakhir; log tetap utuh, jadi snapshot dicoba lagi
+    // saat ambang berikutnya tercapai
+    public Optional<UncheckedIOException> getGalatSnapshot() {
+        return Optional.ofNullable(galatSnapshot);
+    }
+
+    // Kegagalan fsync berkala terakhir; dicoba lagi pada interval berikutnya
+    public Optional<UncheckedIOException> getGalatFsync() {
+        return Optional.ofNullable(galatFsync);
+    }
+
+    // LSN terakhir yang sudah dipaksa ke disk
+    long getLsnTersinkron() {
+        return lsnTersinkron;
+    }
+
+    @Override
+    public void close() {
+        // Snapshot yang sedang berjalan memutar segmen, jadi harus selesai sebelum channel ditutup
+        pelaksanaSnapshot.shutdown();
+        try {
+            pelaksanaSnapshot.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        kunciFlush.lock();
+        try {
+            if (ditutup) {
+                return;
+            }
+            ditutup = true;
+            flush(true);
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal menutup write-ahead log", e);
+        } finally {
+            kunciFlush.unlock();
+        }
+    }
+
+    private void pastikanTerbuka() {
+        if (ditutup) {
+            throw new IllegalStateException("Repository sudah ditutup");
+        }
+    }
+
+    // ===== Penulisan log =====
+
+    private long catatStok(String kode, int stok) {
+        int awal = mulaiRekaman(FormatRekaman.JENIS_STOK, FormatRekaman.ukuranString(kode) + 4);
+        FormatRekaman.tulisString(bufferTertunda, kode);
+        bufferTertunda.putInt(stok);
+        return selesaiRekaman(awal);
+    }
+
+    private int mulaiRekaman(byte jenis, int ukuranData) {
+        bufferTertunda = FormatRekaman.pastikanKapasitas(bufferTertunda,
+                FormatRekaman.UKURAN_HEADER_REKAMAN + 9 + ukuranData);
+        int awal = bufferTertunda.position();
+        bufferTertunda.position(awal + FormatRekaman.UKURAN_HEADER_REKAMAN);
+        bufferTertunda.put(jenis);
+        bufferTertunda.putLong(++lsnTerakhir);
+        return awal;
+    }
+
+    private long selesaiRekaman(int awal) {
+        int awalPayload = awal + FormatRekaman.UKURAN_HEADER_REKAMAN;
+        int panjang = bufferTertunda.position() - awalPayload;
+        crcTulis.reset();
+        crcTulis.update(bufferTertunda.slice(awalPayload, panjang));
+        bufferTertunda.putInt(awal, panjang);
+        bufferTertunda.putInt(awal + 4, (int) crcTulis.getValue());
+        rekamanSejakSnapshot++;
+        return lsnTerakhir;
+    }
+
+    // Group commit: thread pertama yang mendapat kunciFlush menulis semua rekaman
+    // yang tertunda sekaligus; thread lain yang rekamannya ikut tertulis langsung kembali.
+    private void commit(long lsn) {
+        if (lsnTertulis < lsn) {
+            kunciFlush.lock();
+            try {
+                if (lsnTertulis < lsn) {
+                    flush(perluFsync());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Gagal menulis write-ahead log", e);
+            } finally {
+                kunciFlush.unlock();
+            }
+        }
+        if (rekamanSejakSnapshot >= intervalSnapshot) {
+            jadwalkanSnapshot();
+        }
+    }
+
+    // Harus dipanggil dengan kunciFlush dipegang
+    private void flush(boolean paksa) throws IOException {
+        ByteBuffer batch;
+        long lsnBatch;
+        synchronized (kunciTulis) {
+            batch = bufferTertunda;
+            bufferTertunda = bufferCadangan;
+            bufferCadangan = batch;
+            lsnBatch = lsnTerakhir;
+        }
+        batch.flip();
+        while (batch.hasRemaining()) {
+            channel.write(batch);
+        }
+        batch.clear();
+        if (paksa) {
+            channel.force(false);
+            waktuFsyncTerakhir = System.nanoTime();
+            lsnTersinkron = lsnBatch;
+        }
+        lsnTertulis = lsnBatch;
+    }
+
+    private void fsyncBerkala() {
+        kunciFlush.lock();
+        try {
+            if (!ditutup && lsnTertulis > lsnTersinkron) {
+                flush(true);
+            }
+            galatFsync = null;
+        } catch (IOException e) {
+            galatFsync = new UncheckedIOException("Gagal fsync berkala write-ahead log", e);
+        } finally {
+            kunciFlush.unlock();
+        }
+    }
+
+    private boolean perluFsync() {
+        switch (kebijakanFsync) {
+            case SETIAP_COMMIT:
+                return true;
+            case BERKALA:
+                return System.nanoTime() - waktuFsyncTerakhir >= intervalFsyncNanos;
+            default:
+                return false;
+        }
+    }
+
+    // ===== Snapshot =====
+
+    private void jadwalkanSnapshot() {
+        if (ditutup || !sedangSnapshot.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            pelaksanaSnapshot.execute(() -> {
+                try {
+                    jalankanSnapshot();
+                    galatSnapshot = null;
+                } catch (UncheckedIOException e) {
+                    galatSnapshot = e;
+                } finally {
+                    sedangSnapshot.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Repository sedang ditutup
+            sedangSnapshot.set(false);
+        }
+    }
+
+    // Hanya dijalankan oleh pemegang sedangSnapshot. File lama baru dihapus setelah
+    // snapshot baru terbukti bisa dibaca ulang dengan CRC yang benar.
+    private void jalankanSnapshot() {
+        try {
+            long lsnMulai = putarSegmen();
+            Path file = tulisSnapshot(lsnMulai);
+            if (!snapshotValid(file)) {
+                Files.deleteIfExists(file);
+                throw new IOException("Snapshot " + file.getFileName() + " gagal diverifikasi");
+            }
+            hapusFileLama(lsnMulai);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal membuat snapshot", e);
+        }
+    }
+
+    // Menutup segmen log yang sedang aktif dan membuka segmen baru; mengembalikan LSN
+    // terakhir di segmen lama yang menjadi titik awal snapshot
+    private long putarSegmen() throws IOException {
+        kunciFlush.lock();
+        try {
+            long lsnMulai;
+            synchronized (kunciTulis) {
+                lsnMulai = lsnTerakhir;
+                rekamanSejakSnapshot = 0;
+            }
+            flush(true);
+            channel.close();
+            channel = bukaSegmen(lsnMulai + 1);
+            return lsnMulai;
+        } finally {
+            kunciFlush.unlock();
+        }
+    }
+
+    private Path tulisSnapshot(long lsn) throws IOException {
+        Path tujuan = direktori.resolve(namaFile(AWALAN_SNAPSHOT, lsn, AKHIRAN_SNAPSHOT));
+        Path sementara = direktori.resolve(tujuan.getFileName() + AKHIRAN_SEMENTARA);
+        CRC32 crc = new CRC32();
+        try (FileChannel ch = FileChannel.open(sementara, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             Stream<Produk> semuaProduk = memori.streamSemua()) {
+            ByteBuffer buffer = ByteBuffer.allocate(UKURAN_BUFFER);
+            buffer.putInt(FormatRekaman.MAGIC_SNAPSHOT);
+            buffer.putInt(FormatRekaman.VERSI_FORMAT);
+            buffer.putLong(lsn);
+            // Katalog di-stream sehingga memori yang dipakai tetap sebesar buffer
+            Iterator<Produk> iterator = semuaProduk.iterator();
+            while (iterator.hasNext()) {
+                Produk produk = iterator.next();
+                int ukuran = 1 + FormatRekaman.ukuranProduk(produk);
+                if (buffer.remaining() < ukuran) {
+                    tulisPotongan(ch, buffer, crc);
+                    buffer = FormatRekaman.pastikanKapasitas(buffer, ukuran);
+                }
+                buffer.put(FormatRekaman.PENANDA_PRODUK);
+                FormatRekaman.tulisProduk(buffer, produk);
+            }
+            buffer = FormatRekaman.pastikanKapasitas(buffer, 1);
+            buffer.put(FormatRekaman.PENANDA_AKHIR);
+            tulisPotongan(ch, buffer, crc);
+            buffer.putLong(crc.getValue());
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                ch.write(buffer);
+            }
+            ch.force(true);
+        }
+        Files.move(sementara, tujuan, StandardCopyOption.ATOMIC_MOVE);
+        fsyncDirektori();
+        return tujuan;
+    }
+
+    private static void tulisPotongan(FileChannel ch, ByteBuffer buffer, CRC32 crc) throws IOException {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            ch.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Snapshot sebelumnya dan segmen log sejak LSN-nya disimpan sebagai cadangan: jika
+    // snapshot terbaru rusak saat pemulihan, muatSnapshotTerbaru mundur ke snapshot itu
+    // dan log yang dibutuhkan untuk menyusul masih ada
+    private void hapusFileLama(long lsnSnapshot) throws IOException {
+        List<Path> snapshot = daftarFile(AWALAN_SNAPSHOT, AKHIRAN_SNAPSHOT);
+        long lsnCadangan = 0;
+        for (Path file : snapshot) {
+            long lsn = lsnDariNama(file, AWALAN_SNAPSHOT, AKHIRAN_SNAPSHOT);
+            if (lsn < lsnSnapshot) {
+                lsnCadangan = Math.max(lsnCadangan, lsn);
+            }
+        }
+        for (Path file : snapshot) {
+            if (lsnDariNama(file, AWALAN_SNAPSHOT, AKHIRAN_SNAPSHOT) < lsnCadangan) {
+                Files.deleteIfExists(file);
+            }
+        }
+        // Segmen yang dimulai paling lambat di lsnCadangan sepenuhnya tercakup cadangan
+        for (Path file : daftarFile(AWALAN_WAL, AKHIRAN_WAL)) {
+            if (lsnDariNama(file, AWALAN_WAL, AKHIRAN_WAL) <= lsnCadangan) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    // ===== Pemulihan =====
+
+    private long muatSnapshotTerbaru() throws IOException {
+        List<Path> snapshot = daftarFile(AWALAN_SNAPSHOT, AKHIRAN_SNAPSHOT);
+        for (int i = snapshot.size() - 1; i >= 0; i--) {
+            long lsn = muatSnapshot(snapshot.get(i));
+            if (lsn >= 0) {
+                return lsn;
+            }
+        }
+        return 0;
+    }
+
+    // Mengembalikan LSN snapshot, atau -1 jika file rusak
+    private long muatSnapshot(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long ukuran = ch.size();
+            if (ukuran < FormatRekaman.UKURAN_HEADER_FILE + 8 + 1 + 8) {
+                return -1;
+            }
+            MappedByteBuffer buffer = ch.map(FileChannel.MapMode.READ_ONLY, 0, ukuran);
+            if (!crcSnapshotValid(buffer, ukuran)) {
+                return -1;
+            }
+            buffer.position(4);
+            if (buffer.getInt() != FormatRekaman.VERSI_FORMAT) {
+                return -1;
+            }
+            long lsn = buffer.getLong();
+            while (buffer.get() == FormatRekaman.PENANDA_PRODUK) {
+                memori.simpan(FormatRekaman.bacaProduk(buffer));
+            }
+            return lsn;
+        }
+    }
+
+    private static boolean snapshotValid(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long ukuran = ch.size();
+            return ukuran >= FormatRekaman.UKURAN_HEADER_FILE + 8 + 1 + 8
+                    && crcSnapshotValid(ch.map(FileChannel.MapMode.READ_ONLY, 0, ukuran), ukuran);
+        }
+    }
+
+    private static boolean crcSnapshotValid(ByteBuffer buffer, long ukuran) {
+        int akhirData = (int) ukuran - 8;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(0, akhirData));
+        return buffer.getInt(0) == FormatRekaman.MAGIC_SNAPSHOT && buffer.getLong(akhirData) == crc.getValue();
+    }
+
+    // Jika segmen di tengah terpotong dan segmen berikutnya tidak menyambung (ada LSN yang
+    // hilang), segmen itu dan semua sesudahnya dikarantina. Tanpa itu segmen basi akan
+    // tertinggal di belakang segmen baru dan diputar ulang di atas tulisan yang lebih baru.
+    private long putarUlangLog(long lsnSnapshot) throws IOException {
+        List<Path> segmen = daftarFile(AWALAN_WAL, AKHIRAN_WAL);
+        long lsnMaks = lsnSnapshot;
+        boolean terpotong = false;
+        for (int i = 0; i < segmen.size(); i++) {
+            // Segmen yang seluruh isinya sudah tercakup snapshot dilewati tanpa dibaca
+            if (i + 1 < segmen.size()
+                    && lsnDariNama(segmen.get(i + 1), AWALAN_WAL, AKHIRAN_WAL) <= lsnSnapshot + 1) {
+                continue;
+            }
+            if (terpotong && lsnDariNama(segmen.get(i), AWALAN_WAL, AKHIRAN_WAL) > lsnMaks + 1) {
+                karantina(segmen.subList(i, segmen.size()));
+                break;
+            }
+            long[] hasil = putarUlangSegmen(segmen.get(i), lsnSnapshot);
+            lsnMaks = Math.max(lsnMaks, hasil[0]);
+            terpotong = hasil[1] != 0;
+        }
+        return lsnMaks;
+    }
+
+    // File diganti nama (tidak dihapus) supaya masih bisa diperiksa, lalu tidak lagi
+    // ikut terdaftar sebagai segmen
+    private void karantina(List<Path> daftarSegmen) throws IOException {
+        for (Path file : daftarSegmen) {
+            Files.move(file, file.resolveSibling(file.getFileName() + AKHIRAN_KARANTINA),
+                    StandardCopyOption.REPLACE_EXISTING);
+        }
+        fsyncDirektori();
+    }
+
+    // Mengembalikan {LSN terbesar yang terbaca, 1 jika segmen terpotong}.
+    // Ekor yang rusak (misalnya crash di tengah penulisan) dipotong dari file.
+    private long[] putarUlangSegmen(Path file, long lsnSnapshot) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = ByteBuffer.allocate((int) ch.size());
+            while (buffer.hasRemaining() && ch.read(buffer) >= 0) {
+                // baca sampai penuh
+            }
+            buffer.flip();
+        }
+        if (buffer.remaining() < FormatRekaman.UKURAN_HEADER_FILE
+                || buffer.getInt() != FormatRekaman.MAGIC_WAL) {
+            return new long[]{0, 1};
+        }
+        if (buffer.getInt() != FormatRekaman.VERSI_FORMAT) {
+            return new long[]{0, 1};
+        }
+        CRC32 crc = new CRC32();
+        long lsnMaks = 0;
+        while (buffer.hasRemaining()) {
+            int posisi = buffer.position();
+            if (!putarUlangRekaman(buffer, crc, lsnSnapshot)) {
+                potongFile(file, posisi);
+                return new long[]{lsnMaks, 1};
+            }
+            lsnMaks = Math.max(lsnMaks, buffer.getLong(posisi + FormatRekaman.UKURAN_HEADER_REKAMAN + 1));
+        }
+        return new long[]{lsnMaks, 0};
+    }
+
+    private boolean putarUlangRekaman(ByteBuffer buffer, CRC32 crc, long lsnSnapshot) {
+        if (buffer.remaining() < FormatRekaman.UKURAN_HEADER_REKAMAN) {
+            return false;
+        }
+        int panjang = buffer.getInt();
+        int crcTersimpan = buffer.getInt();
+        if (panjang < 9 || panjang > buffer.remaining()) {
+            return false;
+        }
+        ByteBuffer payload = buffer.slice(buffer.position(), panjang);
+        crc.reset();
+        crc.update(payload.duplicate());
+        if ((int) crc.getValue() != crcTersimpan) {
+            return false;
+        }
+        buffer.position(buffer.position() + panjang);
+        byte jenis = payload.get();
+        long lsn = payload.getLong();
+        if (jenis < FormatRekaman.JENIS_SIMPAN || jenis > FormatRekaman.JENIS_BATCH) {
+            return false;
+        }
+        if (lsn > lsnSnapshot) {
+            terapkan(jenis, payload);
+        }
+        return true;
+    }
+
+    private void terapkan(byte jenis, ByteBuffer payload) {
+        if (jenis == FormatRekaman.JENIS_BATCH) {
+            int jumlah = payload.getInt();
+            for (int i = 0; i < jumlah; i++) {
+                terapkan(payload.get(), payload);
+            }
+        } else if (jenis == FormatRekaman.JENIS_SIMPAN) {
+            memori.simpan(FormatRekaman.bacaProduk(payload));
+        } else if (jenis == FormatRekaman.JENIS_HAPUS) {
+            memori.hapus(FormatRekaman.bacaString(payload));
+        } else {
+            memori.updateStok(FormatRekaman.bacaString(payload), payload.getInt());
+        }
+    }
+
+    private static void potongFile(Path file, long ukuran) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ch.truncate(ukuran);
+            ch.force(true);
+        }
+    }
+
+    // ===== Utilitas file =====
+
+    private FileChannel bukaSegmen(long lsnAwal) throws IOException {
+        Path file = direktori.resolve(namaFile(AWALAN_WAL, lsnAwal, AKHIRAN_WAL));
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(FormatRekaman.UKURAN_HEADER_FILE);
+        header.putInt(FormatRekaman.MAGIC_WAL).putInt(FormatRekaman.VERSI_FORMAT).flip();
+        while (header.hasRemaining()) {
+            ch.write(header);
+        }
+        ch.force(true);
+        fsyncDirektori();
+        return ch;
+    }
+
+    // Supaya file baru dan hasil rename ikut tahan crash; tidak semua platform mendukung
+    private void fsyncDirektori() {
+        try (FileChannel ch = FileChannel.open(direktori, StandardOpenOption.READ)) {
+            ch.force(true);
+        } catch (IOException e) {
+            // diabaikan: bukan jaminan yang bisa diberikan di semua sistem file
+        }
+    }
+
+    private List<Path> daftarFile(String awalan, String akhiran) throws IOException {
+        List<Path> hasil = new ArrayList<>();
+        try (Stream<Path> isi = Files.list(direktori)) {
+            isi.filter(p -> {
+                String nama = p.getFileName().toString();
+                return nama.startsWith(awalan) && nama.endsWith(akhiran);
+            }).forEach(hasil::add);
+        }
+        hasil.sort(Comparator.comparingLong(p -> lsnDariNama(p, awalan, akhiran)));
+        return hasil;
+    }
+
+    private static String namaFile(String awalan, long lsn, String akhiran) {
+        return awalan + String.format("%020d", lsn) + akhiran;
+    }
+
+    private static long lsnDariNama(Path file, String awalan, String akhiran) {
+        String nama = file.getFileName().toString();
+        return Long.parseLong(nama.substring(awalan.length(), nama.length() - akhiran.length()));
+    }
+}
@@ -0,0 +1,208 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.jfr.PeristiwaJfr;
+import com.praktikum.whitebox.jfr.PeristiwaJfrRepository;
+import com.praktikum.whitebox.model.DaftarPerubahanStatusStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.TotalInventaris;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Decorator RepositoryProduk yang menerbitkan PeristiwaJfrRepository untuk setiap
+// panggilan selama peristiwa itu direkam. Kategori hanya diisi jika sudah tersedia tanpa pencarian tambahan
+// (simpan dan cariByKode). streamSemua diteruskan tanpa peristiwa karena stream dibaca
+// malas setelah metode kembali.
+public class RepositoryProdukTerekam implements RepositoryProduk {
+    private final RepositoryProduk repositoryAsli;
+
+    public RepositoryProdukTerekam(RepositoryProduk repositoryAsli) {
+        if (repositoryAsli == null) {
+            throw new IllegalArgumentException("Repository asli wajib diisi");
+        }
+        this.repositoryAsli = repositoryAsli;
+    }
+
+    @Override
+    public boolean simpan(Produk produk) {
+        PeristiwaJfrRepository jfr = PeristiwaJfrRepository.mulai("simpan",
+                produk == null ? null : produk.getKode(), produk == null ? 0 : produk.getStok());
+        boolean hasil = repositoryAsli.simpan(produk);
+        if (jfr != null && jfr.akhiri()) {
+            jfr.setKategori(produk == null ? null : produk.getKategori());
+            jfr.catat(hasil ? PeristiwaJfr.HASIL_BERHASIL : PeristiwaJfr.HASIL_GAGAL);
+        }
+        return hasil;
+    }
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        PeristiwaJfrRepository jfr = PeristiwaJfrRepository.mulai("cariByKode", kode, 0);
+        Optional<Produk> hasil = repositoryAsli.cariByKode(kode);
+        if (jfr != null && jfr.akhiri()) {
+            jfr.setKategori(hasil.map(Produk::getKategori).orElse(null));
+            jfr.setJumlah(hasil.isPresent() ? 1 : 0);
+            jfr.catat(hasil.isPresent() ? PeristiwaJfr.HASIL_BERHASIL : PeristiwaJfr.HASIL_TIDAK_DITEMUKAN);
+        }
+        return hasil;
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        PeristiwaJfrRepository jfr = PeristiwaJfrRepository.mulai("cariByNama", null, 0);
+        return catatDaftar(jfr, repositoryAsli.cariByNama(nama));
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama, int batas) {
+        PeristiwaJfrRepository jfr = PeristiwaJfrRepository.mulai("cariByNama", null, 0);
+        return catatDaftar(jfr, repositoryAsli.cariByNama(nama, batas));
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        PeristiwaJfrRepository jfr = PeristiwaJfrRepository.mulai("cariByKategori", null, 0);
+        if (jfr != null) {
+            jfr.setKategori(kategori);
+        }
+        return catatDaftar(jfr, repositoryAsli.cariByKategori(kategori));
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        PeristiwaJfrRepository jfr = PeristiwaJfrRepository.mulai("cariProdukStokMenipis", null, 0);
+        return catatDaftar(jfr, repositoryAsli.cariProdukStokMenipis());
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        PeristiwaJfrRepository jfr = PeristiwaJfrRepository.mulai("cariProdukStokHabis", null, 0);
+        return catatDaftar(jfr, repositoryAsli.cariProdukStokHabis());
+    }
+
+    @Override
+    public DaftarPerubahanStatusStok cariPerubahanStatusStok(long kursor) {
+        PeristiwaJfrRepository jfr = PeristiwaJfrRepository.mulai("cariPerubahanStatusStok", null, 0);
+        DaftarPerubahanStatusStok hasil = repositoryAsli.cariPerubahanStatusStok(kursor);
+        if (jfr != null && jfr.akhiri()) {
+            jfr.setJumlah(hasil.getPerubahan().size());
+            jfr.catat(PeristiwaJfr.HASIL_BERHASIL);
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        PeristiwaJfrRepository jfr = PeristiwaJfrRepository.mulai("hapus", kode, 0);
+        boolean hasil = repositoryAsli.hapus(kode);
+        if (jfr != null) {
+            jfr.selesai(hasil);
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean hapusJikaStokNol(String kode) {
+        PeristiwaJfrRepository jfr = PeristiwaJfrRepository.mulai("hapusJikaStokNol", kode, 0);
+        boolean hasil = repositoryAsli.hapusJikaStokNol(kode);
+        if (jfr != null) {
+            jfr.selesai(hasil);
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        PeristiwaJfrRepository jfr = PeristiwaJfrRepository.mulai("updateStok", kode, stokBaru);
+        boolean hasil = repositoryAsli.updateStok(kode, stokBaru);
+        if (jfr != null) {
+            jfr.selesai(hasil);
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean adjustStok(String kode, int delta, int minimumStok) {
+        PeristiwaJfrRepository jfr = PeristiwaJfrRepository.mulai("adjustStok", kode, delta);
+        boolean hasil = repositoryAsli.adjustStok(kode, delta, minimumStok);
+        if (jfr != null) {
+            jfr.selesai(hasil);
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean adjustStokSemua(String[] kode, int[] delta, int minimumStok) {
+        PeristiwaJfrRepository jfr = PeristiwaJfrRepository.mulai("adjustStokSemua", null, kode.length);
+        boolean hasil = repositoryAsli.adjustStokSemua(kode, delta, minimumStok);
+        if (jfr != null) {
+            jfr.selesai(hasil);
+        }
+        return hasil;
+    }
+
+    @Override
+    public BitSet tambahProdukBatch(List<Produk> daftarProduk, BitSet baris) {
+        PeristiwaJfrRepository jfr = PeristiwaJfrRepository.mulai("tambahProdukBatch", null, 0);
+        return catatBatch(jfr, repositoryAsli.tambahProdukBatch(daftarProduk, baris));
+    }
+
+    @Override
+    public BitSet updateStokBatch(String[] kode, int[] stokBaru, BitSet baris) {
+        PeristiwaJfrRepository jfr = PeristiwaJfrRepository.mulai("updateStokBatch", null, 0);
+        return catatBatch(jfr, repositoryAsli.updateStokBatch(kode, stokBaru, baris));
+    }
+
+    @Override
+    public List<Produk> cariSemua() {
+        PeristiwaJfrRepository jfr = PeristiwaJfrRepository.mulai("cariSemua", null, 0);
+        return catatDaftar(jfr, repositoryAsli.cariSemua());
+    }
+
+    @Override
+    public Stream<Produk> streamSemua() {
+        return repositoryAsli.streamSemua();
+    }
+
+    @Override
+    public TotalInventaris hitungTotal() {
+        PeristiwaJfrRepository jfr = PeristiwaJfrRepository.mulai("hitungTotal", null, 0);
+        return catatTotal(jfr, repositoryAsli.hitungTotal());
+    }
+
+    @Override
+    public TotalInventaris hitungTotal(String kategori) {
+        PeristiwaJfrRepository jfr = PeristiwaJfrRepository.mulai("hitungTotal", null, 0);
+        if (jfr != null) {
+            jfr.setKategori(kategori);
+        }
+        return catatTotal(jfr, repositoryAsli.hitungTotal(kategori));
+    }
+
+    // Jumlah pada peristiwa pencarian = banyak produk hasil
+    private static List<Produk> catatDaftar(PeristiwaJfrRepository jfr, List<Produk> hasil) {
+        if (jfr != null && jfr.akhiri()) {
+            jfr.setJumlah(hasil.size());
+            jfr.catat(PeristiwaJfr.HASIL_BERHASIL);
+        }
+        return hasil;
+    }
+
+    // Jumlah pada peristiwa batch = banyak baris yang berhasil
+    private static BitSet catatBatch(PeristiwaJfrRepository jfr, BitSet hasil) {
+        if (jfr != null && jfr.akhiri()) {
+            jfr.setJumlah(hasil.cardinality());
+            jfr.catat(PeristiwaJfr.HASIL_BERHASIL);
+        }
+        return hasil;
+    }
+
+    // Jumlah pada peristiwa total = total stok
+    private static TotalInventaris catatTotal(PeristiwaJfrRepository jfr, TotalInventaris hasil) {
+        if (jfr != null && jfr.akhiri()) {
+            jfr.setJumlah(hasil.getTotalStok());
+            jfr.catat(PeristiwaJfr.HASIL_BERHASIL);
+        }
+        return hasil;
+    }
+}
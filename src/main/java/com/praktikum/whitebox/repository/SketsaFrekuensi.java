@@ -0,0 +1,61 @@
+package com.praktikum.whitebox.repository;
+
+// Count-min sketch 4 baris dengan penghitung jenuh di 15, dipakai W-TinyLFU untuk
+// memperkirakan seberapa sering sebuah kode diakses. Semua penghitung dibagi dua
+// setiap kali jumlah penambahan mencapai ukuran sampel sehingga riwayat lama memudar.
+// Tidak thread-safe; pemanggil memegang kunci kebijakan cache.
+final class SketsaFrekuensi {
+    private static final int JUMLAH_BARIS = 4;
+    private static final int MAKS_PENGHITUNG = 15;
+    private static final int[] BENIH = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+    private final byte[][] tabel;
+    private final int mask;
+    private final int ukuranSampel;
+    private int jumlahPenambahan;
+
+    SketsaFrekuensi(int kapasitas) {
+        int lebar = Integer.highestOneBit(Math.max(16, kapasitas - 1) << 1);
+        this.tabel = new byte[JUMLAH_BARIS][lebar];
+        this.mask = lebar - 1;
+        this.ukuranSampel = 10 * Math.max(16, kapasitas);
+    }
+
+    void tambah(int hash) {
+        boolean bertambah = false;
+        for (int i = 0; i < JUMLAH_BARIS; i++) {
+            int indeks = indeks(hash, i);
+            if (tabel[i][indeks] < MAKS_PENGHITUNG) {
+                tabel[i][indeks]++;
+                bertambah = true;
+            }
+        }
+        if (bertambah && ++jumlahPenambahan >= ukuranSampel) {
+            paruhkan();
+        }
+    }
+
+    int frekuensi(int hash) {
+        int minimum = MAKS_PENGHITUNG;
+        for (int i = 0; i < JUMLAH_BARIS; i++) {
+            minimum = Math.min(minimum, tabel[i][indeks(hash, i)]);
+        }
+        return minimum;
+    }
+
+    private int indeks(int hash, int baris) {
+        int h = (hash ^ BENIH[baris]) * 0x7FEB352D;
+        h ^= h >>> 15;
+        h *= 0x846CA68B;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void paruhkan() {
+        for (byte[] baris : tabel) {
+            for (int i = 0; i < baris.length; i++) {
+                baris[i] >>= 1;
+            }
+        }
+        jumlahPenambahan /= 2;
+    }
+}
@@ -0,0 +1,36 @@
+package com.praktikum.whitebox.repository;
+
+// Potret statistik RepositoryProdukCache untuk menentukan ukuran cache
+public class StatistikCache {
+    private final long hit;
+    private final long miss;
+    private final long eviksi;
+    private final int ukuran;
+
+    public StatistikCache(long hit, long miss, long eviksi, int ukuran) {
+        this.hit = hit;
+        this.miss = miss;
+        this.eviksi = eviksi;
+        this.ukuran = ukuran;
+    }
+
+    public long getHit() { return hit; }
+    public long getMiss() { return miss; }
+    public long getEviksi() { return eviksi; }
+    public int getUkuran() { return ukuran; }
+
+    public double getRasioHit() {
+        long total = hit + miss;
+        return total == 0 ? 0.0 : (double) hit / total;
+    }
+
+    @Override
+    public String toString() {
+        return "StatistikCache{" +
+                "hit=" + hit +
+                ", miss=" + miss +
+                ", eviksi=" + eviksi +
+                ", ukuran=" + ukuran +
+                '}';
+    }
+}
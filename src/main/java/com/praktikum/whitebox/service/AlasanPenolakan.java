@@ -0,0 +1,15 @@
+package com.praktikum.whitebox.service;
+
+// Alasan sebuah operasi ServiceInventaris mengembalikan false
+public enum AlasanPenolakan {
+    KODE_TIDAK_VALID,
+    PRODUK_TIDAK_VALID,
+    JUMLAH_TIDAK_VALID,
+    TIDAK_DITEMUKAN,
+    TIDAK_AKTIF,
+    DUPLIKAT,
+    STOK_TIDAK_CUKUP,
+    STOK_MELAMPAUI_BATAS,
+    MASIH_ADA_STOK,
+    GAGAL_REPOSITORY
+}
@@ -0,0 +1,138 @@
+package com.praktikum.whitebox.service;
+import com.praktikum.whitebox.model.Uang;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+// Tabel aturan diskon yang sudah dikompilasi ke array primitif dan tidak bisa diubah.
+// Konfigurasi (semua nilai dalam basis poin, 100 bp = 1%):
+//   kuantitas.<minimum>=<bp>   tingkat diskon untuk kuantitas >= minimum
+//   pelanggan.<TIPE>=<bp>      bonus per tipe pelanggan (tanpa membedakan huruf besar kecil)
+//   maksimal=<bp>              batas atas total diskon
+// Tingkat kuantitas dicari dengan binary search; tipe pelanggan diubah ke handle int
+// (indeks array bonus) sehingga perhitungan per baris tidak membandingkan string lagi.
+public final class AturanDiskon {
+    private static final String AWALAN_KUANTITAS = "kuantitas.";
+    private static final String AWALAN_PELANGGAN = "pelanggan.";
+    private static final String KUNCI_MAKSIMAL = "maksimal";
+    public static final int TIPE_TIDAK_DIKENAL = -1;
+
+    private final int[] minimumKuantitas;
+    private final int[] diskonKuantitasBp;
+    private final String[] namaTipe;
+    private final int[] bonusTipeBp;
+    private final int maksimalBp;
+
+    private AturanDiskon(int[] minimumKuantitas, int[] diskonKuantitasBp, String[] namaTipe,
+                         int[] bonusTipeBp, int maksimalBp) {
+        this.minimumKuantitas = minimumKuantitas;
+        this.diskonKuantitasBp = diskonKuantitasBp;
+        this.namaTipe = namaTipe;
+        this.bonusTipeBp = bonusTipeBp;
+        this.maksimalBp = maksimalBp;
+    }
+
+    // Aturan awal: 5/10/50/100 unit = 5/10/15/20%, PREMIUM/REGULER/BARU = +10/5/2%, maksimal 30%
+    public static AturanDiskon bawaan() {
+        Properties konfigurasi = new Properties();
+        konfigurasi.setProperty("kuantitas.5", "500");
+        konfigurasi.setProperty("kuantitas.10", "1000");
+        konfigurasi.setProperty("kuantitas.50", "1500");
+        konfigurasi.setProperty("kuantitas.100", "2000");
+        konfigurasi.setProperty("pelanggan.PREMIUM", "1000");
+        konfigurasi.setProperty("pelanggan.REGULER", "500");
+        konfigurasi.setProperty("pelanggan.BARU", "200");
+        konfigurasi.setProperty("maksimal", "3000");
+        return dariProperties(konfigurasi);
+    }
+
+    public static AturanDiskon dariProperties(Properties konfigurasi) {
+        if (konfigurasi == null) {
+            throw new IllegalArgumentException("Konfigurasi aturan diskon wajib diisi");
+        }
+        TreeMap<Integer, Integer> tingkat = new TreeMap<>();
+        TreeMap<String, Integer> bonus = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        int maksimal = (int) Uang.BASIS_POIN_PENUH;
+        for (String kunci : konfigurasi.stringPropertyNames()) {
+            int nilai = bacaBasisPoin(kunci, konfigurasi.getProperty(kunci));
+            if (kunci.startsWith(AWALAN_KUANTITAS)) {
+                int minimum = bacaBilangan(kunci, kunci.substring(AWALAN_KUANTITAS.length()));
+                if (minimum <= 0) {
+                    throw new IllegalArgumentException("Minimum kuantitas harus positif: " + kunci);
+                }
+                tingkat.put(minimum, nilai);
+            } else if (kunci.startsWith(AWALAN_PELANGGAN)) {
+                String tipe = kunci.substring(AWALAN_PELANGGAN.length());
+                if (tipe.isEmpty() || bonus.put(tipe, nilai) != null) {
+                    throw new IllegalArgumentException("Tipe pelanggan kosong atau berulang: " + kunci);
+                }
+            } else if (KUNCI_MAKSIMAL.equals(kunci)) {
+                maksimal = nilai;
+            } else {
+                throw new IllegalArgumentException("Kunci aturan diskon tidak dikenal: " + kunci);
+            }
+        }
+        int[] minimumKuantitas = new int[tingkat.size()];
+        int[] diskonKuantitas = new int[tingkat.size()];
+        int i = 0;
+        for (Map.Entry<Integer, Integer> entri : tingkat.entrySet()) {
+            minimumKuantitas[i] = entri.getKey();
+            diskonKuantitas[i++] = entri.getValue();
+        }
+        String[] namaTipe = bonus.keySet().toArray(new String[0]);
+        int[] bonusTipe = bonus.values().stream().mapToInt(Integer::intValue).toArray();
+        return new AturanDiskon(minimumKuantitas, diskonKuantitas, namaTipe, bonusTipe, maksimal);
+    }
+
+    // Handle hanya berlaku untuk objek aturan yang menghasilkannya
+    public int handleTipe(String tipePelanggan) {
+        if (tipePelanggan == null) {
+            return TIPE_TIDAK_DIKENAL;
+        }
+        int posisi = Arrays.binarySearch(namaTipe, tipePelanggan, String.CASE_INSENSITIVE_ORDER);
+        return posisi >= 0 ? posisi : TIPE_TIDAK_DIKENAL;
+    }
+
+    public int hitungBasisPoin(int kuantitas, int handleTipe) {
+        int diskon = 0;
+        // Tingkat terakhir yang minimumnya <= kuantitas
+        int posisi = Arrays.binarySearch(minimumKuantitas, kuantitas);
+        int tingkat = posisi >= 0 ? posisi : -posisi - 2;
+        if (tingkat >= 0) {
+            diskon += diskonKuantitasBp[tingkat];
+        }
+        if (handleTipe >= 0 && handleTipe < bonusTipeBp.length) {
+            diskon += bonusTipeBp[handleTipe];
+        }
+        return Math.min(diskon, maksimalBp);
+    }
+
+    public int getMaksimalBp() {
+        return maksimalBp;
+    }
+
+    public int getJumlahTingkatKuantitas() {
+        return minimumKuantitas.length;
+    }
+
+    public int getJumlahTipePelanggan() {
+        return namaTipe.length;
+    }
+
+    private static int bacaBasisPoin(String kunci, String nilai) {
+        int bp = bacaBilangan(kunci, nilai);
+        if (bp < 0 || bp > Uang.BASIS_POIN_PENUH) {
+            throw new IllegalArgumentException("Basis poin harus 0 sampai 10000: " + kunci);
+        }
+        return bp;
+    }
+
+    private static int bacaBilangan(String kunci, String teks) {
+        try {
+            return Integer.parseInt(teks.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Bukan bilangan bulat pada " + kunci + ": " + teks, e);
+        }
+    }
+}
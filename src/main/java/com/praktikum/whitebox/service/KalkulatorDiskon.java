@@ -1,39 +1,114 @@
 package com.praktikum.whitebox.service;
+import com.praktikum.whitebox.jfr.PeristiwaJfr;
+import com.praktikum.whitebox.jfr.PeristiwaJfrDiskon;
+import com.praktikum.whitebox.model.Uang;
 
 public class KalkulatorDiskon {
+    // Diganti utuh saat runtime; setiap perhitungan membaca satu referensi sehingga
+    // thread harga tidak pernah menunggu dan tidak melihat aturan setengah jadi
+    private volatile AturanDiskon aturan;
+    private static final long SETENGAH_BASIS_POIN = Uang.BASIS_POIN_PENUH / 2;
+
+    public KalkulatorDiskon() {
+        this(AturanDiskon.bawaan());
+    }
+
+    public KalkulatorDiskon(AturanDiskon aturan) {
+        this.aturan = wajibAda(aturan);
+    }
+
+    public void gantiAturan(AturanDiskon aturanBaru) {
+        this.aturan = wajibAda(aturanBaru);
+    }
+
+    private static AturanDiskon wajibAda(AturanDiskon aturan) {
+        if (aturan == null) {
+            throw new IllegalArgumentException("Aturan diskon wajib diisi");
+        }
+        return aturan;
+    }
+
+    public AturanDiskon getAturan() {
+        return aturan;
+    }
+
     public double hitungDiskon(double harga, int kuantitas, String
             tipePelanggan) {
         if (harga <= 0 || kuantitas <= 0) {
             throw new IllegalArgumentException("Harga dan kuantitas harus positif");
         }
-        double diskon = 0.0;
-// Diskon berdasarkan kuantitas
-        if (kuantitas >= 100) {
-            diskon += 0.20; // 20%
-        } else if (kuantitas >= 50) {
-            diskon += 0.15; // 15%
-        } else if (kuantitas >= 10) {
-            diskon += 0.10; // 10%
-        } else if (kuantitas >= 5) {
-            diskon += 0.05; // 5%
-        }
-// Diskon berdasarkan tipe pelanggan
-        if ("PREMIUM".equalsIgnoreCase(tipePelanggan)) {
-            diskon += 0.10; // 10% tambahan
-        } else if ("REGULER".equalsIgnoreCase(tipePelanggan)) {
-            diskon += 0.05; // 5% tambahan
-        } else if ("BARU".equalsIgnoreCase(tipePelanggan)) {
-            diskon += 0.02; // 2% tambahan
-        }
-// Maksimal diskon 30%
-        diskon = Math.min(diskon, 0.30);
-        return harga * kuantitas * diskon;
+        return Uang.keRupiah(hitungDiskonSen(Uang.senDariRupiah(harga), kuantitas, tipePelanggan));
     }
     public double hitungHargaSetelahDiskon(double harga, int kuantitas,
                                            String tipePelanggan) {
-        double totalSebelumDiskon = harga * kuantitas;
-        double diskon = hitungDiskon(harga, kuantitas, tipePelanggan);
-        return totalSebelumDiskon - diskon;
+        return Uang.keRupiah(hitungHargaSetelahDiskonSen(Uang.senDariRupiah(harga), kuantitas, tipePelanggan));
+    }
+    // Versi fixed-point: nominal dalam sen, persentase dalam basis poin (100 bp = 1%),
+    // satu kali pembulatan di akhir dengan Uang.PEMBULATAN
+    public long hitungDiskonSen(long hargaSen, int kuantitas, String tipePelanggan) {
+        if (hargaSen <= 0 || kuantitas <= 0) {
+            throw new IllegalArgumentException("Harga dan kuantitas harus positif");
+        }
+        return Uang.persen(Uang.kali(hargaSen, kuantitas), hitungDiskonBasisPoin(kuantitas, tipePelanggan),
+                Uang.PEMBULATAN);
+    }
+    public long hitungHargaSetelahDiskonSen(long hargaSen, int kuantitas, String tipePelanggan) {
+        long totalSebelumDiskon = Uang.kali(hargaSen, kuantitas);
+        return totalSebelumDiskon - hitungDiskonSen(hargaSen, kuantitas, tipePelanggan);
+    }
+    // Harga satu keranjang atau daftar harga sekaligus untuk satu tipe pelanggan. Aturan dan
+    // handle tipe dibaca sekali per batch; hasil per baris identik dengan hitungDiskonSen dan
+    // hitungHargaSetelahDiskonSen. Tidak ada alokasi: lintasan pertama memvalidasi dan menulis
+    // bruto ke nettoSen serta basis poin ke diskonSen, lintasan kedua hanya aritmetika long
+    // tanpa percabangan data sehingga bisa di-unroll JIT. Jika melempar, isi output tidak terdefinisi.
+    // Setiap batch, termasuk yang gagal, dicatat sebagai PeristiwaJfrDiskon.
+    public void hitungHargaBatchSen(long[] hargaSen, int[] kuantitas, String tipePelanggan,
+                                    long[] diskonSen, long[] nettoSen) {
+        PeristiwaJfrDiskon jfr = PeristiwaJfrDiskon.mulai("HARGA_BATCH", tipePelanggan);
+        boolean berhasil = false;
+        try {
+            hitungBatch(hargaSen, kuantitas, tipePelanggan, diskonSen, nettoSen);
+            berhasil = true;
+        } finally {
+            if (jfr != null && jfr.akhiri()) {
+                jfr.setJumlah(hargaSen == null ? 0 : hargaSen.length);
+                jfr.catat(berhasil ? PeristiwaJfr.HASIL_BERHASIL : PeristiwaJfr.HASIL_GAGAL);
+            }
+        }
+    }
+    private void hitungBatch(long[] hargaSen, int[] kuantitas, String tipePelanggan,
+                             long[] diskonSen, long[] nettoSen) {
+        if (hargaSen == null || kuantitas == null || diskonSen == null || nettoSen == null
+                || kuantitas.length != hargaSen.length || diskonSen.length != hargaSen.length
+                || nettoSen.length != hargaSen.length) {
+            throw new IllegalArgumentException("Array harga, kuantitas dan output harus sama panjang");
+        }
+        AturanDiskon aturanSaatIni = aturan;
+        int handle = aturanSaatIni.handleTipe(tipePelanggan);
+        for (int i = 0; i < hargaSen.length; i++) {
+            if (hargaSen[i] <= 0 || kuantitas[i] <= 0) {
+                throw new IllegalArgumentException("Harga dan kuantitas harus positif pada baris " + i);
+            }
+            long bruto = Uang.kali(hargaSen[i], kuantitas[i]);
+            int basisPoin = aturanSaatIni.hitungBasisPoin(kuantitas[i], handle);
+            // Memastikan bruto x basis poin di lintasan kedua tidak overflow
+            Uang.kali(bruto, basisPoin);
+            nettoSen[i] = bruto;
+            diskonSen[i] = basisPoin;
+        }
+        for (int i = 0; i < hargaSen.length; i++) {
+            long pembilang = nettoSen[i] * diskonSen[i];
+            long hasil = pembilang / Uang.BASIS_POIN_PENUH;
+            long sisa = pembilang - hasil * Uang.BASIS_POIN_PENUH;
+            // HALF_EVEN untuk pembilang non-negatif
+            long naik = sisa > SETENGAH_BASIS_POIN || (sisa == SETENGAH_BASIS_POIN && (hasil & 1) != 0) ? 1 : 0;
+            diskonSen[i] = hasil + naik;
+            nettoSen[i] -= diskonSen[i];
+        }
+    }
+    public int hitungDiskonBasisPoin(int kuantitas, String tipePelanggan) {
+        AturanDiskon aturanSaatIni = aturan;
+        return aturanSaatIni.hitungBasisPoin(kuantitas, aturanSaatIni.handleTipe(tipePelanggan));
     }
     public String getKategoriDiskon(double persentaseDiskon) {
         if (persentaseDiskon <= 0) {
@@ -0,0 +1,111 @@
+package com.praktikum.whitebox.service;
+import com.praktikum.whitebox.util.HistogramLatensi;
+import com.praktikum.whitebox.util.SnapshotLatensi;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+// Metrik ServiceInventaris: histogram latensi (nanodetik) per operasi dan penghitung
+// penolakan per operasi dan alasan. Pencatatan bebas kunci (indeks array menurut
+// ordinal enum); pembacaan lewat snapshot atau dump format teks Prometheus.
+public class MetrikInventaris {
+    private static final double[] KUANTIL = {0.5, 0.9, 0.99, 0.999};
+    private static final double NANODETIK_PER_DETIK = 1e9;
+
+    private final HistogramLatensi[] latensi = new HistogramLatensi[OperasiInventaris.values().length];
+    private final LongAdder[][] penolakan =
+            new LongAdder[OperasiInventaris.values().length][AlasanPenolakan.values().length];
+
+    public MetrikInventaris() {
+        for (int o = 0; o < latensi.length; o++) {
+            latensi[o] = new HistogramLatensi();
+            for (int a = 0; a < penolakan[o].length; a++) {
+                penolakan[o][a] = new LongAdder();
+            }
+        }
+    }
+
+    // alasan null berarti operasi berhasil
+    public void catat(OperasiInventaris operasi, long durasiNanos, AlasanPenolakan alasan) {
+        latensi[operasi.ordinal()].catat(durasiNanos);
+        if (alasan != null) {
+            penolakan[operasi.ordinal()][alasan.ordinal()].increment();
+        }
+    }
+
+    public SnapshotLatensi snapshotLatensi(OperasiInventaris operasi) {
+        return latensi[operasi.ordinal()].snapshot();
+    }
+
+    public long getJumlahPenolakan(OperasiInventaris operasi, AlasanPenolakan alasan) {
+        return penolakan[operasi.ordinal()][alasan.ordinal()].sum();
+    }
+
+    public long getJumlahPenolakan(OperasiInventaris operasi) {
+        long jumlah = 0;
+        for (LongAdder hitungan : penolakan[operasi.ordinal()]) {
+            jumlah += hitungan.sum();
+        }
+        return jumlah;
+    }
+
+    // Latensi sebagai summary dalam detik, penolakan sebagai counter; baris dengan
+    // hitungan nol tidak ditulis
+    public void tulisPrometheus(Appendable keluaran) throws IOException {
+        keluaran.append("# HELP inventaris_operasi_detik Latensi operasi ServiceInventaris\n");
+        keluaran.append("# TYPE inventaris_operasi_detik summary\n");
+        for (OperasiInventaris operasi : OperasiInventaris.values()) {
+            SnapshotLatensi snapshot = snapshotLatensi(operasi);
+            String label = "operasi=\"" + nama(operasi) + "\"";
+            for (double q : KUANTIL) {
+                keluaran.append("inventaris_operasi_detik{").append(label)
+                        .append(",quantile=\"").append(Double.toString(q)).append("\"} ")
+                        .append(detik(snapshot.persentil(q))).append('\n');
+            }
+            keluaran.append("inventaris_operasi_detik_sum{").append(label).append("} ")
+                    .append(detik(snapshot.getTotal())).append('\n');
+            keluaran.append("inventaris_operasi_detik_count{").append(label).append("} ")
+                    .append(Long.toString(snapshot.getJumlah())).append('\n');
+        }
+        keluaran.append("# HELP inventaris_penolakan_total Operasi yang mengembalikan false per alasan\n");
+        keluaran.append("# TYPE inventaris_penolakan_total counter\n");
+        for (OperasiInventaris operasi : OperasiInventaris.values()) {
+            for (AlasanPenolakan alasan : AlasanPenolakan.values()) {
+                long jumlah = getJumlahPenolakan(operasi, alasan);
+                if (jumlah > 0) {
+                    keluaran.append("inventaris_penolakan_total{operasi=\"").append(nama(operasi))
+                            .append("\",alasan=\"").append(nama(alasan)).append("\"} ")
+                            .append(Long.toString(jumlah)).append('\n');
+                }
+            }
+        }
+    }
+
+    // Ditulis ke berkas sementara lalu dipindah atomik, sehingga pembaca (misalnya
+    // textfile collector node_exporter) tidak pernah melihat berkas setengah jadi
+    public void simpanPrometheus(Path berkas) {
+        Path sementara = berkas.resolveSibling(berkas.getFileName() + ".tmp");
+        try {
+            try (Writer penulis = Files.newBufferedWriter(sementara, StandardCharsets.UTF_8)) {
+                tulisPrometheus(penulis);
+            }
+            Files.move(sementara, berkas, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal menulis metrik ke " + berkas, e);
+        }
+    }
+
+    private static String nama(Enum<?> nilai) {
+        return nilai.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static String detik(long nanos) {
+        return Double.toString(nanos / NANODETIK_PER_DETIK);
+    }
+}
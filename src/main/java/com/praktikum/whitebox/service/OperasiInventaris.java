@@ -0,0 +1,11 @@
+package com.praktikum.whitebox.service;
+
+// Operasi ServiceInventaris yang diukur oleh MetrikInventaris
+public enum OperasiInventaris {
+    TAMBAH_PRODUK,
+    HAPUS_PRODUK,
+    UPDATE_STOK,
+    KELUAR_STOK,
+    MASUK_STOK,
+    CHECKOUT
+}
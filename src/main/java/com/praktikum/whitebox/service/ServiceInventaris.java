@@ -1,40 +1,159 @@
 package com.praktikum.whitebox.service;
+import com.praktikum.whitebox.event.JenisPeristiwa;
+import com.praktikum.whitebox.event.RingPeristiwa;
+import com.praktikum.whitebox.jfr.PeristiwaJfr;
+import com.praktikum.whitebox.jfr.PeristiwaJfrInventaris;
+import com.praktikum.whitebox.model.BarisPesanan;
+import com.praktikum.whitebox.model.DaftarPerubahanStatusStok;
 import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.TotalInventaris;
 import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.util.AlasanValidasi;
+import com.praktikum.whitebox.util.MesinValidasi;
 import com.praktikum.whitebox.util.ValidationUtils;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
 
 public class ServiceInventaris {
+    private static final int JUMLAH_KUNCI_URUTAN = 64;
     private final RepositoryProduk repositoryProduk;
+    // Opsional: jika diisi, setiap perubahan yang berhasil diterbitkan sebagai peristiwa
+    private final RingPeristiwa ringPeristiwa;
+    // Opsional: jika diisi, latensi setiap operasi tulis dan alasan penolakannya dicatat
+    private final MetrikInventaris metrik;
+    // Opsional: jika diisi, keluar stok dan checkout tidak boleh memakai stok yang ditahan
+    // reservasi; service reservasi harus memakai repository yang sama
+    private final ServiceReservasi serviceReservasi;
+    // Hanya dibuat jika ringPeristiwa diisi, lihat kunciPeristiwa
+    private final ReentrantLock[] kunciUrutan;
     public ServiceInventaris(RepositoryProduk repositoryProduk) {
+        this(repositoryProduk, null);
+    }
+    public ServiceInventaris(RepositoryProduk repositoryProduk, RingPeristiwa ringPeristiwa) {
+        this(repositoryProduk, ringPeristiwa, null);
+    }
+    public ServiceInventaris(RepositoryProduk repositoryProduk, RingPeristiwa ringPeristiwa,
+                             MetrikInventaris metrik) {
+        this(repositoryProduk, ringPeristiwa, metrik, null);
+    }
+    public ServiceInventaris(RepositoryProduk repositoryProduk, RingPeristiwa ringPeristiwa,
+                             MetrikInventaris metrik, ServiceReservasi serviceReservasi) {
         this.repositoryProduk = repositoryProduk;
+        this.ringPeristiwa = ringPeristiwa;
+        this.metrik = metrik;
+        this.serviceReservasi = serviceReservasi;
+        this.kunciUrutan = ringPeristiwa == null ? null : new ReentrantLock[JUMLAH_KUNCI_URUTAN];
+        if (kunciUrutan != null) {
+            for (int i = 0; i < kunciUrutan.length; i++) {
+                kunciUrutan[i] = new ReentrantLock();
+            }
+        }
     }
     public boolean tambahProduk(Produk produk) {
-        if (!ValidationUtils.isValidProduk(produk)) {
-            return false;
+        long mulai = mulaiUkur();
+        PeristiwaJfrInventaris jfr = PeristiwaJfrInventaris.mulai(null, 0);
+        AlasanValidasi validasi = MesinValidasi.periksaProduk(produk);
+        if (!validasi.isValid()) {
+            return tolak(OperasiInventaris.TAMBAH_PRODUK, mulai, jfr, alasanValidasi(validasi));
+        }
+        if (jfr != null) {
+            jfr.setKode(produk.getKode());
+            jfr.setKategori(produk.getKategori());
+            jfr.setJumlah(produk.getStok());
         }
 // Cek apakah produk dengan kode yang sama sudah ada
         Optional<Produk> produkExist =
                 repositoryProduk.cariByKode(produk.getKode());
         if (produkExist.isPresent()) {
-            return false;
+            return tolak(OperasiInventaris.TAMBAH_PRODUK, mulai, jfr, AlasanPenolakan.DUPLIKAT);
         }
-        return repositoryProduk.simpan(produk);
+        ReentrantLock k = kunciPeristiwa(produk.getKode());
+        try {
+            if (!repositoryProduk.simpan(produk)) {
+                return tolak(OperasiInventaris.TAMBAH_PRODUK, mulai, jfr, AlasanPenolakan.GAGAL_REPOSITORY);
+            }
+            terbitkan(JenisPeristiwa.PRODUK_DITAMBAH, produk.getKode(), produk.getStok());
+        } finally {
+            lepas(k);
+        }
+        return berhasil(OperasiInventaris.TAMBAH_PRODUK, mulai, jfr);
     }
     public boolean hapusProduk(String kode) {
+        long mulai = mulaiUkur();
+        PeristiwaJfrInventaris jfr = PeristiwaJfrInventaris.mulai(kode, 0);
         if (!ValidationUtils.isValidKodeProduk(kode)) {
-            return false;
+            return tolak(OperasiInventaris.HAPUS_PRODUK, mulai, jfr, AlasanPenolakan.KODE_TIDAK_VALID);
         }
         Optional<Produk> produk = repositoryProduk.cariByKode(kode);
         if (!produk.isPresent()) {
-            return false;
+            return tolak(OperasiInventaris.HAPUS_PRODUK, mulai, jfr, AlasanPenolakan.TIDAK_DITEMUKAN);
+        }
+        if (jfr != null) {
+            jfr.setKategori(produk.get().getKategori());
         }
 // Tidak bisa hapus produk yang masih ada stoknya
         if (produk.get().getStok() > 0) {
-            return false;
+            return tolak(OperasiInventaris.HAPUS_PRODUK, mulai, jfr, AlasanPenolakan.MASIH_ADA_STOK);
+        }
+        // Pemeriksaan di atas hanya untuk alasan penolakan; yang menentukan adalah
+        // pemeriksaan ulang atomik di repository, karena stok bisa masuk di antaranya
+        ReentrantLock k = kunciPeristiwa(kode);
+        try {
+            if (!repositoryProduk.hapusJikaStokNol(kode)) {
+                return tolak(OperasiInventaris.HAPUS_PRODUK, mulai, jfr, alasanGagalHapus(kode, jfr));
+            }
+            terbitkan(JenisPeristiwa.PRODUK_DIHAPUS, kode, 0);
+        } finally {
+            lepas(k);
+        }
+        return berhasil(OperasiInventaris.HAPUS_PRODUK, mulai, jfr);
+    }
+    // Validasi seluruh batch dalam satu lintasan, lalu satu panggilan repository.
+    // Bit ke-i hasil menyala jika produk ke-i berhasil ditambahkan.
+    public BitSet tambahProdukBatch(List<Produk> daftarProduk) {
+        if (daftarProduk == null) {
+            return new BitSet();
+        }
+        BitSet valid = new BitSet(daftarProduk.size());
+        MesinValidasi.periksaBatch(daftarProduk, valid, null);
+        BitSet terkunci = kunciPeristiwa(valid, i -> daftarProduk.get(i).getKode());
+        try {
+            BitSet berhasil = repositoryProduk.tambahProdukBatch(daftarProduk, valid);
+            for (int i = berhasil.nextSetBit(0); i >= 0; i = berhasil.nextSetBit(i + 1)) {
+                terbitkan(JenisPeristiwa.PRODUK_DITAMBAH, daftarProduk.get(i).getKode(), daftarProduk.get(i).getStok());
+            }
+            return berhasil;
+        } finally {
+            lepas(terkunci);
+        }
+    }
+    public BitSet updateStokBatch(String[] kode, int[] stokBaru) {
+        if (kode == null || stokBaru == null) {
+            return new BitSet();
+        }
+        if (kode.length != stokBaru.length) {
+            throw new IllegalArgumentException("Jumlah kode dan stok harus sama");
+        }
+        BitSet valid = new BitSet(kode.length);
+        for (int i = 0; i < kode.length; i++) {
+            if (ValidationUtils.isValidKodeProduk(kode[i]) && stokBaru[i] >= 0) {
+                valid.set(i);
+            }
+        }
+        BitSet terkunci = kunciPeristiwa(valid, i -> kode[i]);
+        try {
+            BitSet berhasil = repositoryProduk.updateStokBatch(kode, stokBaru, valid);
+            for (int i = berhasil.nextSetBit(0); i >= 0; i = berhasil.nextSetBit(i + 1)) {
+                terbitkan(JenisPeristiwa.STOK_DIUBAH, kode[i], stokBaru[i]);
+            }
+            return berhasil;
+        } finally {
+            lepas(terkunci);
         }
-        return repositoryProduk.hapus(kode);
     }
     public Optional<Produk> cariProdukByKode(String kode) {
         if (!ValidationUtils.isValidKodeProduk(kode)) {
@@ -45,44 +164,125 @@ public class ServiceInventaris {
     public List<Produk> cariProdukByNama(String nama) {
         return repositoryProduk.cariByNama(nama);
     }
+    // Untuk pencarian per ketikan di kasir: hanya batas hasil teratas yang diambil
+    public List<Produk> cariProdukByNama(String nama, int batas) {
+        return repositoryProduk.cariByNama(nama, batas);
+    }
     public List<Produk> cariProdukByKategori(String kategori) {
         return repositoryProduk.cariByKategori(kategori);
     }
     public boolean updateStok(String kode, int stokBaru) {
-        if (!ValidationUtils.isValidKodeProduk(kode) || stokBaru < 0) {
-            return false;
+        long mulai = mulaiUkur();
+        PeristiwaJfrInventaris jfr = PeristiwaJfrInventaris.mulai(kode, stokBaru);
+        if (!ValidationUtils.isValidKodeProduk(kode)) {
+            return tolak(OperasiInventaris.UPDATE_STOK, mulai, jfr, AlasanPenolakan.KODE_TIDAK_VALID);
+        }
+        if (stokBaru < 0) {
+            return tolak(OperasiInventaris.UPDATE_STOK, mulai, jfr, AlasanPenolakan.JUMLAH_TIDAK_VALID);
         }
         Optional<Produk> produk = repositoryProduk.cariByKode(kode);
         if (!produk.isPresent()) {
-            return false;
+            return tolak(OperasiInventaris.UPDATE_STOK, mulai, jfr, AlasanPenolakan.TIDAK_DITEMUKAN);
         }
-        return repositoryProduk.updateStok(kode, stokBaru);
+        ReentrantLock k = kunciPeristiwa(kode);
+        try {
+            if (!repositoryProduk.updateStok(kode, stokBaru)) {
+                return tolak(OperasiInventaris.UPDATE_STOK, mulai, jfr, AlasanPenolakan.GAGAL_REPOSITORY);
+            }
+            terbitkan(JenisPeristiwa.STOK_DIUBAH, kode, stokBaru);
+        } finally {
+            lepas(k);
+        }
+        return berhasil(OperasiInventaris.UPDATE_STOK, mulai, jfr);
     }
     public boolean keluarStok(String kode, int jumlah) {
-        if (!ValidationUtils.isValidKodeProduk(kode) || jumlah <= 0) {
-            return false;
+        long mulai = mulaiUkur();
+        PeristiwaJfrInventaris jfr = PeristiwaJfrInventaris.mulai(kode, jumlah);
+        if (!ValidationUtils.isValidKodeProduk(kode)) {
+            return tolak(OperasiInventaris.KELUAR_STOK, mulai, jfr, AlasanPenolakan.KODE_TIDAK_VALID);
         }
-        Optional<Produk> produkOpt = repositoryProduk.cariByKode(kode);
-        if (!produkOpt.isPresent() || !produkOpt.get().isAktif()) {
-            return false;
+        if (jumlah <= 0) {
+            return tolak(OperasiInventaris.KELUAR_STOK, mulai, jfr, AlasanPenolakan.JUMLAH_TIDAK_VALID);
         }
-        Produk produk = produkOpt.get();
-        if (produk.getStok() < jumlah) {
-            return false;
+// Cek aktif dan stok cukup dilakukan atomik di repository (tidak bisa oversell)
+        ReentrantLock k = kunciPeristiwa(kode);
+        try {
+            boolean berkurang = serviceReservasi == null
+                    ? repositoryProduk.adjustStok(kode, -jumlah, 0)
+                    : serviceReservasi.kurangiStokBebas(kode, jumlah);
+            if (!berkurang) {
+                return tolak(OperasiInventaris.KELUAR_STOK, mulai, jfr, alasanGagalAdjust(kode, AlasanPenolakan.STOK_TIDAK_CUKUP, jfr));
+            }
+            terbitkan(JenisPeristiwa.STOK_KELUAR, kode, jumlah);
+        } finally {
+            lepas(k);
         }
-        int stokBaru = produk.getStok() - jumlah;
-        return repositoryProduk.updateStok(kode, stokBaru);
+        return berhasil(OperasiInventaris.KELUAR_STOK, mulai, jfr);
     }
     public boolean masukStok(String kode, int jumlah) {
-        if (!ValidationUtils.isValidKodeProduk(kode) || jumlah <= 0) {
-            return false;
+        long mulai = mulaiUkur();
+        PeristiwaJfrInventaris jfr = PeristiwaJfrInventaris.mulai(kode, jumlah);
+        if (!ValidationUtils.isValidKodeProduk(kode)) {
+            return tolak(OperasiInventaris.MASUK_STOK, mulai, jfr, AlasanPenolakan.KODE_TIDAK_VALID);
         }
-        Optional<Produk> produk = repositoryProduk.cariByKode(kode);
-        if (!produk.isPresent() || !produk.get().isAktif()) {
-            return false;
+        if (jumlah <= 0) {
+            return tolak(OperasiInventaris.MASUK_STOK, mulai, jfr, AlasanPenolakan.JUMLAH_TIDAK_VALID);
+        }
+        ReentrantLock k = kunciPeristiwa(kode);
+        try {
+            if (!repositoryProduk.adjustStok(kode, jumlah, 0)) {
+                return tolak(OperasiInventaris.MASUK_STOK, mulai, jfr, alasanGagalAdjust(kode, AlasanPenolakan.STOK_MELAMPAUI_BATAS, jfr));
+            }
+            terbitkan(JenisPeristiwa.STOK_MASUK, kode, jumlah);
+        } finally {
+            lepas(k);
+        }
+        return berhasil(OperasiInventaris.MASUK_STOK, mulai, jfr);
+    }
+    // Mengeluarkan stok untuk semua baris pesanan sekaligus: jika satu baris tidak
+    // valid atau stoknya kurang, tidak ada stok yang berkurang
+    public boolean checkout(List<BarisPesanan> daftarBaris) {
+        long mulai = mulaiUkur();
+        PeristiwaJfrInventaris jfr = PeristiwaJfrInventaris.mulai(null, 0);
+        if (daftarBaris == null || daftarBaris.isEmpty()) {
+            return tolak(OperasiInventaris.CHECKOUT, mulai, jfr, AlasanPenolakan.JUMLAH_TIDAK_VALID);
+        }
+        String[] kode = new String[daftarBaris.size()];
+        int[] delta = new int[daftarBaris.size()];
+        for (int i = 0; i < kode.length; i++) {
+            BarisPesanan baris = daftarBaris.get(i);
+            if (baris == null || !ValidationUtils.isValidKodeProduk(baris.getKode())) {
+                return tolak(OperasiInventaris.CHECKOUT, mulai, jfr, AlasanPenolakan.KODE_TIDAK_VALID);
+            }
+            if (baris.getJumlah() <= 0) {
+                return tolak(OperasiInventaris.CHECKOUT, mulai, jfr, AlasanPenolakan.JUMLAH_TIDAK_VALID);
+            }
+            kode[i] = baris.getKode();
+            delta[i] = -baris.getJumlah();
+        }
+        // Satu peristiwa per checkout: jumlah berisi total unit, tanpa kode
+        if (jfr != null) {
+            long totalUnit = 0;
+            for (int d : delta) {
+                totalUnit -= d;
+            }
+            jfr.setJumlah(totalUnit);
+        }
+        BitSet terkunci = kunciPeristiwa(kode);
+        try {
+            boolean berkurang = serviceReservasi == null
+                    ? repositoryProduk.adjustStokSemua(kode, delta, 0)
+                    : serviceReservasi.kurangiStokBebasSemua(kode, delta);
+            if (!berkurang) {
+                return tolak(OperasiInventaris.CHECKOUT, mulai, jfr, alasanGagalCheckout(kode, jfr));
+            }
+            for (int i = 0; i < kode.length; i++) {
+                terbitkan(JenisPeristiwa.STOK_KELUAR, kode[i], -delta[i]);
+            }
+        } finally {
+            lepas(terkunci);
         }
-        int stokBaru = produk.get().getStok() + jumlah;
-        return repositoryProduk.updateStok(kode, stokBaru);
+        return berhasil(OperasiInventaris.CHECKOUT, mulai, jfr);
     }
     public List<Produk> getProdukStokMenipis() {
         return repositoryProduk.cariProdukStokMenipis();
@@ -90,18 +290,171 @@ public class ServiceInventaris {
     public List<Produk> getProdukStokHabis() {
         return repositoryProduk.cariProdukStokHabis();
     }
+    // Untuk poller dashboard: mulai dari kursor 0, lalu kirim kursor dari hasil sebelumnya
+    public DaftarPerubahanStatusStok getPerubahanStatusStok(long kursor) {
+        if (kursor < 0) {
+            throw new IllegalArgumentException("Kursor tidak boleh negatif");
+        }
+        return repositoryProduk.cariPerubahanStatusStok(kursor);
+    }
+    // Total dibaca dari akumulator repository (O(1) untuk RepositoryProdukMemori)
     public double hitungTotalNilaiInventaris() {
-        List<Produk> semuaProduk = repositoryProduk.cariSemua();
-        return semuaProduk.stream()
-                .filter(Produk::isAktif)
-                .mapToDouble(p -> p.getHarga() * p.getStok())
-                .sum();
+        return repositoryProduk.hitungTotal().getTotalNilai();
     }
     public int hitungTotalStok() {
-        List<Produk> semuaProduk = repositoryProduk.cariSemua();
-        return semuaProduk.stream()
-                .filter(Produk::isAktif)
-                .mapToInt(Produk::getStok)
-                .sum();
+        return (int) repositoryProduk.hitungTotal().getTotalStok();
+    }
+    // Nilai eksak dalam sen; versi double di atas hanya konversi untuk tampilan
+    public long hitungTotalNilaiInventarisSen() {
+        return repositoryProduk.hitungTotal().getTotalNilaiSen();
+    }
+    public long hitungTotalNilaiInventarisSen(String kategori) {
+        return repositoryProduk.hitungTotal(kategori).getTotalNilaiSen();
+    }
+    public double hitungTotalNilaiInventaris(String kategori) {
+        return repositoryProduk.hitungTotal(kategori).getTotalNilai();
+    }
+    public int hitungTotalStok(String kategori) {
+        return (int) repositoryProduk.hitungTotal(kategori).getTotalStok();
+    }
+    // Rekonsiliasi opsional: membandingkan total yang dipelihara repository dengan
+    // hasil pemindaian penuh katalog
+    public boolean verifikasiTotalInventaris() {
+        TotalInventaris dipelihara = repositoryProduk.hitungTotal();
+        try (Stream<Produk> semuaProduk = repositoryProduk.streamSemua()) {
+            return dipelihara.cocokDengan(TotalInventaris.hitung(semuaProduk));
+        }
+    }
+    // Tanpa metrik, jam tidak dibaca dan penyebab kegagalan repository tidak dicari
+    // kecuali peristiwa JFR sedang direkam
+    private long mulaiUkur() {
+        return metrik == null ? 0 : System.nanoTime();
+    }
+    private boolean berhasil(OperasiInventaris operasi, long mulai, PeristiwaJfrInventaris jfr) {
+        if (metrik != null) {
+            metrik.catat(operasi, System.nanoTime() - mulai, null);
+        }
+        catatJfr(jfr, operasi, null);
+        return true;
+    }
+    private boolean tolak(OperasiInventaris operasi, long mulai, PeristiwaJfrInventaris jfr,
+                          AlasanPenolakan alasan) {
+        if (metrik != null) {
+            metrik.catat(operasi, System.nanoTime() - mulai, alasan);
+        }
+        catatJfr(jfr, operasi, alasan);
+        return false;
+    }
+    // Kategori yang belum diketahui dicari hanya untuk peristiwa yang lolos threshold
+    private void catatJfr(PeristiwaJfrInventaris jfr, OperasiInventaris operasi, AlasanPenolakan alasan) {
+        if (jfr == null || !jfr.akhiri()) {
+            return;
+        }
+        if (jfr.getKategori() == null && alasan != AlasanPenolakan.KODE_TIDAK_VALID && jfr.getKode() != null) {
+            jfr.setKategori(repositoryProduk.cariByKode(jfr.getKode()).map(Produk::getKategori).orElse(null));
+        }
+        jfr.setOperasi(operasi.name());
+        jfr.catat(alasan == null ? PeristiwaJfr.HASIL_BERHASIL : alasan.name());
+    }
+    private static AlasanPenolakan alasanValidasi(AlasanValidasi validasi) {
+        switch (validasi) {
+            case KODE_KOSONG:
+            case KODE_KARAKTER_TIDAK_VALID:
+            case KODE_PANJANG_TIDAK_VALID:
+                return AlasanPenolakan.KODE_TIDAK_VALID;
+            default:
+                return AlasanPenolakan.PRODUK_TIDAK_VALID;
+        }
+    }
+    // adjustStok hanya mengembalikan false; penyebabnya dibaca ulang setelah gagal, jadi
+    // bisa berbeda jika produk berubah di antaranya
+    private AlasanPenolakan alasanGagalAdjust(String kode, AlasanPenolakan alasanStok, PeristiwaJfrInventaris jfr) {
+        if (metrik == null && jfr == null) {
+            return null;
+        }
+        Optional<Produk> produk = repositoryProduk.cariByKode(kode);
+        if (!produk.isPresent()) {
+            return AlasanPenolakan.TIDAK_DITEMUKAN;
+        }
+        return produk.get().isAktif() ? alasanStok : AlasanPenolakan.TIDAK_AKTIF;
+    }
+    private AlasanPenolakan alasanGagalHapus(String kode, PeristiwaJfrInventaris jfr) {
+        if (metrik == null && jfr == null) {
+            return null;
+        }
+        return repositoryProduk.cariByKode(kode).isPresent()
+                ? AlasanPenolakan.MASIH_ADA_STOK : AlasanPenolakan.TIDAK_DITEMUKAN;
+    }
+    private AlasanPenolakan alasanGagalCheckout(String[] kode, PeristiwaJfrInventaris jfr) {
+        if (metrik == null && jfr == null) {
+            return null;
+        }
+        for (String k : kode) {
+            AlasanPenolakan alasan = alasanGagalAdjust(k, null, jfr);
+            if (alasan != null) {
+                return alasan;
+            }
+        }
+        return AlasanPenolakan.STOK_TIDAK_CUKUP;
+    }
+    // Jika ring peristiwa diisi, penulisan ke repository dan penerbitan peristiwanya untuk
+    // kode yang sama dilakukan di bawah satu kunci garis, sehingga urutan sekuens per kode
+    // sama dengan urutan penulisan. Tanpa ring tidak ada yang perlu diurutkan.
+    private ReentrantLock kunciPeristiwa(String kode) {
+        if (ringPeristiwa == null) {
+            return null;
+        }
+        ReentrantLock k = kunciUrutan[indeksKunciUrutan(kode)];
+        k.lock();
+        return k;
+    }
+    private BitSet kunciPeristiwa(String[] kode) {
+        if (ringPeristiwa == null) {
+            return null;
+        }
+        BitSet indeks = new BitSet(JUMLAH_KUNCI_URUTAN);
+        for (String k : kode) {
+            indeks.set(indeksKunciUrutan(k));
+        }
+        return kunciBerurutan(indeks);
+    }
+    private BitSet kunciPeristiwa(BitSet baris, IntFunction<String> kodeBaris) {
+        if (ringPeristiwa == null) {
+            return null;
+        }
+        BitSet indeks = new BitSet(JUMLAH_KUNCI_URUTAN);
+        for (int i = baris.nextSetBit(0); i >= 0; i = baris.nextSetBit(i + 1)) {
+            indeks.set(indeksKunciUrutan(kodeBaris.apply(i)));
+        }
+        return kunciBerurutan(indeks);
+    }
+    // Kunci diambil berurutan naik agar dua batch yang beririsan tidak saling menunggu
+    private BitSet kunciBerurutan(BitSet indeks) {
+        for (int i = indeks.nextSetBit(0); i >= 0; i = indeks.nextSetBit(i + 1)) {
+            kunciUrutan[i].lock();
+        }
+        return indeks;
+    }
+    private static int indeksKunciUrutan(String kode) {
+        int h = kode.hashCode();
+        return (h ^ (h >>> 16)) & (JUMLAH_KUNCI_URUTAN - 1);
+    }
+    private static void lepas(ReentrantLock k) {
+        if (k != null) {
+            k.unlock();
+        }
+    }
+    private void lepas(BitSet indeks) {
+        if (indeks == null) {
+            return;
+        }
+        for (int i = indeks.nextSetBit(0); i >= 0; i = indeks.nextSetBit(i + 1)) {
+            kunciUrutan[i].unlock();
+        }
+    }
+    private void terbitkan(JenisPeristiwa jenis, String kode, int jumlah) {
+        if (ringPeristiwa != null) {
+            ringPeristiwa.terbitkan(jenis, kode, jumlah);
+        }
     }
-}
\ No newline at end of file
+}
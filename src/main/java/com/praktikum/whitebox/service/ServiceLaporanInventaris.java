@@ -0,0 +1,161 @@
+package com.praktikum.whitebox.service;
+import com.praktikum.whitebox.model.DimensiLaporan;
+import com.praktikum.whitebox.model.LaporanInventaris;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.RentangHarga;
+import com.praktikum.whitebox.model.StatusStok;
+import com.praktikum.whitebox.model.UkuranLaporan;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+// Laporan inventaris dengan pengelompokan bebas atas kategori, status stok, rentang
+// harga dan status aktif. Semua ukuran dihitung dalam satu lintasan fork/join atas
+// spliterator streamSemua, tanpa menyalin katalog ke satu list: setiap tugas daun
+// mengagregasi potongannya ke map sendiri, lalu map-map parsial digabung saat join.
+public class ServiceLaporanInventaris {
+    private static final int AMBANG_POTONGAN = 4096;
+
+    private final RepositoryProduk repositoryProduk;
+    private final ForkJoinPool pool;
+
+    public ServiceLaporanInventaris(RepositoryProduk repositoryProduk) {
+        this(repositoryProduk, ForkJoinPool.commonPool());
+    }
+
+    public ServiceLaporanInventaris(RepositoryProduk repositoryProduk, ForkJoinPool pool) {
+        this.repositoryProduk = repositoryProduk;
+        this.pool = pool;
+    }
+
+    public LaporanInventaris buatLaporan(DimensiLaporan... dimensi) {
+        return buatLaporan(Arrays.asList(dimensi), new long[0]);
+    }
+
+    // batasRentangHargaSen harus naik tegas; n batas menghasilkan n + 1 rentang harga
+    public LaporanInventaris buatLaporan(List<DimensiLaporan> dimensi, long[] batasRentangHargaSen) {
+        if (dimensi == null || dimensi.stream().anyMatch(Objects::isNull)
+                || dimensi.stream().distinct().count() != dimensi.size()) {
+            throw new IllegalArgumentException("Dimensi tidak boleh null atau berulang");
+        }
+        if (batasRentangHargaSen == null) {
+            throw new IllegalArgumentException("Batas rentang harga wajib diisi");
+        }
+        for (int i = 1; i < batasRentangHargaSen.length; i++) {
+            if (batasRentangHargaSen[i] <= batasRentangHargaSen[i - 1]) {
+                throw new IllegalArgumentException("Batas rentang harga harus naik");
+            }
+        }
+        RentangHarga[] rentang = buatRentang(batasRentangHargaSen);
+        DimensiLaporan[] urutan = dimensi.toArray(new DimensiLaporan[0]);
+        Map<List<Object>, UkuranLaporan> hasil;
+        try (Stream<Produk> katalog = repositoryProduk.streamSemua()) {
+            hasil = pool.invoke(new TugasAgregasi(katalog.spliterator(), urutan, batasRentangHargaSen, rentang));
+        }
+        Map<List<Object>, UkuranLaporan> terurut = new TreeMap<>(URUTAN_KUNCI);
+        terurut.putAll(hasil);
+        return new LaporanInventaris(dimensi, terurut);
+    }
+
+    private static RentangHarga[] buatRentang(long[] batas) {
+        RentangHarga[] rentang = new RentangHarga[batas.length + 1];
+        for (int i = 0; i <= batas.length; i++) {
+            rentang[i] = new RentangHarga(i, i == 0 ? null : batas[i - 1], i == batas.length ? null : batas[i]);
+        }
+        return rentang;
+    }
+
+    // Nilai dimensi semuanya Comparable; null (kategori kosong) diurutkan paling depan
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final Comparator<Comparable> URUTAN_NILAI = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final Comparator<List<Object>> URUTAN_KUNCI = (a, b) -> {
+        for (int i = 0; i < a.size(); i++) {
+            int c = URUTAN_NILAI.compare((Comparable) a.get(i), (Comparable) b.get(i));
+            if (c != 0) {
+                return c;
+            }
+        }
+        return 0;
+    };
+
+    // Tugas tidak pernah diserialisasi; RecursiveTask hanya mewarisi Serializable
+    @SuppressWarnings("serial")
+    private static final class TugasAgregasi extends RecursiveTask<Map<List<Object>, UkuranLaporan>> {
+        private final Spliterator<Produk> katalog;
+        private final DimensiLaporan[] dimensi;
+        private final long[] batasHarga;
+        private final RentangHarga[] rentang;
+
+        TugasAgregasi(Spliterator<Produk> katalog, DimensiLaporan[] dimensi,
+                      long[] batasHarga, RentangHarga[] rentang) {
+            this.katalog = katalog;
+            this.dimensi = dimensi;
+            this.batasHarga = batasHarga;
+            this.rentang = rentang;
+        }
+
+        @Override
+        protected Map<List<Object>, UkuranLaporan> compute() {
+            // Sumber yang tidak bisa dipecah (trySplit null) diagregasi berurutan
+            Spliterator<Produk> potongan = katalog.estimateSize() > AMBANG_POTONGAN ? katalog.trySplit() : null;
+            if (potongan == null) {
+                return agregasi();
+            }
+            TugasAgregasi kiri = new TugasAgregasi(potongan, dimensi, batasHarga, rentang);
+            kiri.fork();
+            Map<List<Object>, UkuranLaporan> hasil = compute();
+            // Map yang lebih kecil digabung ke yang lebih besar
+            Map<List<Object>, UkuranLaporan> lain = kiri.join();
+            if (lain.size() > hasil.size()) {
+                Map<List<Object>, UkuranLaporan> tukar = hasil;
+                hasil = lain;
+                lain = tukar;
+            }
+            for (Map.Entry<List<Object>, UkuranLaporan> entri : lain.entrySet()) {
+                hasil.merge(entri.getKey(), entri.getValue(), (a, b) -> {
+                    a.gabung(b);
+                    return a;
+                });
+            }
+            return hasil;
+        }
+
+        private Map<List<Object>, UkuranLaporan> agregasi() {
+            Map<List<Object>, UkuranLaporan> hasil = new HashMap<>();
+            katalog.forEachRemaining(produk -> {
+                Object[] kunci = new Object[dimensi.length];
+                for (int d = 0; d < dimensi.length; d++) {
+                    kunci[d] = nilaiDimensi(produk, dimensi[d]);
+                }
+                hasil.computeIfAbsent(Arrays.asList(kunci), k -> new UkuranLaporan()).tambah(produk);
+            });
+            return hasil;
+        }
+
+        private Object nilaiDimensi(Produk produk, DimensiLaporan dimensi) {
+            switch (dimensi) {
+                case KATEGORI:
+                    return produk.getKategori();
+                case STATUS_STOK:
+                    return StatusStok.dari(produk);
+                case RENTANG_HARGA:
+                    // Indeks rentang = jumlah batas yang <= harga
+                    int posisi = Arrays.binarySearch(batasHarga, produk.getHargaSen());
+                    return rentang[posisi >= 0 ? posisi + 1 : -posisi - 1];
+                default:
+                    return produk.isAktif();
+            }
+        }
+    }
+}
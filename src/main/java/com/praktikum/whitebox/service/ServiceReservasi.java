@@ -0,0 +1,269 @@
+package com.praktikum.whitebox.service;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.Reservasi;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.util.RodaWaktu;
+import com.praktikum.whitebox.util.ValidationUtils;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+// Menahan stok sementara selama checkout. Stok tersedia = stok - jumlah yang ditahan
+// reservasi aktif. Reservasi yang tidak dikonfirmasi atau dilepas kadaluarsa lewat
+// timing wheel, yang dimajukan setiap operasi atau lewat prosesKadaluarsa.
+// Semua perubahan tahanan dan setiap pengurangan stok yang menghormati tahanan memegang
+// kunci garis per kode, sehingga pemeriksaan stok tersedia dan pengurangannya tidak bisa
+// disela. ServiceInventaris yang dibuat dengan service ini mengurangi stok lewat
+// kurangiStokBebas; updateStok langsung di repository tetap bisa menimpa tahanan.
+public class ServiceReservasi {
+    private static final long DURASI_TICK_BAWAAN = 100;
+    private static final int JUMLAH_SLOT_BAWAAN = 4096;
+    private static final int JUMLAH_KUNCI = 64;
+
+    private final RepositoryProduk repositoryProduk;
+    private final LongSupplier jam;
+    private final long durasiTickMillis;
+    private final AtomicLong idBerikut = new AtomicLong(1);
+    private final ConcurrentHashMap<Long, Entri> aktif = new ConcurrentHashMap<>();
+    // Hanya diubah dengan memegang kunci garis kodenya
+    private final ConcurrentHashMap<String, Integer> jumlahDitahan = new ConcurrentHashMap<>();
+    private final ReentrantLock[] kunci = new ReentrantLock[JUMLAH_KUNCI];
+    // Hanya diakses dengan memegang monitor roda. Urutan kunci selalu kunci garis dulu
+    // baru roda; kadaluarsa dikumpulkan di bawah roda lalu diproses setelah roda dilepas.
+    private final RodaWaktu<Entri> roda;
+    // Salinan tick roda yang boleh dibaca tanpa monitor; hanya ditulis di bawah roda
+    private volatile long tickDiproses;
+
+    public ServiceReservasi(RepositoryProduk repositoryProduk) {
+        this(repositoryProduk, System::currentTimeMillis, DURASI_TICK_BAWAAN, JUMLAH_SLOT_BAWAAN);
+    }
+
+    public ServiceReservasi(RepositoryProduk repositoryProduk, LongSupplier jam,
+                            long durasiTickMillis, int jumlahSlot) {
+        if (repositoryProduk == null || jam == null || durasiTickMillis <= 0) {
+            throw new IllegalArgumentException("Repository, jam, dan durasi tick positif wajib diisi");
+        }
+        this.repositoryProduk = repositoryProduk;
+        this.jam = jam;
+        this.durasiTickMillis = durasiTickMillis;
+        this.tickDiproses = jam.getAsLong() / durasiTickMillis;
+        this.roda = new RodaWaktu<>(jumlahSlot, tickDiproses);
+        for (int i = 0; i < JUMLAH_KUNCI; i++) {
+            kunci[i] = new ReentrantLock();
+        }
+    }
+
+    public Optional<Reservasi> reservasi(String kode, int jumlah, long durasiMillis) {
+        if (!ValidationUtils.isValidKodeProduk(kode) || jumlah <= 0 || durasiMillis <= 0) {
+            return Optional.empty();
+        }
+        prosesKadaluarsa();
+        ReentrantLock k = kunciUntuk(kode);
+        k.lock();
+        try {
+            int sudahDitahan = getJumlahDitahan(kode);
+            Optional<Produk> produk = repositoryProduk.cariByKode(kode);
+            if (produk.isEmpty() || !produk.get().isAktif()
+                    || (long) produk.get().getStok() - sudahDitahan < jumlah) {
+                return Optional.empty();
+            }
+            jumlahDitahan.put(kode, sudahDitahan + jumlah);
+            long kadaluarsaPada = jam.getAsLong() + durasiMillis;
+            Reservasi reservasi = new Reservasi(idBerikut.getAndIncrement(), kode, jumlah, kadaluarsaPada);
+            Entri entri = new Entri(reservasi);
+            synchronized (roda) {
+                aktif.put(reservasi.getId(), entri);
+                // Dibulatkan ke atas agar reservasi tidak pernah kadaluarsa lebih awal
+                long tickTenggat = (kadaluarsaPada + durasiTickMillis - 1) / durasiTickMillis;
+                entri.penanda = roda.jadwalkan(entri, tickTenggat);
+            }
+            return Optional.of(reservasi);
+        } finally {
+            k.unlock();
+        }
+    }
+
+    // Mengubah reservasi menjadi pengurangan stok sungguhan. Jika pengurangan gagal,
+    // tahanan tetap dipegang sampai reservasi dilepas atau kadaluarsa.
+    public boolean konfirmasi(long idReservasi) {
+        prosesKadaluarsa();
+        Entri entri = aktif.get(idReservasi);
+        if (entri == null) {
+            return false;
+        }
+        Reservasi reservasi = entri.reservasi;
+        ReentrantLock k = kunciUntuk(reservasi.getKode());
+        k.lock();
+        try {
+            if (aktif.get(idReservasi) != entri) {
+                return false;
+            }
+            // Stok yang ditahan reservasi lain tidak boleh ikut terpakai
+            int ditahanLain = getJumlahDitahan(reservasi.getKode()) - reservasi.getJumlah();
+            if (!repositoryProduk.adjustStok(reservasi.getKode(), -reservasi.getJumlah(), ditahanLain)) {
+                return false;
+            }
+            aktif.remove(idReservasi);
+            kurangiDitahan(reservasi);
+        } finally {
+            k.unlock();
+        }
+        batalkanJadwal(entri);
+        return true;
+    }
+
+    public boolean lepas(long idReservasi) {
+        Entri entri = aktif.get(idReservasi);
+        if (entri == null) {
+            return false;
+        }
+        ReentrantLock k = kunciUntuk(entri.reservasi.getKode());
+        k.lock();
+        try {
+            if (!aktif.remove(idReservasi, entri)) {
+                return false;
+            }
+            kurangiDitahan(entri.reservasi);
+        } finally {
+            k.unlock();
+        }
+        batalkanJadwal(entri);
+        return true;
+    }
+
+    // Mengurangi stok tanpa menyentuh stok yang ditahan: stok hasil tidak boleh di bawah
+    // jumlah yang ditahan kode itu
+    boolean kurangiStokBebas(String kode, int jumlah) {
+        prosesKadaluarsa();
+        ReentrantLock k = kunciUntuk(kode);
+        k.lock();
+        try {
+            return repositoryProduk.adjustStok(kode, -jumlah, getJumlahDitahan(kode));
+        } finally {
+            k.unlock();
+        }
+    }
+
+    // Versi all-or-nothing untuk checkout. Kunci garis semua kode diambil berurutan naik,
+    // lalu setiap kode yang punya tahanan diperiksa sebelum repository mengurangi semuanya.
+    // Selama kunci dipegang tidak ada pengurangan lain yang bisa menyela pemeriksaan itu.
+    boolean kurangiStokBebasSemua(String[] kode, int[] delta) {
+        prosesKadaluarsa();
+        BitSet kunciDipakai = new BitSet(JUMLAH_KUNCI);
+        Map<String, Long> deltaPerKode = new HashMap<>();
+        for (int i = 0; i < kode.length; i++) {
+            kunciDipakai.set(indeksKunci(kode[i]));
+            deltaPerKode.merge(kode[i], (long) delta[i], Long::sum);
+        }
+        for (int i = kunciDipakai.nextSetBit(0); i >= 0; i = kunciDipakai.nextSetBit(i + 1)) {
+            kunci[i].lock();
+        }
+        try {
+            for (Map.Entry<String, Long> entri : deltaPerKode.entrySet()) {
+                int ditahan = getJumlahDitahan(entri.getKey());
+                if (ditahan == 0) {
+                    continue;
+                }
+                Optional<Produk> produk = repositoryProduk.cariByKode(entri.getKey());
+                if (produk.isEmpty() || produk.get().getStok() + entri.getValue() < ditahan) {
+                    return false;
+                }
+            }
+            return repositoryProduk.adjustStokSemua(kode, delta, 0);
+        } finally {
+            for (int i = kunciDipakai.nextSetBit(0); i >= 0; i = kunciDipakai.nextSetBit(i + 1)) {
+                kunci[i].unlock();
+            }
+        }
+    }
+
+    public int getStokTersedia(String kode) {
+        prosesKadaluarsa();
+        Optional<Produk> produk = kode == null ? Optional.empty() : repositoryProduk.cariByKode(kode);
+        if (produk.isEmpty()) {
+            return 0;
+        }
+        return Math.max(0, produk.get().getStok() - getJumlahDitahan(kode));
+    }
+
+    public int getJumlahDitahan(String kode) {
+        return kode == null ? 0 : jumlahDitahan.getOrDefault(kode, 0);
+    }
+
+    public int getJumlahReservasiAktif() {
+        return aktif.size();
+    }
+
+    // Memajukan timing wheel ke waktu sekarang; mengembalikan jumlah reservasi yang kadaluarsa.
+    // Selama tick belum berganti tidak ada yang bisa kadaluarsa, jadi keluarStok dan checkout
+    // kembali tanpa alokasi dan tanpa mengambil monitor roda; hanya satu pemanggilan per
+    // tick yang benar-benar memajukan roda.
+    public int prosesKadaluarsa() {
+        long tick = jam.getAsLong() / durasiTickMillis;
+        if (tick <= tickDiproses) {
+            return 0;
+        }
+        List<Entri> kadaluarsa = new ArrayList<>();
+        synchronized (roda) {
+            if (tick <= tickDiproses) {
+                return 0;
+            }
+            roda.majuSampai(tick, kadaluarsa::add);
+            tickDiproses = tick;
+        }
+        int jumlah = 0;
+        for (Entri entri : kadaluarsa) {
+            ReentrantLock k = kunciUntuk(entri.reservasi.getKode());
+            k.lock();
+            try {
+                // Reservasi yang sudah dikonfirmasi atau dilepas lebih dulu dilewati
+                if (aktif.remove(entri.reservasi.getId(), entri)) {
+                    kurangiDitahan(entri.reservasi);
+                    jumlah++;
+                }
+            } finally {
+                k.unlock();
+            }
+        }
+        return jumlah;
+    }
+
+    private static int indeksKunci(String kode) {
+        int h = kode.hashCode();
+        return (h ^ (h >>> 16)) & (JUMLAH_KUNCI - 1);
+    }
+
+    private ReentrantLock kunciUntuk(String kode) {
+        return kunci[indeksKunci(kode)];
+    }
+
+    private void batalkanJadwal(Entri entri) {
+        synchronized (roda) {
+            roda.batalkan(entri.penanda);
+        }
+    }
+
+    // Harus dipanggil dengan memegang kunci garis kode reservasi
+    private void kurangiDitahan(Reservasi reservasi) {
+        jumlahDitahan.computeIfPresent(reservasi.getKode(), (k, ditahan) -> {
+            int sisa = ditahan - reservasi.getJumlah();
+            return sisa <= 0 ? null : sisa;
+        });
+    }
+
+    private static final class Entri {
+        final Reservasi reservasi;
+        RodaWaktu.Penanda<Entri> penanda;
+
+        Entri(Reservasi reservasi) {
+            this.reservasi = reservasi;
+        }
+    }
+}
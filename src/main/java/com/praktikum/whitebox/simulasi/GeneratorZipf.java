@@ -0,0 +1,39 @@
+package com.praktikum.whitebox.simulasi;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+// Pemilih indeks 0..n-1 dengan peluang sebanding 1/(i+1)^s: indeks kecil adalah SKU
+// terlaris. CDF dihitung sekali; setiap sampel satu binary search, tanpa alokasi.
+// Aman dipakai bersama banyak thread selama tiap thread memakai RandomGenerator sendiri.
+public class GeneratorZipf {
+    private final double[] kumulatif;
+
+    public GeneratorZipf(int jumlah, double eksponen) {
+        if (jumlah <= 0 || eksponen < 0 || Double.isNaN(eksponen)) {
+            throw new IllegalArgumentException("Jumlah harus positif dan eksponen tidak negatif");
+        }
+        kumulatif = new double[jumlah];
+        double total = 0;
+        for (int i = 0; i < jumlah; i++) {
+            total += 1 / Math.pow(i + 1, eksponen);
+            kumulatif[i] = total;
+        }
+        for (int i = 0; i < jumlah; i++) {
+            kumulatif[i] /= total;
+        }
+        kumulatif[jumlah - 1] = 1.0;
+    }
+
+    public int berikutnya(RandomGenerator acak) {
+        int posisi = Arrays.binarySearch(kumulatif, acak.nextDouble());
+        return posisi >= 0 ? posisi : -posisi - 1;
+    }
+
+    public double peluang(int indeks) {
+        return indeks == 0 ? kumulatif[0] : kumulatif[indeks] - kumulatif[indeks - 1];
+    }
+
+    public int getJumlah() {
+        return kumulatif.length;
+    }
+}
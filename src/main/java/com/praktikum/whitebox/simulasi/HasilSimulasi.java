@@ -0,0 +1,81 @@
+package com.praktikum.whitebox.simulasi;
+import com.praktikum.whitebox.util.SnapshotLatensi;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class HasilSimulasi {
+    private final long durasiNanos;
+    private final Map<JenisOperasiSimulasi, SnapshotLatensi> latensi;
+    private final Map<JenisOperasiSimulasi, Long> diterima;
+    private final List<String> pelanggaran;
+    private final long jumlahPelanggaran;
+
+    HasilSimulasi(long durasiNanos, Map<JenisOperasiSimulasi, SnapshotLatensi> latensi,
+                  Map<JenisOperasiSimulasi, Long> diterima, List<String> pelanggaran, long jumlahPelanggaran) {
+        this.durasiNanos = durasiNanos;
+        this.latensi = Collections.unmodifiableMap(latensi);
+        this.diterima = Collections.unmodifiableMap(diterima);
+        this.pelanggaran = Collections.unmodifiableList(pelanggaran);
+        this.jumlahPelanggaran = jumlahPelanggaran;
+    }
+
+    public long getDurasiNanos() {
+        return durasiNanos;
+    }
+
+    public long getJumlahOperasi() {
+        long jumlah = 0;
+        for (SnapshotLatensi snapshot : latensi.values()) {
+            jumlah += snapshot.getJumlah();
+        }
+        return jumlah;
+    }
+
+    public double getOperasiPerDetik() {
+        return durasiNanos == 0 ? 0 : getJumlahOperasi() * 1e9 / durasiNanos;
+    }
+
+    // Latensi dalam nanodetik
+    public SnapshotLatensi getLatensi(JenisOperasiSimulasi jenis) {
+        return latensi.get(jenis);
+    }
+
+    public long getJumlahDiterima(JenisOperasiSimulasi jenis) {
+        return diterima.get(jenis);
+    }
+
+    public long getJumlahDitolak(JenisOperasiSimulasi jenis) {
+        return latensi.get(jenis).getJumlah() - diterima.get(jenis);
+    }
+
+    // Paling banyak beberapa contoh pertama; jumlah lengkap di getJumlahPelanggaran
+    public List<String> getPelanggaran() {
+        return pelanggaran;
+    }
+
+    public long getJumlahPelanggaran() {
+        return jumlahPelanggaran;
+    }
+
+    public boolean isKonsisten() {
+        return jumlahPelanggaran == 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%d operasi dalam %.1f ms (%.0f operasi/detik), pelanggaran invarian: %d%n",
+                getJumlahOperasi(), durasiNanos / 1e6, getOperasiPerDetik(), jumlahPelanggaran));
+        for (JenisOperasiSimulasi jenis : JenisOperasiSimulasi.values()) {
+            SnapshotLatensi snapshot = latensi.get(jenis);
+            sb.append(String.format("  %-13s n=%d diterima=%d p50=%dns p99=%dns maks=%dns%n", jenis,
+                    snapshot.getJumlah(), diterima.get(jenis), snapshot.persentil(0.5),
+                    snapshot.persentil(0.99), snapshot.getMaks()));
+        }
+        for (String p : pelanggaran) {
+            sb.append("  ! ").append(p).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,9 @@
+package com.praktikum.whitebox.simulasi;
+
+public enum JenisOperasiSimulasi {
+    BACA,
+    MASUK_STOK,
+    KELUAR_STOK,
+    TAMBAH_PRODUK,
+    HAPUS_PRODUK
+}
@@ -0,0 +1,59 @@
+package com.praktikum.whitebox.simulasi;
+
+// Parameter beban; nilai awal meniru lalu lintas toko saat puncak promosi:
+// kebanyakan baca, stok keluar lebih sering dari stok masuk, SKU terlaris sangat dominan
+public class KonfigurasiSimulasi {
+    private int jumlahProduk = 1000;
+    private int stokAwal = 1000;
+    private int jumlahThread = 8;
+    private int operasiPerThread = 10_000;
+    private boolean threadVirtual;
+    private double eksponenZipf = 1.0;
+    private int jumlahMaksPerOperasi = 5;
+    private long seed = 42;
+    private final int[] bobot = {60, 15, 20, 4, 1};
+
+    public int getJumlahProduk() { return jumlahProduk; }
+    public KonfigurasiSimulasi setJumlahProduk(int jumlahProduk) { this.jumlahProduk = jumlahProduk; return this; }
+
+    public int getStokAwal() { return stokAwal; }
+    public KonfigurasiSimulasi setStokAwal(int stokAwal) { this.stokAwal = stokAwal; return this; }
+
+    public int getJumlahThread() { return jumlahThread; }
+    public KonfigurasiSimulasi setJumlahThread(int jumlahThread) { this.jumlahThread = jumlahThread; return this; }
+
+    public int getOperasiPerThread() { return operasiPerThread; }
+    public KonfigurasiSimulasi setOperasiPerThread(int operasiPerThread) { this.operasiPerThread = operasiPerThread; return this; }
+
+    public boolean isThreadVirtual() { return threadVirtual; }
+    public KonfigurasiSimulasi setThreadVirtual(boolean threadVirtual) { this.threadVirtual = threadVirtual; return this; }
+
+    public double getEksponenZipf() { return eksponenZipf; }
+    public KonfigurasiSimulasi setEksponenZipf(double eksponenZipf) { this.eksponenZipf = eksponenZipf; return this; }
+
+    public int getJumlahMaksPerOperasi() { return jumlahMaksPerOperasi; }
+    public KonfigurasiSimulasi setJumlahMaksPerOperasi(int jumlahMaksPerOperasi) { this.jumlahMaksPerOperasi = jumlahMaksPerOperasi; return this; }
+
+    public long getSeed() { return seed; }
+    public KonfigurasiSimulasi setSeed(long seed) { this.seed = seed; return this; }
+
+    public int getBobot(JenisOperasiSimulasi jenis) { return bobot[jenis.ordinal()]; }
+    public KonfigurasiSimulasi setBobot(JenisOperasiSimulasi jenis, int nilai) { bobot[jenis.ordinal()] = nilai; return this; }
+
+    // Kode SKU katalog "SKU" + indeks harus tetap dalam panjang kode maksimum 10
+    static final int MAKS_JUMLAH_PRODUK = 10_000_000;
+
+    void validasi() {
+        int totalBobot = 0;
+        for (int b : bobot) {
+            if (b < 0) {
+                throw new IllegalArgumentException("Bobot operasi tidak boleh negatif");
+            }
+            totalBobot += b;
+        }
+        if (totalBobot == 0 || jumlahProduk <= 0 || jumlahProduk > MAKS_JUMLAH_PRODUK || stokAwal < 0 || jumlahThread <= 0
+                || operasiPerThread < 0 || jumlahMaksPerOperasi <= 0) {
+            throw new IllegalArgumentException("Konfigurasi simulasi tidak valid");
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.praktikum.whitebox.simulasi;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import com.praktikum.whitebox.util.HistogramLatensi;
+import com.praktikum.whitebox.util.SnapshotLatensi;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Generator beban untuk ServiceInventaris di atas RepositoryProduk apa pun. Katalog
+// SKU0..SKUn diisi lebih dulu, lalu setiap thread menjalankan campuran operasi berbobot
+// dengan SKU dipilih menurut sebaran Zipf. Setiap masuk/keluar stok yang diterima
+// dicatat per SKU, sehingga di akhir berlaku untuk setiap SKU katalog:
+//   stok akhir = stok awal + masuk diterima - keluar diterima
+// dan SKU yang berhasil dihapus harus hilang dengan saldo nol. Selisih berarti ada
+// update yang hilang (lost update) atau stok yang berubah tanpa dilaporkan.
+public class SimulatorBebanInventaris {
+    private static final int MAKS_CONTOH_PELANGGARAN = 20;
+
+    private final RepositoryProduk repositoryProduk;
+    private final ServiceInventaris serviceInventaris;
+
+    public SimulatorBebanInventaris(RepositoryProduk repositoryProduk) {
+        this(repositoryProduk, new ServiceInventaris(repositoryProduk));
+    }
+
+    // Service harus memakai repository yang sama, misalnya dengan metrik atau ring peristiwa
+    public SimulatorBebanInventaris(RepositoryProduk repositoryProduk, ServiceInventaris serviceInventaris) {
+        if (repositoryProduk == null || serviceInventaris == null) {
+            throw new IllegalArgumentException("Repository dan service wajib diisi");
+        }
+        this.repositoryProduk = repositoryProduk;
+        this.serviceInventaris = serviceInventaris;
+    }
+
+    public HasilSimulasi jalankan(KonfigurasiSimulasi konfigurasi) throws InterruptedException {
+        konfigurasi.validasi();
+        int jumlahProduk = konfigurasi.getJumlahProduk();
+        for (int i = 0; i < jumlahProduk; i++) {
+            repositoryProduk.simpan(new Produk(kodeKatalog(i), "Produk Simulasi " + i, "Simulasi",
+                    1000 + i % 100, konfigurasi.getStokAwal(), 10));
+        }
+        Beban beban = new Beban(konfigurasi);
+        CountDownLatch mulai = new CountDownLatch(1);
+        ExecutorService executor = konfigurasi.isThreadVirtual()
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(konfigurasi.getJumlahThread());
+        long durasi;
+        try {
+            List<Future<?>> tugas = new ArrayList<>();
+            for (int t = 0; t < konfigurasi.getJumlahThread(); t++) {
+                int nomorThread = t;
+                tugas.add(executor.submit(() -> {
+                    mulai.await();
+                    beban.jalankanThread(nomorThread);
+                    return null;
+                }));
+            }
+            long awal = System.nanoTime();
+            mulai.countDown();
+            for (Future<?> f : tugas) {
+                try {
+                    f.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Thread simulasi gagal", e.getCause());
+                }
+            }
+            durasi = System.nanoTime() - awal;
+        } finally {
+            executor.shutdownNow();
+        }
+        return beban.periksa(durasi);
+    }
+
+    static String kodeKatalog(int indeks) {
+        return "SKU" + indeks;
+    }
+
+    // Status bersama satu kali jalan simulasi
+    private final class Beban {
+        private final KonfigurasiSimulasi konfigurasi;
+        private final GeneratorZipf zipf;
+        private final int[] kumulatifBobot = new int[JenisOperasiSimulasi.values().length];
+        private final HistogramLatensi[] latensi = new HistogramLatensi[JenisOperasiSimulasi.values().length];
+        private final LongAdder[] diterima = new LongAdder[JenisOperasiSimulasi.values().length];
+        private final AtomicLongArray masukDiterima;
+        private final AtomicLongArray keluarDiterima;
+        private final AtomicIntegerArray dihapus;
+        // Produk tambahan yang diterima per thread beserta stok awalnya; tidak disentuh operasi lain
+        private final List<Map<String, Integer>> tambahanPerThread = new ArrayList<>();
+
+        Beban(KonfigurasiSimulasi konfigurasi) {
+            this.konfigurasi = konfigurasi;
+            this.zipf = new GeneratorZipf(konfigurasi.getJumlahProduk(), konfigurasi.getEksponenZipf());
+            int total = 0;
+            for (JenisOperasiSimulasi jenis : JenisOperasiSimulasi.values()) {
+                total += konfigurasi.getBobot(jenis);
+                kumulatifBobot[jenis.ordinal()] = total;
+                latensi[jenis.ordinal()] = new HistogramLatensi();
+                diterima[jenis.ordinal()] = new LongAdder();
+            }
+            masukDiterima = new AtomicLongArray(konfigurasi.getJumlahProduk());
+            keluarDiterima = new AtomicLongArray(konfigurasi.getJumlahProduk());
+            dihapus = new AtomicIntegerArray(konfigurasi.getJumlahProduk());
+            for (int t = 0; t < konfigurasi.getJumlahThread(); t++) {
+                tambahanPerThread.add(new HashMap<>());
+            }
+        }
+
+        void jalankanThread(int nomorThread) {
+            SplittableRandom acak = new SplittableRandom(konfigurasi.getSeed() * 31 + nomorThread);
+            Map<String, Integer> tambahan = tambahanPerThread.get(nomorThread);
+            int totalBobot = kumulatifBobot[kumulatifBobot.length - 1];
+            for (int n = 0; n < konfigurasi.getOperasiPerThread(); n++) {
+                JenisOperasiSimulasi jenis = pilihJenis(acak.nextInt(totalBobot));
+                int sku = zipf.berikutnya(acak);
+                String kode = kodeKatalog(sku);
+                int jumlah = 1 + acak.nextInt(konfigurasi.getJumlahMaksPerOperasi());
+                long awal = System.nanoTime();
+                boolean berhasil;
+                switch (jenis) {
+                    case BACA:
+                        berhasil = serviceInventaris.cariProdukByKode(kode).isPresent();
+                        break;
+                    case MASUK_STOK:
+                        berhasil = serviceInventaris.masukStok(kode, jumlah);
+                        break;
+                    case KELUAR_STOK:
+                        berhasil = serviceInventaris.keluarStok(kode, jumlah);
+                        break;
+                    case TAMBAH_PRODUK:
+                        kode = "BARU" + Long.toString((long) nomorThread * konfigurasi.getOperasiPerThread() + n, 36);
+                        berhasil = serviceInventaris.tambahProduk(
+                                new Produk(kode, "Produk Baru " + kode, "Simulasi", 2500, jumlah, 1));
+                        break;
+                    default:
+                        berhasil = serviceInventaris.hapusProduk(kode);
+                        break;
+                }
+                latensi[jenis.ordinal()].catat(System.nanoTime() - awal);
+                if (!berhasil) {
+                    continue;
+                }
+                diterima[jenis.ordinal()].increment();
+                if (jenis == JenisOperasiSimulasi.MASUK_STOK) {
+                    masukDiterima.addAndGet(sku, jumlah);
+                } else if (jenis == JenisOperasiSimulasi.KELUAR_STOK) {
+                    keluarDiterima.addAndGet(sku, jumlah);
+                } else if (jenis == JenisOperasiSimulasi.TAMBAH_PRODUK) {
+                    tambahan.put(kode, jumlah);
+                } else if (jenis == JenisOperasiSimulasi.HAPUS_PRODUK) {
+                    dihapus.set(sku, 1);
+                }
+            }
+        }
+
+        private JenisOperasiSimulasi pilihJenis(int nilai) {
+            for (JenisOperasiSimulasi jenis : JenisOperasiSimulasi.values()) {
+                if (nilai < kumulatifBobot[jenis.ordinal()]) {
+                    return jenis;
+                }
+            }
+            throw new IllegalStateException("Bobot operasi tidak konsisten");
+        }
+
+        HasilSimulasi periksa(long durasi) {
+            List<String> pelanggaran = new ArrayList<>();
+            long jumlahPelanggaran = 0;
+            for (int i = 0; i < konfigurasi.getJumlahProduk(); i++) {
+                long diharapkan = (long) konfigurasi.getStokAwal() + masukDiterima.get(i) - keluarDiterima.get(i);
+                Optional<Produk> produk = repositoryProduk.cariByKode(kodeKatalog(i));
+                String masalah = null;
+                if (dihapus.get(i) == 1) {
+                    if (produk.isPresent()) {
+                        masalah = "terhapus tetapi masih ada";
+                    } else if (diharapkan != 0) {
+                        masalah = "terhapus dengan saldo " + diharapkan;
+                    }
+                } else if (!produk.isPresent()) {
+                    masalah = "hilang tanpa dihapus";
+                } else if (produk.get().getStok() != diharapkan || produk.get().getStok() < 0) {
+                    masalah = "stok " + produk.get().getStok() + ", seharusnya " + diharapkan;
+                }
+                if (masalah != null) {
+                    jumlahPelanggaran++;
+                    if (pelanggaran.size() < MAKS_CONTOH_PELANGGARAN) {
+                        pelanggaran.add(kodeKatalog(i) + ": " + masalah);
+                    }
+                }
+            }
+            for (Map<String, Integer> tambahan : tambahanPerThread) {
+                for (Map.Entry<String, Integer> entri : tambahan.entrySet()) {
+                    Optional<Produk> produk = repositoryProduk.cariByKode(entri.getKey());
+                    if (!produk.isPresent() || produk.get().getStok() != entri.getValue()) {
+                        jumlahPelanggaran++;
+                        if (pelanggaran.size() < MAKS_CONTOH_PELANGGARAN) {
+                            pelanggaran.add(entri.getKey() + ": produk tambahan hilang atau berubah");
+                        }
+                    }
+                }
+            }
+            Map<JenisOperasiSimulasi, SnapshotLatensi> snapshot = new EnumMap<>(JenisOperasiSimulasi.class);
+            Map<JenisOperasiSimulasi, Long> jumlahDiterima = new EnumMap<>(JenisOperasiSimulasi.class);
+            for (JenisOperasiSimulasi jenis : JenisOperasiSimulasi.values()) {
+                snapshot.put(jenis, latensi[jenis.ordinal()].snapshot());
+                jumlahDiterima.put(jenis, diterima[jenis.ordinal()].sum());
+            }
+            return new HasilSimulasi(durasi, snapshot, jumlahDiterima, pelanggaran, jumlahPelanggaran);
+        }
+    }
+}
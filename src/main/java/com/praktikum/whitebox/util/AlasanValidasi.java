@@ -0,0 +1,21 @@
+package com.praktikum.whitebox.util;
+
+// Kode alasan hasil MesinValidasi; VALID berarti semua pemeriksaan lolos
+public enum AlasanValidasi {
+    VALID,
+    PRODUK_NULL,
+    KODE_KOSONG,
+    KODE_KARAKTER_TIDAK_VALID,
+    KODE_PANJANG_TIDAK_VALID,
+    NAMA_KOSONG,
+    NAMA_PANJANG_TIDAK_VALID,
+    KATEGORI_KOSONG,
+    KATEGORI_PANJANG_TIDAK_VALID,
+    HARGA_TIDAK_POSITIF,
+    STOK_NEGATIF,
+    STOK_MINIMUM_NEGATIF;
+
+    public boolean isValid() {
+        return this == VALID;
+    }
+}
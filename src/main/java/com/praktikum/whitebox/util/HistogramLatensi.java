@@ -0,0 +1,67 @@
+package com.praktikum.whitebox.util;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Histogram latensi bebas kunci dengan bucket log-linear (gaya HdrHistogram): nilai di
+// bawah 2^BIT_SUB dicatat persis, di atasnya setiap rentang pangkat dua dibagi 2^BIT_SUB
+// bucket sehingga galat relatif paling banyak 1/32 di seluruh rentang long. Mencatat
+// hanya menghitung indeks dengan operasi bit lalu satu increment atomik.
+public class HistogramLatensi {
+    static final int BIT_SUB = 5;
+    private static final int JUMLAH_SUB = 1 << BIT_SUB;
+    static final int JUMLAH_BUCKET = (64 - BIT_SUB) * JUMLAH_SUB;
+
+    private final AtomicLongArray hitungan = new AtomicLongArray(JUMLAH_BUCKET);
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong maks = new AtomicLong();
+
+    // Nilai negatif (misalnya jam mundur) dicatat sebagai 0
+    public void catat(long nilai) {
+        long v = Math.max(0, nilai);
+        hitungan.getAndIncrement(indeksBucket(v));
+        total.add(v);
+        long maksSekarang = maks.get();
+        while (v > maksSekarang && !maks.compareAndSet(maksSekarang, v)) {
+            maksSekarang = maks.get();
+        }
+    }
+
+    // Salinan tidak atomik terhadap pencatat yang sedang berjalan; jumlah dihitung ulang
+    // dari bucket sehingga persentil selalu konsisten dengan isi snapshot
+    public SnapshotLatensi snapshot() {
+        long[] salinan = new long[JUMLAH_BUCKET];
+        for (int i = 0; i < JUMLAH_BUCKET; i++) {
+            salinan[i] = hitungan.get(i);
+        }
+        return new SnapshotLatensi(salinan, total.sum(), maks.get());
+    }
+
+    public long getJumlah() {
+        long jumlah = 0;
+        for (int i = 0; i < JUMLAH_BUCKET; i++) {
+            jumlah += hitungan.get(i);
+        }
+        return jumlah;
+    }
+
+    static int indeksBucket(long nilai) {
+        if (nilai < JUMLAH_SUB) {
+            return (int) nilai;
+        }
+        int pangkat = 63 - Long.numberOfLeadingZeros(nilai);
+        int sub = (int) (nilai >>> (pangkat - BIT_SUB)) & (JUMLAH_SUB - 1);
+        return (pangkat - BIT_SUB + 1) * JUMLAH_SUB + sub;
+    }
+
+    // Nilai terbesar yang masuk ke bucket tersebut
+    static long batasAtas(int indeks) {
+        if (indeks < JUMLAH_SUB) {
+            return indeks;
+        }
+        int pangkat = indeks / JUMLAH_SUB + BIT_SUB - 1;
+        long lebar = 1L << (pangkat - BIT_SUB);
+        long bawah = (1L << pangkat) + (indeks % JUMLAH_SUB) * lebar;
+        return bawah + (lebar - 1);
+    }
+}
@@ -0,0 +1,133 @@
+package com.praktikum.whitebox.util;
+import com.praktikum.whitebox.model.Produk;
+import java.util.BitSet;
+import java.util.List;
+
+// Validasi produk tanpa alokasi: karakter dipindai langsung dengan charAt, spasi di tepi
+// dilewati lewat indeks (aturan yang sama dengan String.trim) dan hasilnya konstanta enum.
+// Aturan sama dengan ValidationUtils: kode [A-Za-z0-9]{3,10}, nama dan kategori 3-100
+// karakter, harga positif, stok dan stok minimum non-negatif.
+public final class MesinValidasi {
+    private static final int PANJANG_KODE_MIN = 3;
+    private static final int PANJANG_KODE_MAKS = 10;
+    private static final int PANJANG_NAMA_MIN = 3;
+    private static final int PANJANG_NAMA_MAKS = 100;
+
+    private MesinValidasi() {}
+
+    public static AlasanValidasi periksaKode(String kode) {
+        if (kode == null) {
+            return AlasanValidasi.KODE_KOSONG;
+        }
+        int awal = awalTanpaSpasi(kode);
+        int akhir = akhirTanpaSpasi(kode, awal);
+        if (awal == akhir) {
+            return AlasanValidasi.KODE_KOSONG;
+        }
+        for (int i = awal; i < akhir; i++) {
+            char c = kode.charAt(i);
+            if (!((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9'))) {
+                return AlasanValidasi.KODE_KARAKTER_TIDAK_VALID;
+            }
+        }
+        int panjang = akhir - awal;
+        return panjang < PANJANG_KODE_MIN || panjang > PANJANG_KODE_MAKS
+                ? AlasanValidasi.KODE_PANJANG_TIDAK_VALID : AlasanValidasi.VALID;
+    }
+
+    public static AlasanValidasi periksaNama(String nama) {
+        return periksaTeks(nama, AlasanValidasi.NAMA_KOSONG, AlasanValidasi.NAMA_PANJANG_TIDAK_VALID);
+    }
+
+    public static AlasanValidasi periksaKategori(String kategori) {
+        return periksaTeks(kategori, AlasanValidasi.KATEGORI_KOSONG, AlasanValidasi.KATEGORI_PANJANG_TIDAK_VALID);
+    }
+
+    // Alasan pertama yang gagal, dengan urutan kode, nama, kategori, harga, stok, stok minimum
+    public static AlasanValidasi periksaProduk(Produk produk) {
+        if (produk == null) {
+            return AlasanValidasi.PRODUK_NULL;
+        }
+        AlasanValidasi alasan = periksaKode(produk.getKode());
+        if (alasan == AlasanValidasi.VALID) {
+            alasan = periksaNama(produk.getNama());
+        }
+        if (alasan == AlasanValidasi.VALID) {
+            alasan = periksaKategori(produk.getKategori());
+        }
+        if (alasan != AlasanValidasi.VALID) {
+            return alasan;
+        }
+        if (produk.getHargaSen() <= 0) {
+            return AlasanValidasi.HARGA_TIDAK_POSITIF;
+        }
+        if (produk.getStok() < 0) {
+            return AlasanValidasi.STOK_NEGATIF;
+        }
+        return produk.getStokMinimum() < 0 ? AlasanValidasi.STOK_MINIMUM_NEGATIF : AlasanValidasi.VALID;
+    }
+
+    // Bit ke-i pada valid dinyalakan (dan bit lain di rentang daftar dimatikan) sesuai hasil
+    // produk ke-i; alasan boleh null, jika diisi panjangnya minimal sepanjang daftar.
+    // Mengembalikan jumlah produk yang valid.
+    public static int periksaBatch(Produk[] daftar, BitSet valid, AlasanValidasi[] alasan) {
+        periksaArgumenBatch(daftar == null ? -1 : daftar.length, valid, alasan);
+        int jumlahValid = 0;
+        for (int i = 0; i < daftar.length; i++) {
+            jumlahValid += catatHasil(i, periksaProduk(daftar[i]), valid, alasan);
+        }
+        return jumlahValid;
+    }
+
+    public static int periksaBatch(List<Produk> daftar, BitSet valid, AlasanValidasi[] alasan) {
+        periksaArgumenBatch(daftar == null ? -1 : daftar.size(), valid, alasan);
+        int jumlahValid = 0;
+        for (int i = 0; i < daftar.size(); i++) {
+            jumlahValid += catatHasil(i, periksaProduk(daftar.get(i)), valid, alasan);
+        }
+        return jumlahValid;
+    }
+
+    private static void periksaArgumenBatch(int panjang, BitSet valid, AlasanValidasi[] alasan) {
+        if (panjang < 0 || valid == null || (alasan != null && alasan.length < panjang)) {
+            throw new IllegalArgumentException("Daftar dan bitset wajib diisi, array alasan harus cukup panjang");
+        }
+    }
+
+    private static int catatHasil(int indeks, AlasanValidasi hasil, BitSet valid, AlasanValidasi[] alasan) {
+        if (alasan != null) {
+            alasan[indeks] = hasil;
+        }
+        boolean lolos = hasil == AlasanValidasi.VALID;
+        valid.set(indeks, lolos);
+        return lolos ? 1 : 0;
+    }
+
+    private static AlasanValidasi periksaTeks(String teks, AlasanValidasi kosong, AlasanValidasi panjangSalah) {
+        if (teks == null) {
+            return kosong;
+        }
+        int awal = awalTanpaSpasi(teks);
+        int panjang = akhirTanpaSpasi(teks, awal) - awal;
+        if (panjang == 0) {
+            return kosong;
+        }
+        return panjang < PANJANG_NAMA_MIN || panjang > PANJANG_NAMA_MAKS ? panjangSalah : AlasanValidasi.VALID;
+    }
+
+    private static int awalTanpaSpasi(String teks) {
+        int awal = 0;
+        while (awal < teks.length() && teks.charAt(awal) <= ' ') {
+            awal++;
+        }
+        return awal;
+    }
+
+    private static int akhirTanpaSpasi(String teks, int awal) {
+        int akhir = teks.length();
+        while (akhir > awal && teks.charAt(akhir - 1) <= ' ') {
+            akhir--;
+        }
+        return akhir;
+    }
+}
@@ -0,0 +1,108 @@
+package com.praktikum.whitebox.util;
+import java.util.function.Consumer;
+
+// Hashed timing wheel: setiap tenggat (dalam tick) dimasukkan ke slot tenggat mod
+// jumlahSlot. Menjadwalkan dan membatalkan O(1); setiap tick hanya memeriksa satu slot,
+// jadi tidak pernah ada pemindaian semua penanda. Tenggat yang lebih jauh dari satu
+// putaran tetap di slotnya sampai tick-nya benar-benar tercapai.
+// Tidak thread-safe: pemanggil harus menserialkan akses.
+public class RodaWaktu<T> {
+    private final Penanda<T>[] slot;
+    private final int mask;
+    private long tickSekarang;
+    private int ukuran;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public RodaWaktu(int jumlahSlot, long tickAwal) {
+        if (jumlahSlot <= 0 || Integer.bitCount(jumlahSlot) != 1) {
+            throw new IllegalArgumentException("Jumlah slot harus pangkat dua");
+        }
+        this.slot = new Penanda[jumlahSlot];
+        this.mask = jumlahSlot - 1;
+        this.tickSekarang = tickAwal;
+    }
+
+    // Tenggat yang sudah lewat dijalankan pada tick berikutnya
+    public Penanda<T> jadwalkan(T nilai, long tickTenggat) {
+        Penanda<T> penanda = new Penanda<>(nilai, Math.max(tickTenggat, tickSekarang + 1));
+        int i = (int) (penanda.tickTenggat & mask);
+        penanda.sesudah = slot[i];
+        if (slot[i] != null) {
+            slot[i].sebelum = penanda;
+        }
+        slot[i] = penanda;
+        ukuran++;
+        return penanda;
+    }
+
+    public boolean batalkan(Penanda<T> penanda) {
+        if (penanda == null || penanda.selesai) {
+            return false;
+        }
+        lepas(penanda);
+        return true;
+    }
+
+    // Memajukan roda sampai tick dan memanggil kadaluarsa untuk setiap penanda yang
+    // tenggatnya tercapai. Lompatan lebih dari satu putaran cukup menyapu setiap slot sekali.
+    public int majuSampai(long tick, Consumer<T> kadaluarsa) {
+        if (tick <= tickSekarang) {
+            return 0;
+        }
+        long langkah = Math.min(tick - tickSekarang, slot.length);
+        int jumlah = 0;
+        for (long t = tickSekarang + 1; t <= tickSekarang + langkah; t++) {
+            Penanda<T> penanda = slot[(int) (t & mask)];
+            while (penanda != null) {
+                Penanda<T> berikut = penanda.sesudah;
+                if (penanda.tickTenggat <= tick) {
+                    lepas(penanda);
+                    kadaluarsa.accept(penanda.nilai);
+                    jumlah++;
+                }
+                penanda = berikut;
+            }
+        }
+        tickSekarang = tick;
+        return jumlah;
+    }
+
+    public long getTickSekarang() {
+        return tickSekarang;
+    }
+
+    public int getUkuran() {
+        return ukuran;
+    }
+
+    private void lepas(Penanda<T> penanda) {
+        if (penanda.sebelum != null) {
+            penanda.sebelum.sesudah = penanda.sesudah;
+        } else {
+            slot[(int) (penanda.tickTenggat & mask)] = penanda.sesudah;
+        }
+        if (penanda.sesudah != null) {
+            penanda.sesudah.sebelum = penanda.sebelum;
+        }
+        penanda.sebelum = null;
+        penanda.sesudah = null;
+        penanda.selesai = true;
+        ukuran--;
+    }
+
+    public static final class Penanda<T> {
+        private final T nilai;
+        private final long tickTenggat;
+        private Penanda<T> sebelum;
+        private Penanda<T> sesudah;
+        private boolean selesai;
+
+        private Penanda(T nilai, long tickTenggat) {
+            this.nilai = nilai;
+            this.tickTenggat = tickTenggat;
+        }
+
+        public T getNilai() { return nilai; }
+        public long getTickTenggat() { return tickTenggat; }
+    }
+}
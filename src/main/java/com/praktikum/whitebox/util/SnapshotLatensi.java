@@ -0,0 +1,65 @@
+package com.praktikum.whitebox.util;
+
+// Salinan isi HistogramLatensi pada satu saat; satuan mengikuti nilai yang dicatat
+public final class SnapshotLatensi {
+    private final long[] hitungan;
+    private final long jumlah;
+    private final long total;
+    private final long maks;
+
+    SnapshotLatensi(long[] hitungan, long total, long maks) {
+        this.hitungan = hitungan;
+        long n = 0;
+        for (long h : hitungan) {
+            n += h;
+        }
+        this.jumlah = n;
+        this.total = total;
+        this.maks = maks;
+    }
+
+    // Batas atas bucket yang memuat peringkat ceil(q x jumlah), tidak melebihi maks
+    public long persentil(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Persentil harus 0 sampai 1");
+        }
+        if (jumlah == 0) {
+            return 0;
+        }
+        long peringkat = Math.max(1, (long) Math.ceil(q * jumlah));
+        long kumulatif = 0;
+        for (int i = 0; i < hitungan.length; i++) {
+            kumulatif += hitungan[i];
+            if (kumulatif >= peringkat) {
+                return Math.min(HistogramLatensi.batasAtas(i), maks);
+            }
+        }
+        return maks;
+    }
+
+    public long getJumlah() {
+        return jumlah;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getMaks() {
+        return maks;
+    }
+
+    public double getRataRata() {
+        return jumlah == 0 ? 0 : total / (double) jumlah;
+    }
+
+    @Override
+    public String toString() {
+        return "SnapshotLatensi{" +
+                "jumlah=" + jumlah +
+                ", p50=" + persentil(0.5) +
+                ", p99=" + persentil(0.99) +
+                ", maks=" + maks +
+                '}';
+    }
+}
@@ -0,0 +1,59 @@
+package com.praktikum.whitebox.util;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Tabel simbol append-only yang memetakan string ke id int padat (0, 1, 2, ...) dan
+// sebaliknya. Dipakai untuk nilai yang sangat berulang seperti nama kategori: setiap
+// string disimpan sekali, struktur internal bisa memakai id sebagai indeks array, dan
+// terjemahan kembali ke string hanya terjadi di tepi API. Id tidak pernah dihapus.
+public final class TabelSimbol {
+    public static final int TIDAK_ADA = -1;
+
+    private final ConcurrentHashMap<String, Integer> idBySimbol = new ConcurrentHashMap<>();
+    // Elemen ditulis sebelum ukuran (volatile) dinaikkan, jadi pembaca tanpa kunci yang
+    // membaca ukuran lalu array selalu melihat elemen untuk setiap id di bawah ukuran
+    private volatile String[] simbolById = new String[16];
+    private volatile int ukuran;
+
+    // Mengembalikan id simbol, menambahkannya jika belum ada
+    public int intern(String simbol) {
+        if (simbol == null) {
+            throw new IllegalArgumentException("Simbol tidak boleh null");
+        }
+        Integer id = idBySimbol.get(simbol);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = idBySimbol.get(simbol);
+            if (id != null) {
+                return id;
+            }
+            int idBaru = ukuran;
+            if (idBaru == simbolById.length) {
+                simbolById = Arrays.copyOf(simbolById, idBaru * 2);
+            }
+            simbolById[idBaru] = simbol;
+            ukuran = idBaru + 1;
+            idBySimbol.put(simbol, idBaru);
+            return idBaru;
+        }
+    }
+
+    // Id simbol yang sudah ada, atau TIDAK_ADA tanpa menambahkannya
+    public int cari(String simbol) {
+        Integer id = simbol == null ? null : idBySimbol.get(simbol);
+        return id == null ? TIDAK_ADA : id;
+    }
+
+    public String simbol(int id) {
+        if (id < 0 || id >= ukuran) {
+            throw new IllegalArgumentException("Id simbol tidak dikenal: " + id);
+        }
+        return simbolById[id];
+    }
+
+    public int getUkuran() {
+        return ukuran;
+    }
+}
@@ -4,20 +4,12 @@ import com.praktikum.whitebox.model.Produk;
 
 public class ValidationUtils {
     public static boolean isValidKodeProduk(String kode) {
-        if (kode == null || kode.trim().isEmpty()) {
-            return false;
-        }
-        String kodeBersih = kode.trim();
-        return kodeBersih.matches("^[A-Za-z0-9]{3,10}$");
+        return MesinValidasi.periksaKode(kode).isValid();
     }
 
 // Validasi nama (3-100 karakter, boleh huruf, angka, spasi)
 public static boolean isValidNama(String nama) {
-    if (nama == null || nama.trim().isEmpty()) {
-        return false;
-    }
-    String namaBersih = nama.trim();
-    return namaBersih.length() >= 3 && namaBersih.length() <= 100;
+    return MesinValidasi.periksaNama(nama).isValid();
 }
     // Validasi harga (harus positif)
     public static boolean isValidHarga(double harga) {
@@ -33,17 +25,7 @@ public static boolean isValidNama(String nama) {
     }
     // Validasi produk lengkap
     public static boolean isValidProduk(Produk produk) {
-        if (produk == null) {
-            return false;
-        }
-        return isValidKodeProduk(produk.getKode()) &&
-                isValidNama(produk.getNama()) &&
-                isValidNama(produk.getKategori()) &&
-                isValidHarga(produk.getHarga()) &&
-                isValidStok(produk.getStok()) &&
-                isValidStokMinimum(produk.getStokMinimum()) &&
-                produk.getStok() >= 0 &&
-                produk.getStokMinimum() >= 0;
+        return MesinValidasi.periksaProduk(produk).isValid();
     }
     // Validasi kategori
     public static boolean isValidKategori(Kategori kategori) {
@@ -0,0 +1,201 @@
+package com.praktikum.whitebox;
+import com.praktikum.whitebox.event.JenisPeristiwa;
+import com.praktikum.whitebox.event.RingPeristiwa;
+import com.praktikum.whitebox.event.StrategiTunggu;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.KatalogKompak;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import com.praktikum.whitebox.service.AlasanPenolakan;
+import com.praktikum.whitebox.service.KalkulatorDiskon;
+import com.praktikum.whitebox.service.MetrikInventaris;
+import com.praktikum.whitebox.service.OperasiInventaris;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import com.praktikum.whitebox.util.HistogramLatensi;
+import com.praktikum.whitebox.util.MesinValidasi;
+import com.praktikum.whitebox.util.TabelSimbol;
+import com.praktikum.whitebox.util.ValidationUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.lang.management.ManagementFactory;
+import java.util.Optional;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Anggaran alokasi (byte per operasi) untuk jalur panas, diukur dengan penghitung
+// alokasi per thread dari ThreadMXBean setelah pemanasan agar JIT sudah mengompilasi
+// dan escape analysis sudah berlaku. Perubahan yang menambah sampah di jalur ini
+// (Objects.hash, trim/matches, Optional yang lolos, varargs) menggagalkan build.
+@DisplayName("Test Anggaran Alokasi - Byte per Operasi Jalur Panas")
+public class AnggaranAlokasiTest {
+    private static final int PEMANASAN = 50_000;
+    private static final int ITERASI = 200_000;
+    private static final int PUTARAN = 3;
+    // Objek terkecil di heap 16 byte, jadi alokasi per operasi apa pun melewati toleransi
+    // ini; sisanya menyerap alokasi sekali jalan selama pengukuran
+    private static final double TOLERANSI_BYTE = 1.0;
+
+    private static com.sun.management.ThreadMXBean threadMXBean;
+    // Menampung hasil operasi agar JIT tidak membuang pemanggilan
+    private static volatile long penampung;
+
+    @FunctionalInterface
+    interface OperasiTerukur {
+        long jalankan(int i);
+    }
+
+    @BeforeAll
+    static void siapkanPenghitung() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "JVM tidak menyediakan com.sun.management.ThreadMXBean");
+        threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported(), "Penghitung alokasi per thread tidak didukung");
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    // Putaran terbaik dari beberapa pengukuran, sehingga kompilasi atau deoptimisasi
+    // yang kebetulan terjadi di tengah satu putaran tidak membuat tes gagal
+    private static double bytePerOperasi(OperasiTerukur operasi) {
+        long hasil = 0;
+        for (int i = 0; i < PEMANASAN; i++) {
+            hasil += operasi.jalankan(i);
+        }
+        double terbaik = Double.MAX_VALUE;
+        for (int p = 0; p < PUTARAN; p++) {
+            long awal = threadMXBean.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < ITERASI; i++) {
+                hasil += operasi.jalankan(i);
+            }
+            terbaik = Math.min(terbaik, (threadMXBean.getCurrentThreadAllocatedBytes() - awal) / (double) ITERASI);
+        }
+        penampung = hasil;
+        return terbaik;
+    }
+
+    private static void assertAnggaran(double anggaranByte, String nama, OperasiTerukur operasi) {
+        double terukur = bytePerOperasi(operasi);
+        assertTrue(terukur <= anggaranByte + TOLERANSI_BYTE,
+                String.format("%s mengalokasi %.2f B/op, anggaran %.0f B/op", nama, terukur, anggaranByte));
+    }
+
+    private final String[] kode = new String[64];
+    private final Produk produk = new Produk("P001", "Laptop Gaming", "Elektronik", 15000000, 10, 5);
+    private RepositoryProdukMemori repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new RepositoryProdukMemori();
+        for (int i = 0; i < kode.length; i++) {
+            kode[i] = "P" + (100 + i);
+            repository.simpan(new Produk(kode[i], "Produk " + i, "Kategori" + (i % 4), 1000 + i, 1000, 5));
+        }
+    }
+
+    @Test
+    @DisplayName("Produk.hashCode dan equals tidak mengalokasi")
+    void testProdukHashCodeEquals() {
+        Produk salinan = new Produk(produk);
+        assertAnggaran(0, "Produk.hashCode", i -> produk.hashCode());
+        assertAnggaran(0, "Produk.equals", i -> produk.equals(salinan) ? 1 : 0);
+    }
+
+    @Test
+    @DisplayName("Validasi kode, nama dan produk tidak mengalokasi")
+    void testValidasi() {
+        String[] masukan = {"P001", " P002 ", "ABC123", "X@1"};
+        assertAnggaran(0, "ValidationUtils.isValidKodeProduk",
+                i -> ValidationUtils.isValidKodeProduk(masukan[i & 3]) ? 1 : 0);
+        assertAnggaran(0, "ValidationUtils.isValidNama", i -> ValidationUtils.isValidNama(masukan[i & 3]) ? 1 : 0);
+        assertAnggaran(0, "ValidationUtils.isValidProduk", i -> ValidationUtils.isValidProduk(produk) ? 1 : 0);
+        assertAnggaran(0, "MesinValidasi.periksaProduk", i -> MesinValidasi.periksaProduk(produk).ordinal());
+    }
+
+    @Test
+    @DisplayName("Pencarian per kode paling banyak mengalokasi Optional dan salinan defensif")
+    void testCariProdukByKode() {
+        // Repository mengembalikan salinan Produk di dalam Optional. Keduanya biasanya
+        // dieliminasi JIT, tetapi tidak dijamin (tergantung keputusan inlining), jadi
+        // anggarannya tepat satu Optional dan satu Produk, tanpa pembungkus lain
+        Object[] tampung = new Object[64];
+        double bytePerHasil = bytePerOperasi(i -> {
+            tampung[i & 63] = Optional.of(new Produk(produk));
+            return i;
+        });
+        ServiceInventaris service = new ServiceInventaris(repository);
+        assertAnggaran(bytePerHasil, "ServiceInventaris.cariProdukByKode",
+                i -> service.cariProdukByKode(kode[i & 63]).isPresent() ? 1 : 0);
+        assertAnggaran(0, "ServiceInventaris.cariProdukByKode (tidak ada)",
+                i -> service.cariProdukByKode("Q999").isPresent() ? 1 : 0);
+    }
+
+    @Test
+    @DisplayName("Perubahan stok hanya mengalokasi satu versi Produk baru")
+    void testPerubahanStok() {
+        // Repository copy-on-write: setiap perubahan stok yang diterima membuat tepat satu
+        // Produk baru. Ukurannya diukur langsung agar anggaran tidak bergantung pada layout JVM.
+        Produk[] tampung = new Produk[64];
+        double bytePerVersi = bytePerOperasi(i -> {
+            tampung[i & 63] = new Produk(produk);
+            return i;
+        });
+        ServiceInventaris service = new ServiceInventaris(repository);
+        ServiceInventaris serviceMetrik = new ServiceInventaris(repository, null, new MetrikInventaris());
+        assertAnggaran(2 * bytePerVersi, "ServiceInventaris.keluarStok + masukStok",
+                i -> (service.keluarStok(kode[i & 63], 1) ? 1 : 0) + (service.masukStok(kode[i & 63], 1) ? 1 : 0));
+        assertAnggaran(2 * bytePerVersi, "ServiceInventaris.keluarStok + masukStok dengan metrik",
+                i -> (serviceMetrik.keluarStok(kode[i & 63], 1) ? 1 : 0)
+                        + (serviceMetrik.masukStok(kode[i & 63], 1) ? 1 : 0));
+        assertAnggaran(0, "ServiceInventaris.keluarStok ditolak", i -> service.keluarStok(kode[i & 63], 5000) ? 1 : 0);
+    }
+
+    @Test
+    @DisplayName("Pencatatan metrik dan histogram tidak mengalokasi")
+    void testMetrik() {
+        MetrikInventaris metrik = new MetrikInventaris();
+        HistogramLatensi histogram = new HistogramLatensi();
+        assertAnggaran(0, "MetrikInventaris.catat", i -> {
+            metrik.catat(OperasiInventaris.KELUAR_STOK, i & 1023, (i & 1) == 0 ? null : AlasanPenolakan.STOK_TIDAK_CUKUP);
+            return i;
+        });
+        assertAnggaran(0, "HistogramLatensi.catat", i -> {
+            histogram.catat(i);
+            return i;
+        });
+    }
+
+    @Test
+    @DisplayName("Perhitungan diskon tunggal dan batch tidak mengalokasi")
+    void testDiskon() {
+        KalkulatorDiskon kalkulator = new KalkulatorDiskon();
+        long[] harga = {1000, 2000, 3000, 4000, 5000, 6000, 7000, 8000};
+        int[] kuantitas = {1, 5, 10, 50, 100, 2, 3, 4};
+        long[] diskon = new long[harga.length];
+        long[] netto = new long[harga.length];
+        assertAnggaran(0, "KalkulatorDiskon.hitungDiskonSen",
+                i -> kalkulator.hitungDiskonSen(harga[i & 7], kuantitas[i & 7], "REGULER"));
+        assertAnggaran(0, "KalkulatorDiskon.hitungHargaBatchSen", i -> {
+            kalkulator.hitungHargaBatchSen(harga, kuantitas, "PREMIUM", diskon, netto);
+            return netto[i & 7];
+        });
+    }
+
+    @Test
+    @DisplayName("Tabel simbol, katalog kompak dan ring peristiwa tidak mengalokasi")
+    void testStrukturData() {
+        TabelSimbol tabel = new TabelSimbol();
+        String[] kategori = {"Elektronik", "Aksesoris", "Makanan", "Minuman"};
+        for (String k : kategori) {
+            tabel.intern(k);
+        }
+        KatalogKompak katalog = new KatalogKompak();
+        for (String k : kode) {
+            katalog.simpan(new Produk(k, "Produk " + k, "Kategori", 1000, 10, 1));
+        }
+        RingPeristiwa ring = new RingPeristiwa(1024, StrategiTunggu.sibuk());
+        assertAnggaran(0, "TabelSimbol.cari", i -> tabel.cari(kategori[i & 3]));
+        assertAnggaran(0, "KatalogKompak.cariBaris", i -> katalog.cariBaris(kode[i & 63]));
+        assertAnggaran(0, "KatalogKompak.updateStok", i -> katalog.updateStok(kode[i & 63], i & 1023) ? 1 : 0);
+        assertAnggaran(0, "RingPeristiwa.terbitkan", i -> ring.terbitkan(JenisPeristiwa.STOK_MASUK, kode[i & 63], 1));
+    }
+}
@@ -0,0 +1,208 @@
+package com.praktikum.whitebox.event;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Ring Peristiwa - Disruptor")
+public class RingPeristiwaTest {
+
+    private static StrategiTunggu strategi(String nama) {
+        switch (nama) {
+            case "sibuk": return StrategiTunggu.sibuk();
+            case "yield": return StrategiTunggu.yield();
+            default: return StrategiTunggu.blokir();
+        }
+    }
+
+    @ParameterizedTest
+    @DisplayName("Semua pelanggan menerima setiap peristiwa berurutan dari banyak produser")
+    @ValueSource(strings = {"sibuk", "yield", "blokir"})
+    void testBanyakProdusenBanyakPelanggan(String namaStrategi) throws InterruptedException {
+        // Arrange - ring kecil agar produser sering menunggu pelanggan
+        RingPeristiwa ring = new RingPeristiwa(16, strategi(namaStrategi));
+        int produser = 4;
+        int perProduser = 2000;
+        int total = produser * perProduser;
+        CountDownLatch selesai = new CountDownLatch(2);
+        AtomicLong jumlahA = new AtomicLong();
+        long[] sekuensTerakhirB = {-1};
+        boolean[] urutanBenar = {true};
+        RingPeristiwa.Langganan a = ring.berlangganan("a", (p, s, akhir) -> {
+            jumlahA.addAndGet(p.getJumlah());
+            if (s == total - 1) {
+                selesai.countDown();
+            }
+        });
+        RingPeristiwa.Langganan b = ring.berlangganan("b", (p, s, akhir) -> {
+            urutanBenar[0] &= s == sekuensTerakhirB[0] + 1;
+            sekuensTerakhirB[0] = s;
+            if (s == total - 1) {
+                selesai.countDown();
+            }
+        });
+        // Act
+        Thread[] threads = new Thread[produser];
+        for (int t = 0; t < produser; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < perProduser; i++) {
+                    ring.terbitkan(JenisPeristiwa.STOK_KELUAR, "P01", 1);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // Assert
+        assertTrue(selesai.await(10, TimeUnit.SECONDS));
+        a.berhenti();
+        b.berhenti();
+        assertEquals(total, jumlahA.get());
+        assertTrue(urutanBenar[0]);
+        assertEquals(total - 1, ring.getKursor());
+        assertEquals(total - 1, a.getSekuens());
+    }
+
+    @Test
+    @DisplayName("Peristiwa yang menumpuk diproses sebagai satu batch")
+    void testBatch() throws InterruptedException {
+        RingPeristiwa ring = new RingPeristiwa(64, StrategiTunggu.blokir());
+        CountDownLatch pertamaDiterima = new CountDownLatch(1);
+        CountDownLatch mulai = new CountDownLatch(1);
+        CountDownLatch selesai = new CountDownLatch(1);
+        List<String> diterima = new ArrayList<>();
+        List<Boolean> akhirBatch = new ArrayList<>();
+        RingPeristiwa.Langganan langganan = ring.berlangganan("batch", (p, s, akhir) -> {
+            pertamaDiterima.countDown();
+            try {
+                mulai.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            diterima.add(p.getJenis() + ":" + p.getKode());
+            akhirBatch.add(akhir);
+            if (s == 4) {
+                selesai.countDown();
+            }
+        });
+        ring.terbitkan(JenisPeristiwa.PRODUK_DITAMBAH, "P01", 10);
+        // Pelanggan tertahan di peristiwa pertama sementara empat peristiwa lain menumpuk
+        assertTrue(pertamaDiterima.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 4; i++) {
+            ring.terbitkan(JenisPeristiwa.STOK_MASUK, "P0" + (i + 2), 1);
+        }
+        mulai.countDown();
+        assertTrue(selesai.await(5, TimeUnit.SECONDS));
+        langganan.berhenti();
+
+        assertEquals(List.of("PRODUK_DITAMBAH:P01", "STOK_MASUK:P02", "STOK_MASUK:P03",
+                "STOK_MASUK:P04", "STOK_MASUK:P05"), diterima);
+        assertEquals(List.of(true, false, false, false, true), akhirBatch);
+    }
+
+    @Test
+    @DisplayName("Exception pelanggan dihitung dan tidak menghentikan langganan")
+    void testPelangganGagal() throws InterruptedException {
+        RingPeristiwa ring = new RingPeristiwa(8, StrategiTunggu.yield());
+        CountDownLatch selesai = new CountDownLatch(1);
+        RingPeristiwa.Langganan langganan = ring.berlangganan("gagal", (p, s, akhir) -> {
+            if (s == 2) {
+                selesai.countDown();
+            }
+            if (s % 2 == 0) {
+                throw new IllegalStateException("gagal");
+            }
+        });
+        for (int i = 0; i < 3; i++) {
+            ring.terbitkan(JenisPeristiwa.STOK_DIUBAH, "P01", i);
+        }
+        assertTrue(selesai.await(5, TimeUnit.SECONDS));
+        langganan.berhenti();
+        assertEquals(2, langganan.getJumlahGagal());
+        assertEquals("gagal", langganan.getNama());
+        // Setelah berhenti, produser tidak lagi menunggu langganan tersebut
+        for (int i = 0; i < 20; i++) {
+            ring.terbitkan(JenisPeristiwa.STOK_DIUBAH, "P01", i);
+        }
+        assertEquals(22, ring.getKursor());
+        assertEquals(8, ring.getKapasitas());
+    }
+
+    @Test
+    @DisplayName("Error dari pelanggan juga dihitung tanpa mematikan thread pelanggan")
+    void testPelangganMelemparError() throws InterruptedException {
+        RingPeristiwa ring = new RingPeristiwa(8, StrategiTunggu.yield());
+        CountDownLatch selesai = new CountDownLatch(1);
+        RingPeristiwa.Langganan langganan = ring.berlangganan("error", (p, s, akhir) -> {
+            if (s == 0) {
+                throw new AssertionError("gagal");
+            }
+            selesai.countDown();
+        });
+        ring.terbitkan(JenisPeristiwa.STOK_DIUBAH, "P01", 0);
+        ring.terbitkan(JenisPeristiwa.STOK_DIUBAH, "P01", 1);
+        assertTrue(selesai.await(5, TimeUnit.SECONDS));
+        langganan.berhenti();
+        assertEquals(1, langganan.getJumlahGagal());
+    }
+
+    @Test
+    @DisplayName("Kebijakan buang tidak memblokir produser saat ring penuh dan menghitung peristiwa yang dibuang")
+    void testKebijakanBuang() throws InterruptedException {
+        // Arrange: pelanggan tertahan di peristiwa pertama sehingga ring cepat penuh
+        RingPeristiwa ring = new RingPeristiwa(4, StrategiTunggu.blokir(), KebijakanPenuh.BUANG);
+        CountDownLatch lanjut = new CountDownLatch(1);
+        CountDownLatch selesai = new CountDownLatch(1);
+        List<Integer> diterima = new ArrayList<>();
+        RingPeristiwa.Langganan langganan = ring.berlangganan("lambat", (p, s, akhir) -> {
+            try {
+                lanjut.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            diterima.add(p.getJumlah());
+            if (p.getJumlah() == 99) {
+                selesai.countDown();
+            }
+        });
+        // Act
+        long[] sekuens = new long[10];
+        for (int i = 0; i < sekuens.length; i++) {
+            sekuens[i] = ring.terbitkan(JenisPeristiwa.STOK_MASUK, "P01", i);
+        }
+        // Assert: empat slot terisi, sisanya dibuang tanpa mengklaim sekuens
+        assertArrayEquals(new long[]{0, 1, 2, 3, -1, -1, -1, -1, -1, -1}, sekuens);
+        assertEquals(6, ring.getJumlahDibuang());
+        assertEquals(3, ring.getKursor());
+        assertEquals(KebijakanPenuh.BUANG, ring.getKebijakanPenuh());
+
+        lanjut.countDown();
+        // Setelah pelanggan menyusul, ruang tersedia lagi
+        long terakhir;
+        while ((terakhir = ring.terbitkan(JenisPeristiwa.STOK_MASUK, "P01", 99)) < 0) {
+            Thread.onSpinWait();
+        }
+        assertTrue(selesai.await(5, TimeUnit.SECONDS));
+        langganan.berhenti();
+        assertEquals(4, terakhir);
+        assertEquals(List.of(0, 1, 2, 3, 99), diterima);
+    }
+
+    @Test
+    @DisplayName("Konfigurasi ring tidak valid ditolak")
+    void testKonfigurasiTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> new RingPeristiwa(10, StrategiTunggu.sibuk()));
+        assertThrows(IllegalArgumentException.class, () -> new RingPeristiwa(0, StrategiTunggu.sibuk()));
+        assertThrows(IllegalArgumentException.class, () -> new RingPeristiwa(8, null));
+        assertThrows(IllegalArgumentException.class, () -> new RingPeristiwa(8, StrategiTunggu.sibuk(), null));
+        RingPeristiwa ring = new RingPeristiwa(8, StrategiTunggu.sibuk());
+        assertThrows(IllegalArgumentException.class, () -> ring.berlangganan("x", null));
+    }
+}
@@ -0,0 +1,162 @@
+package com.praktikum.whitebox.jfr;
+import com.praktikum.whitebox.model.BarisPesanan;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import com.praktikum.whitebox.service.KalkulatorDiskon;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Ringkasan Rekaman JFR - Peristiwa Inventaris dan Diskon")
+public class RingkasanRekamanTest {
+    @TempDir
+    Path direktori;
+    private RepositoryProdukMemori repository;
+    private ServiceInventaris serviceInventaris;
+
+    @BeforeEach
+    void setUp() {
+        repository = new RepositoryProdukMemori();
+        serviceInventaris = new ServiceInventaris(repository);
+        repository.simpan(new Produk("P01", "Laptop", "Elektronik", 15000000, 10, 5));
+    }
+
+    // Merekam aksi dengan threshold nol agar semua peristiwa whitebox tercatat
+    private Path rekam(Runnable aksi) throws IOException {
+        try (Recording rekaman = new Recording()) {
+            rekaman.enable(PeristiwaJfrInventaris.class).withThreshold(Duration.ZERO);
+            rekaman.enable(PeristiwaJfrRepository.class).withThreshold(Duration.ZERO);
+            rekaman.enable(PeristiwaJfrDiskon.class).withThreshold(Duration.ZERO);
+            rekaman.start();
+            aksi.run();
+            rekaman.stop();
+            Path file = direktori.resolve("rekaman.jfr");
+            rekaman.dump(file);
+            return file;
+        }
+    }
+
+    @Test
+    @DisplayName("Operasi ServiceInventaris diringkas per operasi dan hasil")
+    void testRingkasanOperasiInventaris() throws IOException {
+        // Arrange
+        Path file = rekam(() -> {
+            serviceInventaris.tambahProduk(new Produk("P02", "Mouse", "Aksesoris", 200000, 5, 1));
+            serviceInventaris.tambahProduk(new Produk("P02", "Mouse", "Aksesoris", 200000, 5, 1));
+            serviceInventaris.tambahProduk(null);
+            serviceInventaris.masukStok("P01", 4);
+            serviceInventaris.keluarStok("P01", 3);
+            serviceInventaris.keluarStok("P01", 100);
+            serviceInventaris.keluarStok("P@1", 1);
+            serviceInventaris.hapusProduk("P01");
+            serviceInventaris.updateStok("P02", 0);
+            serviceInventaris.hapusProduk("P02");
+            serviceInventaris.checkout(List.of(new BarisPesanan("P01", 2), new BarisPesanan("P01", 1)));
+            serviceInventaris.checkout(List.of(new BarisPesanan("P99", 1)));
+        });
+        // Act
+        RingkasanRekaman ringkasan = RingkasanRekaman.baca(file);
+        // Assert
+        StatistikOperasiJfr tambah = ringkasan.getStatistik("inventaris", "TAMBAH_PRODUK");
+        assertEquals(3, tambah.getJumlahPeristiwa());
+        assertEquals(Map.of("BERHASIL", 1L, "DUPLIKAT", 1L, "PRODUK_TIDAK_VALID", 1L), tambah.getJumlahPerHasil());
+        StatistikOperasiJfr keluar = ringkasan.getStatistik("inventaris", "KELUAR_STOK");
+        assertEquals(3, keluar.getJumlahPeristiwa());
+        assertEquals(1, keluar.getJumlahBerhasil());
+        // Tanpa metrik pun alasan dicari karena peristiwa sedang direkam
+        assertEquals(1L, keluar.getJumlahPerHasil().get("STOK_TIDAK_CUKUP"));
+        assertEquals(1L, keluar.getJumlahPerHasil().get("KODE_TIDAK_VALID"));
+        assertEquals(104, keluar.getTotalJumlah());
+        assertEquals(Map.of("MASIH_ADA_STOK", 1L, "BERHASIL", 1L),
+                ringkasan.getStatistik("inventaris", "HAPUS_PRODUK").getJumlahPerHasil());
+        StatistikOperasiJfr checkout = ringkasan.getStatistik("inventaris", "CHECKOUT");
+        assertEquals(1, checkout.getJumlahBerhasil());
+        assertEquals(1L, checkout.getJumlahPerHasil().get("TIDAK_DITEMUKAN"));
+        assertEquals(4, checkout.getTotalJumlah());
+        assertEquals(4, ringkasan.getStatistik("inventaris", "MASUK_STOK").getTotalJumlah());
+        assertEquals(3, keluar.getDurasi().getJumlah());
+        assertEquals(1, ringkasan.getStatistik("inventaris", "UPDATE_STOK").getJumlahBerhasil());
+        assertNull(ringkasan.getStatistik("repository", "adjustStok"));
+        assertTrue(ringkasan.toString().contains("inventaris/KELUAR_STOK"));
+        assertTrue(keluar.toString().contains("STOK_TIDAK_CUKUP=1"));
+    }
+
+    @Test
+    @DisplayName("Kategori diisi dari produk atau dicari saat peristiwa dicatat")
+    void testKategoriPeristiwa() throws IOException {
+        // Arrange
+        Path file = rekam(() -> {
+            serviceInventaris.keluarStok("P01", 1);
+            serviceInventaris.tambahProduk(new Produk("P02", "Mouse", "Aksesoris", 200000, 5, 1));
+        });
+        // Act
+        List<RecordedEvent> peristiwa = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals(PeristiwaJfrInventaris.NAMA))
+                .toList();
+        // Assert
+        assertEquals(2, peristiwa.size());
+        assertEquals("P01", peristiwa.get(0).getString("kode"));
+        assertEquals("Elektronik", peristiwa.get(0).getString("kategori"));
+        assertEquals("KELUAR_STOK", peristiwa.get(0).getString("operasi"));
+        assertEquals("Aksesoris", peristiwa.get(1).getString("kategori"));
+        assertEquals(5, peristiwa.get(1).getLong("jumlah"));
+    }
+
+    @Test
+    @DisplayName("Batch diskon dicatat termasuk yang gagal")
+    void testPeristiwaBatchDiskon() throws IOException {
+        // Arrange
+        KalkulatorDiskon kalkulator = new KalkulatorDiskon();
+        long[] diskon = new long[3];
+        long[] netto = new long[3];
+        Path file = rekam(() -> {
+            kalkulator.hitungHargaBatchSen(new long[]{1000, 2000, 3000}, new int[]{1, 5, 10}, "PREMIUM", diskon, netto);
+            assertThrows(IllegalArgumentException.class, () -> kalkulator.hitungHargaBatchSen(
+                    null, new int[0], "PREMIUM", diskon, netto));
+        });
+        // Act
+        StatistikOperasiJfr batch = RingkasanRekaman.baca(file).getStatistik("diskon", "HARGA_BATCH");
+        // Assert
+        assertEquals(2, batch.getJumlahPeristiwa());
+        assertEquals(Map.of("BERHASIL", 1L, "GAGAL", 1L), batch.getJumlahPerHasil());
+        assertEquals(3, batch.getTotalJumlah());
+        assertEquals(24000, netto[2]);
+    }
+
+    @Test
+    @DisplayName("Main mencetak tabel ringkasan atau cara pemakaian")
+    void testMain() throws IOException {
+        Path file = rekam(() -> serviceInventaris.masukStok("P01", 1));
+        PrintStream keluaranAsli = System.out;
+        PrintStream errorAsli = System.err;
+        ByteArrayOutputStream keluaran = new ByteArrayOutputStream();
+        ByteArrayOutputStream error = new ByteArrayOutputStream();
+        try {
+            System.setOut(new PrintStream(keluaran, true, StandardCharsets.UTF_8));
+            System.setErr(new PrintStream(error, true, StandardCharsets.UTF_8));
+            RingkasanRekaman.main(new String[]{file.toString()});
+            RingkasanRekaman.main(new String[0]);
+        } finally {
+            System.setOut(keluaranAsli);
+            System.setErr(errorAsli);
+        }
+        String tabel = keluaran.toString(StandardCharsets.UTF_8);
+        assertTrue(tabel.startsWith("operasi"));
+        assertTrue(tabel.contains("inventaris/MASUK_STOK"));
+        assertTrue(error.toString(StandardCharsets.UTF_8).contains("Pemakaian"));
+    }
+}
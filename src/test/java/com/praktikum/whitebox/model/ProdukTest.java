@@ -49,6 +49,18 @@ public class ProdukTest {
         assertFalse(produk.isStokMenipis());
         assertTrue(produk.isStokHabis());
     }
+    @ParameterizedTest
+    @DisplayName("Test status stok sebagai enum")
+    @CsvSource({
+            "10, 5, AMAN",
+            "5, 5, MENIPIS",
+            "0, 5, HABIS"
+    })
+    void testStatusStok(int stok, int stokMinimum, StatusStok expected) {
+        produk.setStok(stok);
+        produk.setStokMinimum(stokMinimum);
+        assertEquals(expected, StatusStok.dari(produk));
+    }
     //Anotasi untuk menjalankan tes dengan berbagai parameter
     @ParameterizedTest
     @DisplayName("Test kurangi stok dengan berbagai nilai")
@@ -113,6 +125,27 @@ public class ProdukTest {
         assertEquals(expectedTotal, total, 0.001);
     }
 
+    @Test
+    @DisplayName("Test harga disimpan eksak dalam sen")
+    void testHargaSen() {
+        produk.setHarga(0.1 + 0.2);
+        assertEquals(30, produk.getHargaSen());
+        assertEquals(0.3, produk.getHarga());
+        produk.setHargaSen(1999);
+        assertEquals(19990, produk.hitungTotalHargaSen(10));
+        assertEquals(199.9, produk.hitungTotalHarga(10));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test harga tidak terhingga atau di luar jangkauan sen ditolak")
+    @ValueSource(doubles = {Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 1e17})
+    void testHargaTidakValid(double harga) {
+        assertThrows(ArithmeticException.class, () -> produk.setHarga(harga));
+        assertEquals(1500000000L, produk.getHargaSen());
+        assertThrows(ArithmeticException.class,
+                () -> new Produk("PROD002", "Mouse", "Elektronik", harga, 1, 1));
+    }
+
     @Test
     @DisplayName("Test hitung total harga - jumlah negatif")
     void testHitungTotalHargaNegatif() {
@@ -0,0 +1,87 @@
+package com.praktikum.whitebox.model;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import java.math.RoundingMode;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Uang - Fixed Point Sen")
+public class UangTest {
+
+    @ParameterizedTest
+    @DisplayName("Pembagian mengikuti mode pembulatan yang diminta")
+    @CsvSource({
+            // pembilang, penyebut, mode, hasil
+            "25, 10, HALF_EVEN, 2",
+            "35, 10, HALF_EVEN, 4",
+            "25, 10, HALF_UP, 3",
+            "25, 10, HALF_DOWN, 2",
+            "26, 10, HALF_DOWN, 3",
+            "-25, 10, HALF_UP, -3",
+            "-25, 10, HALF_EVEN, -2",
+            "21, 10, UP, 3",
+            "29, 10, DOWN, 2",
+            "-21, 10, FLOOR, -3",
+            "21, 10, FLOOR, 2",
+            "-29, 10, CEILING, -2",
+            "21, 10, CEILING, 3",
+            "30, 10, UNNECESSARY, 3",
+            "24, -10, HALF_EVEN, -2"
+    })
+    void testBagi(long pembilang, long penyebut, RoundingMode mode, long hasil) {
+        assertEquals(hasil, Uang.bagi(pembilang, penyebut, mode));
+    }
+
+    @Test
+    @DisplayName("Pembagian tidak eksak atau dengan nol ditolak")
+    void testBagiTidakValid() {
+        assertThrows(ArithmeticException.class, () -> Uang.bagi(1, 0, RoundingMode.HALF_EVEN));
+        assertThrows(ArithmeticException.class, () -> Uang.bagi(21, 10, RoundingMode.UNNECESSARY));
+    }
+
+    @Test
+    @DisplayName("Konversi dari double memakai desimal terpendek lalu dibulatkan")
+    void testKonversiRupiah() {
+        assertEquals(10, Uang.senDariRupiah(0.1));
+        assertEquals(30, Uang.senDariRupiah(0.1 + 0.2));
+        assertEquals(1500000000, Uang.senDariRupiah(15000000));
+        assertEquals(2, Uang.senDariRupiah(0.025)); // HALF_EVEN
+        assertEquals(-150, Uang.senDariRupiah(-1.5));
+        assertEquals(12.34, Uang.keRupiah(1234));
+        assertThrows(ArithmeticException.class, () -> Uang.senDariRupiah(Double.NaN));
+        assertThrows(ArithmeticException.class, () -> Uang.senDariRupiah(Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    @DisplayName("Penjumlahan berulang tetap eksak")
+    void testPenjumlahanEksak() {
+        long totalSen = 0;
+        double totalDouble = 0;
+        for (int i = 0; i < 1_000_000; i++) {
+            totalSen += Uang.senDariRupiah(0.1);
+            totalDouble += 0.1;
+        }
+        assertEquals(10_000_000, totalSen);
+        assertNotEquals(100_000.0, totalDouble);
+        assertThrows(ArithmeticException.class, () -> Uang.kali(Long.MAX_VALUE, 2));
+    }
+
+    @Test
+    @DisplayName("Operasi objek Uang")
+    void testObjekUang() {
+        Uang harga = Uang.dariRupiah(1000.5);
+        assertEquals(100050, harga.getSen());
+        assertEquals(Uang.dariSen(200100), harga.kali(2));
+        assertEquals(Uang.dariSen(100), harga.kurang(Uang.dariSen(99950)));
+        assertEquals(Uang.dariSen(200100), harga.tambah(harga));
+        assertEquals(Uang.dariSen(15008), harga.persen(1500)); // 15007.5 -> genap terdekat
+        assertSame(Uang.NOL, Uang.dariSen(0));
+        assertEquals(1000.5, harga.keRupiah());
+        assertTrue(harga.compareTo(Uang.NOL) > 0);
+        assertEquals(harga.hashCode(), Uang.dariSen(100050).hashCode());
+        assertNotEquals(harga, null);
+        assertEquals("Rp1000,50", harga.toString());
+        assertEquals("-Rp0,05", Uang.dariSen(-5).toString());
+    }
+}
@@ -0,0 +1,89 @@
+package com.praktikum.whitebox.repository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Indeks N-gram untuk pencarian nama")
+public class IndeksNgramTest {
+    private IndeksNgram indeks;
+    @BeforeEach
+    void setUp() {
+        indeks = new IndeksNgram();
+        indeks.tambah("P01", "Laptop Gaming");
+        indeks.tambah("P02", "Tas Laptop");
+        indeks.tambah("P03", "Mouse Wireless");
+        indeks.tambah("P04", "Stand laptopku");
+    }
+
+    @ParameterizedTest
+    @DisplayName("Substring pendek dan panjang tidak peka huruf besar kecil")
+    @CsvSource({
+            "l, 4",
+            "la, 3",
+            "LAP, 3",
+            "laptop, 3",
+            "wireless, 1",
+            "top g, 1",
+            "xyz, 0",
+            "laptopx, 0"
+    })
+    void testCariSubstring(String kueri, int jumlah) {
+        assertEquals(jumlah, indeks.cari(kueri, 0).size());
+    }
+
+    @Test
+    @DisplayName("Hasil terurut: awalan, awal kata, lalu tengah kata")
+    void testUrutanRelevansi() {
+        assertEquals(List.of("P01", "P02", "P04"), indeks.cari("laptop", 0));
+        assertEquals(List.of("P01", "P02"), indeks.cari("laptop", 2));
+        assertEquals(List.of("P03"), indeks.cari("ouse", 1));
+    }
+
+    @Test
+    @DisplayName("Kueri 1-2 karakter dibatasi sebelum diperingkat")
+    void testKueriPendekDibatasi() {
+        for (int i = 0; i < 1000; i++) {
+            indeks.tambah("K" + i, (i % 2 == 0 ? "Kabel " : "Adaptor kabel ") + i);
+        }
+        assertEquals(10, indeks.cari("a", 10).size());
+        assertEquals(IndeksNgram.BATAS_KUERI_PENDEK, indeks.cari("ka", 0).size());
+        assertEquals(IndeksNgram.BATAS_KUERI_PENDEK, indeks.cari("", 0).size());
+        // Di antara kandidat yang diambil, awalan nama ("Kabel") tetap di depan awal kata
+        List<String> hasil = indeks.cari("ka", 20);
+        assertEquals(20, hasil.size());
+        boolean sudahAwalKata = false;
+        for (String kode : hasil) {
+            boolean awalan = Integer.parseInt(kode.substring(1)) % 2 == 0;
+            assertFalse(awalan && sudahAwalKata);
+            sudahAwalKata |= !awalan;
+        }
+        // Kueri sepanjang trigram tetap memindai dan memeringkat semua kandidat
+        assertEquals(1000, indeks.cari("kab", 0).size());
+    }
+
+    @Test
+    @DisplayName("Rename dan hapus memperbarui daftar posting")
+    void testRenameDanHapus() {
+        indeks.tambah("P02", "Tas Ransel");
+        assertEquals(List.of("P01", "P04"), indeks.cari("laptop", 0));
+        assertEquals(List.of("P02"), indeks.cari("ransel", 0));
+        indeks.tambah("P02", "Tas Ransel");
+        indeks.hapus("P01");
+        indeks.hapus("P99");
+        assertEquals(List.of("P04"), indeks.cari("laptop", 0));
+        indeks.tambah("P04", null);
+        assertTrue(indeks.cari("laptop", 0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Kueri null kosong, kueri string kosong mengembalikan semua")
+    void testKueriKosong() {
+        assertTrue(indeks.cari(null, 0).isEmpty());
+        assertEquals(4, indeks.cari("", 0).size());
+        assertEquals(2, indeks.cari("", 2).size());
+    }
+}
@@ -0,0 +1,162 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Produk;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Katalog Kompak - Array Paralel dan Flyweight")
+public class KatalogKompakTest {
+    private KatalogKompak katalog;
+    @BeforeEach
+    void setUp() {
+        katalog = new KatalogKompak();
+        katalog.simpan(new Produk("P01", "Laptop", "Elektronik", 15000000, 10, 5));
+        katalog.simpan(new Produk("P02", "Kopi", null, 25000, 0, 2));
+    }
+
+    @Test
+    @DisplayName("Tampilan membaca atribut langsung dari array")
+    void testTampilan() {
+        // Arrange
+        KatalogKompak.Tampilan tampilan = katalog.tampilan(katalog.cariBaris("P01"));
+        // Assert
+        assertEquals("P01", tampilan.getKode());
+        assertEquals("Laptop", tampilan.getNama());
+        assertEquals("Elektronik", tampilan.getKategori());
+        assertEquals(15000000, tampilan.getHarga(), 0.001);
+        assertEquals(10, tampilan.getStok());
+        assertEquals(5, tampilan.getStokMinimum());
+        assertTrue(tampilan.isAktif());
+        assertTrue(tampilan.isStokAman());
+        assertEquals(1, tampilan.getVersi());
+        assertEquals(150000000L * 100, tampilan.hitungTotalHargaSen(10));
+        // Flyweight yang sama dipindah ke baris lain
+        tampilan.pindahKe(katalog.cariBaris("P02"));
+        assertNull(tampilan.getKategori());
+        assertTrue(tampilan.isStokHabis());
+        assertEquals(new Produk("P02", "x", "y", 1, 1, 1), new Produk(tampilan));
+        assertEquals(new Produk("P02", "x", "y", 1, 1, 1).hashCode(), tampilan.hashCode());
+        assertTrue(tampilan.toString().contains("kode='P02'"));
+    }
+
+    @Test
+    @DisplayName("Kesamaan tampilan dan Produk simetris berdasarkan kode baris saat ini")
+    void testKesamaanTampilan() {
+        KatalogKompak.Tampilan tampilan = katalog.tampilan(katalog.cariBaris("P01"));
+        Produk laptop = new Produk("P01", "Nama lain", "Lain", 1, 1, 1);
+        Produk kopi = new Produk("P02", "Kopi", null, 25000, 0, 2);
+
+        assertEquals(laptop, tampilan);
+        assertEquals(tampilan, laptop);
+        assertEquals(laptop.hashCode(), tampilan.hashCode());
+        assertNotEquals(kopi, tampilan);
+
+        tampilan.pindahKe(katalog.cariBaris("P02"));
+        assertEquals(kopi, tampilan);
+        assertEquals(tampilan, kopi);
+        assertNotEquals(laptop, tampilan);
+        assertEquals(kopi.hashCode(), tampilan.hashCode());
+        assertEquals(tampilan, katalog.tampilan(katalog.cariBaris("P02")));
+    }
+
+    @Test
+    @DisplayName("Salinan tampilan menjadi Produk biasa")
+    void testSalinTampilan() {
+        Produk salinan = new Produk(katalog.tampilan(0));
+        assertEquals(Produk.class, salinan.getClass());
+        assertEquals("Laptop", salinan.getNama());
+        salinan.setStok(1);
+        assertEquals(10, katalog.tampilan(0).getStok());
+    }
+
+    @Test
+    @DisplayName("Tampilan hanya baca")
+    void testTampilanHanyaBaca() {
+        KatalogKompak.Tampilan tampilan = katalog.tampilan(0);
+        assertThrows(UnsupportedOperationException.class, () -> tampilan.setKode("X"));
+        assertThrows(UnsupportedOperationException.class, () -> tampilan.setNama("X"));
+        assertThrows(UnsupportedOperationException.class, () -> tampilan.setKategori("X"));
+        assertThrows(UnsupportedOperationException.class, () -> tampilan.setHarga(1));
+        assertThrows(UnsupportedOperationException.class, () -> tampilan.setStokMinimum(1));
+        assertThrows(UnsupportedOperationException.class, () -> tampilan.setAktif(false));
+        assertThrows(UnsupportedOperationException.class, () -> tampilan.setVersi(9));
+        assertThrows(UnsupportedOperationException.class, () -> tampilan.kurangiStok(1));
+        assertThrows(UnsupportedOperationException.class, () -> tampilan.tambahStok(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> tampilan.pindahKe(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> tampilan.pindahKe(-1));
+    }
+
+    @Test
+    @DisplayName("Simpan ulang, update stok dan hapus")
+    void testSimpanUpdateHapus() {
+        Produk nonAktif = new Produk("P01", "Laptop Baru", "Elektronik", 1000, 3, 1);
+        nonAktif.setAktif(false);
+        assertEquals(0, katalog.simpan(nonAktif));
+        assertTrue(katalog.updateStok("P01", 7));
+        KatalogKompak.Tampilan tampilan = katalog.tampilan(0);
+        assertEquals("Laptop Baru", tampilan.getNama());
+        assertFalse(tampilan.isAktif());
+        assertEquals(7, tampilan.getStok());
+        assertEquals(3, tampilan.getVersi());
+        assertFalse(katalog.updateStok("P99", 1));
+
+        assertTrue(katalog.hapus("P01"));
+        assertFalse(katalog.hapus("P01"));
+        assertFalse(katalog.hapus(null));
+        assertEquals(1, katalog.getUkuran());
+        // Baris terakhir pindah ke baris yang dihapus
+        assertEquals(0, katalog.cariBaris("P02"));
+        assertEquals(-1, katalog.cariBaris("P01"));
+        assertEquals(-1, katalog.cariBaris(null));
+        assertThrows(IllegalArgumentException.class, () -> katalog.simpan(null));
+        assertThrows(IllegalArgumentException.class, () -> katalog.simpan(new Produk()));
+    }
+
+    @Test
+    @DisplayName("Operasi acak konsisten dengan map biasa")
+    void testOperasiAcak() {
+        Random acak = new Random(3);
+        Map<String, Integer> model = new HashMap<>();
+        model.put("P01", 10);
+        model.put("P02", 0);
+        for (int n = 0; n < 20000; n++) {
+            String kode = "K" + acak.nextInt(3000);
+            int aksi = acak.nextInt(3);
+            if (aksi == 0) {
+                int stok = acak.nextInt(100);
+                katalog.simpan(new Produk(kode, "Produk " + kode, "Kat" + acak.nextInt(20), 1000, stok, 5));
+                model.put(kode, stok);
+            } else if (aksi == 1) {
+                assertEquals(model.remove(kode) != null, katalog.hapus(kode));
+            } else {
+                assertEquals(model.containsKey(kode), katalog.updateStok(kode, 1));
+                model.computeIfPresent(kode, (k, v) -> 1);
+            }
+        }
+        assertEquals(model.size(), katalog.getUkuran());
+        List<String> dilihat = new ArrayList<>();
+        katalog.untukSetiap(p -> {
+            assertEquals(model.get(p.getKode()), p.getStok());
+            assertEquals(((KatalogKompak.Tampilan) p).getBaris(), katalog.cariBaris(p.getKode()));
+            dilihat.add(p.getKode());
+        });
+        assertEquals(model.size(), dilihat.size());
+    }
+
+    @Test
+    @DisplayName("Byte per produk jauh di bawah model objek")
+    void testBytePerProduk() {
+        assertEquals(0, new KatalogKompak().getBytePerProduk());
+        for (int i = 0; i < 100000; i++) {
+            katalog.simpan(new Produk("K" + i, "Produk", "Kat" + (i % 300), 1000, i, 5));
+        }
+        double bytePerProduk = katalog.getBytePerProduk();
+        assertTrue(bytePerProduk < KatalogKompak.PERKIRAAN_BYTE_PER_PRODUK_OBJEK, "byte per produk " + bytePerProduk);
+    }
+}
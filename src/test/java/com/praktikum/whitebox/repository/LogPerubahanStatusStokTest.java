@@ -0,0 +1,45 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.DaftarPerubahanStatusStok;
+import com.praktikum.whitebox.model.StatusStok;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Log Perubahan Status Stok")
+public class LogPerubahanStatusStokTest {
+    @Test
+    @DisplayName("Poller hanya menerima perubahan setelah kursornya")
+    void testPerubahanSejakKursor() {
+        LogPerubahanStatusStok log = new LogPerubahanStatusStok(8);
+        assertEquals(0, log.perubahanSejak(0).getPerubahan().size());
+        log.catat("P01", StatusStok.AMAN, StatusStok.MENIPIS);
+        log.catat("P02", null, StatusStok.HABIS);
+
+        DaftarPerubahanStatusStok pertama = log.perubahanSejak(0);
+        assertEquals(2, pertama.getPerubahan().size());
+        assertEquals(2, pertama.getKursor());
+        assertFalse(pertama.isTerpotong());
+
+        log.catat("P01", StatusStok.MENIPIS, StatusStok.HABIS);
+        DaftarPerubahanStatusStok kedua = log.perubahanSejak(pertama.getKursor());
+        assertEquals(1, kedua.getPerubahan().size());
+        assertEquals("P01", kedua.getPerubahan().get(0).getKode());
+        assertEquals(StatusStok.HABIS, kedua.getPerubahan().get(0).getKe());
+        assertTrue(kedua.getPerubahan().get(0).toString().contains("P01"));
+    }
+
+    @Test
+    @DisplayName("Poller yang tertinggal lebih dari kapasitas diberi tanda terpotong")
+    void testTerpotong() {
+        LogPerubahanStatusStok log = new LogPerubahanStatusStok(4);
+        for (int i = 0; i < 10; i++) {
+            log.catat("P0" + i, StatusStok.AMAN, StatusStok.MENIPIS);
+        }
+        DaftarPerubahanStatusStok hasil = log.perubahanSejak(0);
+        assertTrue(hasil.isTerpotong());
+        assertEquals(4, hasil.getPerubahan().size());
+        assertEquals(7, hasil.getPerubahan().get(0).getKursor());
+        assertFalse(log.perubahanSejak(6).isTerpotong());
+        assertThrows(IllegalArgumentException.class, () -> new LogPerubahanStatusStok(0));
+    }
+}
@@ -0,0 +1,151 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Produk;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Test Repository Produk Cache - W-TinyLFU")
+public class RepositoryProdukCacheTest {
+    @Mock
+    private RepositoryProduk mockRepositoryProduk;
+    private RepositoryProdukCache cache;
+    private Produk produkTest;
+    @BeforeEach
+    void setUp() {
+        cache = new RepositoryProdukCache(mockRepositoryProduk, 100);
+        produkTest = new Produk("P01", "Laptop", "Elektronik", 15000000, 10, 5);
+    }
+
+    @Test
+    @DisplayName("Pencarian kedua dilayani cache dan mengembalikan salinan")
+    void testHitSetelahMiss() {
+        when(mockRepositoryProduk.cariByKode("P01")).thenReturn(Optional.of(produkTest));
+
+        assertEquals(10, cache.cariByKode("P01").get().getStok());
+        cache.cariByKode("P01").get().setStok(0);
+        assertEquals(10, cache.cariByKode("P01").get().getStok());
+
+        verify(mockRepositoryProduk, times(1)).cariByKode("P01");
+        assertEquals(2, cache.statistik().getHit());
+        assertEquals(1, cache.statistik().getMiss());
+        assertEquals(2.0 / 3, cache.statistik().getRasioHit(), 0.0001);
+        assertTrue(cache.cariByKode(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Hasil kosong juga di-cache sampai produk disimpan")
+    void testNegativeLookup() {
+        when(mockRepositoryProduk.cariByKode("P01")).thenReturn(Optional.empty(), Optional.of(produkTest));
+        when(mockRepositoryProduk.simpan(produkTest)).thenReturn(true);
+
+        assertTrue(cache.cariByKode("P01").isEmpty());
+        assertTrue(cache.cariByKode("P01").isEmpty());
+        verify(mockRepositoryProduk, times(1)).cariByKode("P01");
+
+        assertTrue(cache.simpan(produkTest));
+        assertTrue(cache.cariByKode("P01").isPresent());
+        verify(mockRepositoryProduk, times(2)).cariByKode("P01");
+    }
+
+    @Test
+    @DisplayName("Setiap penulisan menginvalidasi entri kode terkait")
+    void testInvalidasiPenulisan() {
+        when(mockRepositoryProduk.cariByKode("P01")).thenReturn(Optional.of(produkTest));
+        when(mockRepositoryProduk.updateStok("P01", 3)).thenReturn(true);
+        when(mockRepositoryProduk.adjustStok("P01", -1, 0)).thenReturn(true);
+        when(mockRepositoryProduk.adjustStok("P01", -99, 0)).thenReturn(false);
+        when(mockRepositoryProduk.hapus("P01")).thenReturn(true);
+        when(mockRepositoryProduk.adjustStokSemua(new String[]{"P01"}, new int[]{-1}, 0)).thenReturn(true);
+        String[] kode = {"P01"};
+        int[] stok = {4};
+        BitSet satu = BitSet.valueOf(new long[]{1});
+        when(mockRepositoryProduk.updateStokBatch(kode, stok, satu)).thenReturn(satu);
+        List<Produk> daftar = List.of(produkTest);
+        when(mockRepositoryProduk.tambahProdukBatch(daftar, satu)).thenReturn(satu);
+
+        cache.cariByKode("P01");
+        cache.updateStok("P01", 3);
+        cache.cariByKode("P01");
+        cache.adjustStok("P01", -1, 0);
+        cache.cariByKode("P01");
+        cache.adjustStok("P01", -99, 0);
+        cache.cariByKode("P01");
+        cache.updateStokBatch(kode, stok, satu);
+        cache.cariByKode("P01");
+        cache.tambahProdukBatch(daftar, satu);
+        cache.cariByKode("P01");
+        cache.adjustStokSemua(new String[]{"P01"}, new int[]{-1}, 0);
+        cache.cariByKode("P01");
+        cache.hapus("P01");
+        cache.cariByKode("P01");
+
+        verify(mockRepositoryProduk, times(7)).cariByKode("P01");
+    }
+
+    @Test
+    @DisplayName("Ukuran cache dibatasi dan entri yang sering diakses bertahan")
+    void testEviksiFrekuensi() {
+        RepositoryProdukMemori memori = new RepositoryProdukMemori();
+        for (int i = 0; i < 1000; i++) {
+            memori.simpan(new Produk("P" + i, "Produk " + i, "Umum", 1000, 10, 1));
+        }
+        RepositoryProdukCache cacheKecil = new RepositoryProdukCache(memori, 50);
+        for (int ulang = 0; ulang < 20; ulang++) {
+            for (int i = 0; i < 10; i++) {
+                cacheKecil.cariByKode("P" + i);
+            }
+            cacheKecil.cariByKode("P99");
+        }
+        // Pemindaian sekali lewat tidak boleh mengusir produk populer
+        for (int i = 100; i < 1000; i++) {
+            cacheKecil.cariByKode("P" + i);
+        }
+        long missSebelum = cacheKecil.statistik().getMiss();
+        for (int i = 0; i < 10; i++) {
+            cacheKecil.cariByKode("P" + i);
+        }
+        StatistikCache statistik = cacheKecil.statistik();
+        assertEquals(missSebelum, statistik.getMiss());
+        assertTrue(statistik.getUkuran() <= 50);
+        assertTrue(statistik.getEviksi() >= 850);
+        assertTrue(statistik.toString().contains("eviksi"));
+    }
+
+    @Test
+    @DisplayName("Query lain diteruskan ke repository asli")
+    void testQueryDiteruskan() {
+        cache.cariByNama("lap");
+        cache.cariByNama("lap", 3);
+        cache.cariByKategori("Elektronik");
+        cache.cariProdukStokMenipis();
+        cache.cariProdukStokHabis();
+        cache.cariPerubahanStatusStok(0);
+        cache.cariSemua();
+        cache.streamSemua();
+        cache.hitungTotal();
+        cache.hitungTotal("Elektronik");
+        verify(mockRepositoryProduk).cariByNama("lap");
+        verify(mockRepositoryProduk).cariByNama("lap", 3);
+        verify(mockRepositoryProduk).cariByKategori("Elektronik");
+        verify(mockRepositoryProduk).cariProdukStokMenipis();
+        verify(mockRepositoryProduk).cariProdukStokHabis();
+        verify(mockRepositoryProduk).cariPerubahanStatusStok(0);
+        verify(mockRepositoryProduk).cariSemua();
+        verify(mockRepositoryProduk).streamSemua();
+        verify(mockRepositoryProduk).hitungTotal();
+        verify(mockRepositoryProduk).hitungTotal("Elektronik");
+        assertEquals(100, cache.getKapasitas());
+        assertEquals(0.0, new StatistikCache(0, 0, 0, 0).getRasioHit());
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryProdukCache(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryProdukCache(mockRepositoryProduk, 0));
+    }
+}
@@ -0,0 +1,394 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.DaftarPerubahanStatusStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.StatusStok;
+import com.praktikum.whitebox.model.TotalInventaris;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Repository Produk Memori")
+public class RepositoryProdukMemoriTest {
+    private RepositoryProdukMemori repository;
+    @BeforeEach
+    void setUp() {
+        repository = new RepositoryProdukMemori();
+        repository.simpan(new Produk("P01", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+        repository.simpan(new Produk("P02", "Mouse Wireless", "Elektronik", 200000, 3, 5));
+        repository.simpan(new Produk("P03", "Kopi Bubuk", "Makanan", 25000, 0, 2));
+    }
+
+    @Test
+    @DisplayName("Simpan dan cari by kode mengembalikan salinan")
+    void testSimpanDanCariByKode() {
+        Optional<Produk> hasil = repository.cariByKode("P01");
+        assertTrue(hasil.isPresent());
+        assertEquals("Laptop Gaming", hasil.get().getNama());
+// Mengubah objek hasil tidak boleh mengubah isi repository
+        hasil.get().setStok(0);
+        assertEquals(10, repository.cariByKode("P01").get().getStok());
+        assertTrue(repository.cariProdukStokHabis().stream().noneMatch(p -> p.getKode().equals("P01")));
+    }
+
+    @Test
+    @DisplayName("Simpan gagal - produk atau kode null")
+    void testSimpanNull() {
+        assertFalse(repository.simpan(null));
+        assertFalse(repository.simpan(new Produk()));
+        assertTrue(repository.cariByKode(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Cari by kategori memakai indeks kategori")
+    void testCariByKategori() {
+        assertEquals(2, repository.cariByKategori("Elektronik").size());
+        assertEquals(1, repository.cariByKategori("Makanan").size());
+        assertTrue(repository.cariByKategori("Pakaian").isEmpty());
+        assertTrue(repository.cariByKategori(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Simpan ulang memindahkan produk ke kategori baru")
+    void testSimpanUlangPindahKategori() {
+        Produk produk = repository.cariByKode("P02").get();
+        produk.setKategori("Aksesoris");
+        produk.setStok(20);
+        repository.simpan(produk);
+
+        assertEquals(1, repository.cariByKategori("Elektronik").size());
+        assertEquals("P02", repository.cariByKategori("Aksesoris").get(0).getKode());
+        assertTrue(repository.cariProdukStokMenipis().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Update stok memindahkan produk antar status stok")
+    void testUpdateStokMemperbaruiIndeks() {
+        assertEquals("P02", repository.cariProdukStokMenipis().get(0).getKode());
+        assertEquals("P03", repository.cariProdukStokHabis().get(0).getKode());
+
+        assertTrue(repository.updateStok("P02", 0));
+        assertTrue(repository.updateStok("P03", 1));
+
+        assertEquals("P03", repository.cariProdukStokMenipis().get(0).getKode());
+        assertEquals("P02", repository.cariProdukStokHabis().get(0).getKode());
+        assertFalse(repository.updateStok("P99", 5));
+        assertFalse(repository.updateStok(null, 5));
+    }
+
+    @Test
+    @DisplayName("Adjust stok atomik menolak hasil di bawah minimum")
+    void testAdjustStok() {
+        long versiAwal = repository.cariByKode("P01").get().getVersi();
+        assertTrue(repository.adjustStok("P01", -6, 0));
+        assertEquals(4, repository.cariByKode("P01").get().getStok());
+        assertEquals(versiAwal + 1, repository.cariByKode("P01").get().getVersi());
+        assertEquals("P01", repository.cariProdukStokMenipis().stream()
+                .filter(p -> p.getKode().equals("P01")).findFirst().get().getKode());
+
+        assertFalse(repository.adjustStok("P01", -5, 0));
+        assertFalse(repository.adjustStok("P01", Integer.MAX_VALUE, 0));
+        assertTrue(repository.adjustStok("P03", 5, 0));
+        assertEquals(5, repository.cariByKode("P03").get().getStok());
+        assertFalse(repository.adjustStok("P99", 1, 0));
+        assertFalse(repository.adjustStok(null, 1, 0));
+    }
+
+    @Test
+    @DisplayName("Adjust stok gagal - produk tidak aktif")
+    void testAdjustStokProdukTidakAktif() {
+        Produk produk = repository.cariByKode("P01").get();
+        produk.setAktif(false);
+        repository.simpan(produk);
+        assertFalse(repository.adjustStok("P01", 1, 0));
+        assertEquals(10, repository.cariByKode("P01").get().getStok());
+    }
+
+    @Test
+    @DisplayName("Kursor perubahan status mencatat perpindahan ambang stok dan stok minimum")
+    void testKursorPerubahanStatusStok() {
+        DaftarPerubahanStatusStok awal = repository.cariPerubahanStatusStok(0);
+// P02 (menipis) dan P03 (habis) masuk daftar saat disimpan, P01 aman tidak dilaporkan
+        assertEquals(2, awal.getPerubahan().size());
+
+        repository.updateStok("P01", 9);
+        assertTrue(repository.cariPerubahanStatusStok(awal.getKursor()).getPerubahan().isEmpty());
+
+        Produk produk = repository.cariByKode("P01").get();
+        produk.setStokMinimum(9);
+        repository.simpan(produk);
+        repository.hapus("P03");
+        DaftarPerubahanStatusStok berikut = repository.cariPerubahanStatusStok(awal.getKursor());
+        assertEquals(2, berikut.getPerubahan().size());
+        assertEquals(StatusStok.AMAN, berikut.getPerubahan().get(0).getDari());
+        assertEquals(StatusStok.MENIPIS, berikut.getPerubahan().get(0).getKe());
+        assertEquals("P03", berikut.getPerubahan().get(1).getKode());
+        assertNull(berikut.getPerubahan().get(1).getKe());
+        assertEquals(2, repository.cariProdukStokMenipis().size());
+        assertTrue(repository.cariProdukStokHabis().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Batch hanya memproses baris terpilih dan melaporkan bitmap hasil")
+    void testOperasiBatch() {
+        List<Produk> daftar = Arrays.asList(
+                new Produk("P04", "Kabel", "Elektronik", 10000, 4, 1),
+                new Produk("P01", "Duplikat", "Elektronik", 10000, 4, 1),
+                new Produk("P05", "Tidak dipilih", "Elektronik", 10000, 4, 1),
+                null);
+        BitSet baris = new BitSet();
+        baris.set(0, 2);
+        baris.set(3);
+        BitSet hasil = repository.tambahProdukBatch(daftar, baris);
+        assertEquals(BitSet.valueOf(new long[]{0b1}), hasil);
+        assertEquals("Laptop Gaming", repository.cariByKode("P01").get().getNama());
+        assertTrue(repository.cariByKode("P05").isEmpty());
+
+        String[] kode = {"P01", "P99", "P04", "P02"};
+        int[] stok = {1, 5, 0, 7};
+        BitSet semua = new BitSet();
+        semua.set(0, 3);
+        assertEquals(BitSet.valueOf(new long[]{0b101}), repository.updateStokBatch(kode, stok, semua));
+        assertEquals(1, repository.cariByKode("P01").get().getStok());
+        assertEquals(3, repository.cariByKode("P02").get().getStok());
+        assertTrue(repository.cariProdukStokHabis().stream().anyMatch(p -> p.getKode().equals("P04")));
+    }
+
+    @Test
+    @DisplayName("Dua updateStokBatch yang berebut tidak saling menyisip per baris")
+    void testUpdateStokBatchUtuh() throws InterruptedException {
+        String[] kode = new String[200];
+        for (int i = 0; i < kode.length; i++) {
+            kode[i] = "B" + i;
+            repository.simpan(new Produk(kode[i], "Batch " + i, "Uji", 1000, 0, 0));
+        }
+        BitSet semua = new BitSet();
+        semua.set(0, kode.length);
+        int[] stokA = new int[kode.length];
+        int[] stokB = new int[kode.length];
+        Arrays.fill(stokA, 1);
+        Arrays.fill(stokB, 2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        for (int putaran = 0; putaran < 200; putaran++) {
+            CountDownLatch mulai = new CountDownLatch(1);
+            Future<BitSet> a = executor.submit(() -> {
+                mulai.await();
+                return repository.updateStokBatch(kode, stokA, semua);
+            });
+            Future<BitSet> b = executor.submit(() -> {
+                mulai.await();
+                return repository.updateStokBatch(kode, stokB, semua);
+            });
+            mulai.countDown();
+            assertEquals(semua, ambil(a));
+            assertEquals(semua, ambil(b));
+            // Salah satu batch menang untuk semua baris sekaligus
+            int stokPertama = repository.cariByKode(kode[0]).get().getStok();
+            for (String k : kode) {
+                assertEquals(stokPertama, repository.cariByKode(k).get().getStok());
+            }
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Hapus membersihkan semua indeks")
+    void testHapus() {
+        assertTrue(repository.hapus("P03"));
+        assertFalse(repository.hapus("P03"));
+        assertFalse(repository.hapus(null));
+        assertTrue(repository.cariByKode("P03").isEmpty());
+        assertTrue(repository.cariByKategori("Makanan").isEmpty());
+        assertTrue(repository.cariProdukStokHabis().isEmpty());
+        assertEquals(2, repository.cariSemua().size());
+        assertEquals(2, repository.streamSemua().count());
+    }
+
+    @Test
+    @DisplayName("Hapus jika stok nol menolak produk yang masih punya stok")
+    void testHapusJikaStokNol() {
+        // P01 masih punya stok, P03 stoknya 0
+        assertFalse(repository.hapusJikaStokNol("P01"));
+        assertTrue(repository.cariByKode("P01").isPresent());
+        assertTrue(repository.hapusJikaStokNol("P03"));
+        assertFalse(repository.hapusJikaStokNol("P03"));
+        assertFalse(repository.hapusJikaStokNol(null));
+        assertTrue(repository.cariProdukStokHabis().isEmpty());
+        assertEquals(2, repository.cariSemua().size());
+    }
+
+    @Test
+    @DisplayName("Hapus jika stok nol tidak menelan stok masuk yang berebut")
+    void testHapusJikaStokNolBerebutDenganStokMasuk() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        for (int putaran = 0; putaran < 500; putaran++) {
+            repository.simpan(new Produk("R01", "Rebutan", "Uji", 1000, 0, 0));
+            CountDownLatch mulai = new CountDownLatch(1);
+            Future<Boolean> hapus = executor.submit(() -> {
+                mulai.await();
+                return repository.hapusJikaStokNol("R01");
+            });
+            Future<Boolean> masuk = executor.submit(() -> {
+                mulai.await();
+                return repository.adjustStok("R01", 5, 0);
+            });
+            mulai.countDown();
+            boolean terhapus = ambil(hapus);
+            boolean masukDiterima = ambil(masuk);
+            // Tepat salah satu menang: stok masuk tidak boleh hilang bersama produknya
+            assertNotEquals(terhapus, masukDiterima);
+            assertEquals(!terhapus, repository.cariByKode("R01").isPresent());
+            repository.hapus("R01");
+        }
+        executor.shutdown();
+    }
+
+    private static <T> T ambil(Future<T> hasil) throws InterruptedException {
+        try {
+            return hasil.get();
+        } catch (ExecutionException e) {
+            throw new AssertionError(e.getCause());
+        }
+    }
+
+    @Test
+    @DisplayName("Cari by nama tidak peka huruf besar kecil")
+    void testCariByNama() {
+        List<Produk> hasil = repository.cariByNama("mouse");
+        assertEquals(1, hasil.size());
+        assertEquals("P02", hasil.get(0).getKode());
+        assertTrue(repository.cariByNama(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Cari by nama dengan batas mengikuti rename dan hapus")
+    void testCariByNamaDenganBatas() {
+        repository.simpan(new Produk("P04", "Tas Laptop", "Aksesoris", 150000, 7, 2));
+        List<Produk> hasil = repository.cariByNama("LAPTOP", 1);
+        assertEquals(1, hasil.size());
+        assertEquals("P01", hasil.get(0).getKode());
+
+        Produk produk = repository.cariByKode("P01").get();
+        produk.setNama("Notebook Gaming");
+        repository.simpan(produk);
+        assertEquals("P04", repository.cariByNama("laptop", 5).get(0).getKode());
+        repository.hapus("P04");
+        assertTrue(repository.cariByNama("laptop", 5).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Update stok paralel tetap menjaga indeks konsisten")
+    void testUpdateStokParalel() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch selesai = new CountDownLatch(8);
+        for (int t = 0; t < 8; t++) {
+            int seed = t;
+            executor.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    repository.updateStok("P0" + (1 + (i + seed) % 3), (i * 7 + seed) % 12);
+                }
+                selesai.countDown();
+            });
+        }
+        assertTrue(selesai.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        long menipis = repository.cariSemua().stream().filter(Produk::isStokMenipis).count();
+        long habis = repository.cariSemua().stream().filter(Produk::isStokHabis).count();
+        assertEquals(menipis, repository.cariProdukStokMenipis().size());
+        assertEquals(habis, repository.cariProdukStokHabis().size());
+        try (Stream<Produk> semua = repository.streamSemua()) {
+            assertTrue(repository.hitungTotal().cocokDengan(TotalInventaris.hitung(semua)));
+        }
+    }
+
+    @Test
+    @DisplayName("Total inventaris dipelihara saat stok, harga, status aktif dan hapus berubah")
+    void testTotalInventarisInkremental() {
+        assertEquals(new TotalInventaris(13, (15000000L * 10 + 200000L * 3) * 100), repository.hitungTotal());
+        assertEquals(0, repository.hitungTotal("Makanan").getTotalStok());
+
+        repository.updateStok("P03", 4);
+        assertTrue(repository.adjustStok("P01", -2, 0));
+        Produk mouse = repository.cariByKode("P02").get();
+        mouse.setHarga(100000);
+        repository.simpan(mouse);
+        Produk laptop = repository.cariByKode("P01").get();
+        laptop.setAktif(false);
+        repository.simpan(laptop);
+
+        assertEquals(new TotalInventaris(7, (100000L * 3 + 25000L * 4) * 100), repository.hitungTotal());
+        assertEquals(new TotalInventaris(3, 300000L * 100), repository.hitungTotal("Elektronik"));
+        repository.hapus("P03");
+        assertEquals(TotalInventaris.KOSONG, repository.hitungTotal("Makanan"));
+        assertEquals(TotalInventaris.KOSONG, repository.hitungTotal(null));
+        assertEquals(TotalInventaris.KOSONG, repository.hitungTotal("Pakaian"));
+    }
+
+    @Test
+    @DisplayName("Adjust stok banyak kode diterapkan semua atau tidak sama sekali")
+    void testAdjustStokSemua() {
+        assertTrue(repository.adjustStokSemua(new String[]{"P01", "P02", "P01"}, new int[]{-3, -1, -2}, 0));
+        assertEquals(5, repository.cariByKode("P01").get().getStok());
+        assertEquals(2, repository.cariByKode("P02").get().getStok());
+
+        // Baris kedua kurang stok: baris pertama tidak boleh ikut berkurang
+        assertFalse(repository.adjustStokSemua(new String[]{"P01", "P02"}, new int[]{-1, -3}, 0));
+        assertFalse(repository.adjustStokSemua(new String[]{"P01", "P99"}, new int[]{-1, -1}, 0));
+        assertFalse(repository.adjustStokSemua(new String[]{"P01", null}, new int[]{-1, -1}, 0));
+        assertEquals(5, repository.cariByKode("P01").get().getStok());
+        assertEquals(2, repository.cariByKode("P02").get().getStok());
+        assertThrows(IllegalArgumentException.class,
+                () -> repository.adjustStokSemua(new String[]{"P01"}, new int[0], 0));
+    }
+
+    @Test
+    @DisplayName("Pesanan paralel dengan urutan kode terbalik tidak deadlock")
+    void testAdjustStokSemuaParalel() throws InterruptedException {
+        repository.updateStok("P01", 4000);
+        repository.updateStok("P02", 4000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch selesai = new CountDownLatch(8);
+        for (int t = 0; t < 8; t++) {
+            String[] kode = t % 2 == 0 ? new String[]{"P01", "P02"} : new String[]{"P02", "P01"};
+            executor.submit(() -> {
+                for (int i = 0; i < 300; i++) {
+                    repository.adjustStokSemua(kode, new int[]{-1, -1}, 0);
+                }
+                selesai.countDown();
+            });
+        }
+        assertTrue(selesai.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertEquals(1600, repository.cariByKode("P01").get().getStok());
+        assertEquals(1600, repository.cariByKode("P02").get().getStok());
+    }
+
+    @Test
+    @DisplayName("Nama kategori di-intern sehingga produk berbagi satu instance")
+    void testKategoriDiIntern() {
+        // Arrange
+        repository.simpan(new Produk("K01", "Kabel", new String("Aksesoris"), 5000, 10, 1));
+        repository.simpan(new Produk("K02", "Adaptor", new String("Aksesoris"), 9000, 10, 1));
+        // Act
+        String kategori1 = repository.cariByKode("K01").get().getKategori();
+        String kategori2 = repository.cariByKode("K02").get().getKategori();
+        // Assert
+        assertSame(kategori1, kategori2);
+        assertEquals(2, repository.cariByKategori("Aksesoris").size());
+        assertEquals(20, repository.hitungTotal("Aksesoris").getTotalStok());
+        assertTrue(repository.cariByKategori("Tidak Ada").isEmpty());
+        assertEquals(TotalInventaris.KOSONG, repository.hitungTotal("Tidak Ada"));
+    }
+}
@@ -0,0 +1,239 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.DaftarPerubahanStatusStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.StatusStok;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Repository Produk Partisi - Scatter Gather")
+public class RepositoryProdukPartisiTest {
+    private RepositoryProdukPartisi repository;
+    @BeforeEach
+    void setUp() {
+        repository = new RepositoryProdukPartisi(4);
+        repository.simpan(new Produk("P01", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+        repository.simpan(new Produk("P02", "Mouse Wireless", "Elektronik", 200000, 3, 5));
+        repository.simpan(new Produk("P03", "Kopi Bubuk", "Makanan", 25000, 0, 2));
+        repository.simpan(new Produk("P04", "Tas Laptop", "Aksesoris", 300000, 7, 2));
+        repository.simpan(new Produk("P05", "Pelaptop", "Aksesoris", 1000, 7, 2));
+    }
+
+    @Test
+    @DisplayName("Operasi per kode diarahkan ke satu shard yang sama")
+    void testOperasiPerKode() {
+        assertEquals(4, repository.getJumlahShard());
+        assertEquals(10, repository.cariByKode("P01").get().getStok());
+        assertTrue(repository.updateStok("P01", 4));
+        assertTrue(repository.adjustStok("P01", -4, 0));
+        assertFalse(repository.adjustStok("P01", -1, 0));
+        assertEquals(0, repository.cariByKode("P01").get().getStok());
+        assertTrue(repository.hapus("P01"));
+        assertTrue(repository.cariByKode("P01").isEmpty());
+        assertFalse(repository.simpan(null));
+        assertTrue(repository.cariByKode(null).isEmpty());
+        assertFalse(repository.hapus(null));
+        assertFalse(repository.updateStok(null, 1));
+        assertFalse(repository.adjustStok(null, 1, 0));
+    }
+
+    @Test
+    @DisplayName("Produk tersebar ke lebih dari satu shard")
+    void testDistribusiShard() {
+        Set<Integer> shardTerpakai = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            shardTerpakai.add(repository.indeksShard("K" + i));
+        }
+        assertEquals(4, shardTerpakai.size());
+    }
+
+    @Test
+    @DisplayName("Query lintas produk menggabungkan hasil semua shard")
+    void testScatterGather() {
+        assertEquals(5, repository.cariSemua().size());
+        assertEquals(2, repository.cariByKategori("Elektronik").size());
+        assertEquals("P02", repository.cariProdukStokMenipis().get(0).getKode());
+        assertEquals("P03", repository.cariProdukStokHabis().get(0).getKode());
+        try (Stream<Produk> stream = repository.streamSemua()) {
+            assertEquals(5, stream.count());
+        }
+        assertEquals(27, repository.hitungTotal().getTotalStok());
+        assertEquals(13, repository.hitungTotal("Elektronik").getTotalStok());
+    }
+
+    @Test
+    @DisplayName("Hasil cari nama dari beberapa shard tetap terurut relevansi")
+    void testCariByNamaTerurut() {
+        List<String> hasil = repository.cariByNama("laptop").stream().map(Produk::getKode).collect(Collectors.toList());
+        assertEquals(List.of("P01", "P04", "P05"), hasil);
+        List<String> dibatasi = repository.cariByNama("LAPTOP", 2).stream().map(Produk::getKode).collect(Collectors.toList());
+        assertEquals(List.of("P01", "P04"), dibatasi);
+        assertTrue(repository.cariByNama(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Batch dipecah per shard dan bitmap hasil digabung")
+    void testBatch() {
+        List<Produk> daftar = List.of(
+                new Produk("P01", "Laptop Gaming", "Elektronik", 15000000, 10, 5),
+                new Produk("P10", "Monitor", "Elektronik", 2000000, 5, 1),
+                new Produk("P11", "Keyboard", "Elektronik", 500000, 5, 1));
+        BitSet semua = new BitSet();
+        semua.set(0, 3);
+        BitSet hasil = repository.tambahProdukBatch(daftar, semua);
+        assertEquals(BitSet.valueOf(new long[]{0b110}), hasil);
+
+        BitSet update = repository.updateStokBatch(new String[]{"P10", "P99", "P11"}, new int[]{0, 1, 0}, semua);
+        assertEquals(BitSet.valueOf(new long[]{0b101}), update);
+        assertEquals(3, repository.cariProdukStokHabis().size());
+        assertTrue(repository.updateStokBatch(new String[]{null}, new int[]{1}, semua).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Shard berbagi satu log perubahan status stok")
+    void testPerubahanStatusStok() {
+        DaftarPerubahanStatusStok awal = repository.cariPerubahanStatusStok(0);
+        assertEquals(2, awal.getPerubahan().size());
+        repository.updateStok("P04", 0);
+        repository.updateStok("P01", 1);
+        DaftarPerubahanStatusStok berikut = repository.cariPerubahanStatusStok(awal.getKursor());
+        assertEquals(2, berikut.getPerubahan().size());
+    }
+
+    @Test
+    @DisplayName("Perubahan status stok di shard selain shard pertama ikut terbaca")
+    void testPerubahanStatusStokShardLain() {
+        String kode = kodeDiShard(2);
+        long kursor = repository.cariPerubahanStatusStok(0).getKursor();
+        repository.simpan(new Produk(kode, "Lain", "Umum", 1000, 0, 5));
+        assertTrue(repository.updateStok(kode, 3));
+        DaftarPerubahanStatusStok hasil = repository.cariPerubahanStatusStok(kursor);
+        assertEquals(2, hasil.getPerubahan().size());
+        assertEquals(kode, hasil.getPerubahan().get(1).getKode());
+        assertEquals(StatusStok.MENIPIS, hasil.getPerubahan().get(1).getKe());
+        assertFalse(hasil.isTerpotong());
+        assertTrue(repository.cariPerubahanStatusStok(hasil.getKursor()).getPerubahan().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Shard yang berbagi log tidak menggandakan perubahan dan log terpotong dilaporkan")
+    void testPerubahanStatusStokLogBersama() {
+        LogPerubahanStatusStok log = new LogPerubahanStatusStok(4);
+        RepositoryProdukPartisi partisi = new RepositoryProdukPartisi(
+                List.of(new RepositoryProdukMemori(log), new RepositoryProdukMemori(log)), Runnable::run);
+        partisi.simpan(new Produk("P01", "Laptop", "Elektronik", 1000, 0, 1));
+        partisi.simpan(new Produk("P02", "Mouse", "Elektronik", 1000, 0, 1));
+        DaftarPerubahanStatusStok awal = partisi.cariPerubahanStatusStok(0);
+        assertEquals(2, awal.getPerubahan().size());
+        assertFalse(awal.isTerpotong());
+
+        // Lebih dari kapasitas log shard sebelum polling berikutnya
+        for (int i = 0; i < 3; i++) {
+            partisi.updateStok("P01", 5);
+            partisi.updateStok("P01", 0);
+        }
+        DaftarPerubahanStatusStok berikut = partisi.cariPerubahanStatusStok(awal.getKursor());
+        assertTrue(berikut.isTerpotong());
+        assertEquals(4, berikut.getPerubahan().size());
+        assertFalse(partisi.cariPerubahanStatusStok(berikut.getKursor()).isTerpotong());
+    }
+
+    @Test
+    @DisplayName("Konfigurasi shard tidak valid ditolak")
+    void testKonfigurasiTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryProdukPartisi(0));
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryProdukPartisi(List.of(), ForkJoinPool.commonPool()));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RepositoryProdukPartisi(List.of(new RepositoryProdukMemori()), null));
+        RepositoryProdukPartisi tunggal = new RepositoryProdukPartisi(List.of(new RepositoryProdukMemori()), Runnable::run);
+        tunggal.simpan(new Produk("P01", "Laptop", "Elektronik", 1000, 1, 1));
+        assertEquals(1, tunggal.cariByNama("lap", 5).size());
+    }
+
+    @Test
+    @DisplayName("Adjust stok lintas shard ditolak utuh jika satu shard menolak")
+    void testAdjustStokSemuaLintasShard() {
+        String kodeAwal = kodeDiShard(0);
+        String kodeAkhir = kodeDiShard(3);
+        repository.simpan(new Produk(kodeAwal, "Awal", "Umum", 1000, 10, 1));
+        repository.simpan(new Produk(kodeAkhir, "Akhir", "Umum", 1000, 1, 1));
+
+        assertFalse(repository.adjustStokSemua(new String[]{kodeAkhir, kodeAwal}, new int[]{-2, -5}, 0));
+        assertEquals(10, repository.cariByKode(kodeAwal).get().getStok());
+        assertEquals(1, repository.cariByKode(kodeAkhir).get().getStok());
+
+        assertTrue(repository.adjustStokSemua(new String[]{kodeAkhir, kodeAwal}, new int[]{-1, -5}, 0));
+        assertEquals(5, repository.cariByKode(kodeAwal).get().getStok());
+        assertEquals(0, repository.cariByKode(kodeAkhir).get().getStok());
+        assertFalse(repository.adjustStokSemua(new String[]{null}, new int[]{-1}, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> repository.adjustStokSemua(new String[]{"P01"}, new int[0], 0));
+    }
+
+    @Test
+    @DisplayName("Checkout lintas shard tidak menyisakan pengurangan saat produk dihapus bersamaan")
+    void testAdjustStokSemuaBerebutDenganHapus() throws Exception {
+        String kodeAwal = kodeDiShard(0);
+        String kodeAkhir = kodeDiShard(3);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int putaran = 0; putaran < 200; putaran++) {
+                repository.simpan(new Produk(kodeAwal, "Awal", "Umum", 1000, 100, 0));
+                repository.simpan(new Produk(kodeAkhir, "Akhir", "Umum", 1000, 100, 0));
+                // Putaran ganjil juga menghapus produk di shard pertama yang sudah dikurangi
+                boolean hapusKeduanya = putaran % 2 == 1;
+                CountDownLatch mulai = new CountDownLatch(1);
+                Future<Integer> checkout = executor.submit(() -> {
+                    mulai.await();
+                    int berhasil = 0;
+                    for (int i = 0; i < 100; i++) {
+                        if (repository.adjustStokSemua(new String[]{kodeAwal, kodeAkhir}, new int[]{-1, -1}, 0)) {
+                            berhasil++;
+                        }
+                    }
+                    return berhasil;
+                });
+                Future<?> penghapus = executor.submit(() -> {
+                    mulai.await();
+                    repository.hapus(kodeAkhir);
+                    if (hapusKeduanya) {
+                        repository.hapus(kodeAwal);
+                    }
+                    return null;
+                });
+                mulai.countDown();
+                int berhasil = checkout.get();
+                penghapus.get();
+                if (hapusKeduanya) {
+                    assertTrue(repository.cariByKode(kodeAwal).isEmpty());
+                } else {
+                    assertEquals(100 - berhasil, repository.cariByKode(kodeAwal).get().getStok());
+                }
+                repository.hapus(kodeAwal);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private String kodeDiShard(int indeks) {
+        for (int i = 0; ; i++) {
+            String kode = "K" + i;
+            if (repository.indeksShard(kode) == indeks) {
+                return kode;
+            }
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Produk;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Repository Produk Persisten - WAL dan Snapshot")
+public class RepositoryProdukPersistenTest {
+    @TempDir
+    Path direktori;
+
+    private List<Path> daftarFile(String awalan) throws IOException {
+        try (Stream<Path> isi = Files.list(direktori)) {
+            return isi.filter(p -> p.getFileName().toString().startsWith(awalan)).sorted().collect(Collectors.toList());
+        }
+    }
+
+    @ParameterizedTest
+    @DisplayName("Data kembali utuh setelah restart untuk setiap kebijakan fsync")
+    @EnumSource(KebijakanFsync.class)
+    void testPulihSetelahRestart(KebijakanFsync kebijakan) {
+        try (RepositoryProdukPersisten repository = new RepositoryProdukPersisten(direktori, kebijakan, 5, 1000)) {
+            assertTrue(repository.simpan(new Produk("P01", "Laptop", "Elektronik", 15000000, 10, 5)));
+            assertTrue(repository.simpan(new Produk("P02", "Mouse", "Elektronik", 200000, 3, 5)));
+            assertTrue(repository.simpan(new Produk("P03", "Kopi", "Makanan", 25000, 0, 2)));
+            assertTrue(repository.updateStok("P02", 8));
+            assertTrue(repository.adjustStok("P01", -4, 0));
+            assertTrue(repository.hapus("P03"));
+            assertFalse(repository.hapus("P03"));
+            assertFalse(repository.updateStok("P99", 1));
+            assertFalse(repository.adjustStok("P01", -100, 0));
+            assertFalse(repository.simpan(null));
+        }
+        try (RepositoryProdukPersisten repository = new RepositoryProdukPersisten(direktori, kebijakan, 5, 1000)) {
+            assertEquals(2, repository.cariSemua().size());
+            assertEquals(6, repository.cariByKode("P01").get().getStok());
+            assertEquals(8, repository.cariByKode("P02").get().getStok());
+            assertTrue(repository.cariByKode("P03").isEmpty());
+            assertEquals(2, repository.cariByKategori("Elektronik").size());
+            assertEquals(14, repository.hitungTotal().getTotalStok());
+            assertEquals(14, repository.hitungTotal("Elektronik").getTotalStok());
+            assertEquals(1, repository.cariByNama("laptop").size());
+            assertTrue(repository.cariProdukStokMenipis().isEmpty());
+            assertTrue(repository.cariProdukStokHabis().isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Snapshot otomatis memadatkan log dan pemulihan hanya memutar ekor log")
+    void testSnapshotDanEkorLog() throws IOException {
+        try (RepositoryProdukPersisten repository =
+                     new RepositoryProdukPersisten(direktori, KebijakanFsync.TIDAK_PERNAH, 0, 10)) {
+            repository.simpan(new Produk("P01", "Laptop", "Elektronik", 15000000, 0, 5));
+            for (int i = 0; i < 25; i++) {
+                repository.adjustStok("P01", 1, 0);
+            }
+        }
+        // 26 rekaman dengan interval 10: snapshot dibuat di latar belakang, paling banyak
+        // snapshot terbaru dan satu cadangan yang tersisa
+        int jumlahSnapshot = daftarFile("snapshot-").size();
+        assertTrue(jumlahSnapshot >= 1 && jumlahSnapshot <= 2, "snapshot: " + jumlahSnapshot);
+        assertTrue(daftarFile("wal-").size() <= 3);
+        try (RepositoryProdukPersisten repository = new RepositoryProdukPersisten(direktori)) {
+            assertEquals(25, repository.cariByKode("P01").get().getStok());
+            assertTrue(repository.updateStok("P01", 3));
+        }
+        try (RepositoryProdukPersisten repository = new RepositoryProdukPersisten(direktori)) {
+            assertEquals(3, repository.cariByKode("P01").get().getStok());
+            assertEquals("P01", repository.cariProdukStokMenipis().get(0).getKode());
+        }
+    }
+
+    @Test
+    @DisplayName("Ekor log yang rusak dipotong saat pemulihan")
+    void testEkorLogRusakDipotong() throws IOException {
+        try (RepositoryProdukPersisten repository = new RepositoryProdukPersisten(direktori)) {
+            repository.simpan(new Produk("P01", "Laptop", "Elektronik", 15000000, 10, 5));
+            repository.updateStok("P01", 7);
+        }
+        Path wal = daftarFile("wal-").get(0);
+        long ukuranUtuh = Files.size(wal);
+        // Simulasi crash di tengah penulisan rekaman berikutnya
+        try (FileChannel ch = FileChannel.open(wal, StandardOpenOption.APPEND)) {
+            ch.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 40, 1, 2, 3}));
+        }
+        try (RepositoryProdukPersisten repository = new RepositoryProdukPersisten(direktori)) {
+            assertEquals(7, repository.cariByKode("P01").get().getStok());
+            assertEquals(ukuranUtuh, Files.size(wal));
+            repository.updateStok("P01", 9);
+        }
+        try (RepositoryProdukPersisten repository = new RepositoryProdukPersisten(direktori)) {
+            assertEquals(9, repository.cariByKode("P01").get().getStok());
+        }
+    }
+
+    @Test
+    @DisplayName("Segmen tengah terpotong: segmen sesudahnya dikarantina dan tidak menimpa tulisan baru")
+    void testSegmenTengahRusak() throws IOException {
+        try (RepositoryProdukPersisten repository = new RepositoryProdukPersisten(direktori)) {
+            repository.simpan(new Produk("P01", "Laptop", "Elektronik", 15000000, 1, 0));
+            repository.updateStok("P01", 2);
+            repository.buatSnapshot();
+            repository.updateStok("P01", 3);
+            repository.updateStok("P01", 4);
+            repository.buatSnapshot();
+            repository.updateStok("P01", 5);
+        }
+        // Tersisa snapshot LSN 2, segmen wal-3 (LSN 3-4) dan wal-5 (LSN 5)
+        Files.delete(direktori.resolve("snapshot-00000000000000000004.dat"));
+        Path tengah = direktori.resolve("wal-00000000000000000003.log");
+        byte[] isi = Files.readAllBytes(tengah);
+        isi[isi.length - 1] ^= 0x7F;
+        Files.write(tengah, isi);
+
+        try (RepositoryProdukPersisten repository = new RepositoryProdukPersisten(direktori)) {
+            assertEquals(3, repository.cariByKode("P01").get().getStok());
+            assertTrue(Files.exists(direktori.resolve("wal-00000000000000000005.log.rusak")));
+            repository.updateStok("P01", 7);
+        }
+        for (int i = 0; i < 2; i++) {
+            try (RepositoryProdukPersisten repository = new RepositoryProdukPersisten(direktori)) {
+                assertEquals(7, repository.cariByKode("P01").get().getStok());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Batch dicatat sebagai satu rekaman dan diputar ulang utuh")
+    void testBatchDiputarUlang() {
+        try (RepositoryProdukPersisten repository = new RepositoryProdukPersisten(direktori)) {
+            List<Produk> daftar = List.of(
+                    new Produk("P01", "Laptop", "Elektronik", 15000000, 10, 5),
+                    new Produk("P02", "Mouse", "Elektronik", 200000, 3, 5));
+            BitSet semua = new BitSet();
+            semua.set(0, 2);
+            assertEquals(2, repository.tambahProdukBatch(daftar, semua).cardinality());
+            assertTrue(repository.tambahProdukBatch(daftar, semua).isEmpty());
+            assertEquals(1, repository.updateStokBatch(new String[]{"P02", "P99"}, new int[]{0, 1}, semua).cardinality());
+            assertTrue(repository.updateStokBatch(new String[]{"P99"}, new int[]{1}, semua).isEmpty());
+            assertTrue(repository.adjustStokSemua(new String[]{"P01", "P01"}, new int[]{-2, -1}, 0));
+            assertFalse(repository.adjustStokSemua(new String[]{"P01", "P02"}, new int[]{-1, -1}, 0));
+        }
+        try (RepositoryProdukPersisten repository = new RepositoryProdukPersisten(direktori)) {
+            assertEquals(2, repository.cariSemua().size());
+            assertEquals(0, repository.cariByKode("P02").get().getStok());
+            assertEquals(7, repository.cariByKode("P01").get().getStok());
+            assertEquals("P02", repository.cariProdukStokHabis().get(0).getKode());
+        }
+    }
+
+    @Test
+    @DisplayName("Snapshot dan segmen log dengan versi format tak dikenal tidak dimuat")
+    void testVersiFormatTakDikenal() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        buffer.putInt(FormatRekaman.MAGIC_SNAPSHOT).putInt(FormatRekaman.VERSI_FORMAT + 1).putLong(3);
+        buffer.put(FormatRekaman.PENANDA_PRODUK);
+        FormatRekaman.tulisProduk(buffer, new Produk("P01", "Laptop", "Elektronik", 19.99, 4, 5));
+        buffer.put(FormatRekaman.PENANDA_AKHIR);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putLong(crc.getValue());
+        Files.write(direktori.resolve("snapshot-00000000000000000003.dat"),
+                Arrays.copyOf(buffer.array(), buffer.position()));
+        ByteBuffer file = ByteBuffer.allocate(16);
+        file.putInt(FormatRekaman.MAGIC_WAL).putInt(FormatRekaman.VERSI_FORMAT + 1);
+        Files.write(direktori.resolve("wal-00000000000000000001.log"), Arrays.copyOf(file.array(), file.position()));
+
+        try (RepositoryProdukPersisten repository = new RepositoryProdukPersisten(direktori)) {
+            assertTrue(repository.cariByKode("P01").isEmpty());
+            assertEquals(0, repository.streamSemua().count());
+        }
+    }
+
+    @Test
+    @DisplayName("Snapshot rusak diabaikan dan log tetap diputar")
+    void testSnapshotRusakDiabaikan() throws IOException {
+        try (RepositoryProdukPersisten repository = new RepositoryProdukPersisten(direktori)) {
+            repository.simpan(new Produk("P01", "Laptop", "Elektronik", 15000000, 10, 5));
+        }
+        Files.write(direktori.resolve("snapshot-00000000000000000099.dat"), new byte[]{1, 2, 3});
+        try (RepositoryProdukPersisten repository = new RepositoryProdukPersisten(direktori)) {
+            assertEquals(10, repository.cariByKode("P01").get().getStok());
+        }
+    }
+
+    @Test
+    @DisplayName("Snapshot terbaru rusak: pemulihan mundur ke snapshot cadangan dan lognya masih ada")
+    void testSnapshotCadanganDanLognya() throws IOException {
+        try (RepositoryProdukPersisten repository = new RepositoryProdukPersisten(direktori)) {
+            repository.simpan(new Produk("P01", "Laptop", "Elektronik", 15000000, 1, 5));
+            repository.buatSnapshot();
+            repository.updateStok("P01", 2);
+            repository.buatSnapshot();
+            repository.updateStok("P01", 3);
+            repository.buatSnapshot();
+            repository.updateStok("P01", 4);
+        }
+        // Snapshot pertama dan segmen yang hanya dibutuhkannya sudah dihapus
+        List<Path> snapshot = daftarFile("snapshot-");
+        assertEquals(2, snapshot.size());
+        assertEquals(2, daftarFile("wal-").size());
+
+        // Rusak setelah diverifikasi, misalnya karena media penyimpanan
+        Path terbaru = snapshot.get(1);
+        byte[] isi = Files.readAllBytes(terbaru);
+        isi[isi.length / 2] ^= 0x5A;
+        Files.write(terbaru, isi);
+        try (RepositoryProdukPersisten repository = new RepositoryProdukPersisten(direktori)) {
+            assertEquals(4, repository.cariByKode("P01").get().getStok());
+        }
+    }
+
+    @Test
+    @DisplayName("Fsync berkala tetap berjalan saat tidak ada commit berikutnya")
+    void testFsyncBerkalaSaatDiam() throws InterruptedException {
+        try (RepositoryProdukPersisten repository =
+                     new RepositoryProdukPersisten(direktori, KebijakanFsync.BERKALA, 50, 1000)) {
+            repository.simpan(new Produk("P01", "Laptop", "Elektronik", 15000000, 0, 5));
+            for (int putaran = 1; putaran <= 2; putaran++) {
+                // Lonjakan tulis lalu diam: tidak ada commit lagi yang memicu fsync
+                for (int i = 0; i < 10; i++) {
+                    repository.adjustStok("P01", 1, 0);
+                }
+                long lsn = 1 + 10L * putaran;
+                long batasWaktu = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (repository.getLsnTersinkron() < lsn && System.nanoTime() < batasWaktu) {
+                    Thread.sleep(5);
+                }
+                assertEquals(lsn, repository.getLsnTersinkron());
+            }
+            assertTrue(repository.getGalatFsync().isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Snapshot otomatis dibuat di thread latar belakang")
+    void testSnapshotLatarBelakang() throws IOException, InterruptedException {
+        try (RepositoryProdukPersisten repository =
+                     new RepositoryProdukPersisten(direktori, KebijakanFsync.TIDAK_PERNAH, 0, 5)) {
+            repository.simpan(new Produk("P01", "Laptop", "Elektronik", 15000000, 0, 5));
+            for (int i = 0; i < 5; i++) {
+                repository.adjustStok("P01", 1, 0);
+            }
+            long batasWaktu = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (daftarFile("snapshot-").isEmpty() && System.nanoTime() < batasWaktu) {
+                Thread.sleep(5);
+            }
+            assertEquals(1, daftarFile("snapshot-").size());
+            assertTrue(repository.getGalatSnapshot().isEmpty());
+        }
+        try (RepositoryProdukPersisten repository = new RepositoryProdukPersisten(direktori)) {
+            assertEquals(5, repository.cariByKode("P01").get().getStok());
+        }
+    }
+
+    @Test
+    @DisplayName("Group commit dari banyak thread tidak kehilangan rekaman")
+    void testGroupCommitParalel() throws InterruptedException {
+        try (RepositoryProdukPersisten repository = new RepositoryProdukPersisten(direktori)) {
+            repository.simpan(new Produk("P01", "Laptop", "Elektronik", 15000000, 0, 5));
+            Thread[] threads = new Thread[4];
+            for (int t = 0; t < threads.length; t++) {
+                threads[t] = new Thread(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        repository.adjustStok("P01", 1, 0);
+                    }
+                });
+                threads[t].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            repository.buatSnapshot();
+            repository.adjustStok("P01", 1, 0);
+        }
+        try (RepositoryProdukPersisten repository = new RepositoryProdukPersisten(direktori)) {
+            assertEquals(201, repository.cariByKode("P01").get().getStok());
+        }
+    }
+
+    @Test
+    @DisplayName("Konfigurasi tidak valid dan repository tertutup ditolak")
+    void testKonfigurasiDanTutup() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new RepositoryProdukPersisten(direktori, null, 0, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RepositoryProdukPersisten(direktori, KebijakanFsync.BERKALA, -1, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RepositoryProdukPersisten(direktori, KebijakanFsync.BERKALA, 0, 0));
+        RepositoryProdukPersisten repository = new RepositoryProdukPersisten(direktori);
+        repository.close();
+        repository.close();
+        assertThrows(IllegalStateException.class,
+                () -> repository.simpan(new Produk("P01", "Laptop", "Elektronik", 1000, 1, 1)));
+    }
+}
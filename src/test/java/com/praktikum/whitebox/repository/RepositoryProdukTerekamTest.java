@@ -0,0 +1,90 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.jfr.PeristiwaJfrRepository;
+import com.praktikum.whitebox.jfr.RingkasanRekaman;
+import com.praktikum.whitebox.model.Produk;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Repository Produk Terekam - Peristiwa JFR per Panggilan")
+public class RepositoryProdukTerekamTest {
+    @TempDir
+    Path direktori;
+    private RepositoryProdukMemori repositoryAsli;
+    private RepositoryProdukTerekam repository;
+
+    @BeforeEach
+    void setUp() {
+        repositoryAsli = new RepositoryProdukMemori();
+        repository = new RepositoryProdukTerekam(repositoryAsli);
+    }
+
+    @Test
+    @DisplayName("Setiap panggilan diteruskan dan dicatat sebagai peristiwa")
+    void testSemuaPanggilanTercatat() throws IOException {
+        // Arrange
+        Path file = direktori.resolve("repository.jfr");
+        try (Recording rekaman = new Recording()) {
+            rekaman.enable(PeristiwaJfrRepository.class).withThreshold(Duration.ZERO);
+            rekaman.start();
+            // Act
+            assertTrue(repository.simpan(new Produk("P01", "Laptop", "Elektronik", 15000000, 10, 5)));
+            assertFalse(repository.simpan(null));
+            assertTrue(repository.cariByKode("P01").isPresent());
+            assertFalse(repository.cariByKode("P99").isPresent());
+            assertEquals(1, repository.cariByNama("lap").size());
+            assertEquals(1, repository.cariByNama("lap", 5).size());
+            assertEquals(1, repository.cariByKategori("Elektronik").size());
+            assertTrue(repository.cariProdukStokMenipis().isEmpty());
+            assertTrue(repository.cariProdukStokHabis().isEmpty());
+            assertTrue(repository.adjustStok("P01", -6, 0));
+            assertFalse(repository.adjustStok("P01", -100, 0));
+            assertTrue(repository.adjustStokSemua(new String[]{"P01"}, new int[]{1}, 0));
+            assertNotNull(repository.cariPerubahanStatusStok(0));
+            assertTrue(repository.updateStok("P01", 7));
+            BitSet semua = new BitSet();
+            semua.set(0);
+            assertEquals(1, repository.tambahProdukBatch(
+                    List.of(new Produk("P02", "Mouse", "Aksesoris", 200000, 3, 1)), semua).cardinality());
+            assertEquals(1, repository.updateStokBatch(new String[]{"P02"}, new int[]{0}, semua).cardinality());
+            assertEquals(2, repository.cariSemua().size());
+            try (Stream<Produk> stream = repository.streamSemua()) {
+                assertEquals(2, stream.count());
+            }
+            assertEquals(7, repository.hitungTotal().getTotalStok());
+            assertEquals(0, repository.hitungTotal("Aksesoris").getTotalStok());
+            assertTrue(repository.hapus("P02"));
+            rekaman.stop();
+            rekaman.dump(file);
+        }
+        RingkasanRekaman ringkasan = RingkasanRekaman.baca(file);
+        // Assert
+        assertEquals(Map.of("BERHASIL", 1L, "TIDAK_DITEMUKAN", 1L),
+                ringkasan.getStatistik("repository", "cariByKode").getJumlahPerHasil());
+        assertEquals(Map.of("BERHASIL", 1L, "GAGAL", 1L),
+                ringkasan.getStatistik("repository", "adjustStok").getJumlahPerHasil());
+        assertEquals(-106, ringkasan.getStatistik("repository", "adjustStok").getTotalJumlah());
+        assertEquals(2, ringkasan.getStatistik("repository", "cariByNama").getJumlahPeristiwa());
+        assertEquals(2, ringkasan.getStatistik("repository", "hitungTotal").getJumlahPeristiwa());
+        assertEquals(2, ringkasan.getStatistik("repository", "cariSemua").getTotalJumlah());
+        assertEquals(1, ringkasan.getStatistik("repository", "tambahProdukBatch").getTotalJumlah());
+        assertEquals(15, ringkasan.getStatistik().size());
+        assertEquals(1, repositoryAsli.cariSemua().size());
+    }
+
+    @Test
+    @DisplayName("Repository asli wajib diisi")
+    void testRepositoryAsliNull() {
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryProdukTerekam(null));
+    }
+}
@@ -0,0 +1,79 @@
+package com.praktikum.whitebox.service;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import java.util.Properties;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Aturan Diskon - Tabel Terkompilasi")
+public class AturanDiskonTest {
+
+    @ParameterizedTest
+    @DisplayName("Aturan bawaan sama dengan tingkat diskon lama")
+    @CsvSource({
+            "1, BARU, 200",
+            "4, REGULER, 500",
+            "5, REGULER, 1000",
+            "9, -, 500",
+            "10, premium, 2000",
+            "49, Baru, 1200",
+            "50, PREMIUM, 2500",
+            "100, PREMIUM, 3000",
+            "1000, REGULER, 2500",
+            "0, LAINNYA, 0"
+    })
+    void testAturanBawaan(int kuantitas, String tipe, int expectedBp) {
+        AturanDiskon aturan = AturanDiskon.bawaan();
+        assertEquals(expectedBp, aturan.hitungBasisPoin(kuantitas, aturan.handleTipe(tipe)));
+    }
+
+    @Test
+    @DisplayName("Handle tipe pelanggan diselesaikan sekali")
+    void testHandleTipe() {
+        AturanDiskon aturan = AturanDiskon.bawaan();
+        assertEquals(4, aturan.getJumlahTingkatKuantitas());
+        assertEquals(3, aturan.getJumlahTipePelanggan());
+        assertEquals(aturan.handleTipe("PREMIUM"), aturan.handleTipe("premium"));
+        assertEquals(AturanDiskon.TIPE_TIDAK_DIKENAL, aturan.handleTipe(null));
+        assertEquals(AturanDiskon.TIPE_TIDAK_DIKENAL, aturan.handleTipe("VIP"));
+        // Handle di luar rentang diperlakukan seperti tipe tidak dikenal
+        assertEquals(500, aturan.hitungBasisPoin(5, 99));
+    }
+
+    @Test
+    @DisplayName("Konfigurasi kosong berarti tanpa diskon dan maksimal 100%")
+    void testKonfigurasiKosong() {
+        AturanDiskon aturan = AturanDiskon.dariProperties(new Properties());
+        assertEquals(0, aturan.hitungBasisPoin(1000, aturan.handleTipe("PREMIUM")));
+        assertEquals(10000, aturan.getMaksimalBp());
+    }
+
+    @ParameterizedTest
+    @DisplayName("Konfigurasi tidak valid ditolak")
+    @ValueSource(strings = {
+            "kuantitas.0=100",
+            "kuantitas.x=100",
+            "kuantitas.5=abc",
+            "kuantitas.5=-1",
+            "kuantitas.5=10001",
+            "pelanggan.=100",
+            "pelanggan.VIP=100;pelanggan.vip=200",
+            "bonus.VIP=100"
+    })
+    void testKonfigurasiTidakValid(String entri) {
+        Properties konfigurasi = new Properties();
+        for (String pasangan : entri.split(";")) {
+            String[] bagian = pasangan.split("=", 2);
+            konfigurasi.setProperty(bagian[0], bagian[1]);
+        }
+        assertThrows(IllegalArgumentException.class, () -> AturanDiskon.dariProperties(konfigurasi));
+    }
+
+    @Test
+    @DisplayName("Konfigurasi null ditolak")
+    void testKonfigurasiNull() {
+        assertThrows(IllegalArgumentException.class, () -> AturanDiskon.dariProperties(null));
+    }
+}
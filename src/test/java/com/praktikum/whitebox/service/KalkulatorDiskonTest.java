@@ -4,6 +4,10 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("Test Kalkulator Diskon - Path Coverage")
@@ -113,4 +117,118 @@ public class KalkulatorDiskonTest {
                 "BARU");
         assertTrue(diskon100 > diskon99);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test hitung diskon dalam sen dengan basis poin")
+    void testHitungDiskonSen() {
+        // 5% + 2% dari Rp333,33 x 5 = 11666,55 sen -> dibulatkan genap ke 11667
+        assertEquals(11667, kalkulatorDiskon.hitungDiskonSen(33333, 5, "BARU"));
+        assertEquals(166665 - 11667, kalkulatorDiskon.hitungHargaSetelahDiskonSen(33333, 5, "BARU"));
+        assertEquals(3000, kalkulatorDiskon.hitungDiskonBasisPoin(500, "PREMIUM"));
+        assertEquals(0, kalkulatorDiskon.hitungDiskonBasisPoin(1, "LAINNYA"));
+        assertThrows(IllegalArgumentException.class, () -> kalkulatorDiskon.hitungDiskonSen(0, 5, "BARU"));
+        // Harga di bawah satu sen tidak punya nilai fixed-point yang positif
+        assertThrows(IllegalArgumentException.class, () -> kalkulatorDiskon.hitungDiskon(0.001, 5, "BARU"));
+    }
+
+    @Test
+    @DisplayName("Test ganti aturan diskon saat runtime")
+    void testGantiAturan() {
+        // Arrange
+        Properties konfigurasi = new Properties();
+        konfigurasi.setProperty("kuantitas.2", "100");
+        konfigurasi.setProperty("pelanggan.grosir", "4000");
+        konfigurasi.setProperty("maksimal", "4000");
+        // Act
+        kalkulatorDiskon.gantiAturan(AturanDiskon.dariProperties(konfigurasi));
+        // Assert
+        assertEquals(4000, kalkulatorDiskon.hitungDiskonBasisPoin(10, "GROSIR"));
+        assertEquals(100, kalkulatorDiskon.hitungDiskonBasisPoin(10, "PREMIUM"));
+        assertEquals(4000, kalkulatorDiskon.getAturan().getMaksimalBp());
+        assertThrows(IllegalArgumentException.class, () -> kalkulatorDiskon.gantiAturan(null));
+    }
+
+    @Test
+    @DisplayName("Test thread harga selalu melihat aturan utuh selama pergantian")
+    void testGantiAturanKonkuren() throws Exception {
+        // Arrange
+        Properties konfigurasi = new Properties();
+        konfigurasi.setProperty("kuantitas.1", "100");
+        konfigurasi.setProperty("pelanggan.PREMIUM", "100");
+        AturanDiskon aturanA = AturanDiskon.bawaan();
+        AturanDiskon aturanB = AturanDiskon.dariProperties(konfigurasi);
+        AtomicBoolean selesai = new AtomicBoolean();
+        AtomicInteger salah = new AtomicInteger();
+        Thread penghitung = new Thread(() -> {
+            while (!selesai.get()) {
+                int bp = kalkulatorDiskon.hitungDiskonBasisPoin(100, "PREMIUM");
+                if (bp != 3000 && bp != 200) {
+                    salah.incrementAndGet();
+                }
+            }
+        });
+        // Act
+        penghitung.start();
+        for (int i = 0; i < 10000; i++) {
+            kalkulatorDiskon.gantiAturan(i % 2 == 0 ? aturanB : aturanA);
+        }
+        selesai.set(true);
+        penghitung.join();
+        // Assert
+        assertEquals(0, salah.get());
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test harga batch identik dengan perhitungan per baris")
+    @CsvSource({"PREMIUM", "REGULER", "BARU", "LAINNYA"})
+    void testHitungHargaBatchSen(String tipePelanggan) {
+        // Arrange
+        Random acak = new Random(17);
+        int n = 5000;
+        long[] harga = new long[n];
+        int[] kuantitas = new int[n];
+        for (int i = 0; i < n; i++) {
+            harga[i] = 1 + acak.nextInt(10_000_000);
+            kuantitas[i] = 1 + acak.nextInt(150);
+        }
+        // Kasus setengah sen tepat (misalnya 10% dari 5 dan 15 sen, 2% dari 25 dan 75 sen)
+        long[] setengah = {5, 15, 10, 30, 25, 75};
+        for (int i = 0; i < setengah.length; i++) {
+            harga[i] = setengah[i];
+            kuantitas[i] = 1;
+        }
+        long[] diskon = new long[n];
+        long[] netto = new long[n];
+        // Act
+        kalkulatorDiskon.hitungHargaBatchSen(harga, kuantitas, tipePelanggan, diskon, netto);
+        // Assert
+        for (int i = 0; i < n; i++) {
+            assertEquals(kalkulatorDiskon.hitungDiskonSen(harga[i], kuantitas[i], tipePelanggan), diskon[i]);
+            assertEquals(kalkulatorDiskon.hitungHargaSetelahDiskonSen(harga[i], kuantitas[i], tipePelanggan), netto[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("Test harga batch - parameter invalid")
+    void testHitungHargaBatchSenInvalid() {
+        long[] harga = {1000, 2000};
+        int[] kuantitas = {1, 2};
+        long[] keluaran = new long[2];
+        assertThrows(IllegalArgumentException.class,
+                () -> kalkulatorDiskon.hitungHargaBatchSen(null, kuantitas, "BARU", keluaran, keluaran));
+        assertThrows(IllegalArgumentException.class,
+                () -> kalkulatorDiskon.hitungHargaBatchSen(harga, new int[1], "BARU", keluaran, keluaran));
+        assertThrows(IllegalArgumentException.class,
+                () -> kalkulatorDiskon.hitungHargaBatchSen(harga, kuantitas, "BARU", new long[1], keluaran));
+        assertThrows(IllegalArgumentException.class,
+                () -> kalkulatorDiskon.hitungHargaBatchSen(harga, kuantitas, "BARU", keluaran, new long[3]));
+        assertThrows(IllegalArgumentException.class,
+                () -> kalkulatorDiskon.hitungHargaBatchSen(harga, new int[]{1, 0}, "BARU", new long[2], new long[2]));
+        assertThrows(IllegalArgumentException.class,
+                () -> kalkulatorDiskon.hitungHargaBatchSen(new long[]{-1, 1}, kuantitas, "BARU", new long[2], new long[2]));
+        assertThrows(ArithmeticException.class, () -> kalkulatorDiskon.hitungHargaBatchSen(
+                new long[]{Long.MAX_VALUE / 2}, new int[]{1}, "PREMIUM", new long[1], new long[1]));
+        // Batch kosong tidak melakukan apa pun
+        kalkulatorDiskon.hitungHargaBatchSen(new long[0], new int[0], "BARU", new long[0], new long[0]);
+    }
+}
@@ -0,0 +1,117 @@
+package com.praktikum.whitebox.service;
+import com.praktikum.whitebox.model.BarisPesanan;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Metrik Inventaris - Latensi dan Alasan Penolakan")
+public class MetrikInventarisTest {
+    private MetrikInventaris metrik;
+    private ServiceInventaris serviceInventaris;
+    @BeforeEach
+    void setUp() {
+        metrik = new MetrikInventaris();
+        RepositoryProdukMemori repository = new RepositoryProdukMemori();
+        serviceInventaris = new ServiceInventaris(repository, null, metrik);
+        repository.simpan(new Produk("P01", "Laptop", "Elektronik", 15000000, 10, 5));
+        Produk nonAktif = new Produk("P02", "Mouse", "Elektronik", 200000, 3, 1);
+        nonAktif.setAktif(false);
+        repository.simpan(nonAktif);
+    }
+
+    @Test
+    @DisplayName("Setiap penolakan dicatat dengan alasannya")
+    void testAlasanPenolakan() {
+        // Act
+        assertFalse(serviceInventaris.keluarStok("P@1", 1));
+        assertFalse(serviceInventaris.keluarStok("P01", 0));
+        assertFalse(serviceInventaris.keluarStok("P99", 1));
+        assertFalse(serviceInventaris.keluarStok("P02", 1));
+        assertFalse(serviceInventaris.keluarStok("P01", 11));
+        assertTrue(serviceInventaris.keluarStok("P01", 1));
+        assertFalse(serviceInventaris.masukStok("P01", Integer.MAX_VALUE));
+        assertFalse(serviceInventaris.masukStok("", 1));
+        assertFalse(serviceInventaris.masukStok("P01", -1));
+        assertFalse(serviceInventaris.tambahProduk(new Produk("P01", "Laptop", "Elektronik", 1000, 1, 1)));
+        assertFalse(serviceInventaris.tambahProduk(new Produk("X", "Laptop", "Elektronik", 1000, 1, 1)));
+        assertFalse(serviceInventaris.tambahProduk(new Produk("P03", "Laptop", "Elektronik", 0, 1, 1)));
+        assertFalse(serviceInventaris.updateStok("P99", 1));
+        assertFalse(serviceInventaris.updateStok("P01", -1));
+        assertFalse(serviceInventaris.updateStok(null, 1));
+        assertFalse(serviceInventaris.hapusProduk("P01"));
+        assertFalse(serviceInventaris.hapusProduk("P99"));
+        assertFalse(serviceInventaris.hapusProduk("?"));
+        // Assert
+        assertEquals(1, metrik.getJumlahPenolakan(OperasiInventaris.KELUAR_STOK, AlasanPenolakan.KODE_TIDAK_VALID));
+        assertEquals(1, metrik.getJumlahPenolakan(OperasiInventaris.KELUAR_STOK, AlasanPenolakan.JUMLAH_TIDAK_VALID));
+        assertEquals(1, metrik.getJumlahPenolakan(OperasiInventaris.KELUAR_STOK, AlasanPenolakan.TIDAK_DITEMUKAN));
+        assertEquals(1, metrik.getJumlahPenolakan(OperasiInventaris.KELUAR_STOK, AlasanPenolakan.TIDAK_AKTIF));
+        assertEquals(1, metrik.getJumlahPenolakan(OperasiInventaris.KELUAR_STOK, AlasanPenolakan.STOK_TIDAK_CUKUP));
+        assertEquals(5, metrik.getJumlahPenolakan(OperasiInventaris.KELUAR_STOK));
+        assertEquals(6, metrik.snapshotLatensi(OperasiInventaris.KELUAR_STOK).getJumlah());
+        assertEquals(1, metrik.getJumlahPenolakan(OperasiInventaris.MASUK_STOK, AlasanPenolakan.STOK_MELAMPAUI_BATAS));
+        assertEquals(3, metrik.getJumlahPenolakan(OperasiInventaris.MASUK_STOK));
+        assertEquals(1, metrik.getJumlahPenolakan(OperasiInventaris.TAMBAH_PRODUK, AlasanPenolakan.DUPLIKAT));
+        assertEquals(1, metrik.getJumlahPenolakan(OperasiInventaris.TAMBAH_PRODUK, AlasanPenolakan.KODE_TIDAK_VALID));
+        assertEquals(1, metrik.getJumlahPenolakan(OperasiInventaris.TAMBAH_PRODUK, AlasanPenolakan.PRODUK_TIDAK_VALID));
+        assertEquals(1, metrik.getJumlahPenolakan(OperasiInventaris.UPDATE_STOK, AlasanPenolakan.TIDAK_DITEMUKAN));
+        assertEquals(1, metrik.getJumlahPenolakan(OperasiInventaris.UPDATE_STOK, AlasanPenolakan.JUMLAH_TIDAK_VALID));
+        assertEquals(1, metrik.getJumlahPenolakan(OperasiInventaris.UPDATE_STOK, AlasanPenolakan.KODE_TIDAK_VALID));
+        assertEquals(1, metrik.getJumlahPenolakan(OperasiInventaris.HAPUS_PRODUK, AlasanPenolakan.MASIH_ADA_STOK));
+        assertEquals(1, metrik.getJumlahPenolakan(OperasiInventaris.HAPUS_PRODUK, AlasanPenolakan.TIDAK_DITEMUKAN));
+        assertEquals(1, metrik.getJumlahPenolakan(OperasiInventaris.HAPUS_PRODUK, AlasanPenolakan.KODE_TIDAK_VALID));
+    }
+
+    @Test
+    @DisplayName("Penolakan checkout menunjuk baris penyebabnya")
+    void testPenolakanCheckout() {
+        assertFalse(serviceInventaris.checkout(List.of()));
+        assertFalse(serviceInventaris.checkout(List.of(new BarisPesanan("P01", 1), new BarisPesanan("P@", 1))));
+        assertFalse(serviceInventaris.checkout(List.of(new BarisPesanan("P01", 0))));
+        assertFalse(serviceInventaris.checkout(List.of(new BarisPesanan("P01", 1), new BarisPesanan("P99", 1))));
+        assertFalse(serviceInventaris.checkout(List.of(new BarisPesanan("P01", 1), new BarisPesanan("P02", 1))));
+        assertFalse(serviceInventaris.checkout(List.of(new BarisPesanan("P01", 20))));
+        assertTrue(serviceInventaris.checkout(List.of(new BarisPesanan("P01", 2))));
+
+        assertEquals(2, metrik.getJumlahPenolakan(OperasiInventaris.CHECKOUT, AlasanPenolakan.JUMLAH_TIDAK_VALID));
+        assertEquals(1, metrik.getJumlahPenolakan(OperasiInventaris.CHECKOUT, AlasanPenolakan.KODE_TIDAK_VALID));
+        assertEquals(1, metrik.getJumlahPenolakan(OperasiInventaris.CHECKOUT, AlasanPenolakan.TIDAK_DITEMUKAN));
+        assertEquals(1, metrik.getJumlahPenolakan(OperasiInventaris.CHECKOUT, AlasanPenolakan.TIDAK_AKTIF));
+        assertEquals(1, metrik.getJumlahPenolakan(OperasiInventaris.CHECKOUT, AlasanPenolakan.STOK_TIDAK_CUKUP));
+        assertEquals(7, metrik.snapshotLatensi(OperasiInventaris.CHECKOUT).getJumlah());
+    }
+
+    @Test
+    @DisplayName("Dump Prometheus berisi summary latensi dan counter penolakan")
+    void testPrometheus(@TempDir Path direktori) throws IOException {
+        // Arrange
+        assertTrue(serviceInventaris.tambahProduk(new Produk("P03", "Kopi", "Makanan", 25000, 0, 2)));
+        assertTrue(serviceInventaris.updateStok("P03", 5));
+        assertTrue(serviceInventaris.masukStok("P03", 5));
+        assertTrue(serviceInventaris.keluarStok("P03", 10));
+        assertTrue(serviceInventaris.hapusProduk("P03"));
+        assertFalse(serviceInventaris.keluarStok("P03", 1));
+        Path berkas = direktori.resolve("inventaris.prom");
+        // Act
+        metrik.simpanPrometheus(berkas);
+        String isi = Files.readString(berkas);
+        // Assert
+        assertTrue(isi.contains("# TYPE inventaris_operasi_detik summary"));
+        assertTrue(isi.contains("inventaris_operasi_detik_count{operasi=\"keluar_stok\"} 2"));
+        assertTrue(isi.contains("inventaris_operasi_detik{operasi=\"tambah_produk\",quantile=\"0.99\"} "));
+        assertTrue(isi.contains("inventaris_penolakan_total{operasi=\"keluar_stok\",alasan=\"tidak_ditemukan\"} 1"));
+        assertFalse(isi.contains("alasan=\"duplikat\""));
+        assertFalse(Files.exists(direktori.resolve("inventaris.prom.tmp")));
+        assertThrows(UncheckedIOException.class,
+                () -> metrik.simpanPrometheus(direktori.resolve("tidak-ada").resolve("inventaris.prom")));
+    }
+}
@@ -1,16 +1,30 @@
 package com.praktikum.whitebox.service;
+import com.praktikum.whitebox.event.JenisPeristiwa;
+import com.praktikum.whitebox.event.RingPeristiwa;
+import com.praktikum.whitebox.event.StrategiTunggu;
+import com.praktikum.whitebox.model.BarisPesanan;
+import com.praktikum.whitebox.model.DaftarPerubahanStatusStok;
 import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.TotalInventaris;
 import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -66,21 +80,20 @@ public class ServiceInventarisTest {
     @DisplayName("Keluar stok berhasil - stok mencukupi")
     void testKeluarStokBerhasil() {
 // Arrange
-        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkTest));
-        when(mockRepositoryProduk.updateStok("PROD001",
-                5)).thenReturn(true);
+        when(mockRepositoryProduk.adjustStok("PROD001", -5, 0)).thenReturn(true);
 // Act
         boolean hasil = serviceInventaris.keluarStok("PROD001", 5);
 // Assert
         assertTrue(hasil);
-        verify(mockRepositoryProduk).updateStok("PROD001", 5);
+        verify(mockRepositoryProduk).adjustStok("PROD001", -5, 0);
+        verify(mockRepositoryProduk, never()).cariByKode(anyString());
     }
 
     @Test
     @DisplayName("Keluar stok gagal - stok tidak mencukupi")
     void testKeluarStokGagalStokTidakMencukupi() {
 // Arrange
-        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkTest));
+        when(mockRepositoryProduk.adjustStok("PROD001", -15, 0)).thenReturn(false);
 // Act
         boolean hasil = serviceInventaris.keluarStok("PROD001", 15);
 // Assert
@@ -118,15 +131,18 @@ public class ServiceInventarisTest {
         produkNonAktif.setAktif(false);
         List<Produk> semuaProduk = Arrays.asList(produk1, produk2,
                 produkNonAktif);
-        when(mockRepositoryProduk.cariSemua()).thenReturn(semuaProduk);
+        RepositoryProdukMemori repository = new RepositoryProdukMemori();
+        semuaProduk.forEach(repository::simpan);
+        ServiceInventaris service = new ServiceInventaris(repository);
         // Act
         double totalNilai =
-                serviceInventaris.hitungTotalNilaiInventaris();
+                service.hitungTotalNilaiInventaris();
 
 // Assert
         double expected = (10000000 * 2) + (500000 * 5); // hanya produk aktif
         assertEquals(expected, totalNilai, 0.001);
-        verify(mockRepositoryProduk).cariSemua();
+        assertEquals(expected, service.hitungTotalNilaiInventaris("Elektronik"), 0.001);
+        assertEquals(0.0, service.hitungTotalNilaiInventaris("Makanan"));
     }
 
     @Test
@@ -198,10 +214,42 @@ public class ServiceInventarisTest {
                 0,
                 1);
         when(mockRepositoryProduk.cariByKode("P02")).thenReturn(Optional.of(produkHabis));
-        when(mockRepositoryProduk.hapus("P02")).thenReturn(true);
+        when(mockRepositoryProduk.hapusJikaStokNol("P02")).thenReturn(true);
         assertTrue(serviceInventaris.hapusProduk("P02"));
     }
 
+    @Test
+    @DisplayName("Tambah produk batch - validasi satu lintasan lalu satu panggilan repository")
+    void testTambahProdukBatch() {
+        Produk tidakValid = new Produk("!", "X", "Elektronik", -1, 1, 1);
+        List<Produk> daftar = Arrays.asList(produkTest, tidakValid, null);
+        BitSet hanyaBaris0 = new BitSet();
+        hanyaBaris0.set(0);
+        when(mockRepositoryProduk.tambahProdukBatch(daftar, hanyaBaris0)).thenReturn(hanyaBaris0);
+
+        assertEquals(hanyaBaris0, serviceInventaris.tambahProdukBatch(daftar));
+        verify(mockRepositoryProduk).tambahProdukBatch(daftar, hanyaBaris0);
+        verify(mockRepositoryProduk, never()).cariByKode(anyString());
+        assertTrue(serviceInventaris.tambahProdukBatch(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Update stok batch dengan repository nyata")
+    void testUpdateStokBatch() {
+        RepositoryProdukMemori repository = new RepositoryProdukMemori();
+        ServiceInventaris service = new ServiceInventaris(repository);
+        service.tambahProduk(produkTest);
+
+        BitSet hasil = service.updateStokBatch(new String[]{"PROD001", "!", "PROD001", "PROD999"},
+                new int[]{4, 1, -1, 2});
+
+        assertEquals(BitSet.valueOf(new long[]{0b1}), hasil);
+        assertEquals(4, repository.cariByKode("PROD001").get().getStok());
+        assertTrue(service.updateStokBatch(null, new int[0]).isEmpty());
+        assertThrows(IllegalArgumentException.class,
+                () -> service.updateStokBatch(new String[]{"PROD001"}, new int[0]));
+    }
+
     @Test
     @DisplayName("Cari produk by kode - kode tidak valid")
     void testCariProdukByKodeInvalid() {
@@ -231,6 +279,18 @@ public class ServiceInventarisTest {
         verify(mockRepositoryProduk).cariByNama("Keyboard");
     }
 
+    @Test
+    @DisplayName("Cari produk berdasarkan nama dengan batas hasil")
+    void testCariProdukByNamaDenganBatas() {
+        List<Produk> produkList = List.of(new Produk("P01", "Keyboard", "Elektronik", 300000, 10, 2));
+        when(mockRepositoryProduk.cariByNama("key", 5)).thenReturn(produkList);
+
+        List<Produk> hasil = serviceInventaris.cariProdukByNama("key", 5);
+
+        assertEquals(1, hasil.size());
+        verify(mockRepositoryProduk).cariByNama("key", 5);
+    }
+
     @Test
     @DisplayName("Cari produk berdasarkan kategori berhasil")
     void testCariProdukByKategoriBerhasil() {
@@ -283,24 +343,23 @@ public class ServiceInventarisTest {
     @Test
     @DisplayName("Masuk stok gagal - produk tidak ditemukan")
     void testMasukStokProdukTidakDitemukan() {
-        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.empty());
+        when(mockRepositoryProduk.adjustStok("PROD001", 5, 0)).thenReturn(false);
         assertFalse(serviceInventaris.masukStok("PROD001", 5));
     }
 
     @Test
     @DisplayName("Masuk stok gagal - produk tidak aktif")
     void testMasukStokProdukTidakAktif() {
-        produkTest.setAktif(false);
-        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkTest));
+        when(mockRepositoryProduk.adjustStok("PROD001", 5, 0)).thenReturn(false);
         assertFalse(serviceInventaris.masukStok("PROD001", 5));
     }
 
     @Test
     @DisplayName("Masuk stok berhasil")
     void testMasukStokBerhasil() {
-        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkTest));
-        when(mockRepositoryProduk.updateStok("PROD001", 15)).thenReturn(true);
+        when(mockRepositoryProduk.adjustStok("PROD001", 5, 0)).thenReturn(true);
         assertTrue(serviceInventaris.masukStok("PROD001", 5));
+        verify(mockRepositoryProduk, never()).updateStok(anyString(), anyInt());
     }
 
     @Test
@@ -311,14 +370,50 @@ public class ServiceInventarisTest {
         assertTrue(hasil.isEmpty());
     }
 
+    @Test
+    @DisplayName("Get perubahan status stok meneruskan kursor ke repository")
+    void testGetPerubahanStatusStok() {
+        DaftarPerubahanStatusStok kosong = new DaftarPerubahanStatusStok(Collections.emptyList(), 5, false);
+        when(mockRepositoryProduk.cariPerubahanStatusStok(5)).thenReturn(kosong);
+        assertSame(kosong, serviceInventaris.getPerubahanStatusStok(5));
+        assertThrows(IllegalArgumentException.class, () -> serviceInventaris.getPerubahanStatusStok(-1));
+    }
+
     @Test
     @DisplayName("Hitung total stok hanya produk aktif")
     void testHitungTotalStok() {
         Produk aktif = new Produk("P1", "A", "K1", 1000, 5, 1);
         Produk nonAktif = new Produk("P2", "B", "K2", 2000, 10, 1);
         nonAktif.setAktif(false);
-        when(mockRepositoryProduk.cariSemua()).thenReturn(Arrays.asList(aktif, nonAktif));
-        assertEquals(5, serviceInventaris.hitungTotalStok());
+        RepositoryProdukMemori repository = new RepositoryProdukMemori();
+        repository.simpan(aktif);
+        repository.simpan(nonAktif);
+        ServiceInventaris service = new ServiceInventaris(repository);
+        assertEquals(5, service.hitungTotalStok());
+        assertEquals(0, service.hitungTotalStok("K2"));
+    }
+
+    @Test
+    @DisplayName("Total inventaris dibaca dari akumulator tanpa memindai katalog")
+    void testHitungTotalTanpaPemindaian() {
+        when(mockRepositoryProduk.hitungTotal()).thenReturn(new TotalInventaris(7, 700000));
+        when(mockRepositoryProduk.hitungTotal("K1")).thenReturn(new TotalInventaris(2, 50000));
+        assertEquals(7, serviceInventaris.hitungTotalStok());
+        assertEquals(7000, serviceInventaris.hitungTotalNilaiInventaris(), 0.001);
+        assertEquals(2, serviceInventaris.hitungTotalStok("K1"));
+        assertEquals(500, serviceInventaris.hitungTotalNilaiInventaris("K1"), 0.001);
+        verify(mockRepositoryProduk, never()).streamSemua();
+        verify(mockRepositoryProduk, never()).cariSemua();
+    }
+
+    @Test
+    @DisplayName("Rekonsiliasi total mendeteksi selisih dengan isi katalog")
+    void testVerifikasiTotalInventaris() {
+        Produk aktif = new Produk("P1", "A", "K1", 1000, 5, 1);
+        when(mockRepositoryProduk.hitungTotal()).thenReturn(new TotalInventaris(5, 500000), new TotalInventaris(6, 500000));
+        when(mockRepositoryProduk.streamSemua()).thenAnswer(invocation -> Stream.of(aktif));
+        assertTrue(serviceInventaris.verifikasiTotalInventaris());
+        assertFalse(serviceInventaris.verifikasiTotalInventaris());
     }
 
 
@@ -339,7 +434,7 @@ public class ServiceInventarisTest {
     @Test
     @DisplayName("Keluar stok gagal - produk tidak ditemukan")
     void testKeluarStokProdukTidakDitemukan() {
-        when(mockRepositoryProduk.cariByKode("P01")).thenReturn(Optional.empty());
+        when(mockRepositoryProduk.adjustStok("P01", -5, 0)).thenReturn(false);
         boolean hasil = serviceInventaris.keluarStok("P01", 5);
         assertFalse(hasil);
     }
@@ -355,11 +450,15 @@ public class ServiceInventarisTest {
                 10,
                 5);
         produk.setAktif(false);
-        when(mockRepositoryProduk.cariByKode("P01")).thenReturn(Optional.of(produk));
+// Pakai repository nyata agar aturan aktif di adjustStok ikut teruji
+        RepositoryProdukMemori repository = new RepositoryProdukMemori();
+        repository.simpan(produk);
+        ServiceInventaris service = new ServiceInventaris(repository);
 
-        boolean hasil = serviceInventaris.keluarStok("P01", 5);
+        boolean hasil = service.keluarStok("P01", 5);
 
         assertFalse(hasil);
+        assertEquals(10, repository.cariByKode("P01").get().getStok());
     }
 
     @Test
@@ -372,12 +471,164 @@ public class ServiceInventarisTest {
                 300000,
                 3,
                 5);
-        when(mockRepositoryProduk.cariByKode("P01")).thenReturn(Optional.of(produk));
+        RepositoryProdukMemori repository = new RepositoryProdukMemori();
+        repository.simpan(produk);
+        ServiceInventaris service = new ServiceInventaris(repository);
 
-        boolean hasil = serviceInventaris.keluarStok("P01", 5);
+        boolean hasil = service.keluarStok("P01", 5);
 
         assertFalse(hasil);
+        assertEquals(3, repository.cariByKode("P01").get().getStok());
     }
 
+    @Test
+    @DisplayName("Keluar stok paralel tidak pernah oversell")
+    void testKeluarStokParalelTidakOversell() throws InterruptedException {
+        RepositoryProdukMemori repository = new RepositoryProdukMemori();
+        repository.simpan(new Produk("P01", "Keyboard", "Elektronik", 300000, 1000, 5));
+        ServiceInventaris service = new ServiceInventaris(repository);
+        AtomicInteger berhasil = new AtomicInteger();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 200; i++) {
+                    if (service.keluarStok("P01", 1)) {
+                        berhasil.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+// 1600 permintaan untuk 1000 stok: tepat 1000 yang diterima
+        assertEquals(1000, berhasil.get());
+        assertEquals(0, repository.cariByKode("P01").get().getStok());
+    }
+
+    @Test
+    @DisplayName("Checkout memotong stok semua baris pesanan sekaligus")
+    void testCheckoutBerhasil() {
+        when(mockRepositoryProduk.adjustStokSemua(new String[]{"PROD001", "PROD002"}, new int[]{-2, -3}, 0))
+                .thenReturn(true);
+        assertTrue(serviceInventaris.checkout(List.of(
+                new BarisPesanan("PROD001", 2), new BarisPesanan("PROD002", 3))));
+    }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Checkout gagal - baris pesanan tidak valid")
+    void testCheckoutTidakValid() {
+        assertFalse(serviceInventaris.checkout(null));
+        assertFalse(serviceInventaris.checkout(Collections.emptyList()));
+        assertFalse(serviceInventaris.checkout(Arrays.asList(new BarisPesanan("PROD001", 1), null)));
+        assertFalse(serviceInventaris.checkout(List.of(new BarisPesanan("!", 1))));
+        assertFalse(serviceInventaris.checkout(List.of(new BarisPesanan("PROD001", 0))));
+        verify(mockRepositoryProduk, never()).adjustStokSemua(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Checkout tidak menyisakan pesanan sebagian saat satu baris kurang stok")
+    void testCheckoutTanpaPesananSebagian() {
+        RepositoryProdukMemori repository = new RepositoryProdukMemori();
+        repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 10000000, 5, 1));
+        repository.simpan(new Produk("PROD002", "Mouse", "Elektronik", 100000, 1, 1));
+        ServiceInventaris service = new ServiceInventaris(repository);
+
+        assertFalse(service.checkout(List.of(new BarisPesanan("PROD001", 2), new BarisPesanan("PROD002", 2))));
+        assertEquals(5, repository.cariByKode("PROD001").get().getStok());
+        assertTrue(service.checkout(List.of(new BarisPesanan("PROD001", 2), new BarisPesanan("PROD002", 1))));
+        assertEquals(3, repository.cariByKode("PROD001").get().getStok());
+        assertEquals(0, repository.cariByKode("PROD002").get().getStok());
+        assertTrue(new BarisPesanan("PROD001", 2).toString().contains("PROD001"));
+    }
+
+    @Test
+    @DisplayName("Setiap perubahan yang berhasil diterbitkan sebagai peristiwa")
+    void testPeristiwaDiterbitkan() throws InterruptedException {
+        RingPeristiwa ring = new RingPeristiwa(64, StrategiTunggu.blokir());
+        List<String> diterima = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch selesai = new CountDownLatch(1);
+        RingPeristiwa.Langganan langganan = ring.berlangganan("uji", (p, s, akhir) -> {
+            diterima.add(p.getJenis() + ":" + p.getKode() + ":" + p.getJumlah());
+            if (p.getJenis() == JenisPeristiwa.PRODUK_DIHAPUS) {
+                selesai.countDown();
+            }
+        });
+        ServiceInventaris service = new ServiceInventaris(new RepositoryProdukMemori(), ring);
+
+        assertTrue(service.tambahProduk(new Produk("PROD001", "Laptop", "Elektronik", 1000, 10, 2)));
+        assertFalse(service.keluarStok("PROD001", 100));
+        assertTrue(service.keluarStok("PROD001", 4));
+        assertTrue(service.masukStok("PROD001", 1));
+        assertTrue(service.checkout(List.of(new BarisPesanan("PROD001", 2))));
+        assertTrue(service.updateStok("PROD001", 3));
+        assertEquals(1, service.updateStokBatch(new String[]{"PROD001"}, new int[]{0}).cardinality());
+        assertEquals(1, service.tambahProdukBatch(List.of(new Produk("PROD002", "Mouse", "Elektronik", 100, 0, 1))).cardinality());
+        assertTrue(service.hapusProduk("PROD001"));
+        assertTrue(selesai.await(5, TimeUnit.SECONDS));
+        langganan.berhenti();
+
+        assertEquals(List.of("PRODUK_DITAMBAH:PROD001:10", "STOK_KELUAR:PROD001:4", "STOK_MASUK:PROD001:1",
+                "STOK_KELUAR:PROD001:2", "STOK_DIUBAH:PROD001:3", "STOK_DIUBAH:PROD001:0",
+                "PRODUK_DITAMBAH:PROD002:0", "PRODUK_DIHAPUS:PROD001:0"), diterima);
+    }
+
+    @Test
+    @DisplayName("Urutan peristiwa per kode sama dengan urutan tulis di repository")
+    void testUrutanPeristiwaPerKode() throws InterruptedException {
+        // Arrange: pelanggan memutar ulang peristiwa menurut sekuens untuk merekonstruksi stok
+        RingPeristiwa ring = new RingPeristiwa(1024, StrategiTunggu.yield());
+        RepositoryProdukMemori repository = new RepositoryProdukMemori();
+        ServiceInventaris service = new ServiceInventaris(repository, ring);
+        String[] kode = {"PROD001", "PROD002"};
+        for (String k : kode) {
+            assertTrue(service.tambahProduk(new Produk(k, "Produk " + k, "Umum", 1000, 0, 1)));
+        }
+        long[] stokPutarUlang = new long[kode.length];
+        AtomicInteger stokNegatif = new AtomicInteger();
+        RingPeristiwa.Langganan langganan = ring.berlangganan("putar-ulang", (p, s, akhir) -> {
+            int i = p.getKode().equals(kode[0]) ? 0 : 1;
+            if (p.getJenis() == JenisPeristiwa.STOK_DIUBAH) {
+                stokPutarUlang[i] = p.getJumlah();
+            } else if (p.getJenis() == JenisPeristiwa.STOK_MASUK) {
+                stokPutarUlang[i] += p.getJumlah();
+            } else if (p.getJenis() == JenisPeristiwa.STOK_KELUAR) {
+                stokPutarUlang[i] -= p.getJumlah();
+            }
+            if (stokPutarUlang[i] < 0) {
+                stokNegatif.incrementAndGet();
+            }
+        });
+        // Act
+        Thread[] pekerja = new Thread[4];
+        for (int t = 0; t < pekerja.length; t++) {
+            int seed = t;
+            pekerja[t] = new Thread(() -> {
+                Random acak = new Random(seed);
+                for (int n = 0; n < 5000; n++) {
+                    String k = kode[acak.nextInt(kode.length)];
+                    switch (acak.nextInt(3)) {
+                        case 0: service.updateStok(k, acak.nextInt(5)); break;
+                        case 1: service.masukStok(k, 1 + acak.nextInt(3)); break;
+                        default: service.keluarStok(k, 1 + acak.nextInt(3)); break;
+                    }
+                }
+            });
+            pekerja[t].start();
+        }
+        for (Thread t : pekerja) {
+            t.join();
+        }
+        long kursorAkhir = ring.getKursor();
+        while (langganan.getSekuens() < kursorAkhir) {
+            Thread.onSpinWait();
+        }
+        langganan.berhenti();
+        // Assert
+        assertEquals(0, stokNegatif.get());
+        for (int i = 0; i < kode.length; i++) {
+            assertEquals(repository.cariByKode(kode[i]).get().getStok(), stokPutarUlang[i]);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.praktikum.whitebox.service;
+import com.praktikum.whitebox.model.DimensiLaporan;
+import com.praktikum.whitebox.model.LaporanInventaris;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.RentangHarga;
+import com.praktikum.whitebox.model.StatusStok;
+import com.praktikum.whitebox.model.UkuranLaporan;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Service Laporan Inventaris - Fork/Join Group By")
+public class ServiceLaporanInventarisTest {
+    private RepositoryProdukMemori repository;
+    private ServiceLaporanInventaris serviceLaporan;
+    @BeforeEach
+    void setUp() {
+        repository = new RepositoryProdukMemori();
+        repository.simpan(new Produk("P01", "Laptop", "Elektronik", 15000000, 10, 5));
+        repository.simpan(new Produk("P02", "Mouse", "Elektronik", 200000, 3, 5));
+        repository.simpan(new Produk("P03", "Kopi", "Makanan", 25000, 0, 2));
+        Produk nonAktif = new Produk("P04", "Teh", "Makanan", 10000, 8, 2);
+        nonAktif.setAktif(false);
+        repository.simpan(nonAktif);
+        serviceLaporan = new ServiceLaporanInventaris(repository);
+    }
+
+    @Test
+    @DisplayName("Tanpa dimensi menghasilkan satu baris total")
+    void testTanpaDimensi() {
+        LaporanInventaris laporan = serviceLaporan.buatLaporan();
+        assertEquals(1, laporan.getBaris().size());
+        UkuranLaporan total = laporan.cari();
+        assertEquals(4, total.getJumlahProduk());
+        assertEquals(21, total.getTotalStok());
+        assertEquals((15000000L * 10 + 200000L * 3 + 10000L * 8) * 100, total.getTotalNilaiSen());
+        assertEquals(1000000, total.getHargaMinSen());
+        assertEquals(1500000000, total.getHargaMaksSen());
+    }
+
+    @Test
+    @DisplayName("Kombinasi kategori dan status stok")
+    void testKategoriDanStatusStok() {
+        LaporanInventaris laporan = serviceLaporan.buatLaporan(DimensiLaporan.KATEGORI, DimensiLaporan.STATUS_STOK);
+        assertEquals(List.of(DimensiLaporan.KATEGORI, DimensiLaporan.STATUS_STOK), laporan.getDimensi());
+        assertEquals(4, laporan.getBaris().size());
+        assertEquals(1, laporan.cari("Elektronik", StatusStok.MENIPIS).getJumlahProduk());
+        assertEquals(0, laporan.cari("Makanan", StatusStok.HABIS).getTotalNilaiSen());
+        assertNull(laporan.cari("Makanan", StatusStok.MENIPIS));
+        // Baris terurut menurut nilai dimensi
+        assertEquals(Arrays.asList("Elektronik", StatusStok.AMAN), laporan.getBaris().keySet().iterator().next());
+    }
+
+    @Test
+    @DisplayName("Rentang harga dan status aktif")
+    void testRentangHargaDanAktif() {
+        LaporanInventaris laporan = serviceLaporan.buatLaporan(
+                List.of(DimensiLaporan.AKTIF, DimensiLaporan.RENTANG_HARGA), new long[]{5000000, 100000000});
+        RentangHarga murah = new RentangHarga(0, null, 5000000L);
+        RentangHarga sedang = new RentangHarga(1, 5000000L, 100000000L);
+        RentangHarga mahal = new RentangHarga(2, 100000000L, null);
+        assertEquals(1, laporan.cari(true, murah).getJumlahProduk());
+        assertEquals(1, laporan.cari(true, sedang).getJumlahProduk());
+        assertEquals(1, laporan.cari(true, mahal).getJumlahProduk());
+        assertEquals(8, laporan.cari(false, murah).getTotalStok());
+        assertEquals("< Rp50000,00", murah.toString());
+        assertEquals("Rp50000,00 - Rp1000000,00", sedang.toString());
+        assertEquals(">= Rp1000000,00", mahal.toString());
+        assertEquals("semua harga", new RentangHarga(0, null, null).toString());
+        assertTrue(laporan.toString().contains("AKTIF"));
+    }
+
+    @Test
+    @DisplayName("Hasil paralel sama dengan perhitungan berurutan untuk katalog besar")
+    void testKatalogBesar() {
+        RepositoryProdukMemori besar = new RepositoryProdukMemori();
+        Random acak = new Random(42);
+        String[] kategori = {"A", "B", "C", null};
+        long totalNilai = 0;
+        long totalStokA = 0;
+        for (int i = 0; i < 20000; i++) {
+            Produk produk = new Produk("K" + i, "Produk " + i, kategori[i % 4], 1 + acak.nextInt(100000), acak.nextInt(50), 10);
+            besar.simpan(produk);
+            totalNilai += produk.getHargaSen() * produk.getStok();
+            if ("A".equals(produk.getKategori())) {
+                totalStokA += produk.getStok();
+            }
+        }
+        ServiceLaporanInventaris service = new ServiceLaporanInventaris(besar, new ForkJoinPool(4));
+        LaporanInventaris laporan = service.buatLaporan(DimensiLaporan.KATEGORI);
+
+        assertEquals(4, laporan.getBaris().size());
+        assertEquals(totalStokA, laporan.cari("A").getTotalStok());
+        assertEquals(5000, laporan.cari((Object) null).getJumlahProduk());
+        assertEquals(totalNilai, laporan.getBaris().values().stream().mapToLong(UkuranLaporan::getTotalNilaiSen).sum());
+    }
+
+    @Test
+    @DisplayName("Parameter laporan tidak valid ditolak")
+    void testParameterTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> serviceLaporan.buatLaporan(null, new long[0]));
+        assertThrows(IllegalArgumentException.class,
+                () -> serviceLaporan.buatLaporan(DimensiLaporan.AKTIF, DimensiLaporan.AKTIF));
+        assertThrows(IllegalArgumentException.class,
+                () -> serviceLaporan.buatLaporan(Arrays.asList(DimensiLaporan.AKTIF, null), new long[0]));
+        assertThrows(IllegalArgumentException.class,
+                () -> serviceLaporan.buatLaporan(List.of(DimensiLaporan.RENTANG_HARGA), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> serviceLaporan.buatLaporan(List.of(DimensiLaporan.RENTANG_HARGA), new long[]{5, 5}));
+    }
+
+    @Test
+    @DisplayName("Ukuran grup kosong bernilai nol")
+    void testUkuranKosong() {
+        UkuranLaporan kosong = new UkuranLaporan();
+        assertEquals(0, kosong.getHargaMinSen());
+        assertEquals(0, kosong.getHargaMaksSen());
+        assertTrue(kosong.toString().contains("jumlahProduk=0"));
+    }
+}
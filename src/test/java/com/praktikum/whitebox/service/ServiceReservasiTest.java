@@ -0,0 +1,203 @@
+package com.praktikum.whitebox.service;
+import com.praktikum.whitebox.model.BarisPesanan;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.Reservasi;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Service Reservasi Stok")
+public class ServiceReservasiTest {
+    private RepositoryProdukMemori repository;
+    private AtomicLong jam;
+    private ServiceReservasi serviceReservasi;
+    @BeforeEach
+    void setUp() {
+        repository = new RepositoryProdukMemori();
+        repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+        jam = new AtomicLong(1_000_000);
+        serviceReservasi = new ServiceReservasi(repository, jam::get, 100, 64);
+    }
+
+    @Test
+    @DisplayName("Reservasi mengurangi stok tersedia tanpa mengubah stok")
+    void testReservasiMenahanStok() {
+        // Act
+        Optional<Reservasi> reservasi = serviceReservasi.reservasi("PROD001", 4, 60_000);
+        // Assert
+        assertTrue(reservasi.isPresent());
+        assertEquals(6, serviceReservasi.getStokTersedia("PROD001"));
+        assertEquals(4, serviceReservasi.getJumlahDitahan("PROD001"));
+        assertEquals(10, repository.cariByKode("PROD001").get().getStok());
+        assertEquals(1_060_000, reservasi.get().getKadaluarsaPada());
+        assertTrue(reservasi.get().toString().contains("PROD001"));
+    }
+
+    @Test
+    @DisplayName("Reservasi gagal - stok tersedia tidak cukup atau input tidak valid")
+    void testReservasiGagal() {
+        assertTrue(serviceReservasi.reservasi("PROD001", 8, 60_000).isPresent());
+        assertTrue(serviceReservasi.reservasi("PROD001", 3, 60_000).isEmpty());
+        assertTrue(serviceReservasi.reservasi("PROD999", 1, 60_000).isEmpty());
+        assertTrue(serviceReservasi.reservasi("!", 1, 60_000).isEmpty());
+        assertTrue(serviceReservasi.reservasi("PROD001", 0, 60_000).isEmpty());
+        assertTrue(serviceReservasi.reservasi("PROD001", 1, 0).isEmpty());
+        assertEquals(8, serviceReservasi.getJumlahDitahan("PROD001"));
+        assertEquals(0, serviceReservasi.getStokTersedia("PROD999"));
+        assertEquals(0, serviceReservasi.getStokTersedia(null));
+        assertEquals(0, serviceReservasi.getJumlahDitahan(null));
+    }
+
+    @Test
+    @DisplayName("Konfirmasi mengurangi stok dan melepas tahanan")
+    void testKonfirmasi() {
+        Reservasi reservasi = serviceReservasi.reservasi("PROD001", 4, 60_000).get();
+        assertTrue(serviceReservasi.konfirmasi(reservasi.getId()));
+        assertFalse(serviceReservasi.konfirmasi(reservasi.getId()));
+        assertEquals(6, repository.cariByKode("PROD001").get().getStok());
+        assertEquals(0, serviceReservasi.getJumlahDitahan("PROD001"));
+        assertEquals(6, serviceReservasi.getStokTersedia("PROD001"));
+        assertEquals(0, serviceReservasi.getJumlahReservasiAktif());
+    }
+
+    @Test
+    @DisplayName("Lepas mengembalikan stok tersedia")
+    void testLepas() {
+        Reservasi reservasi = serviceReservasi.reservasi("PROD001", 4, 60_000).get();
+        assertTrue(serviceReservasi.lepas(reservasi.getId()));
+        assertFalse(serviceReservasi.lepas(reservasi.getId()));
+        assertEquals(10, serviceReservasi.getStokTersedia("PROD001"));
+        assertEquals(10, repository.cariByKode("PROD001").get().getStok());
+    }
+
+    @Test
+    @DisplayName("Reservasi kadaluarsa tidak lebih awal dari durasinya")
+    void testKadaluarsa() {
+        Reservasi reservasi = serviceReservasi.reservasi("PROD001", 4, 250).get();
+        serviceReservasi.reservasi("PROD001", 1, 10_000);
+
+        jam.addAndGet(249);
+        assertEquals(0, serviceReservasi.prosesKadaluarsa());
+        assertEquals(5, serviceReservasi.getStokTersedia("PROD001"));
+        jam.addAndGet(51);
+        assertEquals(1, serviceReservasi.prosesKadaluarsa());
+        assertEquals(9, serviceReservasi.getStokTersedia("PROD001"));
+        assertFalse(serviceReservasi.konfirmasi(reservasi.getId()));
+        assertEquals(1, serviceReservasi.getJumlahReservasiAktif());
+
+        // Lompatan jauh melewati banyak putaran roda
+        jam.addAndGet(1_000_000);
+        assertEquals(10, serviceReservasi.getStokTersedia("PROD001"));
+        assertEquals(0, serviceReservasi.getJumlahReservasiAktif());
+    }
+
+    @Test
+    @DisplayName("Konfirmasi gagal jika stok sudah berkurang di luar reservasi, tahanan tetap dipegang")
+    void testKonfirmasiStokBerubah() {
+        Reservasi reservasi = serviceReservasi.reservasi("PROD001", 4, 60_000).get();
+        repository.updateStok("PROD001", 2);
+        assertEquals(0, serviceReservasi.getStokTersedia("PROD001"));
+        assertFalse(serviceReservasi.konfirmasi(reservasi.getId()));
+        assertEquals(4, serviceReservasi.getJumlahDitahan("PROD001"));
+        assertEquals(1, serviceReservasi.getJumlahReservasiAktif());
+
+        // Setelah stok diisi lagi reservasi yang sama masih bisa dikonfirmasi
+        repository.updateStok("PROD001", 5);
+        assertTrue(serviceReservasi.konfirmasi(reservasi.getId()));
+        assertEquals(1, repository.cariByKode("PROD001").get().getStok());
+        assertEquals(0, serviceReservasi.getJumlahDitahan("PROD001"));
+    }
+
+    @Test
+    @DisplayName("Konfirmasi tidak memakai stok yang ditahan reservasi lain")
+    void testKonfirmasiMenghormatiReservasiLain() {
+        Reservasi pertama = serviceReservasi.reservasi("PROD001", 4, 60_000).get();
+        serviceReservasi.reservasi("PROD001", 6, 60_000).get();
+        repository.updateStok("PROD001", 9);
+        assertFalse(serviceReservasi.konfirmasi(pertama.getId()));
+        repository.updateStok("PROD001", 10);
+        assertTrue(serviceReservasi.konfirmasi(pertama.getId()));
+        assertEquals(6, serviceReservasi.getJumlahDitahan("PROD001"));
+    }
+
+    @Test
+    @DisplayName("Keluar stok dan checkout tidak bisa menjual stok yang ditahan")
+    void testKeluarStokMenghormatiReservasi() {
+        // Arrange
+        repository.simpan(new Produk("PROD002", "Mouse", "Elektronik", 100000, 5, 1));
+        ServiceInventaris serviceInventaris = new ServiceInventaris(repository, null, null, serviceReservasi);
+        Reservasi reservasi = serviceReservasi.reservasi("PROD001", 8, 60_000).get();
+        // Act & Assert: hanya 2 unit PROD001 yang bebas
+        assertFalse(serviceInventaris.keluarStok("PROD001", 3));
+        assertFalse(serviceInventaris.checkout(List.of(
+                new BarisPesanan("PROD002", 1), new BarisPesanan("PROD001", 1), new BarisPesanan("PROD001", 2))));
+        assertEquals(5, repository.cariByKode("PROD002").get().getStok());
+        assertTrue(serviceInventaris.checkout(List.of(
+                new BarisPesanan("PROD002", 1), new BarisPesanan("PROD001", 1))));
+        assertTrue(serviceInventaris.keluarStok("PROD001", 1));
+        assertEquals(8, repository.cariByKode("PROD001").get().getStok());
+        assertFalse(serviceInventaris.keluarStok("PROD001", 1));
+        assertTrue(serviceInventaris.keluarStok("PROD002", 4));
+        assertFalse(serviceInventaris.checkout(List.of(new BarisPesanan("PROD999", 1))));
+        // Tahanan tetap bisa dikonfirmasi penuh
+        assertTrue(serviceReservasi.konfirmasi(reservasi.getId()));
+        assertEquals(0, repository.cariByKode("PROD001").get().getStok());
+    }
+
+    @Test
+    @DisplayName("Checkout gagal jika produk bertahanan sudah dihapus")
+    void testCheckoutProdukBertahananHilang() {
+        ServiceInventaris serviceInventaris = new ServiceInventaris(repository, null, null, serviceReservasi);
+        serviceReservasi.reservasi("PROD001", 1, 60_000).get();
+        repository.hapus("PROD001");
+        assertFalse(serviceInventaris.checkout(List.of(new BarisPesanan("PROD001", 1))));
+    }
+
+    @Test
+    @DisplayName("Keluar stok paralel tidak pernah menembus stok yang ditahan")
+    void testKeluarStokParalel() throws InterruptedException {
+        repository.updateStok("PROD001", 1000);
+        ServiceInventaris serviceInventaris = new ServiceInventaris(repository, null, null, serviceReservasi);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch selesai = new CountDownLatch(4);
+        AtomicInteger tahananBerhasil = new AtomicInteger();
+        for (int t = 0; t < 4; t++) {
+            boolean penahan = t % 2 == 0;
+            executor.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    if (penahan) {
+                        if (serviceReservasi.reservasi("PROD001", 1, 60_000).isPresent()) {
+                            tahananBerhasil.incrementAndGet();
+                        }
+                    } else {
+                        serviceInventaris.keluarStok("PROD001", 1);
+                    }
+                }
+                selesai.countDown();
+            });
+        }
+        assertTrue(selesai.await(30, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertEquals(tahananBerhasil.get(), serviceReservasi.getJumlahDitahan("PROD001"));
+        assertTrue(repository.cariByKode("PROD001").get().getStok() >= tahananBerhasil.get());
+    }
+
+    @Test
+    @DisplayName("Konfigurasi tidak valid ditolak")
+    void testKonfigurasiTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> new ServiceReservasi(null));
+        assertThrows(IllegalArgumentException.class, () -> new ServiceReservasi(repository, null, 100, 64));
+        assertThrows(IllegalArgumentException.class, () -> new ServiceReservasi(repository, jam::get, 0, 64));
+        assertNotNull(new ServiceReservasi(repository));
+    }
+}
@@ -0,0 +1,52 @@
+package com.praktikum.whitebox.simulasi;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.SplittableRandom;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Generator Zipf")
+public class GeneratorZipfTest {
+
+    @Test
+    @DisplayName("Peluang menurun dan frekuensi sampel mengikutinya")
+    void testSebaranZipf() {
+        // Arrange
+        GeneratorZipf zipf = new GeneratorZipf(100, 1.0);
+        SplittableRandom acak = new SplittableRandom(9);
+        int[] frekuensi = new int[zipf.getJumlah()];
+        // Act
+        for (int i = 0; i < 200000; i++) {
+            frekuensi[zipf.berikutnya(acak)]++;
+        }
+        // Assert
+        double totalPeluang = 0;
+        for (int i = 0; i < zipf.getJumlah(); i++) {
+            totalPeluang += zipf.peluang(i);
+            if (i > 0) {
+                assertTrue(zipf.peluang(i) < zipf.peluang(i - 1));
+            }
+        }
+        assertEquals(1.0, totalPeluang, 1e-9);
+        // Harmonik H(100) ~ 5.187, jadi SKU teratas ~19.3% dan SKU kedua setengahnya
+        assertEquals(0.193, frekuensi[0] / 200000.0, 0.005);
+        assertEquals(2.0, frekuensi[0] / (double) frekuensi[1], 0.1);
+    }
+
+    @Test
+    @DisplayName("Eksponen nol berarti seragam")
+    void testSeragam() {
+        GeneratorZipf zipf = new GeneratorZipf(4, 0);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0.25, zipf.peluang(i), 1e-12);
+        }
+        assertEquals(0, new GeneratorZipf(1, 2).berikutnya(new SplittableRandom()));
+    }
+
+    @Test
+    @DisplayName("Parameter tidak valid ditolak")
+    void testParameterTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> new GeneratorZipf(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new GeneratorZipf(10, -1));
+        assertThrows(IllegalArgumentException.class, () -> new GeneratorZipf(10, Double.NaN));
+    }
+}
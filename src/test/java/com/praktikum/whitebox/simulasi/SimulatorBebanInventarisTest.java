@@ -0,0 +1,118 @@
+package com.praktikum.whitebox.simulasi;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import com.praktikum.whitebox.repository.RepositoryProdukPartisi;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Simulator Beban Inventaris - Invarian Stok")
+public class SimulatorBebanInventarisTest {
+
+    @Test
+    @DisplayName("Beban campuran dengan thread platform menjaga invarian stok")
+    void testBebanCampuranThreadPlatform() throws InterruptedException {
+        // Arrange: stok awal kecil agar keluar stok sering berebut stok terakhir
+        KonfigurasiSimulasi konfigurasi = new KonfigurasiSimulasi()
+                .setJumlahProduk(50)
+                .setStokAwal(20)
+                .setJumlahThread(8)
+                .setOperasiPerThread(5000);
+        // Act
+        HasilSimulasi hasil = new SimulatorBebanInventaris(new RepositoryProdukMemori()).jalankan(konfigurasi);
+        // Assert
+        assertTrue(hasil.isKonsisten(), hasil.toString());
+        assertEquals(40000, hasil.getJumlahOperasi());
+        assertTrue(hasil.getOperasiPerDetik() > 0);
+        assertTrue(hasil.getJumlahDiterima(JenisOperasiSimulasi.KELUAR_STOK) > 0);
+        assertTrue(hasil.getJumlahDitolak(JenisOperasiSimulasi.KELUAR_STOK) > 0);
+        assertTrue(hasil.getJumlahDiterima(JenisOperasiSimulasi.TAMBAH_PRODUK) > 0);
+        assertTrue(hasil.getLatensi(JenisOperasiSimulasi.HAPUS_PRODUK).getJumlah() > 0);
+        assertTrue(hasil.getLatensi(JenisOperasiSimulasi.BACA).persentil(0.5) > 0);
+    }
+
+    @Test
+    @DisplayName("Thread virtual di atas repository partisi menjaga invarian stok")
+    void testThreadVirtualRepositoryPartisi() throws InterruptedException {
+        KonfigurasiSimulasi konfigurasi = new KonfigurasiSimulasi()
+                .setJumlahProduk(200)
+                .setJumlahThread(64)
+                .setOperasiPerThread(500)
+                .setThreadVirtual(true)
+                .setEksponenZipf(1.2);
+        HasilSimulasi hasil = new SimulatorBebanInventaris(new RepositoryProdukPartisi(4)).jalankan(konfigurasi);
+        assertTrue(hasil.isKonsisten(), hasil.toString());
+        assertEquals(32000, hasil.getJumlahOperasi());
+    }
+
+    @Test
+    @DisplayName("Penghapusan produk tanpa stok tercatat dan konsisten")
+    void testPenghapusan() throws InterruptedException {
+        KonfigurasiSimulasi konfigurasi = new KonfigurasiSimulasi()
+                .setJumlahProduk(30)
+                .setStokAwal(0)
+                .setJumlahThread(1)
+                .setOperasiPerThread(2000)
+                .setSeed(7)
+                .setBobot(JenisOperasiSimulasi.BACA, 1)
+                .setBobot(JenisOperasiSimulasi.MASUK_STOK, 0)
+                .setBobot(JenisOperasiSimulasi.KELUAR_STOK, 1)
+                .setBobot(JenisOperasiSimulasi.TAMBAH_PRODUK, 0)
+                .setBobot(JenisOperasiSimulasi.HAPUS_PRODUK, 1);
+        RepositoryProdukMemori repository = new RepositoryProdukMemori();
+        HasilSimulasi hasil = new SimulatorBebanInventaris(repository, new ServiceInventaris(repository))
+                .jalankan(konfigurasi);
+        assertTrue(hasil.isKonsisten(), hasil.toString());
+        assertEquals(hasil.getJumlahDiterima(JenisOperasiSimulasi.HAPUS_PRODUK), 30 - repository.cariSemua().size());
+        assertEquals(0, hasil.getJumlahDiterima(JenisOperasiSimulasi.KELUAR_STOK));
+    }
+
+    @Test
+    @DisplayName("Update yang hilang terdeteksi sebagai pelanggaran invarian")
+    void testLostUpdateTerdeteksi() throws InterruptedException {
+        // Arrange: repository rusak yang diam-diam membuang setiap stok masuk ke-25
+        AtomicInteger hitunganMasuk = new AtomicInteger();
+        RepositoryProdukMemori repositoryRusak = new RepositoryProdukMemori() {
+            @Override
+            public boolean adjustStok(String kode, int delta, int minimumStok) {
+                if (delta > 0 && hitunganMasuk.incrementAndGet() % 25 == 0) {
+                    return true;
+                }
+                return super.adjustStok(kode, delta, minimumStok);
+            }
+        };
+        KonfigurasiSimulasi konfigurasi = new KonfigurasiSimulasi()
+                .setJumlahProduk(10)
+                .setJumlahThread(4)
+                .setOperasiPerThread(2000);
+        // Act
+        HasilSimulasi hasil = new SimulatorBebanInventaris(repositoryRusak).jalankan(konfigurasi);
+        // Assert
+        assertFalse(hasil.isKonsisten(), hasil.toString());
+        assertTrue(hitunganMasuk.get() >= 25);
+        assertTrue(hasil.getJumlahPelanggaran() >= hasil.getPelanggaran().size());
+        assertTrue(hasil.getPelanggaran().get(0).contains("seharusnya"));
+        assertTrue(hasil.toString().contains("pelanggaran invarian: " + hasil.getJumlahPelanggaran()));
+    }
+
+    @Test
+    @DisplayName("Konfigurasi dan argumen tidak valid ditolak")
+    void testKonfigurasiTidakValid() {
+        SimulatorBebanInventaris simulator = new SimulatorBebanInventaris(new RepositoryProdukMemori());
+        assertThrows(IllegalArgumentException.class,
+                () -> simulator.jalankan(new KonfigurasiSimulasi().setJumlahProduk(0)));
+        assertThrows(IllegalArgumentException.class,
+                () -> simulator.jalankan(new KonfigurasiSimulasi().setJumlahProduk(KonfigurasiSimulasi.MAKS_JUMLAH_PRODUK + 1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> simulator.jalankan(new KonfigurasiSimulasi().setBobot(JenisOperasiSimulasi.BACA, -1)));
+        KonfigurasiSimulasi tanpaBobot = new KonfigurasiSimulasi();
+        for (JenisOperasiSimulasi jenis : JenisOperasiSimulasi.values()) {
+            tanpaBobot.setBobot(jenis, 0);
+        }
+        assertThrows(IllegalArgumentException.class, () -> simulator.jalankan(tanpaBobot));
+        assertThrows(IllegalArgumentException.class, () -> new SimulatorBebanInventaris(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SimulatorBebanInventaris(new RepositoryProdukMemori(), null));
+    }
+}
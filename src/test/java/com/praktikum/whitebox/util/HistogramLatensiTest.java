@@ -0,0 +1,96 @@
+package com.praktikum.whitebox.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistogramLatensiTest {
+
+    @Test
+    @DisplayName("Nilai kecil dicatat persis")
+    void testNilaiKecilPersis() {
+        HistogramLatensi histogram = new HistogramLatensi();
+        for (int i = 1; i <= 10; i++) {
+            histogram.catat(i);
+        }
+        histogram.catat(-5);
+        SnapshotLatensi snapshot = histogram.snapshot();
+        assertEquals(11, snapshot.getJumlah());
+        assertEquals(11, histogram.getJumlah());
+        assertEquals(55, snapshot.getTotal());
+        assertEquals(10, snapshot.getMaks());
+        assertEquals(0, snapshot.persentil(0));
+        assertEquals(5, snapshot.persentil(0.5));
+        assertEquals(10, snapshot.persentil(1));
+        assertEquals(5.0, snapshot.getRataRata(), 1e-9);
+        assertTrue(snapshot.toString().contains("p50=5"));
+    }
+
+    @Test
+    @DisplayName("Batas bucket berurutan tanpa celah di seluruh rentang long")
+    void testBatasBucket() {
+        for (int i = 0; i < HistogramLatensi.JUMLAH_BUCKET - 1; i++) {
+            long atas = HistogramLatensi.batasAtas(i);
+            assertEquals(i, HistogramLatensi.indeksBucket(atas));
+            assertEquals(i + 1, HistogramLatensi.indeksBucket(atas + 1));
+        }
+        assertEquals(Long.MAX_VALUE, HistogramLatensi.batasAtas(HistogramLatensi.JUMLAH_BUCKET - 1));
+    }
+
+    @Test
+    @DisplayName("Persentil dalam galat relatif 1/32 dari nilai sebenarnya")
+    void testGalatPersentil() {
+        HistogramLatensi histogram = new HistogramLatensi();
+        Random acak = new Random(5);
+        long[] nilai = new long[100000];
+        for (int i = 0; i < nilai.length; i++) {
+            // Sebaran log-normal kasar: puluhan nanodetik sampai puluhan milidetik
+            nilai[i] = (long) Math.exp(3 + acak.nextDouble() * 14);
+            histogram.catat(nilai[i]);
+        }
+        Arrays.sort(nilai);
+        SnapshotLatensi snapshot = histogram.snapshot();
+        for (double q : new double[]{0.5, 0.9, 0.99, 0.999}) {
+            long sebenarnya = nilai[(int) Math.ceil(q * nilai.length) - 1];
+            long perkiraan = snapshot.persentil(q);
+            assertTrue(perkiraan >= sebenarnya && perkiraan <= sebenarnya + sebenarnya / 32 + 1,
+                    "q=" + q + " sebenarnya=" + sebenarnya + " perkiraan=" + perkiraan);
+        }
+        assertEquals(nilai[nilai.length - 1], snapshot.persentil(1));
+    }
+
+    @Test
+    @DisplayName("Pencatatan paralel tidak kehilangan hitungan")
+    void testPencatatanParalel() throws InterruptedException {
+        HistogramLatensi histogram = new HistogramLatensi();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 50000; i++) {
+                    histogram.catat(i % 1000);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(200000, histogram.snapshot().getJumlah());
+        assertEquals(999, histogram.snapshot().getMaks());
+    }
+
+    @Test
+    @DisplayName("Snapshot kosong dan kuantil tidak valid")
+    void testSnapshotKosong() {
+        SnapshotLatensi snapshot = new HistogramLatensi().snapshot();
+        assertEquals(0, snapshot.persentil(0.99));
+        assertEquals(0, snapshot.getRataRata());
+        assertThrows(IllegalArgumentException.class, () -> snapshot.persentil(-0.1));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.persentil(1.1));
+    }
+}
@@ -0,0 +1,121 @@
+package com.praktikum.whitebox.util;
+
+import com.praktikum.whitebox.model.Produk;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MesinValidasiTest {
+
+    @ParameterizedTest
+    @DisplayName("Alasan validasi kode produk")
+    @CsvSource(value = {
+            "P123, VALID",
+            "'  abc  ', VALID",
+            "ABCDEFGHIJ, VALID",
+            "NULL, KODE_KOSONG",
+            "'', KODE_KOSONG",
+            "'   ', KODE_KOSONG",
+            "A@#, KODE_KARAKTER_TIDAK_VALID",
+            "'AB C', KODE_KARAKTER_TIDAK_VALID",
+            "PÉ1, KODE_KARAKTER_TIDAK_VALID",
+            "AB, KODE_PANJANG_TIDAK_VALID",
+            "ABCDEFGHIJK, KODE_PANJANG_TIDAK_VALID"
+    }, nullValues = "NULL")
+    void testPeriksaKode(String kode, AlasanValidasi expected) {
+        assertEquals(expected, MesinValidasi.periksaKode(kode));
+    }
+
+    @Test
+    @DisplayName("Pemindaian kode sama dengan regex lama")
+    void testKodeSamaDenganRegex() {
+        Random acak = new Random(7);
+        char[] alfabet = " \tAz09_-@Zé".toCharArray();
+        for (int n = 0; n < 20000; n++) {
+            char[] teks = new char[acak.nextInt(14)];
+            for (int i = 0; i < teks.length; i++) {
+                teks[i] = acak.nextBoolean() ? alfabet[acak.nextInt(alfabet.length)] : (char) ('a' + acak.nextInt(26));
+            }
+            String kode = new String(teks);
+            boolean regex = !kode.trim().isEmpty() && kode.trim().matches("^[A-Za-z0-9]{3,10}$");
+            assertEquals(regex, MesinValidasi.periksaKode(kode).isValid(), kode);
+        }
+    }
+
+    @Test
+    @DisplayName("Alasan validasi nama dan kategori")
+    void testPeriksaNamaKategori() {
+        assertEquals(AlasanValidasi.VALID, MesinValidasi.periksaNama("  Laptop  "));
+        assertEquals(AlasanValidasi.NAMA_KOSONG, MesinValidasi.periksaNama(null));
+        assertEquals(AlasanValidasi.NAMA_KOSONG, MesinValidasi.periksaNama(" \t "));
+        assertEquals(AlasanValidasi.NAMA_PANJANG_TIDAK_VALID, MesinValidasi.periksaNama(" ab "));
+        assertEquals(AlasanValidasi.NAMA_PANJANG_TIDAK_VALID, MesinValidasi.periksaNama("a".repeat(101)));
+        assertEquals(AlasanValidasi.VALID, MesinValidasi.periksaKategori("a".repeat(100)));
+        assertEquals(AlasanValidasi.KATEGORI_KOSONG, MesinValidasi.periksaKategori(""));
+        assertEquals(AlasanValidasi.KATEGORI_PANJANG_TIDAK_VALID, MesinValidasi.periksaKategori("ab"));
+    }
+
+    @Test
+    @DisplayName("Alasan pertama yang gagal pada produk")
+    void testPeriksaProduk() {
+        assertEquals(AlasanValidasi.PRODUK_NULL, MesinValidasi.periksaProduk(null));
+        assertEquals(AlasanValidasi.VALID,
+                MesinValidasi.periksaProduk(new Produk("P001", "Laptop", "Elektronik", 1000, 1, 0)));
+        assertEquals(AlasanValidasi.KODE_KARAKTER_TIDAK_VALID,
+                MesinValidasi.periksaProduk(new Produk("P-1", "ab", "x", -1, -1, -1)));
+        assertEquals(AlasanValidasi.NAMA_PANJANG_TIDAK_VALID,
+                MesinValidasi.periksaProduk(new Produk("P001", "ab", "x", -1, -1, -1)));
+        assertEquals(AlasanValidasi.KATEGORI_KOSONG,
+                MesinValidasi.periksaProduk(new Produk("P001", "Laptop", null, -1, -1, -1)));
+        assertEquals(AlasanValidasi.HARGA_TIDAK_POSITIF,
+                MesinValidasi.periksaProduk(new Produk("P001", "Laptop", "Elektronik", 0, -1, -1)));
+        assertEquals(AlasanValidasi.STOK_NEGATIF,
+                MesinValidasi.periksaProduk(new Produk("P001", "Laptop", "Elektronik", 1000, -1, -1)));
+        assertEquals(AlasanValidasi.STOK_MINIMUM_NEGATIF,
+                MesinValidasi.periksaProduk(new Produk("P001", "Laptop", "Elektronik", 1000, 0, -1)));
+    }
+
+    @Test
+    @DisplayName("Validasi batch ke bitset dan array alasan")
+    void testPeriksaBatch() {
+        Produk[] daftar = {
+                new Produk("P001", "Laptop", "Elektronik", 1000, 1, 0),
+                null,
+                new Produk("P002", "Mouse", "Elektronik", 0, 1, 0),
+                new Produk("P003", "Kopi", "Makanan", 500, 2, 1)
+        };
+        BitSet valid = new BitSet();
+        valid.set(1);
+        AlasanValidasi[] alasan = new AlasanValidasi[daftar.length];
+
+        assertEquals(2, MesinValidasi.periksaBatch(daftar, valid, alasan));
+        assertEquals(BitSet.valueOf(new long[]{0b1001}), valid);
+        assertArrayEquals(new AlasanValidasi[]{AlasanValidasi.VALID, AlasanValidasi.PRODUK_NULL,
+                AlasanValidasi.HARGA_TIDAK_POSITIF, AlasanValidasi.VALID}, alasan);
+
+        BitSet validList = new BitSet();
+        assertEquals(2, MesinValidasi.periksaBatch(Arrays.asList(daftar), validList, null));
+        assertEquals(valid, validList);
+    }
+
+    @Test
+    @DisplayName("Argumen batch tidak valid")
+    void testPeriksaBatchArgumenTidakValid() {
+        assertThrows(IllegalArgumentException.class,
+                () -> MesinValidasi.periksaBatch((Produk[]) null, new BitSet(), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> MesinValidasi.periksaBatch((List<Produk>) null, new BitSet(), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> MesinValidasi.periksaBatch(new Produk[2], null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> MesinValidasi.periksaBatch(new Produk[2], new BitSet(), new AlasanValidasi[1]));
+    }
+}
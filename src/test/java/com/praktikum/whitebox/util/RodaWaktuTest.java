@@ -0,0 +1,85 @@
+package com.praktikum.whitebox.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RodaWaktuTest {
+
+    @Test
+    @DisplayName("Penanda kadaluarsa tepat pada tick tenggatnya")
+    void testKadaluarsaTepatWaktu() {
+        RodaWaktu<String> roda = new RodaWaktu<>(8, 0);
+        roda.jadwalkan("a", 3);
+        roda.jadwalkan("b", 5);
+        List<String> hasil = new ArrayList<>();
+
+        assertEquals(0, roda.majuSampai(2, hasil::add));
+        assertEquals(1, roda.majuSampai(3, hasil::add));
+        assertEquals(List.of("a"), hasil);
+        assertEquals(1, roda.getUkuran());
+        assertEquals(0, roda.majuSampai(3, hasil::add));
+        assertEquals(1, roda.majuSampai(5, hasil::add));
+        assertEquals(List.of("a", "b"), hasil);
+        assertEquals(5, roda.getTickSekarang());
+    }
+
+    @Test
+    @DisplayName("Tenggat lebih dari satu putaran menunggu putaran berikutnya")
+    void testTenggatBeberapaPutaran() {
+        RodaWaktu<String> roda = new RodaWaktu<>(4, 0);
+        roda.jadwalkan("jauh", 9);
+        roda.jadwalkan("dekat", 1);
+        List<String> hasil = new ArrayList<>();
+
+        roda.majuSampai(5, hasil::add);
+        assertEquals(List.of("dekat"), hasil);
+        roda.majuSampai(8, hasil::add);
+        assertEquals(List.of("dekat"), hasil);
+        roda.majuSampai(9, hasil::add);
+        assertEquals(List.of("dekat", "jauh"), hasil);
+    }
+
+    @Test
+    @DisplayName("Lompatan jauh menyapu setiap slot sekali")
+    void testLompatanJauh() {
+        RodaWaktu<Integer> roda = new RodaWaktu<>(16, 100);
+        for (int i = 0; i < 100; i++) {
+            roda.jadwalkan(i, 101 + i * 7L);
+        }
+        roda.jadwalkan(-1, 50); // tenggat lewat: dijalankan tick berikutnya
+        List<Integer> hasil = new ArrayList<>();
+        assertEquals(101, roda.majuSampai(1_000_000, hasil::add));
+        assertEquals(0, roda.getUkuran());
+    }
+
+    @Test
+    @DisplayName("Penanda yang dibatalkan tidak pernah kadaluarsa")
+    void testBatalkan() {
+        RodaWaktu<String> roda = new RodaWaktu<>(8, 0);
+        RodaWaktu.Penanda<String> a = roda.jadwalkan("a", 2);
+        RodaWaktu.Penanda<String> b = roda.jadwalkan("b", 2);
+        RodaWaktu.Penanda<String> c = roda.jadwalkan("c", 2);
+        assertTrue(roda.batalkan(b));
+        assertFalse(roda.batalkan(b));
+        assertTrue(roda.batalkan(c));
+        assertFalse(roda.batalkan(null));
+        List<String> hasil = new ArrayList<>();
+        roda.majuSampai(2, hasil::add);
+        assertEquals(List.of("a"), hasil);
+        assertFalse(roda.batalkan(a));
+        assertEquals("a", a.getNilai());
+        assertEquals(2, a.getTickTenggat());
+    }
+
+    @Test
+    @DisplayName("Jumlah slot harus pangkat dua")
+    void testJumlahSlotTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> new RodaWaktu<String>(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new RodaWaktu<String>(10, 0));
+    }
+}
@@ -0,0 +1,64 @@
+package com.praktikum.whitebox.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TabelSimbolTest {
+
+    @Test
+    @DisplayName("Simbol mendapat id padat dan bisa diterjemahkan kembali")
+    void testInternDanTerjemah() {
+        TabelSimbol tabel = new TabelSimbol();
+        assertEquals(0, tabel.intern("Elektronik"));
+        assertEquals(1, tabel.intern("Makanan"));
+        assertEquals(0, tabel.intern(new String("Elektronik")));
+        assertEquals(2, tabel.getUkuran());
+        assertEquals("Makanan", tabel.simbol(1));
+        assertEquals(1, tabel.cari("Makanan"));
+        assertEquals(TabelSimbol.TIDAK_ADA, tabel.cari("Minuman"));
+        assertEquals(TabelSimbol.TIDAK_ADA, tabel.cari(null));
+        assertEquals(2, tabel.getUkuran());
+    }
+
+    @Test
+    @DisplayName("Id atau simbol tidak valid ditolak")
+    void testTidakValid() {
+        TabelSimbol tabel = new TabelSimbol();
+        tabel.intern("A");
+        assertThrows(IllegalArgumentException.class, () -> tabel.intern(null));
+        assertThrows(IllegalArgumentException.class, () -> tabel.simbol(-1));
+        assertThrows(IllegalArgumentException.class, () -> tabel.simbol(1));
+    }
+
+    @Test
+    @DisplayName("Intern paralel memberi satu id per simbol melewati pertumbuhan array")
+    void testInternParalel() throws Exception {
+        TabelSimbol tabel = new TabelSimbol();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<int[]>> hasil = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            hasil.add(executor.submit(() -> {
+                int[] id = new int[1000];
+                for (int i = 0; i < id.length; i++) {
+                    id[i] = tabel.intern("K" + i);
+                    assertEquals("K" + i, tabel.simbol(id[i]));
+                }
+                return id;
+            }));
+        }
+        int[] pertama = hasil.get(0).get();
+        for (Future<int[]> f : hasil) {
+            assertArrayEquals(pertama, f.get());
+        }
+        executor.shutdown();
+        assertEquals(1000, tabel.getUkuran());
+    }
+}